@@ -0,0 +1,62 @@
+package com.instil.pokerface.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.instil.pokerface.App;
+
+import picocli.CommandLine;
+
+/**
+ * End to end benchmarks translating a whole file of randomly dealt hands through App, written to a file.
+ * The score is the time per file, divide the number of hands by it for throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AppBenchmark {
+	
+	@Param({"1000000"})
+	private int hands;
+	
+	// 0 reads line by line, 1 and above memory-maps the file and translates it on that many threads
+	@Param({"0", "1", "2", "4", "8"})
+	private int threads;
+	
+	private Path input;
+	private Path output;
+	
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		input = Files.createTempFile("hands", ".txt");
+		output = Files.createTempFile("translations", ".txt");
+		Files.write(input, HandGenerator.toFile(HandGenerator.randomHands(hands, 42)));
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(input);
+		Files.deleteIfExists(output);
+	}
+	
+	@Benchmark
+	public void translateFile() throws Exception {
+		String[] args = threads == 0 ? new String[] { "--file", input.toString(), "--output", output.toString() }
+									 : new String[] { "--file", input.toString(), "--output", output.toString(), "--threads", String.valueOf(threads), "--mmap" };
+		CommandLine.populateCommand(new App(), args).call();
+	}
+	
+}
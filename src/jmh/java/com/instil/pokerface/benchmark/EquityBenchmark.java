@@ -0,0 +1,93 @@
+package com.instil.pokerface.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.instil.pokerface.equity.EquityResult;
+import com.instil.pokerface.equity.ExhaustiveEquity;
+import com.instil.pokerface.equity.HandRange;
+import com.instil.pokerface.equity.MonteCarloEquity;
+import com.instil.pokerface.equity.RangeEquity;
+import com.instil.pokerface.model.PackedHand;
+import com.instil.pokerface.utils.CardParser;
+
+/**
+ * Benchmarks for a fixed number of Monte Carlo equity trials, divide the trials by the score for trials per second,
+ * for exact heads up equity over all 1,712,304 preflop boards, played out or looked up in the result cache, and
+ * for exact range against range equity on a flop and before the flop
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EquityBenchmark {
+	
+	private static final long TRIALS = 1_000_000;
+	
+	@Param({"1", "3"})
+	private int opponents;
+	
+	@Param({"1", "4"})
+	private int threads;
+	
+	private long holeCards;
+	private long[] headsUp;
+	// The same deal with its suits renamed in every way, all answered by one cached result
+	private long[][] renamedHeadsUp;
+	private ExhaustiveEquity cachedEquity;
+	private int next;
+	private HandRange range;
+	private HandRange opponentRange;
+	private long flop;
+	
+	@Setup
+	public void setUp() throws Exception {
+		holeCards = CardParser.parsePackedHand("AH KH");
+		headsUp = new long[] { holeCards, CardParser.parsePackedHand("QS QD") };
+		String[] renamings = { "HSDC", "SHCD", "DCHS", "CDSH" };
+		renamedHeadsUp = new long[renamings.length][];
+		for (int i = 0; i < renamings.length; i++) {
+			String suits = renamings[i];
+			renamedHeadsUp[i] = new long[] { CardParser.parsePackedHand("A" + suits.charAt(0) + " K" + suits.charAt(0)), 
+											 CardParser.parsePackedHand("Q" + suits.charAt(1) + " Q" + suits.charAt(2)) };
+		}
+		cachedEquity = new ExhaustiveEquity(threads, 1024);
+		range = HandRange.parse("QQ+, AKs, 50% AQo");
+		opponentRange = HandRange.parse("JJ-88, AQs+, KQs");
+		flop = CardParser.parsePackedHand("QH 8S 3D");
+	}
+	
+	@Benchmark
+	public EquityResult preflopEquity() throws Exception {
+		return new MonteCarloEquity(threads, TRIALS).calculate(holeCards, PackedHand.EMPTY, opponents, 42);
+	}
+	
+	@Benchmark
+	public EquityResult[] preflopHeadsUpEnumeration() throws Exception {
+		return new ExhaustiveEquity(threads).calculate(headsUp, PackedHand.EMPTY);
+	}
+	
+	@Benchmark
+	public EquityResult[] preflopHeadsUpEnumerationCached() throws Exception {
+		next = (next + 1) % renamedHeadsUp.length;
+		return cachedEquity.calculate(renamedHeadsUp[next], PackedHand.EMPTY);
+	}
+	
+	@Benchmark
+	public EquityResult[] flopRangeEquity() throws Exception {
+		return new RangeEquity(threads).calculate(range, opponentRange, flop);
+	}
+	
+	@Benchmark
+	public EquityResult[] preflopRangeEquity() throws Exception {
+		return new RangeEquity(threads).calculate(range, opponentRange, PackedHand.EMPTY);
+	}
+	
+}
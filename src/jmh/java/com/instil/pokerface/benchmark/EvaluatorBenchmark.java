@@ -0,0 +1,91 @@
+package com.instil.pokerface.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.instil.pokerface.evaluator.HandEvaluator;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.model.PackedHand;
+import com.instil.pokerface.model.PokerHand;
+import com.instil.pokerface.model.PokerHand.PokerHandName;
+
+/**
+ * Benchmarks for evaluating hands, per category and on randomly dealt hands
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EvaluatorBenchmark {
+	
+	private static final int HANDS = 1024;
+	
+	// RANDOM deals hands from a full deck, any other value only holds hands of that category
+	@Param({"RANDOM", "HIGH_CARD", "ONE_PAIR", "TWO_PAIR", "THREE_OF_A_KIND", "STRAIGHT", "FLUSH", "FULL_HOUSE",
+			"FOUR_OF_A_KIND", "STRAIGHT_FLUSH", "ROYAL_FLUSH"})
+	private String category;
+	
+	private long[] packedHands;
+	private PokerHand[] pokerHands;
+	private int[] strengths = new int[HANDS];
+	private byte[] categories = new byte[HANDS];
+	private int next;
+	
+	@Setup
+	public void setUp() throws IllegalHandException {
+		packedHands = category.equals("RANDOM") ? HandGenerator.randomHands(HANDS, 42)
+												: HandGenerator.handsOfCategory(PokerHandName.valueOf(category), HANDS, 42);
+		pokerHands = new PokerHand[HANDS];
+		for (int i = 0; i < HANDS; i++) {
+			pokerHands[i] = PackedHand.toPokerHand(packedHands[i]);
+		}
+	}
+	
+	@Benchmark
+	public String translateHand() throws IllegalHandException {
+		return pokerHands[nextIndex()].translateHand();
+	}
+	
+	@Benchmark
+	public int evaluatePacked() {
+		return HandEvaluator.evaluate(packedHands[nextIndex()]);
+	}
+	
+	// The batch benchmarks report the time per hand, to compare with a call per hand
+	@Benchmark
+	@OperationsPerInvocation(HANDS)
+	public int[] evaluateEach() {
+		for (int i = 0; i < HANDS; i++) {
+			strengths[i] = HandEvaluator.evaluate(packedHands[i]);
+		}
+		return strengths;
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(HANDS)
+	public int[] evaluateBatch() {
+		HandEvaluator.evaluate(packedHands, strengths);
+		return strengths;
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(HANDS)
+	public byte[] categorizeBatch() {
+		HandEvaluator.categorize(packedHands, categories);
+		return categories;
+	}
+	
+	private int nextIndex() {
+		next = (next + 1) & (HANDS - 1);
+		return next;
+	}
+	
+}
@@ -0,0 +1,109 @@
+package com.instil.pokerface.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.instil.pokerface.evaluator.HandEvaluator;
+import com.instil.pokerface.model.PackedCard;
+import com.instil.pokerface.model.PokerHand.PokerHandName;
+
+/**
+ * This class offers static utility methods for generating benchmark inputs
+ * 
+ * Random hands are dealt from a full deck, so the categories follow the distribution of real deals
+ * (about 50% high card, 42% one pair and so on). Hands of a single category are sampled from all five card hands.
+ */
+public final class HandGenerator {
+	
+	private static final String RANKS = "23456789TJQKA";
+	private static final String SUITS = "HDSC";
+	
+	private HandGenerator() {
+	}
+	
+	/**
+	 * Deals random five card hands
+	 * 
+	 * @param count		The number of hands
+	 * @param seed		The seed of the random generator, so runs can be compared
+	 * @return			The packed hands
+	 */
+	public static long[] randomHands(int count, long seed) {
+		Random random = new Random(seed);
+		long[] hands = new long[count];
+		for (int i = 0; i < count; i++) {
+			long hand = 0L;
+			while (Long.bitCount(hand) < 5) {
+				hand |= 1L << random.nextInt(PackedCard.DECK_SIZE);
+			}
+			hands[i] = hand;
+		}
+		return hands;
+	}
+	
+	/**
+	 * Samples random five card hands of a single category
+	 * 
+	 * @param name		The category of the hands
+	 * @param count		The number of hands
+	 * @param seed		The seed of the random generator
+	 * @return			The packed hands
+	 */
+	public static long[] handsOfCategory(PokerHandName name, int count, long seed) {
+		List<Long> matching = new ArrayList<Long>();
+		for (int a = 0; a < 48; a++) {
+			for (int b = a + 1; b < 49; b++) {
+				for (int c = b + 1; c < 50; c++) {
+					for (int d = c + 1; d < 51; d++) {
+						for (int e = d + 1; e < 52; e++) {
+							if (HandEvaluator.getHandName(HandEvaluator.evaluateIndices(a, b, c, d, e)) == name) {
+								matching.add((1L << a) | (1L << b) | (1L << c) | (1L << d) | (1L << e));
+							}
+						}
+					}
+				}
+			}
+		}
+		Random random = new Random(seed);
+		long[] hands = new long[count];
+		for (int i = 0; i < count; i++) {
+			hands[i] = matching.get(random.nextInt(matching.size()));
+		}
+		return hands;
+	}
+	
+	/**
+	 * Formats a packed hand in the input format of App, e.g. "3H JS 3C 7C 5D"
+	 * 
+	 * @param hand		A packed hand
+	 * @return			The hand as text
+	 */
+	public static String toText(long hand) {
+		StringBuilder text = new StringBuilder();
+		for (long rest = hand; rest != 0; rest &= rest - 1) {
+			int index = Long.numberOfTrailingZeros(rest);
+			if (text.length() > 0) {
+				text.append(' ');
+			}
+			text.append(RANKS.charAt(PackedCard.rankOf(index))).append(SUITS.charAt(PackedCard.suitOf(index)));
+		}
+		return text.toString();
+	}
+	
+	/**
+	 * Formats packed hands as the lines of an input file
+	 * 
+	 * @param hands		The packed hands
+	 * @return			The ASCII bytes of the file
+	 */
+	public static byte[] toFile(long[] hands) {
+		StringBuilder file = new StringBuilder(hands.length * 15);
+		for (long hand : hands) {
+			file.append(toText(hand)).append('\n');
+		}
+		return file.toString().getBytes(StandardCharsets.US_ASCII);
+	}
+	
+}
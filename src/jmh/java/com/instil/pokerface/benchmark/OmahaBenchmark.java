@@ -0,0 +1,84 @@
+package com.instil.pokerface.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.instil.pokerface.evaluator.HandEvaluator;
+import com.instil.pokerface.evaluator.OmahaEvaluator;
+import com.instil.pokerface.model.PackedCard;
+
+/**
+ * Benchmarks for evaluating randomly dealt Omaha hands on a full board, against playing out every combination of
+ * two hole cards and three board cards through HandEvaluator
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OmahaBenchmark {
+	
+	private static final int HANDS = 1024;
+	
+	@Param({"4", "5"})
+	private int holeCardCount;
+	
+	private long[] holeCards;
+	private long[] boards;
+	private int next;
+	
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		holeCards = new long[HANDS];
+		boards = new long[HANDS];
+		for (int i = 0; i < HANDS; i++) {
+			while (Long.bitCount(holeCards[i]) < holeCardCount) {
+				holeCards[i] |= 1L << random.nextInt(PackedCard.DECK_SIZE);
+			}
+			while (Long.bitCount(boards[i]) < OmahaEvaluator.MAX_BOARD_CARDS) {
+				boards[i] |= ~holeCards[i] & 1L << random.nextInt(PackedCard.DECK_SIZE);
+			}
+		}
+	}
+	
+	@Benchmark
+	public int evaluateOmaha() {
+		next = (next + 1) & (HANDS - 1);
+		return OmahaEvaluator.evaluate(holeCards[next], boards[next]);
+	}
+	
+	@Benchmark
+	public int evaluateOmahaByCombination() {
+		next = (next + 1) & (HANDS - 1);
+		int best = 0;
+		for (long first = holeCards[next]; first != 0; first &= first - 1) {
+			for (long second = first & (first - 1); second != 0; second &= second - 1) {
+				long pair = Long.lowestOneBit(first) | Long.lowestOneBit(second);
+				best = Math.max(best, bestWithBoard(pair, boards[next]));
+			}
+		}
+		return best;
+	}
+	
+	private static int bestWithBoard(long pair, long board) {
+		int best = 0;
+		for (long first = board; first != 0; first &= first - 1) {
+			for (long second = first & (first - 1); second != 0; second &= second - 1) {
+				for (long third = second & (second - 1); third != 0; third &= third - 1) {
+					long hand = pair | Long.lowestOneBit(first) | Long.lowestOneBit(second) | Long.lowestOneBit(third);
+					best = Math.max(best, HandEvaluator.evaluate(hand));
+				}
+			}
+		}
+		return best;
+	}
+	
+}
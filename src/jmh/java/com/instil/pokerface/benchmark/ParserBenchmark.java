@@ -0,0 +1,96 @@
+package com.instil.pokerface.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.model.Card;
+import com.instil.pokerface.model.PokerHand;
+import com.instil.pokerface.utils.CardParser;
+
+/**
+ * Benchmarks for parsing cards and hands with CardParser
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParserBenchmark {
+	
+	private static final int HANDS = 1024;
+	
+	private String[] lines;
+	private byte[][] lineBytes;
+	// The same lines with the suit of their last card broken
+	private byte[][] invalidLineBytes;
+	private String[] cards;
+	private int next;
+	
+	@Setup
+	public void setUp() {
+		long[] hands = HandGenerator.randomHands(HANDS, 42);
+		lines = new String[HANDS];
+		lineBytes = new byte[HANDS][];
+		invalidLineBytes = new byte[HANDS][];
+		cards = new String[HANDS];
+		for (int i = 0; i < HANDS; i++) {
+			lines[i] = HandGenerator.toText(hands[i]);
+			lineBytes[i] = lines[i].getBytes(StandardCharsets.US_ASCII);
+			invalidLineBytes[i] = lineBytes[i].clone();
+			invalidLineBytes[i][invalidLineBytes[i].length - 1] = 'X';
+			cards[i] = lines[i].substring(0, 2);
+		}
+	}
+	
+	@Benchmark
+	public Card parseCard() throws IllegalCardException {
+		return CardParser.parseCard(cards[nextIndex()]);
+	}
+	
+	@Benchmark
+	public PokerHand parseHand() throws IllegalCardException, IllegalHandException {
+		return CardParser.parseHand(lines[nextIndex()]);
+	}
+	
+	@Benchmark
+	public long parsePackedHandFromBytes() throws IllegalCardException, IllegalHandException {
+		byte[] line = lineBytes[nextIndex()];
+		return CardParser.parsePackedHand(line, 0, line.length);
+	}
+	
+	@Benchmark
+	public long tryParsePackedHandFromBytes() {
+		byte[] line = lineBytes[nextIndex()];
+		return CardParser.tryParsePackedHand(line, 0, line.length);
+	}
+	
+	@Benchmark
+	public Object parseInvalidPackedHandFromBytes() {
+		byte[] line = invalidLineBytes[nextIndex()];
+		try {
+			return CardParser.parsePackedHand(line, 0, line.length);
+		} catch (IllegalCardException | IllegalHandException e) {
+			return e;
+		}
+	}
+	
+	@Benchmark
+	public long tryParseInvalidPackedHandFromBytes() {
+		byte[] line = invalidLineBytes[nextIndex()];
+		return CardParser.tryParsePackedHand(line, 0, line.length);
+	}
+	
+	private int nextIndex() {
+		next = (next + 1) & (HANDS - 1);
+		return next;
+	}
+	
+}
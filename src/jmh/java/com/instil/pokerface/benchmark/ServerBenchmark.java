@@ -0,0 +1,86 @@
+package com.instil.pokerface.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.instil.pokerface.server.HandServer;
+
+/**
+ * Benchmarks for the round trip of a pipelined batch of lines through a HandServer on localhost, from sending the
+ * first line to reading the last answer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServerBenchmark {
+	
+	@Param({"1", "1000"})
+	private int lines;
+	
+	private HandServer server;
+	private Thread thread;
+	private Socket socket;
+	private OutputStream out;
+	private InputStream in;
+	private byte[] batch;
+	private byte[] answers;
+	
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		server = new HandServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+		thread = new Thread(server);
+		thread.start();
+		
+		socket = new Socket();
+		socket.connect(server.getAddress());
+		socket.setTcpNoDelay(true);
+		out = socket.getOutputStream();
+		in = socket.getInputStream();
+		
+		StringBuilder text = new StringBuilder();
+		for (long hand : HandGenerator.randomHands(lines, 42)) {
+			text.append(HandGenerator.toText(hand)).append('\n');
+		}
+		batch = text.toString().getBytes(StandardCharsets.US_ASCII);
+		answers = new byte[64 * 1024];
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		socket.close();
+		server.close();
+		thread.join();
+	}
+	
+	@Benchmark
+	public int roundTrip() throws IOException {
+		out.write(batch);
+		out.flush();
+		int answered = 0;
+		while (answered < lines) {
+			int read = in.read(answers);
+			for (int i = 0; i < read; i++) {
+				answered += answers[i] == '\n' ? 1 : 0;
+			}
+		}
+		return answered;
+	}
+	
+}
@@ -0,0 +1,47 @@
+package com.instil.pokerface.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.instil.pokerface.evaluator.SevenCardEvaluator;
+import com.instil.pokerface.model.PackedCard;
+
+/**
+ * Benchmarks for evaluating randomly dealt seven card hands
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SevenCardBenchmark {
+	
+	private static final int HANDS = 1024;
+	
+	private long[] hands;
+	private int next;
+	
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		hands = new long[HANDS];
+		for (int i = 0; i < HANDS; i++) {
+			while (Long.bitCount(hands[i]) < SevenCardEvaluator.MAX_CARDS) {
+				hands[i] |= 1L << random.nextInt(PackedCard.DECK_SIZE);
+			}
+		}
+	}
+	
+	@Benchmark
+	public int evaluateSevenCards() {
+		next = (next + 1) & (HANDS - 1);
+		return SevenCardEvaluator.evaluate(hands[next]);
+	}
+	
+}
@@ -0,0 +1,61 @@
+package com.instil.pokerface.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.instil.pokerface.io.HandRecord;
+import com.instil.pokerface.io.HandStreams;
+
+/**
+ * Benchmarks summing the strengths of a whole file of randomly dealt hands through HandStreams, with a new record
+ * per hand or with reused records, on a sequential or a parallel stream. The score is the time per file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StreamBenchmark {
+	
+	@Param({"1000000"})
+	private int hands;
+	
+	@Param({"false", "true"})
+	private boolean reuseRecords;
+	
+	@Param({"false", "true"})
+	private boolean parallel;
+	
+	private Path input;
+	
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		input = Files.createTempFile("hands", ".txt");
+		Files.write(input, HandGenerator.toFile(HandGenerator.randomHands(hands, 42)));
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(input);
+	}
+	
+	@Benchmark
+	public long sumStrengths() throws IOException {
+		try (Stream<HandRecord> records = HandStreams.lines(input, reuseRecords)) {
+			return (parallel ? records.parallel() : records).mapToLong(HandRecord::getStrength).sum();
+		}
+	}
+	
+}
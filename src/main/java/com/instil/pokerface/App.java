@@ -2,15 +2,41 @@ package com.instil.pokerface;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.FileReader;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.concurrent.Callable;
 
+import com.instil.pokerface.equity.PreflopTableGenerator;
+import com.instil.pokerface.evaluator.HandEvaluator;
+import com.instil.pokerface.io.FileFollower;
+import com.instil.pokerface.io.HandAggregator;
+import com.instil.pokerface.io.HandLogReader;
+import com.instil.pokerface.io.HandLogWriter;
+import com.instil.pokerface.io.MappedHandReader;
+import com.instil.pokerface.io.ParallelTranslator;
+import com.instil.pokerface.io.SkippedLines;
+import com.instil.pokerface.io.TranslationBuffer;
+import com.instil.pokerface.metrics.PipelineStats;
+import com.instil.pokerface.metrics.PipelineStats.Stage;
 import com.instil.pokerface.model.PokerHand;
+import com.instil.pokerface.model.PokerHand.PokerHandName;
+import com.instil.pokerface.server.HandServer;
 import com.instil.pokerface.utils.CardParser;
 
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.Spec;
 
 @Command(name = "Poker Face", descriptionHeading = "%nDescription:%n%n", 
 		 description = "Converts specified poker hands hands into their names", 
@@ -18,9 +44,49 @@ import picocli.CommandLine.Option;
 		 mixinStandardHelpOptions = true, version = "PokerFace 1.0.0", footer = "gulli.dev 2019")
 public class App implements Callable<Void> {
 	
-	@Option(names = { "-f", "--file" }, description = "Path and name of file with poker hands", paramLabel = "FILE", required = true)
+	private static final int MIN_CHUNK_SIZE = 1024 * 1024;
+	
+	private static final int OUTPUT_BLOCK_SIZE = 1024 * 1024;
+	
+	// Lines per batch of --stats when the file is read line by line
+	private static final int STATS_BATCH_LINES = 64 * 1024;
+	
+	@Spec
+	private CommandSpec spec;
+	
+	@Option(names = { "-f", "--file" }, description = "Path and name of file with poker hands, required unless serving", paramLabel = "FILE")
 	private File file;
-
+	
+	@Option(names = { "-m", "--mmap" }, description = "Memory-map the file and read it in newline aligned chunks")
+	private boolean mapped;
+	
+	@Option(names = { "-t", "--threads" }, description = "Number of threads translating the file, implies --mmap (default: 1)", paramLabel = "N")
+	private int threads = 1;
+	
+	@Option(names = { "-a", "--aggregate" }, description = "Count the hands of each name instead of translating them, implies --mmap")
+	private boolean aggregate;
+	
+	@Option(names = { "-k", "--skip-invalid" }, description = "Leave out lines that are not valid hands and report them at the end instead of stopping, implies --mmap")
+	private boolean skipInvalid;
+	
+	@Option(names = { "-c", "--convert" }, description = "Convert the hands into a binary hand log in this file instead of translating them", paramLabel = "FILE")
+	private File convert;
+	
+	@Option(names = { "-s", "--serve" }, description = "Translate hands sent to this port on localhost, one per line, until stopped", paramLabel = "PORT")
+	private Integer port;
+	
+	@Option(names = { "-o", "--output" }, description = "Write the translations to this file instead of the console", paramLabel = "FILE")
+	private File output;
+	
+	@Option(names = { "--preflop-table" }, description = "Generate the table of preflop equities into this file on --threads threads, resuming from FILE.checkpoint if an earlier run was stopped", paramLabel = "FILE")
+	private File preflopTable;
+	
+	@Option(names = { "--follow" }, description = "Keep translating the lines appended to the file until stopped, resuming from the offset kept in FILE.offset. Invalid lines are skipped and reported")
+	private boolean follow;
+	
+	@Option(names = { "--stats" }, description = "Time every stage of translating the file and print the throughput, latencies and hands of each name at the end")
+	private boolean stats;
+	
 	public static void main(String[] args) {
 		CommandLine.call(new App(), args);
 	}
@@ -30,17 +96,48 @@ public class App implements Callable<Void> {
 	 */
 	@Override
 	public Void call() throws Exception {
-
+		
+		if (threads < 1) {
+			throw new ParameterException(spec.commandLine(), String.format("--threads must be at least 1, not %d", threads));
+		}
+		if (port != null) {
+			serve();
+			return null;
+		}
+		if (preflopTable != null) {
+			generatePreflopTable();
+			return null;
+		}
+		if (this.file == null) {
+			throw new ParameterException(spec.commandLine(), "Missing required option '--file=FILE'");
+		}
 		if (this.file.canRead()) {
 			
-			try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-
-				String line = null;
-				while ((line = br.readLine()) != null) {
-					PokerHand hand = CardParser.parseHand(line);
-					System.out.println(line + " => " + hand.translateHand());
+			try {
+				boolean handLog = HandLogReader.isHandLog(file.toPath());
+				if (stats && (convert != null || aggregate || handLog)) {
+					throw new ParameterException(spec.commandLine(), "--stats only applies to translating text files");
 				}
-
+				if (follow && (convert != null || aggregate || handLog || stats)) {
+					throw new ParameterException(spec.commandLine(), "--follow only applies to translating text files");
+				}
+				if (follow) {
+					followFile();
+				} else if (convert != null) {
+					convertToHandLog();
+				} else if (aggregate) {
+					aggregateMapped(handLog);
+				} else if (handLog) {
+					translateHandLog();
+				} else if (mapped || threads > 1 || skipInvalid) {
+					translateMapped();
+				} else if (stats) {
+					translateLinesWithStats();
+				} else {
+					translateLines();
+				}
+			} catch (ParameterException e) {
+				throw e;
 			} catch (Exception e) {
 				e.printStackTrace();
 			}
@@ -49,5 +146,249 @@ public class App implements Callable<Void> {
 		}
 		return null;
 	}
-
+	
+	/**
+	 * Helper function: Reads the file line by line as strings, collecting the translated lines in a TranslationBuffer
+	 * 					that is written to the output in blocks
+	 */
+	private void translateLines() throws Exception {
+		writeToOutput(out -> {
+			TranslationBuffer buffer = new TranslationBuffer(OUTPUT_BLOCK_SIZE, out);
+			try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+				
+				String line = null;
+				while ((line = br.readLine()) != null) {
+					PokerHand hand = CardParser.parseHand(line);
+					buffer.appendLine(line);
+					buffer.appendTranslation(hand.getHandName());
+				}
+			} finally {
+				buffer.flush();
+			}
+		});
+	}
+	
+	/**
+	 * Helper function: Reads the file line by line like translateLines, timing every stage of the sampled lines in
+	 * 					batches of STATS_BATCH_LINES lines
+	 */
+	private void translateLinesWithStats() throws Exception {
+		PipelineStats pipelineStats = new PipelineStats();
+		writeToOutput(out -> {
+			TranslationBuffer buffer = new TranslationBuffer(OUTPUT_BLOCK_SIZE, out);
+			try (BufferedReader br = new BufferedReader(new FileReader(file))) {
+				
+				long lines = 0;
+				PipelineStats.Batch batch = pipelineStats.startBatch(lines);
+				String line = null;
+				while (true) {
+					boolean timed = batch.sampleLine();
+					long started = timed ? System.nanoTime() : 0;
+					if ((line = br.readLine()) == null) {
+						break;
+					}
+					long read = timed ? System.nanoTime() : 0;
+					PokerHand hand = CardParser.parseHand(line);
+					long parsed = timed ? System.nanoTime() : 0;
+					PokerHandName name = hand.getHandName();
+					long evaluated = timed ? System.nanoTime() : 0;
+					buffer.appendLine(line);
+					buffer.appendTranslation(name);
+					if (timed) {
+						batch.recordLine(Stage.READ, read - started);
+						batch.recordLine(Stage.PARSE, parsed - read);
+						batch.recordLine(Stage.EVALUATE, evaluated - parsed);
+						batch.recordLine(Stage.WRITE, System.nanoTime() - evaluated);
+					}
+					batch.countHand(name);
+					batch.addBytes(line.length() + 1);
+					
+					if (++lines % STATS_BATCH_LINES == 0) {
+						pipelineStats.finishBatch(batch);
+						batch = pipelineStats.startBatch(lines);
+					}
+				}
+				pipelineStats.finishBatch(batch);
+			} finally {
+				buffer.flush();
+			}
+		});
+		pipelineStats.stop();
+		pipelineStats.report(System.err);
+	}
+	
+	/**
+	 * Helper function: Translates the lines appended to the file until the process is stopped, appending to the
+	 * 					output file rather than replacing it, as a resumed run carries on where the last one stopped
+	 */
+	private void followFile() throws Exception {
+		File offsetFile = new File(file.getPath() + ".offset");
+		FileChannel outputFile = output == null ? null : FileChannel.open(output.toPath(), StandardOpenOption.CREATE, 
+																		  StandardOpenOption.APPEND);
+		// The channel of the console is left open as it belongs to System.out
+		WritableByteChannel out = outputFile == null ? new FileOutputStream(FileDescriptor.out).getChannel() : outputFile;
+		try (FileFollower follower = new FileFollower(file.toPath(), offsetFile.toPath())) {
+			System.out.flush();
+			while (true) {
+				SkippedLines skipped = new SkippedLines();
+				follower.poll(out, skipped);
+				report(skipped);
+				follower.awaitChange(FileFollower.DEFAULT_POLL_MILLIS);
+			}
+		} finally {
+			if (outputFile != null) {
+				outputFile.close();
+			}
+		}
+	}
+	
+	/**
+	 * Helper function: Reads the file through memory mapped chunks, parsing each line straight from the mapped bytes.
+	 * 					The chunks are translated by the requested number of threads and written out in file order
+	 */
+	private void translateMapped() throws Exception {
+		try (MappedHandReader reader = new MappedHandReader(file.toPath(), chunkSize(file.length(), threads))) {
+			SkippedLines skipped = skipInvalid ? new SkippedLines() : null;
+			PipelineStats pipelineStats = stats ? new PipelineStats() : null;
+			writeToOutput(out -> new ParallelTranslator(threads, pipelineStats).translate(reader, out, skipped));
+			report(skipped);
+			if (pipelineStats != null) {
+				pipelineStats.stop();
+				pipelineStats.report(System.err);
+			}
+		}
+	}
+	
+	/**
+	 * Helper function: Reads a binary hand log block by block and translates its hands, which are written out in
+	 * 					the input format with their cards ordered by suit and rank
+	 */
+	private void translateHandLog() throws Exception {
+		try (HandLogReader log = new HandLogReader(file.toPath())) {
+			writeToOutput(out -> {
+				TranslationBuffer buffer = new TranslationBuffer(OUTPUT_BLOCK_SIZE, out);
+				for (int block = 0; block < log.getBlockCount(); block++) {
+					LongBuffer hands = log.readBlock(block);
+					for (int i = 0; i < hands.limit(); i++) {
+						buffer.appendHand(hands.get(i));
+						buffer.appendTranslation(HandEvaluator.getHandName(HandEvaluator.evaluate(hands.get(i))));
+					}
+				}
+				buffer.flush();
+			});
+		}
+	}
+	
+	/**
+	 * Helper function: Parses the file through memory mapped chunks and writes its hands into a binary hand log
+	 */
+	private void convertToHandLog() throws Exception {
+		try (MappedHandReader reader = new MappedHandReader(file.toPath());
+			 HandLogWriter log = new HandLogWriter(convert.toPath())) {
+			SkippedLines skipped = skipInvalid ? new SkippedLines() : null;
+			long hands = skipInvalid ? HandLogWriter.convert(reader, log, skipped) : HandLogWriter.convert(reader, log);
+			System.out.println(String.format("Converted %d hands into %s", hands, convert));
+			report(skipped);
+		}
+	}
+	
+	/**
+	 * Helper function: Warms up the evaluator and serves clients on localhost until the process is stopped
+	 */
+	private void serve() throws Exception {
+		HandServer.warmUp();
+		try (HandServer server = new HandServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), port))) {
+			System.out.println("Listening on " + server.getAddress());
+			server.run();
+		}
+	}
+	
+	/**
+	 * Helper function: Plays out every preflop matchup and writes the table, checkpointing next to it as it goes
+	 */
+	private void generatePreflopTable() throws Exception {
+		File checkpoint = new File(preflopTable.getPath() + ".checkpoint");
+		new PreflopTableGenerator(threads, checkpoint.toPath()).generate(preflopTable.toPath(), System.out);
+	}
+	
+	/**
+	 * Helper function: Hands the channel of the output file, or of the console, to a task writing the output
+	 */
+	private void writeToOutput(OutputTask task) throws Exception {
+		if (output == null) {
+			// Write straight to the file descriptor, the channel is left open as it belongs to System.out
+			System.out.flush();
+			task.write(new FileOutputStream(FileDescriptor.out).getChannel());
+		} else {
+			try (FileChannel out = FileChannel.open(output.toPath(), StandardOpenOption.CREATE, 
+													StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+				task.write(out);
+			}
+		}
+	}
+	
+	@FunctionalInterface
+	private interface OutputTask {
+		void write(WritableByteChannel out) throws Exception;
+	}
+	
+	/**
+	 * Helper function: Reads the file through memory mapped chunks like translateMapped, or a hand log through its
+	 * 					mapped blocks, but only counts the hands of each name and prints the counts and the
+	 * 					throughput once the whole file has been read
+	 */
+	private void aggregateMapped(boolean handLog) throws Exception {
+		HandAggregator.Result result;
+		SkippedLines skipped = null;
+		if (handLog) {
+			try (HandLogReader log = new HandLogReader(file.toPath())) {
+				result = new HandAggregator(threads).aggregate(log);
+			}
+		} else {
+			try (MappedHandReader reader = new MappedHandReader(file.toPath(), chunkSize(file.length(), threads))) {
+				if (skipInvalid) {
+					skipped = new SkippedLines();
+					result = new HandAggregator(threads).aggregate(reader, skipped);
+				} else {
+					result = new HandAggregator(threads).aggregate(reader);
+				}
+			}
+		}
+		
+		PrintStream out = output == null ? System.out : new PrintStream(new FileOutputStream(output));
+		try {
+			for (PokerHandName name : PokerHandName.values()) {
+				if (name != PokerHandName.NO_NAME || result.getCount(name) > 0) {
+					out.println(name.getName() + ": " + result.getCount(name));
+				}
+			}
+			out.println(String.format("Total: %d hands in %.3f s (%.0f hands/s)", result.getHands(), 
+									  result.getNanos() / 1e9, result.getHandsPerSecond()));
+		} finally {
+			if (out == System.out) {
+				out.flush();
+			} else {
+				out.close();
+			}
+		}
+		report(skipped);
+	}
+	
+	/**
+	 * Helper function: Reports the lines left out by --skip-invalid on the console, once the output is complete
+	 */
+	private static void report(SkippedLines skipped) {
+		if (skipped != null) {
+			skipped.report(System.err);
+		}
+	}
+	
+	/**
+	 * Helper function: Picks a chunk size giving each thread several chunks, to even out the work between them
+	 */
+	private static int chunkSize(long fileSize, int threads) {
+		long perChunk = fileSize / (threads * 4L);
+		return (int) Math.max(MIN_CHUNK_SIZE, Math.min(MappedHandReader.DEFAULT_CHUNK_SIZE, perChunk));
+	}
+	
 }
@@ -0,0 +1,26 @@
+package com.instil.pokerface.equity;
+
+import lombok.Data;
+
+/**
+ * The equity of a hand as estimated or calculated by one of the equity engines
+ */
+@Data
+public class EquityResult {
+	
+	// Number of boards (and opponent hands) the hand was played out on
+	private final long trials;
+	
+	// Trials won outright
+	private final long wins;
+	
+	// Trials where the pot was split with at least one opponent
+	private final long ties;
+	
+	// Share of the pot won on average, between 0 and 1, with split pots counted as fractions
+	private final double equity;
+	
+	// Half width of the 95% confidence interval around the equity, 0 when the equity is exact
+	private final double margin;
+	
+}
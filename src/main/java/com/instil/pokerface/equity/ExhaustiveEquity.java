@@ -0,0 +1,353 @@
+package com.instil.pokerface.equity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.instil.pokerface.evaluator.SevenCardEvaluator;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.model.PackedCard;
+import com.instil.pokerface.model.PackedHand;
+import com.instil.pokerface.utils.ResultCache;
+
+import lombok.Data;
+
+/**
+ * A class calculating the exact equity of Texas Hold'em hole cards against each other, by playing out every
+ * possible runout of the board (1,712,304 boards for two players before the flop)
+ * 
+ * The runouts are walked as combinations of the live cards in colex order, where most steps only replace the lowest
+ * card, so the board mask is updated by swapping the changed cards in and out rather than being rebuilt. The rank
+ * keys of the seven card evaluator (see SevenCardEvaluator.highKey) add up over cards, so they are kept up to date
+ * the same way: the keys of the runout change with the swapped cards, and those of each player's hole cards and the
+ * known board are added once per runout. A player's hand then costs the flush check and the hash lookup, rather than
+ * working out the rank counts of all seven cards again. The combination index space is split into ranges that are
+ * enumerated in parallel, each range starting from its first combination found through the combinatorial number
+ * system.
+ * 
+ * Renaming the suits of every hand the same way does not change the equity, so results can be cached by the suit
+ * isomorphic representative of the hole cards and the board (see PackedHand.canonical). AH KH against QS QD then
+ * shares its result with AS KS against QH QD and every other renaming.
+ */
+public class ExhaustiveEquity {
+	
+	// Ranges per worker thread, so that threads finishing early can pick up more work
+	private static final int RANGES_PER_THREAD = 4;
+	
+	// BINOMIALS[n][k]: the number of ways to choose k of n cards, for up to a full board
+	private static final long[][] BINOMIALS = new long[PackedCard.DECK_SIZE + 1][MonteCarloEquity.BOARD_CARDS + 1];
+	
+	static {
+		for(int n = 0; n < BINOMIALS.length; n++) {
+			BINOMIALS[n][0] = 1;
+			for(int k = 1; k <= MonteCarloEquity.BOARD_CARDS && k <= n; k++) {
+				BINOMIALS[n][k] = BINOMIALS[n - 1][k - 1] + (k < n ? BINOMIALS[n - 1][k] : 0);
+			}
+		}
+	}
+	
+	private final int threads;
+	
+	// The results of earlier deals, null if results are not cached
+	private final ResultCache<Deal, EquityResult[]> cache;
+	
+	public ExhaustiveEquity(int threads) {
+		this(threads, 0);
+	}
+	
+	/**
+	 * Creates an equity calculator that caches its results
+	 * 
+	 * @param threads			The number of threads playing out the runouts
+	 * @param cacheCapacity		The number of results to cache, 0 to cache nothing
+	 */
+	public ExhaustiveEquity(int threads, int cacheCapacity) {
+		if(threads < 1) {
+			throw new IllegalArgumentException("Number of threads must be at least 1, not " + threads);
+		}
+		this.threads = threads;
+		this.cache = cacheCapacity == 0 ? null : new ResultCache<Deal, EquityResult[]>(cacheCapacity);
+	}
+	
+	/**
+	 * Calculates the exact equity of every player
+	 * 
+	 * @param holeCards					The packed hole cards of each player, two per player
+	 * @param board						The packed cards already on the board, up to five
+	 * @return							The equity of each player, in the order of the hole cards
+	 * @throws IllegalHandException		Thrown if the hole cards or the board are not valid or share cards
+	 * @throws InterruptedException		Thrown if the calling thread is interrupted while waiting for the workers
+	 */
+	public EquityResult[] calculate(long[] holeCards, long board) throws IllegalHandException, InterruptedException {
+		if(cache == null) {
+			return playOut(holeCards, board);
+		}
+		long[] hands = Arrays.copyOf(holeCards, holeCards.length + 1);
+		hands[holeCards.length] = board;
+		Deal deal = new Deal(PackedHand.canonical(hands));
+		EquityResult[] results = cache.get(deal);
+		if(results == null) {
+			results = playOut(holeCards, board);
+			cache.put(deal, results);
+		}
+		return results.clone();
+	}
+	
+	/**
+	 * Gets the cache of results
+	 * 
+	 * @return		The cache, to read its hits and misses, null if results are not cached
+	 */
+	public ResultCache<?, EquityResult[]> getCache() {
+		return cache;
+	}
+	
+	/**
+	 * Helper function: Validates the deal and plays out every runout in parallel ranges
+	 */
+	private EquityResult[] playOut(long[] holeCards, long board) throws IllegalHandException, InterruptedException {
+		if(holeCards.length < 2) {
+			throw new IllegalArgumentException("Equity needs at least 2 players, not " + holeCards.length);
+		}
+		long dealt = board;
+		for(long player : holeCards) {
+			MonteCarloEquity.validate(player, board, holeCards.length - 1);
+			if((dealt & player) != 0) {
+				throw new IllegalHandException("Two players share a card.");
+			}
+			dealt |= player;
+		}
+		
+		int[] deck = MonteCarloEquity.remainingDeck(dealt);
+		int boardToDeal = MonteCarloEquity.BOARD_CARDS - PackedHand.size(board);
+		long boards = BINOMIALS[deck.length][boardToDeal];
+		
+		Tally total = new Tally(holeCards.length);
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Tally>> ranges = new ArrayList<Future<Tally>>();
+			int rangeCount = (int) Math.min(boards, (long) threads * RANGES_PER_THREAD);
+			for(int i = 0; i < rangeCount; i++) {
+				long from = boards * i / rangeCount;
+				long to = boards * (i + 1) / rangeCount;
+				ranges.add(pool.submit(() -> enumerate(holeCards, board, deck, boardToDeal, from, to)));
+			}
+			for(Future<Tally> range : ranges) {
+				total.add(range.get());
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Equity worker failed", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+		return total.toResults(boards);
+	}
+	
+	/**
+	 * Helper function: Plays out the runouts with colex indices from (inclusive) to (exclusive)
+	 */
+	private static Tally enumerate(long[] holeCards, long board, int[] deck, int boardToDeal, long from, long to) {
+		Tally tally = new Tally(holeCards.length);
+		int[] strengths = new int[holeCards.length];
+		// The keys of each player's hole cards together with the known board
+		int[] highKeys = new int[holeCards.length];
+		int[] lowKeys = new int[holeCards.length];
+		for(int player = 0; player < holeCards.length; player++) {
+			highKeys[player] = SevenCardEvaluator.highKey(holeCards[player] | board);
+			lowKeys[player] = SevenCardEvaluator.lowKey(holeCards[player] | board);
+		}
+		Runouts runouts = new Runouts(deck, boardToDeal, from);
+		for(long index = from; index < to; index++) {
+			long fullBoard = board | runouts.get();
+			int highKey = runouts.getHighKey();
+			int lowKey = runouts.getLowKey();
+			int best = 0;
+			int winners = 0;
+			for(int player = 0; player < holeCards.length; player++) {
+				int strength = SevenCardEvaluator.evaluate(holeCards[player] | fullBoard, highKeys[player] + highKey, 
+														   lowKeys[player] + lowKey);
+				strengths[player] = strength;
+				if(strength > best) {
+					best = strength;
+					winners = 1;
+				} else if(strength == best) {
+					winners++;
+				}
+			}
+			tally.add(strengths, best, winners);
+			runouts.next();
+		}
+		return tally;
+	}
+	
+	/**
+	 * Helper function: Finds the combination with a given colex index, where the index is the sum of
+	 * binomial(c[i], i + 1) over the positions c[i] in ascending order
+	 */
+	static int[] unrank(long index, int k) {
+		int[] combination = new int[k];
+		for(int i = k; i > 0; i--) {
+			int position = i - 1;
+			while(BINOMIALS[position + 1][i] <= index) {
+				position++;
+			}
+			combination[i - 1] = position;
+			index -= BINOMIALS[position][i];
+		}
+		return combination;
+	}
+	
+	/**
+	 * Helper function: Counts the ways to choose k of n cards, for k up to a full board
+	 */
+	static long binomial(int n, int k) {
+		return BINOMIALS[n][k];
+	}
+	
+	/**
+	 * Walks the runouts of a deck in colex order, starting from a given colex index. Most steps only replace the
+	 * lowest card, so the runout and its rank keys are updated by swapping the changed cards in and out rather than
+	 * being rebuilt.
+	 */
+	static final class Runouts {
+		private final long[] cardBits;
+		private final int[] cardHighKeys;
+		private final int[] cardLowKeys;
+		private final int[] combination;
+		private long runout;
+		private int highKey;
+		private int lowKey;
+		
+		Runouts(int[] deck, int boardToDeal, long from) {
+			cardBits = new long[deck.length];
+			cardHighKeys = new int[deck.length];
+			cardLowKeys = new int[deck.length];
+			for(int i = 0; i < deck.length; i++) {
+				cardBits[i] = 1L << deck[i];
+				cardHighKeys[i] = SevenCardEvaluator.highKey(cardBits[i]);
+				cardLowKeys[i] = SevenCardEvaluator.lowKey(cardBits[i]);
+			}
+			combination = unrank(from, boardToDeal);
+			for(int position : combination) {
+				add(position);
+			}
+		}
+		
+		/**
+		 * @return		The packed cards of the current runout
+		 */
+		long get() {
+			return runout;
+		}
+		
+		/**
+		 * @return		The high key of the current runout, see SevenCardEvaluator.highKey
+		 */
+		int getHighKey() {
+			return highKey;
+		}
+		
+		/**
+		 * @return		The low key of the current runout, see SevenCardEvaluator.lowKey
+		 */
+		int getLowKey() {
+			return lowKey;
+		}
+		
+		/**
+		 * Moves on to the next runout: bumps the lowest card that can move up and resets the cards below it
+		 */
+		void next() {
+			int boardToDeal = combination.length;
+			if(boardToDeal == 0) {
+				return;
+			}
+			int moved = 0;
+			while(moved < boardToDeal - 1 && combination[moved] + 1 == combination[moved + 1]) {
+				moved++;
+			}
+			for(int i = 0; i <= moved; i++) {
+				remove(combination[i]);
+			}
+			combination[moved]++;
+			for(int i = 0; i < moved; i++) {
+				combination[i] = i;
+			}
+			if(combination[moved] < cardBits.length) {
+				for(int i = 0; i <= moved; i++) {
+					add(combination[i]);
+				}
+			}
+		}
+		
+		private void add(int position) {
+			runout |= cardBits[position];
+			highKey += cardHighKeys[position];
+			lowKey += cardLowKeys[position];
+		}
+		
+		private void remove(int position) {
+			runout &= ~cardBits[position];
+			highKey -= cardHighKeys[position];
+			lowKey -= cardLowKeys[position];
+		}
+	}
+	
+	/**
+	 * The suit isomorphic representative of the hole cards and the board of a deal, the key of the cache
+	 */
+	@Data
+	private static class Deal {
+		private final long[] hands;
+	}
+	
+	/**
+	 * Wins, split pots and pot shares per player
+	 */
+	private static class Tally {
+		private final long[] wins;
+		private final long[] ties;
+		private final double[] shares;
+		
+		Tally(int players) {
+			wins = new long[players];
+			ties = new long[players];
+			shares = new double[players];
+		}
+		
+		void add(int[] strengths, int best, int winners) {
+			double share = 1.0 / winners;
+			for(int player = 0; player < strengths.length; player++) {
+				if(strengths[player] == best) {
+					if(winners == 1) {
+						wins[player]++;
+					} else {
+						ties[player]++;
+					}
+					shares[player] += share;
+				}
+			}
+		}
+		
+		void add(Tally other) {
+			for(int player = 0; player < wins.length; player++) {
+				wins[player] += other.wins[player];
+				ties[player] += other.ties[player];
+				shares[player] += other.shares[player];
+			}
+		}
+		
+		EquityResult[] toResults(long boards) {
+			EquityResult[] results = new EquityResult[wins.length];
+			for(int player = 0; player < wins.length; player++) {
+				results[player] = new EquityResult(boards, wins[player], ties[player], shares[player] / boards, 0);
+			}
+			return results;
+		}
+	}
+	
+}
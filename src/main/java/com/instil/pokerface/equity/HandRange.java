@@ -0,0 +1,245 @@
+package com.instil.pokerface.equity;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.model.PackedCard;
+import com.instil.pokerface.model.Rank;
+import com.instil.pokerface.utils.CardParser;
+
+/**
+ * A Texas Hold'em range: the hole cards a player may hold, each with a weight between 0 and 1
+ * 
+ * Ranges are written the way analysts write them, as a comma separated list of
+ * 
+ * 	AA, AKs, AKo		a starting hand
+ * 	AK					both the suited and the offsuit hand
+ * 	QQ+, ATs+			a pair and every higher pair, a hand and every higher kicker below the first rank
+ * 	22-55, A2s-A5s		every pair or kicker between the two, both included
+ * 	AHKH				a single combination of hole cards
+ * 
+ * each optionally preceded by a weight such as "50%" or "50% of", the share of its combos the player holds.
+ * A later entry replaces the weight of an earlier one, so "QQ+, 50% AA" holds QQ and KK fully and AA half the time.
+ * Weights are kept per combo (see PreflopTable.comboOf), so a range takes 1326 doubles however wide it is.
+ */
+public class HandRange {
+	
+	// Class index -> the combo indices of the starting hand
+	private static final int[][] CLASS_COMBOS = new int[PreflopTable.CLASSES][];
+	
+	static {
+		int[] filled = new int[PreflopTable.CLASSES];
+		for(int startingHand = 0; startingHand < PreflopTable.CLASSES; startingHand++) {
+			CLASS_COMBOS[startingHand] = new int[PreflopTable.getComboCount(startingHand)];
+		}
+		for(int combo = 0; combo < PreflopTable.COMBOS; combo++) {
+			int startingHand = PreflopTable.classOfCombo(combo);
+			CLASS_COMBOS[startingHand][filled[startingHand]++] = combo;
+		}
+	}
+	
+	private final String text;
+	private final double[] weights;
+	
+	private HandRange(String text, double[] weights) {
+		this.text = text;
+		this.weights = weights;
+	}
+	
+	/**
+	 * Parses a range such as "QQ+, AKs, 50% AQo"
+	 * 
+	 * @param range						The range, see the class description for its format
+	 * @return							HandRange object
+	 * @throws IllegalCardException		Thrown if a rank or a card is not valid
+	 * @throws IllegalHandException		Thrown if an entry is not a hand, or the range holds no hands at all
+	 */
+	public static HandRange parse(String range) throws IllegalCardException, IllegalHandException {
+		double[] weights = new double[PreflopTable.COMBOS];
+		for(String entry : range.split(",")) {
+			parseEntry(entry.trim(), weights);
+		}
+		HandRange parsed = new HandRange(range, weights);
+		if(parsed.getComboCount() == 0) {
+			throw new IllegalHandException(String.format("'%s' holds no hands", range));
+		}
+		return parsed;
+	}
+	
+	/**
+	 * Gets the weight of two hole cards
+	 * 
+	 * @param holeCards					The packed hole cards
+	 * @return							The share of the combo the range holds, 0 if it does not hold it
+	 * @throws IllegalHandException		Thrown if the hole cards are not two cards
+	 */
+	public double getWeight(long holeCards) throws IllegalHandException {
+		return weights[PreflopTable.comboOf(holeCards)];
+	}
+	
+	/**
+	 * Counts the combos the range holds with any weight
+	 * 
+	 * @return		The number of combos, between 1 and 1326
+	 */
+	public int getComboCount() {
+		int count = 0;
+		for(double weight : weights) {
+			if(weight > 0) {
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Counts the combos the range holds, each counting as its weight
+	 * 
+	 * @return		The sum of the weights, e.g. 9 for "AA, 50% KQo"
+	 */
+	public double getWeightedComboCount() {
+		double count = 0;
+		for(double weight : weights) {
+			count += weight;
+		}
+		return count;
+	}
+	
+	/**
+	 * Gets the weight of a combo index, without any checks
+	 */
+	double weightOf(int combo) {
+		return weights[combo];
+	}
+	
+	@Override
+	public String toString() {
+		return text;
+	}
+	
+	/**
+	 * Helper function: Sets the weight of every combo of one entry of a range
+	 */
+	private static void parseEntry(String entry, double[] weights) throws IllegalCardException, IllegalHandException {
+		double weight = 1;
+		int percent = entry.indexOf('%');
+		if(percent >= 0) {
+			weight = parseWeight(entry.substring(0, percent).trim(), entry);
+			entry = entry.substring(percent + 1).trim();
+			if(entry.startsWith("of ")) {
+				entry = entry.substring(3).trim();
+			}
+		}
+		
+		if(isCombo(entry)) {
+			long holeCards = PackedCard.maskOf(PackedCard.indexOf(CardParser.parseCard(entry.substring(0, 2))))
+						   | PackedCard.maskOf(PackedCard.indexOf(CardParser.parseCard(entry.substring(2, 4))));
+			weights[PreflopTable.comboOf(holeCards)] = weight;
+			return;
+		}
+		
+		int dash = entry.indexOf('-');
+		if(dash >= 0) {
+			Shape from = Shape.parse(entry.substring(0, dash).trim());
+			Shape to = Shape.parse(entry.substring(dash + 1).trim());
+			if(from.isPair() != to.isPair() || from.suffix != to.suffix || (!from.isPair() && from.high != to.high)) {
+				throw new IllegalHandException(String.format("%s is not a span of pairs or of kickers", entry));
+			}
+			Shape lowest = from.low <= to.low ? from : to;
+			lowest.addTo(weights, weight, Math.max(from.low, to.low));
+			return;
+		}
+		
+		if(entry.endsWith("+")) {
+			Shape shape = Shape.parse(entry.substring(0, entry.length() - 1));
+			shape.addTo(weights, weight, shape.isPair() ? PackedCard.RANKS - 1 : shape.high - 1);
+			return;
+		}
+		
+		Shape shape = Shape.parse(entry);
+		shape.addTo(weights, weight, shape.low);
+	}
+	
+	/**
+	 * Helper function: Parses a weight given in percent into a share between 0 and 1
+	 */
+	private static double parseWeight(String percent, String entry) throws IllegalHandException {
+		double weight;
+		try {
+			weight = Double.parseDouble(percent) / 100;
+		} catch (NumberFormatException e) {
+			throw new IllegalHandException(String.format("%s does not start with a weight such as 50%%", entry));
+		}
+		if(!(weight >= 0 && weight <= 1)) {
+			throw new IllegalHandException(String.format("The weight of %s is not between 0%% and 100%%", entry));
+		}
+		return weight;
+	}
+	
+	/**
+	 * Helper function: Checks if an entry is a single combination of two cards such as AHKH
+	 */
+	private static boolean isCombo(String entry) {
+		return entry.length() == 4 && Character.isLetter(entry.charAt(1)) && Character.isLetter(entry.charAt(3))
+				&& entry.charAt(1) != 's' && entry.charAt(1) != 'o';
+	}
+	
+	/**
+	 * A starting hand, or both hands of two ranks when no suffix is given
+	 */
+	private static class Shape {
+		private final int high;
+		private final int low;
+		
+		// 's' for suited, 'o' for offsuit, 0 for pairs and both
+		private final char suffix;
+		
+		private Shape(int high, int low, char suffix) {
+			this.high = high;
+			this.low = low;
+			this.suffix = suffix;
+		}
+		
+		static Shape parse(String hand) throws IllegalCardException, IllegalHandException {
+			if(hand.length() == 2 && hand.charAt(0) != hand.charAt(1)) {
+				PreflopTable.classOf(hand + "s");
+				return new Shape(rankOf(hand, 0), rankOf(hand, 1), (char) 0);
+			}
+			PreflopTable.classOf(hand);
+			return new Shape(rankOf(hand, 0), rankOf(hand, 1), hand.length() == 3 ? hand.charAt(2) : 0);
+		}
+		
+		boolean isPair() {
+			return high == low;
+		}
+		
+		/**
+		 * Sets the weight of the combos of this hand and of the hands above it up to a rank, which are the higher
+		 * pairs for a pair and the higher kickers otherwise
+		 */
+		void addTo(double[] weights, double weight, int highestRank) {
+			for(int rank = low; rank <= highestRank; rank++) {
+				if(isPair()) {
+					set(weights, PreflopTable.classIndex(rank, rank, false), weight);
+				} else {
+					if(suffix != 'o') {
+						set(weights, PreflopTable.classIndex(high, rank, true), weight);
+					}
+					if(suffix != 's') {
+						set(weights, PreflopTable.classIndex(high, rank, false), weight);
+					}
+				}
+			}
+		}
+		
+		private static void set(double[] weights, int startingHand, double weight) {
+			for(int combo : CLASS_COMBOS[startingHand]) {
+				weights[combo] = weight;
+			}
+		}
+		
+		private static int rankOf(String hand, int index) throws IllegalCardException {
+			return Rank.getRankByCharacter(hand.charAt(index)).ordinal();
+		}
+	}
+	
+}
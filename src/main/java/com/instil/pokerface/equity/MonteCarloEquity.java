@@ -0,0 +1,277 @@
+package com.instil.pokerface.equity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.instil.pokerface.evaluator.SevenCardEvaluator;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.model.PackedCard;
+import com.instil.pokerface.model.PackedHand;
+
+/**
+ * A class estimating the equity of Texas Hold'em hole cards against a number of random opponents by sampling
+ * 
+ * Each trial completes the board and deals two cards to every opponent from the remaining deck, then compares the
+ * hands with the seven card evaluator. Cards are dealt by a partial shuffle of a per worker deck array, driven by a
+ * SplittableRandom split per worker, so trials allocate nothing. Each worker runs a fixed share of the maximum
+ * number of trials in batches and merges them into a shared tally; sampling stops once the workers have run their
+ * shares, or earlier once the 95% confidence interval is narrower than the requested margin.
+ * 
+ * A seed always reproduces the same result for the same number of threads when sampling runs to the maximum number
+ * of trials, which an estimator created without a target margin always does. A run stopped by the margin only
+ * reproduces on one thread, as the batches the other workers have finished by then depend on how the threads were
+ * scheduled.
+ */
+public class MonteCarloEquity {
+	
+	// Hole cards in Texas Hold'em
+	public static final int HOLE_CARDS = 2;
+	
+	// Cards on a complete board
+	public static final int BOARD_CARDS = 5;
+	
+	// z value of a two sided 95% confidence interval
+	private static final double Z_95 = 1.96;
+	
+	// Trials a worker runs between checks of the confidence interval
+	private static final int BATCH_SIZE = 16 * 1024;
+	
+	// The target margin of an estimator running all of its trials, below any margin a tally can reach
+	private static final double NO_TARGET_MARGIN = -1;
+	
+	private final int threads;
+	private final long maxTrials;
+	private final double targetMargin;
+	
+	/**
+	 * @param threads			The number of worker threads
+	 * @param maxTrials			The number of trials after which sampling stops regardless of the margin, shared
+	 * 							evenly between the threads
+	 * @param targetMargin		The half width of the 95% confidence interval at which sampling stops, e.g. 0.001
+	 */
+	public MonteCarloEquity(int threads, long maxTrials, double targetMargin) {
+		this(threads, maxTrials, targetMargin, true);
+	}
+	
+	/**
+	 * Creates an estimator that always runs all of its trials, e.g. to reproduce a result on several threads
+	 * 
+	 * @param threads			The number of worker threads
+	 * @param trials			The number of trials, shared evenly between the threads
+	 */
+	public MonteCarloEquity(int threads, long trials) {
+		this(threads, trials, NO_TARGET_MARGIN, false);
+	}
+	
+	private MonteCarloEquity(int threads, long maxTrials, double targetMargin, boolean stopAtMargin) {
+		if(threads < 1) {
+			throw new IllegalArgumentException("Number of threads must be at least 1, not " + threads);
+		}
+		if(maxTrials < 1) {
+			throw new IllegalArgumentException("Number of trials must be at least 1, not " + maxTrials);
+		}
+		if(stopAtMargin && !(targetMargin > 0)) {
+			throw new IllegalArgumentException("Target margin must be above 0, not " + targetMargin);
+		}
+		this.threads = threads;
+		this.maxTrials = maxTrials;
+		this.targetMargin = targetMargin;
+	}
+	
+	/**
+	 * Estimates the equity of hole cards against random opponents
+	 * 
+	 * @param holeCards					The packed hole cards of the player, exactly two
+	 * @param board						The packed cards already on the board, up to five
+	 * @param opponents					The number of opponents holding random cards
+	 * @param seed						The seed for the random generator
+	 * @return							The estimated equity
+	 * @throws IllegalHandException		Thrown if the hole cards or the board are not valid
+	 * @throws InterruptedException		Thrown if the calling thread is interrupted while waiting for the workers
+	 */
+	public EquityResult calculate(long holeCards, long board, int opponents, long seed) throws IllegalHandException, InterruptedException {
+		validate(holeCards, board, opponents);
+		
+		Tally tally = new Tally();
+		SplittableRandom random = new SplittableRandom(seed);
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> workers = new ArrayList<Future<?>>();
+			for(int i = 0; i < threads; i++) {
+				long share = maxTrials / threads + (i < maxTrials % threads ? 1 : 0);
+				Worker worker = new Worker(holeCards, board, opponents, random.split(), tally, share);
+				workers.add(pool.submit(worker::run));
+			}
+			for(Future<?> worker : workers) {
+				worker.get();
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Equity worker failed", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+		return tally.toResult();
+	}
+	
+	/**
+	 * Helper function: Checks that the cards can be dealt as requested
+	 */
+	static void validate(long holeCards, long board, int opponents) throws IllegalHandException {
+		if(((holeCards | board) & ~PackedHand.FULL_DECK) != 0) {
+			throw new IllegalHandException("The hole cards or the board hold a card that is not in the deck.");
+		}
+		if(PackedHand.size(holeCards) != HOLE_CARDS) {
+			String message = "A player must hold %d hole cards, not %d.";
+			throw new IllegalHandException(String.format(message, HOLE_CARDS, PackedHand.size(holeCards)));
+		}
+		if(PackedHand.size(board) > BOARD_CARDS) {
+			String message = "A board can only hold %d cards, not %d.";
+			throw new IllegalHandException(String.format(message, BOARD_CARDS, PackedHand.size(board)));
+		}
+		if((holeCards & board) != 0) {
+			throw new IllegalHandException("The hole cards and the board share a card.");
+		}
+		if(opponents < 1 || HOLE_CARDS * (opponents + 1) + BOARD_CARDS > PackedCard.DECK_SIZE) {
+			throw new IllegalArgumentException("Can not deal to " + opponents + " opponents");
+		}
+	}
+	
+	/**
+	 * Helper function: Lists the cards that are not in a packed hand
+	 */
+	static int[] remainingDeck(long dealt) {
+		int[] deck = new int[PackedCard.DECK_SIZE - PackedHand.size(dealt)];
+		int size = 0;
+		for(long rest = PackedHand.FULL_DECK & ~dealt; rest != 0; rest &= rest - 1) {
+			deck[size++] = Long.numberOfTrailingZeros(rest);
+		}
+		return deck;
+	}
+	
+	/**
+	 * The running totals shared by the workers
+	 */
+	private class Tally {
+		private long trials;
+		private long wins;
+		private long ties;
+		private double equity;
+		private double equitySquared;
+		private volatile boolean done;
+		
+		/**
+		 * Adds a finished batch and decides whether sampling can stop
+		 */
+		synchronized void add(long batchTrials, long batchWins, long batchTies, double batchEquity, double batchSquared) {
+			trials += batchTrials;
+			wins += batchWins;
+			ties += batchTies;
+			equity += batchEquity;
+			equitySquared += batchSquared;
+			if(trials >= maxTrials || margin() <= targetMargin) {
+				done = true;
+			}
+		}
+		
+		synchronized EquityResult toResult() {
+			return new EquityResult(trials, wins, ties, equity / trials, margin());
+		}
+		
+		private double margin() {
+			double mean = equity / trials;
+			double variance = Math.max(0, equitySquared / trials - mean * mean);
+			return Z_95 * Math.sqrt(variance / trials);
+		}
+	}
+	
+	/**
+	 * Runs batches of trials until it has run its share of them, or the tally has enough of them
+	 */
+	private class Worker {
+		private final long holeCards;
+		private final long board;
+		private final int opponents;
+		private final SplittableRandom random;
+		private final Tally tally;
+		private final long share;
+		private final int[] deck;
+		private final int boardToDeal;
+		
+		Worker(long holeCards, long board, int opponents, SplittableRandom random, Tally tally, long share) {
+			this.holeCards = holeCards;
+			this.board = board;
+			this.opponents = opponents;
+			this.random = random;
+			this.tally = tally;
+			this.share = share;
+			this.deck = remainingDeck(holeCards | board);
+			this.boardToDeal = BOARD_CARDS - PackedHand.size(board);
+		}
+		
+		void run() {
+			long remaining = share;
+			while(remaining > 0 && !tally.done) {
+				int batch = (int) Math.min(BATCH_SIZE, remaining);
+				long wins = 0;
+				long ties = 0;
+				double equity = 0;
+				double equitySquared = 0;
+				for(int trial = 0; trial < batch; trial++) {
+					double share = playTrial();
+					if(share == 1) {
+						wins++;
+					} else if(share > 0) {
+						ties++;
+					}
+					equity += share;
+					equitySquared += share * share;
+				}
+				remaining -= batch;
+				tally.add(batch, wins, ties, equity, equitySquared);
+			}
+		}
+		
+		/**
+		 * Helper function: Deals one board and one set of opponent hands
+		 * 
+		 * @return		The share of the pot won by the player
+		 */
+		private double playTrial() {
+			int dealt = 0;
+			long fullBoard = board;
+			for(int i = 0; i < boardToDeal; i++) {
+				fullBoard |= 1L << deal(dealt++);
+			}
+			
+			int strength = SevenCardEvaluator.evaluate(holeCards | fullBoard);
+			int splits = 1;
+			for(int i = 0; i < opponents; i++) {
+				long opponent = (1L << deal(dealt++)) | (1L << deal(dealt++));
+				int opponentStrength = SevenCardEvaluator.evaluate(opponent | fullBoard);
+				if(opponentStrength > strength) {
+					return 0;
+				} else if(opponentStrength == strength) {
+					splits++;
+				}
+			}
+			return 1.0 / splits;
+		}
+		
+		/**
+		 * Helper function: Deals the next card by swapping a random undealt card into the dealt part of the deck
+		 */
+		private int deal(int dealt) {
+			int pick = dealt + random.nextInt(deck.length - dealt);
+			int card = deck[pick];
+			deck[pick] = deck[dealt];
+			deck[dealt] = card;
+			return card;
+		}
+	}
+	
+}
@@ -0,0 +1,293 @@
+package com.instil.pokerface.equity;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.model.PackedCard;
+import com.instil.pokerface.model.PackedHand;
+import com.instil.pokerface.model.Rank;
+
+/**
+ * A class looking up Texas Hold'em preflop equities in a table generated by PreflopTableGenerator
+ * 
+ * Every one of the 1326 combinations of two hole cards has a combo index, and every one of the 169 starting hands
+ * (AA, AKs, AKo, ...) has a class index. The table holds the equity of every combo against every other combo,
+ * of every class against every other class, and of every combo and class against a random hand, so every lookup
+ * is a single read at a computed offset. Equities are stored as unsigned 16 bit fractions of 65535, within 0.00001
+ * of the exact value. All values are little endian. The file starts with a 16 byte header
+ * 
+ * 	magic, version, number of combos, number of classes
+ * 
+ * followed by the combo matrix, the class matrix, the combos against a random hand and the classes against a random
+ * hand, each row by row. Matrix entries of combos sharing a card are 0.
+ * 
+ * Combo indices number the two cards in colex order (the higher card index h and the lower l give h(h-1)/2 + l).
+ * Class indices lay the starting hands out on a 13x13 grid: pairs on the diagonal, suited hands at row high
+ * rank and column low rank, offsuit hands the other way round.
+ */
+public class PreflopTable {
+	
+	// "PKPF" in little endian
+	static final int MAGIC = 0x46504B50;
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 16;
+	static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+	
+	// Combinations of two hole cards
+	public static final int COMBOS = PackedCard.DECK_SIZE * (PackedCard.DECK_SIZE - 1) / 2;
+	
+	// Starting hands up to suit isomorphism: 13 pairs, 78 suited and 78 offsuit hands
+	public static final int CLASSES = PackedCard.RANKS * PackedCard.RANKS;
+	
+	// The stored value of an equity of 1
+	static final int SCALE = 0xFFFF;
+	
+	private static final Rank[] RANKS = Rank.values();
+	
+	// Combo index -> the packed hole cards
+	private static final long[] COMBO_CARDS = new long[COMBOS];
+	
+	static {
+		for(int high = 1; high < PackedCard.DECK_SIZE; high++) {
+			for(int low = 0; low < high; low++) {
+				COMBO_CARDS[comboIndex(low, high)] = PackedCard.maskOf(low) | PackedCard.maskOf(high);
+			}
+		}
+	}
+	
+	private final ShortBuffer combos;
+	private final ShortBuffer classes;
+	private final ShortBuffer combosVsRandom;
+	private final ShortBuffer classesVsRandom;
+	
+	/**
+	 * Maps a table file into memory
+	 * 
+	 * @param path				The table file
+	 * @throws IOException		Thrown if the file could not be read or is not a preflop table
+	 */
+	public PreflopTable(Path path) throws IOException {
+		ByteBuffer table;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if(channel.size() != fileSize()) {
+				throw new IOException(String.format("%s is %d bytes, a preflop table is %d", path, channel.size(), fileSize()));
+			}
+			table = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ORDER);
+		}
+		if(table.getInt(0) != MAGIC) {
+			throw new IOException(path + " is not a preflop table");
+		}
+		if(table.getInt(4) != VERSION) {
+			throw new IOException(String.format("%s is a preflop table of version %d, not %d", path, table.getInt(4), VERSION));
+		}
+		if(table.getInt(8) != COMBOS || table.getInt(12) != CLASSES) {
+			throw new IOException(String.format("%s has %d combos and %d classes", path, table.getInt(8), table.getInt(12)));
+		}
+		
+		table.position(HEADER_SIZE);
+		this.combos = section(table, COMBOS * COMBOS);
+		this.classes = section(table, CLASSES * CLASSES);
+		this.combosVsRandom = section(table, COMBOS);
+		this.classesVsRandom = section(table, CLASSES);
+	}
+	
+	/**
+	 * Looks up the equity of hole cards against other hole cards, when all five board cards are still to come
+	 * 
+	 * @param holeCards					The packed hole cards of a player
+	 * @param opponent					The packed hole cards of the opponent
+	 * @return							The share of the pot the player wins on average, between 0 and 1
+	 * @throws IllegalHandException		Thrown if either does not hold two cards or they share a card
+	 */
+	public double getEquity(long holeCards, long opponent) throws IllegalHandException {
+		int combo = comboOf(holeCards);
+		int opponentCombo = comboOf(opponent);
+		if((holeCards & opponent) != 0) {
+			throw new IllegalHandException("The hole cards of both players share a card.");
+		}
+		return decode(combos.get(combo * COMBOS + opponentCombo));
+	}
+	
+	/**
+	 * Looks up the equity of hole cards against a random hand
+	 * 
+	 * @param holeCards					The packed hole cards of a player
+	 * @return							The share of the pot the player wins on average, between 0 and 1
+	 * @throws IllegalHandException		Thrown if the hole cards are not two cards
+	 */
+	public double getEquity(long holeCards) throws IllegalHandException {
+		return decode(combosVsRandom.get(comboOf(holeCards)));
+	}
+	
+	/**
+	 * Looks up the equity of a starting hand against another, averaged over all their combos that do not share
+	 * a card
+	 * 
+	 * @param startingHand		The class index of a starting hand
+	 * @param opponent			The class index of the opponent's starting hand
+	 * @return					The share of the pot the player wins on average, between 0 and 1
+	 */
+	public double getClassEquity(int startingHand, int opponent) {
+		return decode(classes.get(checkClass(startingHand) * CLASSES + checkClass(opponent)));
+	}
+	
+	/**
+	 * Looks up the equity of a starting hand against a random hand
+	 * 
+	 * @param startingHand		The class index of a starting hand
+	 * @return					The share of the pot the player wins on average, between 0 and 1
+	 */
+	public double getClassEquity(int startingHand) {
+		return decode(classesVsRandom.get(checkClass(startingHand)));
+	}
+	
+	/**
+	 * Gets the combo index of two hole cards
+	 * 
+	 * @param holeCards					The packed hole cards
+	 * @return							The combo index, between 0 and 1325
+	 * @throws IllegalHandException		Thrown if the hole cards are not two cards
+	 */
+	public static int comboOf(long holeCards) throws IllegalHandException {
+		if(PackedHand.size(holeCards) != MonteCarloEquity.HOLE_CARDS || (holeCards & ~PackedHand.FULL_DECK) != 0) {
+			String message = "A player holds %d hole cards, not %d.";
+			throw new IllegalHandException(String.format(message, PackedHand.size(holeCards), MonteCarloEquity.HOLE_CARDS));
+		}
+		int low = Long.numberOfTrailingZeros(holeCards);
+		return comboIndex(low, Long.numberOfTrailingZeros(holeCards & (holeCards - 1)));
+	}
+	
+	/**
+	 * Gets the hole cards of a combo index
+	 * 
+	 * @param combo		A combo index, between 0 and 1325
+	 * @return			The packed hole cards
+	 */
+	public static long getCombo(int combo) {
+		return COMBO_CARDS[combo];
+	}
+	
+	/**
+	 * Gets the class index of the starting hand two hole cards belong to
+	 * 
+	 * @param holeCards					The packed hole cards
+	 * @return							The class index, between 0 and 168
+	 * @throws IllegalHandException		Thrown if the hole cards are not two cards
+	 */
+	public static int classOf(long holeCards) throws IllegalHandException {
+		return classOfCombo(comboOf(holeCards));
+	}
+	
+	/**
+	 * Gets the class index of the starting hand a combo belongs to
+	 * 
+	 * @param combo		A combo index, between 0 and 1325
+	 * @return			The class index, between 0 and 168
+	 */
+	public static int classOfCombo(int combo) {
+		int low = Long.numberOfTrailingZeros(COMBO_CARDS[combo]);
+		int high = Long.numberOfTrailingZeros(COMBO_CARDS[combo] & (COMBO_CARDS[combo] - 1));
+		return classIndex(PackedCard.rankOf(low), PackedCard.rankOf(high), PackedCard.suitOf(low) == PackedCard.suitOf(high));
+	}
+	
+	/**
+	 * Gets the class index of a starting hand by its name
+	 * 
+	 * @param name						A starting hand such as "AA", "AKs" or "T9o", higher rank first
+	 * @return							The class index, between 0 and 168
+	 * @throws IllegalCardException		Thrown if a rank is not valid
+	 * @throws IllegalHandException		Thrown if the name is not a starting hand
+	 */
+	public static int classOf(String name) throws IllegalCardException, IllegalHandException {
+		boolean pair = name.length() == 2;
+		if(!pair && !(name.length() == 3 && (name.charAt(2) == 's' || name.charAt(2) == 'o'))) {
+			throw new IllegalHandException(String.format("%s is not a starting hand, e.g. AA, AKs or AKo", name));
+		}
+		int high = Rank.getRankByCharacter(name.charAt(0)).ordinal();
+		int low = Rank.getRankByCharacter(name.charAt(1)).ordinal();
+		if(pair != (high == low) || high < low) {
+			throw new IllegalHandException(String.format("%s is not a starting hand, e.g. AA, AKs or AKo", name));
+		}
+		return classIndex(high, low, !pair && name.charAt(2) == 's');
+	}
+	
+	/**
+	 * Gets the name of a starting hand
+	 * 
+	 * @param startingHand		A class index, between 0 and 168
+	 * @return					The name, such as "AA", "AKs" or "T9o"
+	 */
+	public static String getClassName(int startingHand) {
+		int row = checkClass(startingHand) / PackedCard.RANKS;
+		int column = startingHand % PackedCard.RANKS;
+		String ranks = "" + RANKS[Math.max(row, column)].getRankCharacter() + RANKS[Math.min(row, column)].getRankCharacter();
+		return row == column ? ranks : ranks + (row > column ? 's' : 'o');
+	}
+	
+	/**
+	 * Gets the number of hole card combinations of a starting hand
+	 * 
+	 * @param startingHand		A class index, between 0 and 168
+	 * @return					6 for a pair, 4 for a suited hand, 12 for an offsuit hand
+	 */
+	public static int getComboCount(int startingHand) {
+		int row = checkClass(startingHand) / PackedCard.RANKS;
+		int column = startingHand % PackedCard.RANKS;
+		return row == column ? 6 : row > column ? 4 : 12;
+	}
+	
+	/**
+	 * Gets the size of a table file
+	 * 
+	 * @return		The size in bytes
+	 */
+	static long fileSize() {
+		return HEADER_SIZE + 2L * (COMBOS * COMBOS + CLASSES * CLASSES + COMBOS + CLASSES);
+	}
+	
+	/**
+	 * Encodes an equity into its stored form
+	 */
+	static short encode(double equity) {
+		return (short) Math.round(Math.max(0, Math.min(1, equity)) * SCALE);
+	}
+	
+	static double decode(short stored) {
+		return (stored & SCALE) / (double) SCALE;
+	}
+	
+	static int comboIndex(int low, int high) {
+		return high * (high - 1) / 2 + low;
+	}
+	
+	static int classIndex(int rankA, int rankB, boolean suited) {
+		int high = Math.max(rankA, rankB);
+		int low = Math.min(rankA, rankB);
+		return suited ? high * PackedCard.RANKS + low : low * PackedCard.RANKS + high;
+	}
+	
+	/**
+	 * Helper function: Slices the next section of a number of equities off the table
+	 */
+	private static ShortBuffer section(ByteBuffer table, int entries) {
+		ByteBuffer slice = table.slice().order(ORDER);
+		slice.limit(entries * 2);
+		table.position(table.position() + entries * 2);
+		return slice.asShortBuffer();
+	}
+	
+	private static int checkClass(int startingHand) {
+		if(startingHand < 0 || startingHand >= CLASSES) {
+			throw new IllegalArgumentException("A class index is between 0 and " + (CLASSES - 1) + ", not " + startingHand);
+		}
+		return startingHand;
+	}
+	
+}
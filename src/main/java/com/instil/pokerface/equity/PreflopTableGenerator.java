@@ -0,0 +1,337 @@
+package com.instil.pokerface.equity;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.model.PackedHand;
+
+import lombok.Data;
+
+/**
+ * A class generating the table of PreflopTable by playing out every preflop matchup exhaustively
+ * 
+ * Of the 812,175 pairs of combos that do not share a card, most only differ by a renaming of the suits or by which
+ * player is which, so only the suit isomorphic representatives (see PackedHand.canonical) are played out, with
+ * the first player the one of the smaller representative. Each of them takes ExhaustiveEquity 1.7 million boards,
+ * so the matchups are shared out whole between the threads rather than each being split up.
+ * 
+ * The run takes hours, so the equities solved so far are written to a checkpoint file every checkpoint interval,
+ * and a run finding a checkpoint only plays out the matchups missing from it. The checkpoint holds the exact
+ * equities and is left in place once the table is written. It starts with a 16 byte little endian header
+ * 
+ * 	magic, version, number of matchups, 0
+ * 
+ * followed by the equity of every matchup as a double, NaN while it has not been solved.
+ */
+public class PreflopTableGenerator {
+	
+	// "PKPC" in little endian
+	static final int CHECKPOINT_MAGIC = 0x43504B50;
+	static final int CHECKPOINT_VERSION = 1;
+	
+	// Time between checkpoints
+	public static final long DEFAULT_CHECKPOINT_MILLIS = 60_000;
+	
+	private static final int NO_MATCHUP = -1;
+	
+	/**
+	 * Plays out a matchup
+	 */
+	@FunctionalInterface
+	interface Solver {
+		/**
+		 * @param holeCards		The packed hole cards of the first player
+		 * @param opponent		The packed hole cards of the second player
+		 * @return				The equity of the first player
+		 */
+		double solve(long holeCards, long opponent) throws Exception;
+	}
+	
+	/**
+	 * The suit isomorphic representative of a matchup
+	 */
+	@Data
+	private static class Matchup {
+		private final long holeCards;
+		private final long opponent;
+	}
+	
+	/**
+	 * The matchups to play out and which of them every pair of combos is
+	 */
+	static class Matchups {
+		// Matchup -> the hole cards of both players
+		private final List<Matchup> representatives = new ArrayList<Matchup>();
+		// Combo index * COMBOS + opponent combo index -> matchup, NO_MATCHUP if the combos share a card
+		private final int[] matchupOf = new int[PreflopTable.COMBOS * PreflopTable.COMBOS];
+		// Set for the pairs of combos that are the matchup with the players swapped
+		private final boolean[] swapped = new boolean[PreflopTable.COMBOS * PreflopTable.COMBOS];
+		
+		Matchups() {
+			Arrays.fill(matchupOf, NO_MATCHUP);
+			Map<Matchup, Integer> indices = new HashMap<Matchup, Integer>();
+			for(int combo = 0; combo < PreflopTable.COMBOS; combo++) {
+				for(int opponent = combo + 1; opponent < PreflopTable.COMBOS; opponent++) {
+					long holeCards = PreflopTable.getCombo(combo);
+					long opponentCards = PreflopTable.getCombo(opponent);
+					if((holeCards & opponentCards) != 0) {
+						continue;
+					}
+					long[] forward = PackedHand.canonical(new long[] {holeCards, opponentCards});
+					long[] backward = PackedHand.canonical(new long[] {opponentCards, holeCards});
+					boolean swap = compare(backward, forward) < 0;
+					Matchup matchup = swap ? new Matchup(backward[0], backward[1]) : new Matchup(forward[0], forward[1]);
+					Integer index = indices.get(matchup);
+					if(index == null) {
+						index = representatives.size();
+						indices.put(matchup, index);
+						representatives.add(matchup);
+					}
+					set(combo, opponent, index, swap);
+					set(opponent, combo, index, !swap);
+				}
+			}
+		}
+		
+		int size() {
+			return representatives.size();
+		}
+		
+		private void set(int combo, int opponent, int matchup, boolean swap) {
+			matchupOf[combo * PreflopTable.COMBOS + opponent] = matchup;
+			swapped[combo * PreflopTable.COMBOS + opponent] = swap;
+		}
+		
+		private static int compare(long[] a, long[] b) {
+			int first = Long.compare(a[0], b[0]);
+			return first != 0 ? first : Long.compare(a[1], b[1]);
+		}
+	}
+	
+	private final int threads;
+	private final Path checkpoint;
+	private final long checkpointMillis;
+	private final Solver solver;
+	
+	// The number of matchups played out by the last run, not counting those read from the checkpoint
+	private final AtomicInteger solved = new AtomicInteger();
+	
+	/**
+	 * Creates a generator playing out every matchup exhaustively
+	 * 
+	 * @param threads			The number of matchups played out at once
+	 * @param checkpoint		The checkpoint file, resumed from if it exists
+	 */
+	public PreflopTableGenerator(int threads, Path checkpoint) {
+		this(threads, checkpoint, DEFAULT_CHECKPOINT_MILLIS, PreflopTableGenerator::playOut);
+	}
+	
+	PreflopTableGenerator(int threads, Path checkpoint, long checkpointMillis, Solver solver) {
+		if(threads < 1) {
+			throw new IllegalArgumentException("Number of threads must be at least 1, not " + threads);
+		}
+		this.threads = threads;
+		this.checkpoint = checkpoint;
+		this.checkpointMillis = checkpointMillis;
+		this.solver = solver;
+	}
+	
+	/**
+	 * Gets the number of matchups played out by the last run
+	 * 
+	 * @return		The matchups played out, not counting those read from the checkpoint
+	 */
+	public int getSolved() {
+		return solved.get();
+	}
+	
+	/**
+	 * Plays out every matchup missing from the checkpoint and writes the table
+	 * 
+	 * @param table						The file the table is written to, replaced once it is complete
+	 * @param progress					The stream progress is reported on
+	 * @throws IOException				Thrown if the checkpoint could not be read or written, or the table written
+	 * @throws InterruptedException		Thrown if the calling thread is interrupted, after writing a checkpoint
+	 */
+	public void generate(Path table, PrintStream progress) throws IOException, InterruptedException {
+		Matchups matchups = new Matchups();
+		AtomicLongArray equities = readCheckpoint(matchups.size());
+		List<Integer> missing = new ArrayList<Integer>();
+		for(int matchup = 0; matchup < matchups.size(); matchup++) {
+			if(Double.isNaN(get(equities, matchup))) {
+				missing.add(matchup);
+			}
+		}
+		progress.println(String.format("%d matchups, %d solved, %d to play out", matchups.size(),
+									   matchups.size() - missing.size(), missing.size()));
+		
+		solved.set(0);
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List<Future<?>> results = new ArrayList<Future<?>>();
+		try {
+			for(int matchup : missing) {
+				Matchup representative = matchups.representatives.get(matchup);
+				results.add(pool.submit(() -> {
+					double equity = solver.solve(representative.getHoleCards(), representative.getOpponent());
+					equities.set(matchup, Double.doubleToRawLongBits(equity));
+					solved.incrementAndGet();
+					return null;
+				}));
+			}
+			pool.shutdown();
+			while(!pool.awaitTermination(checkpointMillis, TimeUnit.MILLISECONDS)) {
+				writeCheckpoint(equities);
+				progress.println(String.format("Played out %d of %d matchups", solved.get(), missing.size()));
+			}
+		} finally {
+			pool.shutdownNow();
+			writeCheckpoint(equities);
+		}
+		for(Future<?> result : results) {
+			try {
+				result.get();
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("Could not play out a matchup", e.getCause());
+			}
+		}
+		
+		writeTable(table, matchups, equities);
+		progress.println("Wrote " + table);
+	}
+	
+	/**
+	 * Helper function: Plays out a matchup on every board
+	 */
+	private static double playOut(long holeCards, long opponent) throws Exception {
+		return new ExhaustiveEquity(1).calculate(new long[] {holeCards, opponent}, PackedHand.EMPTY)[0].getEquity();
+	}
+	
+	/**
+	 * Helper function: Reads the equities of a checkpoint, all NaN if there is none
+	 */
+	private AtomicLongArray readCheckpoint(int matchups) throws IOException {
+		AtomicLongArray equities = new AtomicLongArray(matchups);
+		if(!Files.exists(checkpoint)) {
+			for(int i = 0; i < matchups; i++) {
+				equities.set(i, Double.doubleToRawLongBits(Double.NaN));
+			}
+			return equities;
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(checkpoint)).order(PreflopTable.ORDER);
+		if(buffer.limit() != PreflopTable.HEADER_SIZE + 8L * matchups || buffer.getInt(0) != CHECKPOINT_MAGIC
+				|| buffer.getInt(4) != CHECKPOINT_VERSION || buffer.getInt(8) != matchups) {
+			throw new IOException(String.format("%s is not a checkpoint of %d matchups", checkpoint, matchups));
+		}
+		for(int i = 0; i < matchups; i++) {
+			equities.set(i, buffer.getLong(PreflopTable.HEADER_SIZE + 8 * i));
+		}
+		return equities;
+	}
+	
+	/**
+	 * Helper function: Writes the equities solved so far next to the checkpoint and moves them over it, so a
+	 * 					run stopped while writing leaves the previous checkpoint intact
+	 */
+	private void writeCheckpoint(AtomicLongArray equities) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(PreflopTable.HEADER_SIZE + 8 * equities.length()).order(PreflopTable.ORDER);
+		buffer.putInt(CHECKPOINT_MAGIC).putInt(CHECKPOINT_VERSION).putInt(equities.length()).putInt(0);
+		for(int i = 0; i < equities.length(); i++) {
+			buffer.putLong(equities.get(i));
+		}
+		buffer.flip();
+		writeAtomically(checkpoint, buffer);
+	}
+	
+	/**
+	 * Helper function: Expands the matchups into the combo matrix, averages the class matrix and the equities
+	 * 					against a random hand from it and writes them out
+	 */
+	private static void writeTable(Path table, Matchups matchups, AtomicLongArray equities) throws IOException {
+		int combos = PreflopTable.COMBOS;
+		int classes = PreflopTable.CLASSES;
+		ByteBuffer buffer = ByteBuffer.allocate((int) PreflopTable.fileSize()).order(PreflopTable.ORDER);
+		buffer.putInt(PreflopTable.MAGIC).putInt(PreflopTable.VERSION).putInt(combos).putInt(classes);
+		
+		int[] classOf = new int[combos];
+		for(int combo = 0; combo < combos; combo++) {
+			classOf[combo] = classOf(combo);
+		}
+		double[] classSums = new double[classes * classes];
+		int[] classCounts = new int[classes * classes];
+		double[] randomSums = new double[combos];
+		int[] randomCounts = new int[combos];
+		for(int combo = 0; combo < combos; combo++) {
+			for(int opponent = 0; opponent < combos; opponent++) {
+				int pair = combo * combos + opponent;
+				double equity = 0;
+				if(matchups.matchupOf[pair] != NO_MATCHUP) {
+					equity = get(equities, matchups.matchupOf[pair]);
+					equity = matchups.swapped[pair] ? 1 - equity : equity;
+					classSums[classOf[combo] * classes + classOf[opponent]] += equity;
+					classCounts[classOf[combo] * classes + classOf[opponent]]++;
+					randomSums[combo] += equity;
+					randomCounts[combo]++;
+				}
+				buffer.putShort(PreflopTable.encode(equity));
+			}
+		}
+		for(int pair = 0; pair < classes * classes; pair++) {
+			buffer.putShort(PreflopTable.encode(classSums[pair] / classCounts[pair]));
+		}
+		double[] classRandomSums = new double[classes];
+		for(int combo = 0; combo < combos; combo++) {
+			double equity = randomSums[combo] / randomCounts[combo];
+			classRandomSums[classOf[combo]] += equity;
+			buffer.putShort(PreflopTable.encode(equity));
+		}
+		for(int startingHand = 0; startingHand < classes; startingHand++) {
+			buffer.putShort(PreflopTable.encode(classRandomSums[startingHand] / PreflopTable.getComboCount(startingHand)));
+		}
+		buffer.flip();
+		writeAtomically(table, buffer);
+	}
+	
+	private static double get(AtomicLongArray equities, int matchup) {
+		return Double.longBitsToDouble(equities.get(matchup));
+	}
+	
+	private static int classOf(int combo) {
+		try {
+			return PreflopTable.classOf(PreflopTable.getCombo(combo));
+		} catch (IllegalHandException e) {
+			throw new IllegalStateException("Every combo holds two cards", e);
+		}
+	}
+	
+	private static void writeAtomically(Path path, ByteBuffer buffer) throws IOException {
+		Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+													StandardOpenOption.WRITE)) {
+			while(buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(false);
+		}
+		Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+}
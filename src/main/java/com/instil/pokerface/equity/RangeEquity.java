@@ -0,0 +1,291 @@
+package com.instil.pokerface.equity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.instil.pokerface.evaluator.SevenCardEvaluator;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.model.PackedHand;
+
+/**
+ * A class calculating the exact equity of one Texas Hold'em range against another, by playing every combo of
+ * the first range against every combo of the second on every possible runout of the board
+ * 
+ * Combos that share a card with the board or with each other can not be dealt together and are left out with a
+ * single mask test. The equity is the average over the remaining pairs of combos, each weighted by the product of
+ * the weights of its two combos, and over every runout that does not use their cards.
+ * 
+ * Rather than playing each pair out on its own, every runout is visited once: each combo of both ranges is evaluated
+ * on it once, and the strengths are then compared for every pair. A runout costs one evaluation per combo instead
+ * of two per pair, so two ranges of 100 combos cost 200 evaluations per runout rather than 20,000. The runouts are
+ * split into ranges that are played out in parallel, as in ExhaustiveEquity.
+ * 
+ * Before the flop, equities can also be looked up in a PreflopTable, which answers two ranges of any width in
+ * milliseconds.
+ */
+public class RangeEquity {
+	
+	// Ranges of runouts per worker thread, so that threads finishing early can pick up more work
+	private static final int RANGES_PER_THREAD = 4;
+	
+	// The strength of a combo that shares a card with the runout
+	private static final int BLOCKED = -1;
+	
+	private final int threads;
+	
+	// The preflop equities to look up, null to play out every board
+	private final PreflopTable preflop;
+	
+	public RangeEquity(int threads) {
+		this(threads, null);
+	}
+	
+	/**
+	 * Creates an equity calculator that looks preflop equities up
+	 * 
+	 * @param threads		The number of threads playing out the runouts
+	 * @param preflop		The table to look up equities in when the board is empty, null to play out every board
+	 */
+	public RangeEquity(int threads, PreflopTable preflop) {
+		if(threads < 1) {
+			throw new IllegalArgumentException("Number of threads must be at least 1, not " + threads);
+		}
+		this.threads = threads;
+		this.preflop = preflop;
+	}
+	
+	/**
+	 * Calculates the exact equity of a range against another
+	 * 
+	 * Trials, wins and ties count every pair of combos on every runout, whatever their weights. Equities looked up
+	 * in the preflop table count one trial per pair of combos and no wins or ties.
+	 * 
+	 * @param range						The range of the player
+	 * @param opponent					The range of the opponent
+	 * @param board						The packed cards already on the board, up to five
+	 * @return							The equity of the player and of the opponent
+	 * @throws IllegalHandException		Thrown if the board is not valid, or no combos of the ranges can be dealt
+	 * 									together on it
+	 * @throws InterruptedException		Thrown if the calling thread is interrupted while waiting for the workers
+	 */
+	public EquityResult[] calculate(HandRange range, HandRange opponent, long board) throws IllegalHandException, InterruptedException {
+		if(PackedHand.size(board) > MonteCarloEquity.BOARD_CARDS) {
+			String message = "A board can only hold %d cards, not %d.";
+			throw new IllegalHandException(String.format(message, MonteCarloEquity.BOARD_CARDS, PackedHand.size(board)));
+		}
+		Matchups matchups = new Matchups(range, opponent, board);
+		if(matchups.size() == 0) {
+			throw new IllegalHandException(String.format("No hands of %s and %s can be dealt together", range, opponent));
+		}
+		if(board == PackedHand.EMPTY && preflop != null) {
+			return lookUp(matchups);
+		}
+		
+		int[] deck = MonteCarloEquity.remainingDeck(board);
+		int boardToDeal = MonteCarloEquity.BOARD_CARDS - PackedHand.size(board);
+		long boards = ExhaustiveEquity.binomial(deck.length, boardToDeal);
+		
+		Tally total = new Tally();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Tally>> ranges = new ArrayList<Future<Tally>>();
+			int rangeCount = (int) Math.min(boards, (long) threads * RANGES_PER_THREAD);
+			for(int i = 0; i < rangeCount; i++) {
+				long from = boards * i / rangeCount;
+				long to = boards * (i + 1) / rangeCount;
+				ranges.add(pool.submit(() -> enumerate(matchups, board, deck, boardToDeal, from, to)));
+			}
+			for(Future<Tally> tally : ranges) {
+				total.add(tally.get());
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Equity worker failed", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+		return total.toResults();
+	}
+	
+	/**
+	 * Helper function: Looks up the preflop equity of every pair of combos
+	 */
+	private EquityResult[] lookUp(Matchups matchups) throws IllegalHandException {
+		double weight = 0;
+		double share = 0;
+		for(int combo = 0; combo < matchups.cards.length; combo++) {
+			for(int pair = matchups.firstPair[combo]; pair < matchups.firstPair[combo + 1]; pair++) {
+				int opponentCombo = matchups.opponents[pair];
+				double pairWeight = matchups.weights[combo] * matchups.opponentWeights[opponentCombo];
+				weight += pairWeight;
+				share += pairWeight * preflop.getEquity(matchups.cards[combo], matchups.opponentCards[opponentCombo]);
+			}
+		}
+		double equity = share / weight;
+		return new EquityResult[] { new EquityResult(matchups.size(), 0, 0, equity, 0),
+									new EquityResult(matchups.size(), 0, 0, 1 - equity, 0) };
+	}
+	
+	/**
+	 * Helper function: Plays every pair of combos out on the runouts with colex indices from (inclusive) to
+	 * (exclusive)
+	 */
+	private static Tally enumerate(Matchups matchups, long board, int[] deck, int boardToDeal, long from, long to) {
+		Tally tally = new Tally();
+		long[] cards = matchups.cards;
+		long[] opponentCards = matchups.opponentCards;
+		int[] strengths = new int[cards.length];
+		int[] opponentStrengths = new int[opponentCards.length];
+		
+		ExhaustiveEquity.Runouts runouts = new ExhaustiveEquity.Runouts(deck, boardToDeal, from);
+		for(long index = from; index < to; index++) {
+			long runout = runouts.get();
+			long fullBoard = board | runout;
+			for(int combo = 0; combo < cards.length; combo++) {
+				strengths[combo] = (cards[combo] & runout) != 0 ? BLOCKED : SevenCardEvaluator.evaluate(cards[combo] | fullBoard);
+			}
+			for(int combo = 0; combo < opponentCards.length; combo++) {
+				opponentStrengths[combo] = (opponentCards[combo] & runout) != 0 ? BLOCKED : SevenCardEvaluator.evaluate(opponentCards[combo] | fullBoard);
+			}
+			for(int combo = 0; combo < cards.length; combo++) {
+				int strength = strengths[combo];
+				if(strength != BLOCKED) {
+					tally.add(matchups, combo, strength, opponentStrengths);
+				}
+			}
+			runouts.next();
+		}
+		return tally;
+	}
+	
+	/**
+	 * The combos of both ranges that are not blocked by the board, and which of them can be dealt together
+	 */
+	private static class Matchups {
+		private final long[] cards;
+		private final double[] weights;
+		private final long[] opponentCards;
+		private final double[] opponentWeights;
+		
+		// The opponent combos each combo can meet are opponents[firstPair[combo]] to opponents[firstPair[combo + 1] - 1]
+		private final int[] firstPair;
+		private final int[] opponents;
+		
+		Matchups(HandRange range, HandRange opponent, long board) {
+			int[] combos = liveCombos(range, board);
+			int[] opponentCombos = liveCombos(opponent, board);
+			cards = new long[combos.length];
+			weights = new double[combos.length];
+			opponentCards = new long[opponentCombos.length];
+			opponentWeights = new double[opponentCombos.length];
+			for(int i = 0; i < combos.length; i++) {
+				cards[i] = PreflopTable.getCombo(combos[i]);
+				weights[i] = range.weightOf(combos[i]);
+			}
+			for(int i = 0; i < opponentCombos.length; i++) {
+				opponentCards[i] = PreflopTable.getCombo(opponentCombos[i]);
+				opponentWeights[i] = opponent.weightOf(opponentCombos[i]);
+			}
+			
+			firstPair = new int[cards.length + 1];
+			int[] pairs = new int[cards.length * opponentCards.length];
+			int size = 0;
+			for(int combo = 0; combo < cards.length; combo++) {
+				firstPair[combo] = size;
+				for(int opponentCombo = 0; opponentCombo < opponentCards.length; opponentCombo++) {
+					if((cards[combo] & opponentCards[opponentCombo]) == 0) {
+						pairs[size++] = opponentCombo;
+					}
+				}
+			}
+			firstPair[cards.length] = size;
+			opponents = Arrays.copyOf(pairs, size);
+		}
+		
+		int size() {
+			return opponents.length;
+		}
+		
+		/**
+		 * Helper function: Lists the combos a range holds with any weight that do not share a card with the board
+		 */
+		private static int[] liveCombos(HandRange range, long board) {
+			int[] combos = new int[PreflopTable.COMBOS];
+			int size = 0;
+			for(int combo = 0; combo < PreflopTable.COMBOS; combo++) {
+				if(range.weightOf(combo) > 0 && (PreflopTable.getCombo(combo) & board) == 0) {
+					combos[size++] = combo;
+				}
+			}
+			return Arrays.copyOf(combos, size);
+		}
+	}
+	
+	/**
+	 * Pairs of combos played out, their weight and the weighted share of the pot won by the player
+	 */
+	private static class Tally {
+		private long trials;
+		private long wins;
+		private long ties;
+		private double weight;
+		
+		// The weighted share of the pot won, counted in half pots so that a split pot adds the weight once and a win
+		// twice
+		private double halfPots;
+		
+		/**
+		 * Plays a combo of the player against every opponent combo it can meet on a runout
+		 */
+		void add(Matchups matchups, int combo, int strength, int[] opponentStrengths) {
+			double comboWeight = matchups.weights[combo];
+			int[] opponents = matchups.opponents;
+			double[] opponentWeights = matchups.opponentWeights;
+			long pairs = 0;
+			long pairWins = 0;
+			long pairTies = 0;
+			double pairsWeight = 0;
+			double pairHalfPots = 0;
+			for(int pair = matchups.firstPair[combo]; pair < matchups.firstPair[combo + 1]; pair++) {
+				int opponentCombo = opponents[pair];
+				int opponentStrength = opponentStrengths[opponentCombo];
+				if(opponentStrength == BLOCKED) {
+					continue;
+				}
+				// 0 for a loss, 1 for a split pot and 2 for a win, counted without branching as the outcome of one
+				// pair tells nothing about the next
+				int outcome = Integer.signum(strength - opponentStrength) + 1;
+				double pairWeight = comboWeight * opponentWeights[opponentCombo];
+				pairs++;
+				pairWins += outcome >> 1;
+				pairTies += outcome & 1;
+				pairsWeight += pairWeight;
+				pairHalfPots += pairWeight * outcome;
+			}
+			trials += pairs;
+			wins += pairWins;
+			ties += pairTies;
+			weight += pairsWeight;
+			halfPots += pairHalfPots;
+		}
+		
+		void add(Tally other) {
+			trials += other.trials;
+			wins += other.wins;
+			ties += other.ties;
+			weight += other.weight;
+			halfPots += other.halfPots;
+		}
+		
+		EquityResult[] toResults() {
+			double equity = halfPots / 2 / weight;
+			return new EquityResult[] { new EquityResult(trials, wins, ties, equity, 0),
+										new EquityResult(trials, trials - wins - ties, ties, 1 - equity, 0) };
+		}
+	}
+	
+}
@@ -0,0 +1,337 @@
+package com.instil.pokerface.evaluator;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * The lookup tables of the evaluators, stored as one binary image
+ * 
+ * The image is generated during the build (see TableGenerator) and shipped as a resource next to this class. At
+ * runtime it is memory mapped read only, so the tables cost no heap, need no work at startup and are shared with
+ * every other JVM mapping the same file through the page cache. A resource inside a jar cannot be mapped, so it
+ * is extracted once into a directory private to the user, under a name made from its version and checksum. The
+ * directory is the user's cache directory, or a directory of the user's own in the temporary directory, and is only
+ * used if it belongs to the user and nobody else can write to it, so a copy whose header and checksum match the
+ * resource is the one extracted earlier and is mapped without reading the resource again.
+ * 
+ * The image starts with a header of four little endian integers
+ * 
+ * 	magic, version, size of the whole image, CRC32 of everything after the header
+ * 
+ * followed by the tables listed in Table, each starting on an 8 byte boundary. If the resource is missing or does
+ * not match the header, the tables are generated in memory instead.
+ */
+final class EvaluatorTables {
+
+	// "PKFT" in little endian
+	static final int MAGIC = 0x54464B50;
+
+	// Raised whenever the layout or the content of any table changes
+	static final int VERSION = 1;
+
+	static final int HEADER_SIZE = 16;
+
+	static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	static final String RESOURCE = "evaluator-tables.bin";
+
+	// The primes of the ranks, multiplied together to identify hands with a repeated rank
+	static final int[] PRIMES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41};
+
+	// Open addressing hash table (prime product -> strength) for all hands with a repeated rank
+	static final int PRODUCT_TABLE_BITS = 14;
+	static final int PRODUCT_TABLE_MASK = (1 << PRODUCT_TABLE_BITS) - 1;
+
+	private static final int ALIGNMENT = 8;
+
+	// The permissions of the directory the resource is extracted into
+	private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+
+	/**
+	 * The tables in the image, in the order they are stored
+	 */
+	enum Table {
+		FIVE_CARD_FLUSHES(Short.BYTES, 1 << 13),
+		UNIQUE_RANKS(Short.BYTES, 1 << 13),
+		PRODUCT_KEYS(Integer.BYTES, 1 << PRODUCT_TABLE_BITS),
+		PRODUCT_VALUES(Short.BYTES, 1 << PRODUCT_TABLE_BITS),
+		SEVEN_CARD_FLUSHES(Short.BYTES, 1 << 13),
+		LOW_KEYS(Integer.BYTES, 1 << SevenCardEvaluator.LOW_RANKS),
+		HIGH_KEYS(Integer.BYTES, 1 << SevenCardEvaluator.HIGH_RANKS),
+		LOW_OFFSETS(Integer.BYTES, (SevenCardEvaluator.MAX_CARDS + 1) * SevenCardEvaluator.LOW_KEYS),
+		HIGH_OFFSETS(Integer.BYTES, (SevenCardEvaluator.MAX_CARDS - SevenCardEvaluator.MIN_CARDS + 1) * SevenCardEvaluator.HIGH_KEYS),
+		// 6,175 + 18,395 + 49,205 rank multisets of five, six and seven cards
+		RANK_TABLES(Short.BYTES, 73775);
+
+		// Size of the whole image
+		static final int IMAGE_SIZE;
+
+		static {
+			int offset = HEADER_SIZE;
+			for(Table table : values()) {
+				table.offset = offset;
+				offset += (table.getSize() + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+			}
+			IMAGE_SIZE = offset;
+		}
+
+		private final int elementSize;
+		private final int length;
+		private int offset;
+
+		Table(int elementSize, int length) {
+			this.elementSize = elementSize;
+			this.length = length;
+		}
+
+		int getLength() {
+			return length;
+		}
+
+		int getOffset() {
+			return offset;
+		}
+
+		int getSize() {
+			return elementSize * length;
+		}
+
+		/**
+		 * Gets a view of this table in an image
+		 * 
+		 * @param image		A table image
+		 * @return			A buffer starting at the first byte of the table and ending after its last
+		 */
+		ByteBuffer slice(ByteBuffer image) {
+			ByteBuffer slice = image.duplicate();
+			slice.limit(offset + getSize()).position(offset);
+			return slice.slice().order(ORDER);
+		}
+	}
+
+	/**
+	 * Holds the loaded image, so it is only loaded once the first evaluator needs it
+	 */
+	private static final class Image {
+		private static final ByteBuffer TABLES = load();
+	}
+
+	private EvaluatorTables() {
+	}
+
+	/**
+	 * Gets a table of 16 bit values from the shared image
+	 * 
+	 * @param table		A table holding shorts
+	 * @return			A read only view of the table
+	 */
+	static ShortBuffer shorts(Table table) {
+		return table.slice(Image.TABLES).asShortBuffer();
+	}
+
+	/**
+	 * Gets a table of 32 bit values from the shared image
+	 * 
+	 * @param table		A table holding ints
+	 * @return			A read only view of the table
+	 */
+	static IntBuffer ints(Table table) {
+		return table.slice(Image.TABLES).asIntBuffer();
+	}
+
+	/**
+	 * Copies a small table of 32 bit values from the shared image onto the heap, for tables read several times
+	 * per evaluation where the bounds checks of a buffer would add up
+	 * 
+	 * @param table		A table holding ints
+	 * @return			A copy of the table
+	 */
+	static int[] intArray(Table table) {
+		int[] values = new int[table.getLength()];
+		ints(table).get(values);
+		return values;
+	}
+
+	/**
+	 * Copies a small table of 16 bit values from the shared image onto the heap
+	 * 
+	 * @param table		A table holding shorts
+	 * @return			A copy of the table
+	 */
+	static short[] shortArray(Table table) {
+		short[] values = new short[table.getLength()];
+		shorts(table).get(values);
+		return values;
+	}
+
+	/**
+	 * Gets the slot a prime product starts probing from in the product table
+	 * 
+	 * @param product	The product of the primes of the five ranks of a hand
+	 * @return			A slot of the product table
+	 */
+	static int hashProduct(int product) {
+		return (product * 0x9E3779B1) >>> (32 - PRODUCT_TABLE_BITS);
+	}
+
+	/**
+	 * Loads the image from the resource, or generates it if the resource is missing or not valid
+	 * 
+	 * @return			The image, read only
+	 */
+	static ByteBuffer load() {
+		URL url = EvaluatorTables.class.getResource(RESOURCE);
+		if(url != null) {
+			try {
+				ByteBuffer image = "file".equals(url.getProtocol()) ? map(Paths.get(url.toURI())) : mapExtracted(url, extractDirectory());
+				if(isValid(image)) {
+					return image;
+				}
+			} catch (IOException | URISyntaxException e) {
+				// Fall back to generating the tables below
+			}
+		}
+		return TableGenerator.generate().asReadOnlyBuffer();
+	}
+
+	/**
+	 * Checks the header and the checksum of an image
+	 * 
+	 * @param image		A table image
+	 * @return			True if the image is complete, of the current version and unchanged since it was generated
+	 */
+	static boolean isValid(ByteBuffer image) {
+		ByteBuffer header = image.duplicate().order(ORDER);
+		if(header.limit() != Table.IMAGE_SIZE || header.getInt(0) != MAGIC || header.getInt(4) != VERSION
+				|| header.getInt(8) != Table.IMAGE_SIZE) {
+			return false;
+		}
+		return header.getInt(12) == checksum(image);
+	}
+
+	/**
+	 * Computes the checksum of the tables of an image, i.e. of everything after the header
+	 * 
+	 * @param image		A table image
+	 * @return			The CRC32 of the tables
+	 */
+	static int checksum(ByteBuffer image) {
+		ByteBuffer tables = image.duplicate();
+		tables.position(HEADER_SIZE);
+		CRC32 crc = new CRC32();
+		crc.update(tables);
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * Helper function: Maps a whole file read only
+	 */
+	private static ByteBuffer map(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+	/**
+	 * Creates a directory only the current user can use, or checks that an existing one is
+	 * 
+	 * @param directory			The directory
+	 * @return					The directory
+	 * @throws IOException		Thrown if the directory could not be created, or belongs to another user or can be
+	 * 							written to by other users
+	 */
+	static Path privateDirectory(Path directory) throws IOException {
+		boolean posix = directory.getFileSystem().supportedFileAttributeViews().contains("posix");
+		if(!Files.exists(directory, LinkOption.NOFOLLOW_LINKS)) {
+			Files.createDirectories(directory.toAbsolutePath().getParent());
+			try {
+				Files.createDirectory(directory);
+				if(posix) {
+					Files.setPosixFilePermissions(directory, OWNER_ONLY);
+				}
+			} catch (FileAlreadyExistsException e) {
+				// Created by a concurrent JVM, and checked below like any other existing directory
+			}
+		}
+		UserPrincipal user = directory.getFileSystem().getUserPrincipalLookupService()
+									  .lookupPrincipalByName(System.getProperty("user.name"));
+		if(!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS) || !user.equals(Files.getOwner(directory, LinkOption.NOFOLLOW_LINKS))
+				|| posix && !OWNER_ONLY.equals(Files.getPosixFilePermissions(directory, LinkOption.NOFOLLOW_LINKS))) {
+			throw new IOException(String.format("%s is not a directory private to %s", directory, user.getName()));
+		}
+		return directory;
+	}
+
+	/**
+	 * Maps the copy of a resource in a private directory, extracting it first if there is no valid copy with the
+	 * checksum of the resource yet
+	 * 
+	 * @param url				The resource
+	 * @param directory			A directory private to the user
+	 * @return					The copy, read only
+	 * @throws IOException		Thrown if the resource could not be read or extracted
+	 */
+	static ByteBuffer mapExtracted(URL url, Path directory) throws IOException {
+		byte[] header = new byte[HEADER_SIZE];
+		try (DataInputStream in = new DataInputStream(url.openStream())) {
+			in.readFully(header);
+		}
+		int checksum = ByteBuffer.wrap(header).order(ORDER).getInt(12);
+		Path copy = directory.resolve(String.format("pokerface-tables-%d-%08x.bin", VERSION, checksum));
+
+		if(Files.isRegularFile(copy, LinkOption.NOFOLLOW_LINKS)) {
+			ByteBuffer image = map(copy);
+			// Only the user can write to the directory, so the header and checksum suffice and the resource, which
+			// has to be inflated out of the jar, is not read again
+			if(image.limit() >= HEADER_SIZE && image.order(ORDER).getInt(12) == checksum && isValid(image)) {
+				return image;
+			}
+		}
+
+		// Extract next to the final name and move it into place, so a concurrent JVM never maps a partial copy
+		Path partial = Files.createTempFile(copy.getParent(), "pokerface-tables-", ".tmp");
+		try (InputStream in = url.openStream()) {
+			Files.copy(in, partial, StandardCopyOption.REPLACE_EXISTING);
+			Files.move(partial, copy, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(partial);
+		}
+		return map(copy);
+	}
+
+	/**
+	 * Helper function: Finds the directory to extract the resource into, the first of the user's cache directory
+	 * and a directory named after the user in the temporary directory that is private to the user
+	 */
+	private static Path extractDirectory() throws IOException {
+		String cacheHome = System.getenv("XDG_CACHE_HOME");
+		Path cache = cacheHome != null && !cacheHome.isEmpty() ? Paths.get(cacheHome, "pokerface")
+															   : Paths.get(System.getProperty("user.home"), ".cache", "pokerface");
+		try {
+			return privateDirectory(cache);
+		} catch (IOException e) {
+			return privateDirectory(Paths.get(System.getProperty("java.io.tmpdir"), "pokerface-" + System.getProperty("user.name")));
+		}
+	}
+
+}
@@ -0,0 +1,351 @@
+package com.instil.pokerface.evaluator;
+
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+import com.instil.pokerface.evaluator.EvaluatorTables.Table;
+import com.instil.pokerface.model.Card;
+import com.instil.pokerface.model.PackedCard;
+import com.instil.pokerface.model.PackedHand;
+import com.instil.pokerface.model.PokerHand.PokerHandName;
+
+/**
+ * A table driven evaluator for five card poker hands
+ * 
+ * Every one of the 2,598,960 possible hands falls into one of 7,462 equivalence classes. Each class is given
+ * a strength between 1 (7-5-4-3-2 high card) and 7462 (royal flush), so that a higher strength always beats a
+ * lower one. A hand is classified with a single table lookup:
+ * 
+ * 	- Flushes are looked up by the bitmask of their ranks
+ * 	- Hands with five distinct ranks are looked up by the same bitmask in a second table
+ * 	- Every other hand is looked up by the product of the primes of its ranks, which is unique per rank multiset
+ * 
+ * Cards are passed in as 32 bit integers laid out as
+ * 
+ * 	xxxbbbbb bbbbbbbb cdhsrrrr xxpppppp
+ * 
+ * where b is a bit for the rank, cdhs is a bit for the suit, r is the rank (0 - 12) and p is the prime of the rank
+ * 
+ * The tables are generated during the build and memory mapped at runtime (see EvaluatorTables).
+ * 
+ * Hands held in arrays are best evaluated in one call, with evaluate(long[], int[]) or evaluateIndices(int[], int[]),
+ * which read heap copies of the tables in a loop the JIT can inline and unroll.
+ */
+public final class HandEvaluator {
+
+	// Number of distinct five card equivalence classes
+	public static final int CLASS_COUNT = 7462;
+
+	// The strongest strength within each named hand, in the order of PokerHandName (NO_NAME has no strength)
+	private static final int[] CATEGORY_CEILINGS = {0, 1277, 4137, 4995, 5853, 5863, 7140, 7296, 7452, 7461, 7462};
+
+	private static final PokerHandName[] HAND_NAMES = PokerHandName.values();
+
+	// Strength -> ordinal of the named hand it belongs to, 0 (NO_NAME) for strength 0
+	private static final byte[] CATEGORIES = new byte[CLASS_COUNT + 1];
+
+	private static final int[] PRIMES = EvaluatorTables.PRIMES;
+
+	// Card index (see PackedCard) -> encoded card
+	private static final int[] CARD_CODES = new int[PackedCard.DECK_SIZE];
+
+	private static final ShortBuffer FLUSHES = EvaluatorTables.shorts(Table.FIVE_CARD_FLUSHES);
+	private static final ShortBuffer UNIQUE_RANKS = EvaluatorTables.shorts(Table.UNIQUE_RANKS);
+	private static final IntBuffer PRODUCT_KEYS = EvaluatorTables.ints(Table.PRODUCT_KEYS);
+	private static final ShortBuffer PRODUCT_VALUES = EvaluatorTables.shorts(Table.PRODUCT_VALUES);
+
+	// Rank bitmask -> strength of five distinct ranks, followed by rank bitmask -> strength of a flush, for the
+	// batch methods to pick either table by index rather than by branching
+	private static final int FLUSH_OFFSET = 1 << 13;
+	private static final short[] DISTINCT_RANKS = new short[2 * FLUSH_OFFSET];
+
+	// Heap copies of the product table, for the batch methods
+	private static final int[] PRODUCT_KEY_ARRAY = EvaluatorTables.intArray(Table.PRODUCT_KEYS);
+	private static final short[] PRODUCT_VALUE_ARRAY = EvaluatorTables.shortArray(Table.PRODUCT_VALUES);
+
+	static {
+		for(int index = 0; index < PackedCard.DECK_SIZE; index++) {
+			CARD_CODES[index] = encode(PackedCard.toCard(index));
+		}
+		int category = 1;
+		for(int strength = 1; strength <= CLASS_COUNT; strength++) {
+			if(strength > CATEGORY_CEILINGS[category]) {
+				category++;
+			}
+			CATEGORIES[strength] = (byte) category;
+		}
+		System.arraycopy(EvaluatorTables.shortArray(Table.UNIQUE_RANKS), 0, DISTINCT_RANKS, 0, FLUSH_OFFSET);
+		System.arraycopy(EvaluatorTables.shortArray(Table.FIVE_CARD_FLUSHES), 0, DISTINCT_RANKS, FLUSH_OFFSET, FLUSH_OFFSET);
+	}
+
+	private HandEvaluator() {
+	}
+
+	/**
+	 * Encodes a card into the 32 bit integer form used by the evaluator
+	 * 
+	 * @param card		A Card object
+	 * @return			The card as an integer
+	 */
+	public static int encode(Card card) {
+		int rank = card.getRank().ordinal();
+		return (1 << (16 + rank)) | (0x1000 << card.getSuit().ordinal()) | (rank << 8) | PRIMES[rank];
+	}
+
+	/**
+	 * Encodes a card index (see PackedCard) into the 32 bit integer form used by the evaluator
+	 * 
+	 * @param index		A card index, between 0 and 51
+	 * @return			The card as an integer
+	 */
+	public static int encode(int index) {
+		return CARD_CODES[index];
+	}
+
+	/**
+	 * Evaluates a packed hand (see PackedHand) of exactly five cards without allocating
+	 * 
+	 * @param hand		A packed hand
+	 * @return			The strength of the hand, between 1 and 7462, 0 if the hand does not hold five cards of the deck
+	 */
+	public static int evaluate(long hand) {
+		if(Long.bitCount(hand) != 5 || (hand & ~PackedHand.FULL_DECK) != 0) {
+			return 0;
+		}
+		int c1 = CARD_CODES[Long.numberOfTrailingZeros(hand)];
+		hand &= hand - 1;
+		int c2 = CARD_CODES[Long.numberOfTrailingZeros(hand)];
+		hand &= hand - 1;
+		int c3 = CARD_CODES[Long.numberOfTrailingZeros(hand)];
+		hand &= hand - 1;
+		int c4 = CARD_CODES[Long.numberOfTrailingZeros(hand)];
+		hand &= hand - 1;
+		return evaluate(c1, c2, c3, c4, CARD_CODES[Long.numberOfTrailingZeros(hand)]);
+	}
+
+	/**
+	 * Compares two packed hands of exactly five cards by strength
+	 * 
+	 * @param handA		A packed hand
+	 * @param handB		Another packed hand
+	 * @return			A negative integer, zero or a positive integer as the first hand is weaker than,
+	 * 					as strong as or stronger than the second
+	 */
+	public static int compare(long handA, long handB) {
+		return Integer.compare(evaluate(handA), evaluate(handB));
+	}
+
+	/**
+	 * Evaluates a hand of five distinct card indices (see PackedCard)
+	 * 
+	 * @param i1...i5	The five card indices of the hand
+	 * @return			The strength of the hand, between 1 and 7462
+	 */
+	public static int evaluateIndices(int i1, int i2, int i3, int i4, int i5) {
+		return evaluate(CARD_CODES[i1], CARD_CODES[i2], CARD_CODES[i3], CARD_CODES[i4], CARD_CODES[i5]);
+	}
+
+	/**
+	 * Evaluates a hand of five distinct encoded cards
+	 * 
+	 * @param c1...c5	The five cards of the hand, as returned by encode
+	 * @return			The strength of the hand, between 1 and 7462
+	 */
+	public static int evaluate(int c1, int c2, int c3, int c4, int c5) {
+		return evaluate((c1 | c2 | c3 | c4 | c5) >>> 16, (c1 & 0xFF) * (c2 & 0xFF) * (c3 & 0xFF) * (c4 & 0xFF) * (c5 & 0xFF),
+						(c1 & c2 & c3 & c4 & c5 & 0xF000) != 0);
+	}
+
+	/**
+	 * Evaluates five cards from their combined ranks, for callers that combine the ranks of partial hands themselves
+	 * 
+	 * @param rankMask	The bitwise or of the rank bits of the five cards
+	 * @param product	The product of the primes of the five ranks
+	 * @param flush		Whether all five cards have the same suit
+	 * @return			The strength of the hand, between 1 and 7462
+	 */
+	static int evaluate(int rankMask, int product, boolean flush) {
+		if(flush) {
+			return FLUSHES.get(rankMask);
+		}
+
+		int strength = UNIQUE_RANKS.get(rankMask);
+		if(strength != 0) {
+			return strength;
+		}
+
+		return lookupProduct(product);
+	}
+
+	/**
+	 * Gets the named poker hand a given strength belongs to
+	 * 
+	 * @param strength	A strength as returned by one of the evaluate methods
+	 * @return			The name of the hand, NO_NAME if the strength is not valid
+	 */
+	public static PokerHandName getHandName(int strength) {
+		if(strength <= 0 || strength > CLASS_COUNT) {
+			return PokerHandName.NO_NAME;
+		}
+		return HAND_NAMES[CATEGORIES[strength]];
+	}
+
+	/**
+	 * Evaluates an array of packed hands (see PackedHand) in one call
+	 * 
+	 * @param hands			The packed hands
+	 * @param strengths		Filled with the strength of each hand at the same index, 0 for a hand that does not hold
+	 * 						five cards of the deck
+	 * @throws IllegalArgumentException		Thrown if strengths is shorter than hands
+	 */
+	public static void evaluate(long[] hands, int[] strengths) {
+		checkBatch(hands.length, strengths.length);
+		for(int i = 0; i < hands.length; i++) {
+			strengths[i] = evaluateInBatch(hands[i]);
+		}
+	}
+
+	/**
+	 * Evaluates an array of hands given as five card indices (see PackedCard) each in one call
+	 * 
+	 * @param indices		The card indices, the five distinct cards of the first hand followed by those of the next
+	 * @param strengths		Filled with the strength of each hand, strengths[i] for the cards from indices[5 * i]
+	 * @throws IllegalArgumentException		Thrown if the indices are not five per hand or strengths is too short
+	 */
+	public static void evaluateIndices(int[] indices, int[] strengths) {
+		int count = checkIndices(indices.length, strengths.length);
+		for(int i = 0; i < count; i++) {
+			strengths[i] = evaluateInBatch(indices, 5 * i);
+		}
+	}
+
+	/**
+	 * Names an array of packed hands (see PackedHand) in one call
+	 * 
+	 * @param hands			The packed hands
+	 * @param categories	Filled with the ordinal of the PokerHandName of each hand at the same index, 0 (NO_NAME)
+	 * 						for a hand that does not hold five cards of the deck
+	 * @throws IllegalArgumentException		Thrown if categories is shorter than hands
+	 */
+	public static void categorize(long[] hands, byte[] categories) {
+		checkBatch(hands.length, categories.length);
+		byte[] names = CATEGORIES;
+		for(int i = 0; i < hands.length; i++) {
+			categories[i] = names[evaluateInBatch(hands[i])];
+		}
+	}
+
+	/**
+	 * Names an array of hands given as five card indices (see PackedCard) each in one call
+	 * 
+	 * @param indices		The card indices, the five distinct cards of the first hand followed by those of the next
+	 * @param categories	Filled with the ordinal of the PokerHandName of each hand, categories[i] for the cards from
+	 * 						indices[5 * i]
+	 * @throws IllegalArgumentException		Thrown if the indices are not five per hand or categories is too short
+	 */
+	public static void categorizeIndices(int[] indices, byte[] categories) {
+		int count = checkIndices(indices.length, categories.length);
+		byte[] names = CATEGORIES;
+		for(int i = 0; i < count; i++) {
+			categories[i] = names[evaluateInBatch(indices, 5 * i)];
+		}
+	}
+
+	/**
+	 * Helper function: Evaluates a packed hand for the batch methods. The ranks and the suit of a flush are read
+	 * 					straight off the bits of the hand, so only hands with a repeated rank are split into cards.
+	 */
+	private static int evaluateInBatch(long hand) {
+		if(Long.bitCount(hand) != 5 || (hand & ~PackedHand.FULL_DECK) != 0) {
+			return 0;
+		}
+		int hearts = (int) hand & 0x1FFF;
+		int diamonds = (int) (hand >>> 13) & 0x1FFF;
+		int spades = (int) (hand >>> 26) & 0x1FFF;
+		int clubs = (int) (hand >>> 39) & 0x1FFF;
+		int ranks = hearts | diamonds | spades | clubs;
+		// Also true for some hands with a repeated rank, which find 0 in either table
+		boolean flush = (hearts == ranks) | (diamonds == ranks) | (spades == ranks) | (clubs == ranks);
+		int strength = DISTINCT_RANKS[(flush ? FLUSH_OFFSET : 0) | ranks];
+		if(strength != 0) {
+			return strength;
+		}
+		int product = 1;
+		for(int card = 0; card < 5; card++) {
+			product *= CARD_CODES[Long.numberOfTrailingZeros(hand)] & 0xFF;
+			hand &= hand - 1;
+		}
+		return lookupProductInBatch(product);
+	}
+
+	/**
+	 * Helper function: Evaluates the five card indices from index first for the batch methods
+	 */
+	private static int evaluateInBatch(int[] indices, int first) {
+		int c1 = CARD_CODES[indices[first]];
+		int c2 = CARD_CODES[indices[first + 1]];
+		int c3 = CARD_CODES[indices[first + 2]];
+		int c4 = CARD_CODES[indices[first + 3]];
+		int c5 = CARD_CODES[indices[first + 4]];
+		boolean flush = (c1 & c2 & c3 & c4 & c5 & 0xF000) != 0;
+		int strength = DISTINCT_RANKS[(flush ? FLUSH_OFFSET : 0) | (c1 | c2 | c3 | c4 | c5) >>> 16];
+		if(strength != 0) {
+			return strength;
+		}
+		return lookupProductInBatch((c1 & 0xFF) * (c2 & 0xFF) * (c3 & 0xFF) * (c4 & 0xFF) * (c5 & 0xFF));
+	}
+
+	/**
+	 * Helper function: Checks that an output array can hold a result for every hand
+	 */
+	private static void checkBatch(int hands, int results) {
+		if(results < hands) {
+			throw new IllegalArgumentException("Need room for " + hands + " results, not " + results);
+		}
+	}
+
+	/**
+	 * Helper function: Checks that card indices come five per hand and an output array can hold every hand
+	 * 
+	 * @return		The number of hands
+	 */
+	private static int checkIndices(int indices, int results) {
+		if(indices % 5 != 0) {
+			throw new IllegalArgumentException("Hands need five card indices each, not " + indices + " in all");
+		}
+		checkBatch(indices / 5, results);
+		return indices / 5;
+	}
+
+	/**
+	 * Helper function: Finds the strength of a hand with a repeated rank from its prime product
+	 */
+	private static int lookupProduct(int product) {
+		int slot = EvaluatorTables.hashProduct(product);
+		int key;
+		while((key = PRODUCT_KEYS.get(slot)) != product) {
+			if(key == 0) {
+				return 0;
+			}
+			slot = (slot + 1) & EvaluatorTables.PRODUCT_TABLE_MASK;
+		}
+		return PRODUCT_VALUES.get(slot);
+	}
+
+	/**
+	 * Helper function: Finds the strength of a hand with a repeated rank from its prime product, in the heap copy of
+	 * 					the product table
+	 */
+	private static int lookupProductInBatch(int product) {
+		int slot = EvaluatorTables.hashProduct(product);
+		int key;
+		while((key = PRODUCT_KEY_ARRAY[slot]) != product) {
+			if(key == 0) {
+				return 0;
+			}
+			slot = (slot + 1) & EvaluatorTables.PRODUCT_TABLE_MASK;
+		}
+		return PRODUCT_VALUE_ARRAY[slot];
+	}
+
+}
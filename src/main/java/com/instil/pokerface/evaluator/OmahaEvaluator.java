@@ -0,0 +1,187 @@
+package com.instil.pokerface.evaluator;
+
+import com.instil.pokerface.model.PackedCard;
+import com.instil.pokerface.model.PackedHand;
+
+/**
+ * An evaluator for Omaha hands, where the best hand has to use exactly two of the hole cards and three of the board
+ * cards. That is 60 combinations of five cards for four hole cards and a full board, 100 for five hole cards.
+ * 
+ * The strengths are those of HandEvaluator, so Omaha hands can be compared with hands of any other game. Rather than
+ * encoding and combining all five cards of every combination, the evaluator combines partial hands:
+ * 
+ * 	- The rank bits and prime products of every pair of hole cards and every triple of board cards are worked out
+ * 	  once, so each combination only ors two masks and multiplies two products before its table lookup. Pairs (or
+ * 	  triples) with the same ranks give the same results, so only the first of them is played.
+ * 	- A flush needs two hole cards and three board cards of one suit. If no suit has that many, which is the common
+ * 	  case, the suits are never looked at again. Otherwise only suited pairs and triples of that suit are looked up
+ * 	  in the flush table.
+ */
+public final class OmahaEvaluator {
+	
+	// The number of hole cards and board cards every hand uses
+	public static final int HOLE_CARDS_USED = 2;
+	public static final int BOARD_CARDS_USED = 3;
+	
+	// The hole cards of four card (PLO) and five card (PLO5) Omaha
+	public static final int MIN_HOLE_CARDS = 4;
+	public static final int MAX_HOLE_CARDS = 5;
+	
+	// From the flop to the river
+	public static final int MIN_BOARD_CARDS = 3;
+	public static final int MAX_BOARD_CARDS = 5;
+	
+	// Pairs of five hole cards, triples of five board cards
+	private static final int MAX_PAIRS = 10;
+	private static final int MAX_TRIPLES = 10;
+	
+	private static final int SUITS = PackedCard.DECK_SIZE / PackedCard.RANKS;
+	private static final int NO_SUIT = -1;
+	
+	// Card index -> the rank bit and the prime of the rank of the card
+	private static final int[] RANK_BITS = new int[PackedCard.DECK_SIZE];
+	private static final int[] PRIMES = new int[PackedCard.DECK_SIZE];
+	
+	static {
+		for(int index = 0; index < PackedCard.DECK_SIZE; index++) {
+			RANK_BITS[index] = 1 << PackedCard.rankOf(index);
+			PRIMES[index] = EvaluatorTables.PRIMES[PackedCard.rankOf(index)];
+		}
+	}
+	
+	private OmahaEvaluator() {
+	}
+	
+	/**
+	 * Evaluates an Omaha hand
+	 * 
+	 * @param holeCards		The packed hole cards, four or five of them
+	 * @param board			The packed board, three to five cards
+	 * @return				The strength of the best hand made of two hole cards and three board cards, between
+	 * 						1 and 7462, 0 if there are too few or too many cards or the hole cards and board share one
+	 */
+	public static int evaluate(long holeCards, long board) {
+		int holeSize = Long.bitCount(holeCards);
+		int boardSize = Long.bitCount(board);
+		if(holeSize < MIN_HOLE_CARDS || holeSize > MAX_HOLE_CARDS || boardSize < MIN_BOARD_CARDS
+				|| boardSize > MAX_BOARD_CARDS || (holeCards & board) != 0 || ((holeCards | board) & ~PackedHand.FULL_DECK) != 0) {
+			return 0;
+		}
+		
+		int flushSuit = flushSuit(holeCards, board);
+		Combinations pairs = new Combinations(MAX_PAIRS);
+		Combinations triples = new Combinations(MAX_TRIPLES);
+		pairs.addPairs(holeCards, flushSuit);
+		triples.addTriples(board, flushSuit);
+		
+		int best = 0;
+		for(int pair = 0; pair < pairs.size; pair++) {
+			for(int triple = 0; triple < triples.size; triple++) {
+				boolean flush = pairs.suits[pair] != NO_SUIT && pairs.suits[pair] == triples.suits[triple];
+				int strength = HandEvaluator.evaluate(pairs.rankMasks[pair] | triples.rankMasks[triple],
+													  pairs.products[pair] * triples.products[triple], flush);
+				if(strength > best) {
+					best = strength;
+				}
+			}
+		}
+		return best;
+	}
+	
+	/**
+	 * Compares two Omaha hands on the same board
+	 * 
+	 * @param holeCardsA	The packed hole cards of one player
+	 * @param holeCardsB	The packed hole cards of another player
+	 * @param board			The packed board
+	 * @return				A negative integer, zero or a positive integer as the first hand is weaker than,
+	 * 						as strong as or stronger than the second
+	 */
+	public static int compare(long holeCardsA, long holeCardsB, long board) {
+		return Integer.compare(evaluate(holeCardsA, board), evaluate(holeCardsB, board));
+	}
+	
+	/**
+	 * Helper function: Finds the suit a flush can be made in. Two suits would need four hole cards and six board
+	 * 					cards, so there is at most one.
+	 * 
+	 * @return			The suit ordinal, NO_SUIT if no suit holds two hole cards and three board cards
+	 */
+	private static int flushSuit(long holeCards, long board) {
+		for(int suit = 0; suit < SUITS; suit++) {
+			if(Integer.bitCount(PackedHand.suitMask(holeCards, suit)) >= HOLE_CARDS_USED
+					&& Integer.bitCount(PackedHand.suitMask(board, suit)) >= BOARD_CARDS_USED) {
+				return suit;
+			}
+		}
+		return NO_SUIT;
+	}
+	
+	/**
+	 * The combined ranks of pairs of hole cards or triples of board cards, without repeats. Only combinations
+	 * entirely in the flush suit keep their suit, for all others the suit is NO_SUIT.
+	 */
+	private static class Combinations {
+		private final int[] rankMasks;
+		private final int[] products;
+		private final int[] suits;
+		private int size;
+		
+		private Combinations(int capacity) {
+			rankMasks = new int[capacity];
+			products = new int[capacity];
+			suits = new int[capacity];
+		}
+		
+		private void addPairs(long cards, int flushSuit) {
+			for(long first = cards; first != 0; first &= first - 1) {
+				int a = Long.numberOfTrailingZeros(first);
+				for(long second = first & (first - 1); second != 0; second &= second - 1) {
+					int b = Long.numberOfTrailingZeros(second);
+					add(RANK_BITS[a] | RANK_BITS[b], PRIMES[a] * PRIMES[b], suitOf(flushSuit, a, b, b));
+				}
+			}
+		}
+		
+		private void addTriples(long cards, int flushSuit) {
+			for(long first = cards; first != 0; first &= first - 1) {
+				int a = Long.numberOfTrailingZeros(first);
+				for(long second = first & (first - 1); second != 0; second &= second - 1) {
+					int b = Long.numberOfTrailingZeros(second);
+					for(long third = second & (second - 1); third != 0; third &= third - 1) {
+						int c = Long.numberOfTrailingZeros(third);
+						add(RANK_BITS[a] | RANK_BITS[b] | RANK_BITS[c], PRIMES[a] * PRIMES[b] * PRIMES[c],
+							suitOf(flushSuit, a, b, c));
+					}
+				}
+			}
+		}
+		
+		/**
+		 * Adds a combination, unless an earlier one has the same ranks (and so the same prime product) and suit
+		 */
+		private void add(int rankMask, int product, int suit) {
+			for(int i = 0; i < size; i++) {
+				if(products[i] == product && suits[i] == suit) {
+					return;
+				}
+			}
+			rankMasks[size] = rankMask;
+			products[size] = product;
+			suits[size] = suit;
+			size++;
+		}
+		
+		/**
+		 * Gets the suit of cards that are all in the flush suit, NO_SUIT for any others
+		 */
+		private static int suitOf(int flushSuit, int a, int b, int c) {
+			if(flushSuit == NO_SUIT) {
+				return NO_SUIT;
+			}
+			boolean suited = PackedCard.suitOf(a) == flushSuit && PackedCard.suitOf(b) == flushSuit && PackedCard.suitOf(c) == flushSuit;
+			return suited ? flushSuit : NO_SUIT;
+		}
+	}
+	
+}
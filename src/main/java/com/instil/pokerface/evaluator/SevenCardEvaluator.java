@@ -0,0 +1,170 @@
+package com.instil.pokerface.evaluator;
+
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+import com.instil.pokerface.evaluator.EvaluatorTables.Table;
+import com.instil.pokerface.model.PackedCard;
+import com.instil.pokerface.model.PackedHand;
+
+/**
+ * A table driven evaluator finding the best five card hand among five, six or seven cards, e.g. two hole cards
+ * and five board cards in Texas Hold'em
+ * 
+ * The strengths are the same as those of HandEvaluator, so hands of different sizes can be compared directly.
+ * A hand is classified with a single table lookup:
+ * 
+ * 	- With seven cards at most one suit can hold five or more of them, and such a flush always beats every other
+ * 	  hand the cards could make. It is looked up by the rank bitmask of that suit.
+ * 	- Otherwise only the ranks matter. The rank counts are turned into a dense index by a perfect hash over all
+ * 	  rank multisets of that size (49,205 of them for seven cards). To keep the hash to a couple of lookups, the
+ * 	  counts of the seven high ranks and of the six low ranks are each packed into a base 5 number, and the hash
+ * 	  contribution of both halves is precomputed.
+ * 
+ * The tables are generated during the build and memory mapped at runtime (see EvaluatorTables).
+ */
+public final class SevenCardEvaluator {
+	
+	// The smallest and largest number of cards that can be evaluated
+	public static final int MIN_CARDS = 5;
+	public static final int MAX_CARDS = 7;
+	
+	// Ranks 0 - 5 form the low half of the hash, ranks 6 - 12 the high half
+	static final int LOW_RANKS = 6;
+	static final int HIGH_RANKS = PackedCard.RANKS - LOW_RANKS;
+	static final int LOW_KEYS = 15625;		// 5^6
+	static final int HIGH_KEYS = 78125;		// 5^7
+	
+	// Mask of the low ranks in every suit of a packed hand
+	private static final long LOW_CARDS = 0x3FL | 0x3FL << 13 | 0x3FL << 26 | 0x3FL << 39;
+	
+	// Rank mask of one half -> the ranks as base 5 digits, so that adding the keys of all suits counts each rank
+	private static final int[] LOW_KEY = EvaluatorTables.intArray(Table.LOW_KEYS);
+	private static final int[] HIGH_KEY = EvaluatorTables.intArray(Table.HIGH_KEYS);
+	
+	// Hash contribution of each half: LOW_OFFSETS[cards in low half * LOW_KEYS + key],
+	// HIGH_OFFSETS[(cards - 5) * HIGH_KEYS + key], the latter including the start of the rank table for the cards
+	private static final IntBuffer LOW_OFFSETS = EvaluatorTables.ints(Table.LOW_OFFSETS);
+	private static final IntBuffer HIGH_OFFSETS = EvaluatorTables.ints(Table.HIGH_OFFSETS);
+	
+	// Rank mask of a suit holding five or more cards -> strength of the best flush in it
+	private static final ShortBuffer FLUSHES = EvaluatorTables.shorts(Table.SEVEN_CARD_FLUSHES);
+	
+	// Perfect hash of the rank counts -> strength, for five, six and seven cards one after the other
+	private static final ShortBuffer RANK_TABLES = EvaluatorTables.shorts(Table.RANK_TABLES);
+	
+	private SevenCardEvaluator() {
+	}
+	
+	/**
+	 * Evaluates a packed hand (see PackedHand) of five to seven cards without allocating
+	 * 
+	 * @param hand		A packed hand
+	 * @return			The strength of the best five cards, between 1 and 7462, 0 if the hand holds too few or too many
+	 * 					cards, or a bit beyond the deck
+	 */
+	public static int evaluate(long hand) {
+		int cards = Long.bitCount(hand);
+		if(cards < MIN_CARDS || cards > MAX_CARDS || (hand & ~PackedHand.FULL_DECK) != 0) {
+			return 0;
+		}
+		int flush = evaluateFlush(hand);
+		if(flush != 0) {
+			return flush;
+		}
+		return evaluateRanks(hand, cards, highKey(hand), lowKey(hand));
+	}
+	
+	/**
+	 * Evaluates a packed hand of five to seven cards whose rank keys are already known. Callers building hands up
+	 * card by card, such as a board enumeration, keep running keys and save most of the lookups of evaluate.
+	 * 
+	 * @param hand		A packed hand
+	 * @param highKey	The high key of the hand, see highKey
+	 * @param lowKey	The low key of the hand, see lowKey
+	 * @return			The strength of the best five cards, as evaluate(hand)
+	 */
+	public static int evaluate(long hand, int highKey, int lowKey) {
+		int cards = Long.bitCount(hand);
+		if(cards < MIN_CARDS || cards > MAX_CARDS || (hand & ~PackedHand.FULL_DECK) != 0) {
+			return 0;
+		}
+		int flush = evaluateFlush(hand);
+		if(flush != 0) {
+			return flush;
+		}
+		return evaluateRanks(hand, cards, highKey, lowKey);
+	}
+	
+	/**
+	 * Gets the counts of the high ranks (eight to ace) of some cards as base 5 digits. The keys of cards that do not
+	 * overlap add up to the key of all of them.
+	 * 
+	 * @param cards		Packed cards
+	 * @return			The high key of the cards
+	 */
+	public static int highKey(long cards) {
+		return HIGH_KEY[PackedHand.suitMask(cards, 0) >>> LOW_RANKS] + HIGH_KEY[PackedHand.suitMask(cards, 1) >>> LOW_RANKS]
+			 + HIGH_KEY[PackedHand.suitMask(cards, 2) >>> LOW_RANKS] + HIGH_KEY[PackedHand.suitMask(cards, 3) >>> LOW_RANKS];
+	}
+	
+	/**
+	 * Gets the counts of the low ranks (two to seven) of some cards as base 5 digits. The keys of cards that do not
+	 * overlap add up to the key of all of them.
+	 * 
+	 * @param cards		Packed cards
+	 * @return			The low key of the cards
+	 */
+	public static int lowKey(long cards) {
+		return LOW_KEY[PackedHand.suitMask(cards, 0) & 0x3F] + LOW_KEY[PackedHand.suitMask(cards, 1) & 0x3F]
+			 + LOW_KEY[PackedHand.suitMask(cards, 2) & 0x3F] + LOW_KEY[PackedHand.suitMask(cards, 3) & 0x3F];
+	}
+	
+	/**
+	 * Compares two packed hands of five to seven cards by the strength of their best five cards
+	 * 
+	 * @param handA		A packed hand
+	 * @param handB		Another packed hand
+	 * @return			A negative integer, zero or a positive integer as the first hand is weaker than,
+	 * 					as strong as or stronger than the second
+	 */
+	public static int compare(long handA, long handB) {
+		return Integer.compare(evaluate(handA), evaluate(handB));
+	}
+	
+	/**
+	 * Helper function: Looks up the best flush of a hand
+	 * 
+	 * @return			The strength of the flush, 0 if no suit holds five or more of the cards
+	 */
+	private static int evaluateFlush(long hand) {
+		int hearts = PackedHand.suitMask(hand, 0);
+		int diamonds = PackedHand.suitMask(hand, 1);
+		int spades = PackedHand.suitMask(hand, 2);
+		int clubs = PackedHand.suitMask(hand, 3);
+		
+		if(Integer.bitCount(hearts) >= MIN_CARDS) {
+			return FLUSHES.get(hearts);
+		}
+		if(Integer.bitCount(diamonds) >= MIN_CARDS) {
+			return FLUSHES.get(diamonds);
+		}
+		if(Integer.bitCount(spades) >= MIN_CARDS) {
+			return FLUSHES.get(spades);
+		}
+		if(Integer.bitCount(clubs) >= MIN_CARDS) {
+			return FLUSHES.get(clubs);
+		}
+		return 0;
+	}
+	
+	/**
+	 * Helper function: Looks up the strength of a hand without a flush by the perfect hash of its rank keys
+	 */
+	private static int evaluateRanks(long hand, int cards, int highKey, int lowKey) {
+		int index = HIGH_OFFSETS.get((cards - MIN_CARDS) * HIGH_KEYS + highKey)
+				  + LOW_OFFSETS.get(Long.bitCount(hand & LOW_CARDS) * LOW_KEYS + lowKey);
+		return RANK_TABLES.get(index);
+	}
+	
+}
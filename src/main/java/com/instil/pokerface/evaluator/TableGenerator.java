@@ -0,0 +1,430 @@
+package com.instil.pokerface.evaluator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.instil.pokerface.evaluator.EvaluatorTables.Table;
+
+/**
+ * Generates the lookup tables of HandEvaluator and SevenCardEvaluator into a binary image (see EvaluatorTables)
+ * 
+ * This runs during the build to produce the resource loaded at runtime, and as a fallback whenever that resource
+ * cannot be used. It deliberately never touches the evaluators themselves, whose tables are the ones being built.
+ */
+public final class TableGenerator {
+
+	private static final int RANKS = 13;
+	private static final int RANK_MASKS = 1 << RANKS;
+	private static final int MAX_PER_RANK = 4;
+
+	private static final int MIN_CARDS = SevenCardEvaluator.MIN_CARDS;
+	private static final int MAX_CARDS = SevenCardEvaluator.MAX_CARDS;
+	private static final int LOW_RANKS = SevenCardEvaluator.LOW_RANKS;
+	private static final int HIGH_RANKS = SevenCardEvaluator.HIGH_RANKS;
+	private static final int LOW_KEYS = SevenCardEvaluator.LOW_KEYS;
+	private static final int HIGH_KEYS = SevenCardEvaluator.HIGH_KEYS;
+
+	// The rank bitmasks of the ten straights, from the wheel (A-2-3-4-5) up to the ace high straight
+	private static final int[] STRAIGHTS = {0x100F, 0x1F, 0x3E, 0x7C, 0xF8, 0x1F0, 0x3E0, 0x7C0, 0xF80, 0x1F00};
+
+	private static final int[] PRIMES = EvaluatorTables.PRIMES;
+
+	// Five card tables
+	private final short[] fiveCardFlushes = new short[RANK_MASKS];
+	private final short[] uniqueRanks = new short[RANK_MASKS];
+	private final int[] productKeys = new int[1 << EvaluatorTables.PRODUCT_TABLE_BITS];
+	private final short[] productValues = new short[1 << EvaluatorTables.PRODUCT_TABLE_BITS];
+
+	// Seven card tables
+	private final short[] sevenCardFlushes = new short[RANK_MASKS];
+	private final int[] lowKeys = new int[1 << LOW_RANKS];
+	private final int[] highKeys = new int[1 << HIGH_RANKS];
+	private final int[] lowOffsets = new int[(MAX_CARDS + 1) * LOW_KEYS];
+	private final int[] highOffsets = new int[(MAX_CARDS - MIN_CARDS + 1) * HIGH_KEYS];
+	private final short[] rankTables = new short[Table.RANK_TABLES.getLength()];
+
+	// ways[r][k]: number of ways to hold k cards within the lowest r ranks, at most four of each
+	private final int[][] ways = new int[RANKS + 1][MAX_CARDS + 1];
+
+	// Perfect hash offsets, offsets[(rank * 8 + cardsLeft) * 5 + count]
+	private final int[] offsets = new int[RANKS * (MAX_CARDS + 1) * (MAX_PER_RANK + 1)];
+
+	// Start of the rank table of each number of cards within rankTables
+	private final int[] rankTableStarts = new int[MAX_CARDS + 1];
+
+	private TableGenerator() {
+	}
+
+	/**
+	 * Writes the table image to a file, used by the build to generate the resource
+	 * 
+	 * @param args			The path of the file to write
+	 * @throws IOException	Thrown if the file could not be written
+	 */
+	public static void main(String[] args) throws IOException {
+		if(args.length != 1) {
+			throw new IllegalArgumentException("Expected the path of the table image to write");
+		}
+		Path path = Paths.get(args[0]);
+		if(path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		ByteBuffer image = generate();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+													StandardOpenOption.TRUNCATE_EXISTING)) {
+			while(image.hasRemaining()) {
+				channel.write(image);
+			}
+		}
+	}
+
+	/**
+	 * Builds every table and lays them out with their header
+	 * 
+	 * @return			A direct buffer holding the whole image
+	 */
+	static ByteBuffer generate() {
+		TableGenerator generator = new TableGenerator();
+		generator.buildFiveCardTables();
+		generator.buildHash();
+		generator.buildSevenCardTables();
+
+		ByteBuffer image = ByteBuffer.allocateDirect(Table.IMAGE_SIZE).order(EvaluatorTables.ORDER);
+		Table.FIVE_CARD_FLUSHES.slice(image).asShortBuffer().put(generator.fiveCardFlushes);
+		Table.UNIQUE_RANKS.slice(image).asShortBuffer().put(generator.uniqueRanks);
+		Table.PRODUCT_KEYS.slice(image).asIntBuffer().put(generator.productKeys);
+		Table.PRODUCT_VALUES.slice(image).asShortBuffer().put(generator.productValues);
+		Table.SEVEN_CARD_FLUSHES.slice(image).asShortBuffer().put(generator.sevenCardFlushes);
+		Table.LOW_KEYS.slice(image).asIntBuffer().put(generator.lowKeys);
+		Table.HIGH_KEYS.slice(image).asIntBuffer().put(generator.highKeys);
+		Table.LOW_OFFSETS.slice(image).asIntBuffer().put(generator.lowOffsets);
+		Table.HIGH_OFFSETS.slice(image).asIntBuffer().put(generator.highOffsets);
+		Table.RANK_TABLES.slice(image).asShortBuffer().put(generator.rankTables);
+
+		image.putInt(0, EvaluatorTables.MAGIC);
+		image.putInt(4, EvaluatorTables.VERSION);
+		image.putInt(8, Table.IMAGE_SIZE);
+		image.putInt(12, EvaluatorTables.checksum(image));
+		return image;
+	}
+
+	/**
+	 * Helper function: Fills the five card tables by walking every equivalence class from the weakest to the strongest
+	 */
+	private void buildFiveCardTables() {
+		int strength = 0;
+
+		// High card
+		for(int mask : masksWithBits(5, 0)) {
+			if(!isStraight(mask)) {
+				uniqueRanks[mask] = (short) ++strength;
+			}
+		}
+
+		// One pair
+		for(int pair = 0; pair < RANKS; pair++) {
+			for(int kickers : masksWithBits(3, 1 << pair)) {
+				putProduct(PRIMES[pair] * PRIMES[pair] * primeProduct(kickers), ++strength);
+			}
+		}
+
+		// Two pair
+		for(int highPair = 1; highPair < RANKS; highPair++) {
+			for(int lowPair = 0; lowPair < highPair; lowPair++) {
+				for(int kicker : masksWithBits(1, (1 << highPair) | (1 << lowPair))) {
+					int product = PRIMES[highPair] * PRIMES[highPair] * PRIMES[lowPair] * PRIMES[lowPair];
+					putProduct(product * primeProduct(kicker), ++strength);
+				}
+			}
+		}
+
+		// Three of a kind
+		for(int trips = 0; trips < RANKS; trips++) {
+			for(int kickers : masksWithBits(2, 1 << trips)) {
+				putProduct(PRIMES[trips] * PRIMES[trips] * PRIMES[trips] * primeProduct(kickers), ++strength);
+			}
+		}
+
+		// Straight
+		for(int mask : STRAIGHTS) {
+			uniqueRanks[mask] = (short) ++strength;
+		}
+
+		// Flush
+		for(int mask : masksWithBits(5, 0)) {
+			if(!isStraight(mask)) {
+				fiveCardFlushes[mask] = (short) ++strength;
+			}
+		}
+
+		// Full house
+		for(int trips = 0; trips < RANKS; trips++) {
+			for(int pair = 0; pair < RANKS; pair++) {
+				if(pair != trips) {
+					putProduct(PRIMES[trips] * PRIMES[trips] * PRIMES[trips] * PRIMES[pair] * PRIMES[pair], ++strength);
+				}
+			}
+		}
+
+		// Four of a kind
+		for(int quads = 0; quads < RANKS; quads++) {
+			for(int kicker = 0; kicker < RANKS; kicker++) {
+				if(kicker != quads) {
+					int product = PRIMES[quads] * PRIMES[quads] * PRIMES[quads] * PRIMES[quads];
+					putProduct(product * PRIMES[kicker], ++strength);
+				}
+			}
+		}
+
+		// Straight flush, the last one being the royal flush
+		for(int mask : STRAIGHTS) {
+			fiveCardFlushes[mask] = (short) ++strength;
+		}
+
+		if(strength != HandEvaluator.CLASS_COUNT) {
+			throw new IllegalStateException("Built " + strength + " equivalence classes instead of " + HandEvaluator.CLASS_COUNT);
+		}
+	}
+
+	/**
+	 * Helper function: Counts the rank multisets and derives the perfect hash offsets of the seven card evaluator
+	 * from the counts
+	 */
+	private void buildHash() {
+		ways[0][0] = 1;
+		for(int rank = 0; rank < RANKS; rank++) {
+			for(int cards = 0; cards <= MAX_CARDS; cards++) {
+				for(int count = 0; count <= MAX_PER_RANK && count <= cards; count++) {
+					ways[rank + 1][cards] += ways[rank][cards - count];
+				}
+			}
+		}
+
+		// Multisets are ordered by the count of the highest rank first, so the offset for a count is the number of
+		// multisets with a lower count of that rank and the remaining cards in the ranks below
+		for(int rank = 0; rank < RANKS; rank++) {
+			for(int cards = 0; cards <= MAX_CARDS; cards++) {
+				int offset = 0;
+				for(int count = 0; count <= MAX_PER_RANK; count++) {
+					offsets[(rank * (MAX_CARDS + 1) + cards) * (MAX_PER_RANK + 1) + count] = offset;
+					if(count <= cards) {
+						offset += ways[rank][cards - count];
+					}
+				}
+			}
+		}
+
+		// The rank tables of all sizes are stored one after the other
+		int start = 0;
+		for(int cards = MIN_CARDS; cards <= MAX_CARDS; cards++) {
+			rankTableStarts[cards] = start;
+			start += ways[RANKS][cards];
+		}
+		if(start != rankTables.length) {
+			throw new IllegalStateException("Found " + start + " rank multisets instead of " + rankTables.length);
+		}
+
+		for(int mask = 0; mask < highKeys.length; mask++) {
+			for(int rank = 0, digit = 1; rank < HIGH_RANKS; rank++, digit *= 5) {
+				if((mask & (1 << rank)) != 0) {
+					highKeys[mask] += digit;
+					if(mask < lowKeys.length) {
+						lowKeys[mask] += digit;
+					}
+				}
+			}
+		}
+
+		// The high half is hashed first, starting from all cards, the low half takes whatever cards are left. The
+		// high half also adds the start of the rank table, so the sum of both halves indexes rankTables directly
+		for(int key = 0; key < HIGH_KEYS; key++) {
+			for(int cards = MIN_CARDS; cards <= MAX_CARDS; cards++) {
+				int left = cards;
+				int offset = rankTableStarts[cards];
+				for(int rank = RANKS - 1; rank >= LOW_RANKS; rank--) {
+					int count = digitOf(key, rank - LOW_RANKS);
+					offset += count <= left ? offsetOf(rank, left, count) : 0;
+					left -= count;
+				}
+				highOffsets[(cards - MIN_CARDS) * HIGH_KEYS + key] = left >= 0 ? offset : 0;
+			}
+		}
+		for(int key = 0; key < LOW_KEYS; key++) {
+			for(int cards = 0; cards <= MAX_CARDS; cards++) {
+				int left = cards;
+				int offset = 0;
+				for(int rank = LOW_RANKS - 1; rank >= 0; rank--) {
+					int count = digitOf(key, rank);
+					offset += count <= left ? offsetOf(rank, left, count) : 0;
+					left -= count;
+				}
+				lowOffsets[cards * LOW_KEYS + key] = left >= 0 ? offset : 0;
+			}
+		}
+	}
+
+	/**
+	 * Helper function: Fills the seven card flush table and the rank tables from the five card tables
+	 */
+	private void buildSevenCardTables() {
+		System.arraycopy(fiveCardFlushes, 0, sevenCardFlushes, 0, RANK_MASKS);
+		// Masks with six or seven ranks take the best of the masks with one rank less
+		for(int bits = MIN_CARDS + 1; bits <= MAX_CARDS; bits++) {
+			for(int mask = 0; mask < RANK_MASKS; mask++) {
+				if(Integer.bitCount(mask) == bits) {
+					int best = 0;
+					for(int rest = mask; rest != 0; rest &= rest - 1) {
+						best = Math.max(best, sevenCardFlushes[mask & ~Integer.lowestOneBit(rest)]);
+					}
+					sevenCardFlushes[mask] = (short) best;
+				}
+			}
+		}
+
+		for(int cards = MIN_CARDS; cards <= MAX_CARDS; cards++) {
+			fillRankTable(new int[cards], 0, RANKS - 1, cards);
+		}
+	}
+
+	/**
+	 * Helper function: Walks every rank multiset of a given size and stores the strength of its best five ranks
+	 * 
+	 * @param ranks		The ranks picked so far, in descending order
+	 * @param picked	The number of ranks picked so far
+	 * @param rank		The highest rank that may still be picked
+	 * @param left		The number of ranks still to be picked
+	 */
+	private void fillRankTable(int[] ranks, int picked, int rank, int left) {
+		if(left == 0) {
+			long counts = 0;
+			for(int r : ranks) {
+				counts += 1L << (3 * r);
+			}
+			rankTables[rankTableStarts[ranks.length] + hashRanks(counts, ranks.length)] = (short) bestOfRanks(ranks);
+			return;
+		}
+		for(int r = rank; r >= 0; r--) {
+			int held = 0;
+			for(int i = 0; i < picked; i++) {
+				held += ranks[i] == r ? 1 : 0;
+			}
+			if(held < MAX_PER_RANK) {
+				ranks[picked] = r;
+				fillRankTable(ranks, picked + 1, r, left - 1);
+			}
+		}
+	}
+
+	/**
+	 * Helper function: Turns rank counts into a dense index among all rank multisets with the same number of cards
+	 * 
+	 * @param counts	The count of each rank, 3 bits per rank
+	 * @param cards		The total of the counts
+	 * @return			An index between 0 and the number of such multisets
+	 */
+	private int hashRanks(long counts, int cards) {
+		int index = 0;
+		for(int rank = RANKS - 1; rank >= 0 && cards > 0; rank--) {
+			int count = (int) (counts >>> (3 * rank)) & 7;
+			index += offsetOf(rank, cards, count);
+			cards -= count;
+		}
+		return index;
+	}
+
+	/**
+	 * Helper function: Finds the strongest non flush hand made from five of the given ranks
+	 */
+	private int bestOfRanks(int[] ranks) {
+		int best = 0;
+		int n = ranks.length;
+		for(int skip = 0; skip < (1 << n); skip++) {
+			if(Integer.bitCount(skip) != n - MIN_CARDS) {
+				continue;
+			}
+			int mask = 0;
+			int product = 1;
+			for(int i = 0; i < n; i++) {
+				if((skip & (1 << i)) == 0) {
+					mask |= 1 << ranks[i];
+					product *= PRIMES[ranks[i]];
+				}
+			}
+			int strength = uniqueRanks[mask];
+			best = Math.max(best, strength != 0 ? strength : lookupProduct(product));
+		}
+		return best;
+	}
+
+	private int offsetOf(int rank, int cardsLeft, int count) {
+		return offsets[(rank * (MAX_CARDS + 1) + cardsLeft) * (MAX_PER_RANK + 1) + count];
+	}
+
+	private static int digitOf(int key, int digit) {
+		for(int i = 0; i < digit; i++) {
+			key /= 5;
+		}
+		return key % 5;
+	}
+
+	private int lookupProduct(int product) {
+		int slot = EvaluatorTables.hashProduct(product);
+		while(productKeys[slot] != product) {
+			slot = (slot + 1) & EvaluatorTables.PRODUCT_TABLE_MASK;
+		}
+		return productValues[slot];
+	}
+
+	private void putProduct(int product, int strength) {
+		int slot = EvaluatorTables.hashProduct(product);
+		while(productKeys[slot] != 0) {
+			slot = (slot + 1) & EvaluatorTables.PRODUCT_TABLE_MASK;
+		}
+		productKeys[slot] = product;
+		productValues[slot] = (short) strength;
+	}
+
+	/**
+	 * Helper function: Lists all 13 bit rank masks with a given number of bits, in ascending order
+	 * 
+	 * @param bits		The number of bits that should be set
+	 * @param excluded	A mask of ranks that must not be set
+	 * @return			An array of rank masks
+	 */
+	private static int[] masksWithBits(int bits, int excluded) {
+		int count = 0;
+		int[] masks = new int[RANK_MASKS];
+		for(int mask = 0; mask < RANK_MASKS; mask++) {
+			if(Integer.bitCount(mask) == bits && (mask & excluded) == 0) {
+				masks[count++] = mask;
+			}
+		}
+		return Arrays.copyOf(masks, count);
+	}
+
+	private static boolean isStraight(int mask) {
+		for(int straight : STRAIGHTS) {
+			if(mask == straight) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int primeProduct(int mask) {
+		int product = 1;
+		for(int rank = 0; rank < RANKS; rank++) {
+			if((mask & (1 << rank)) != 0) {
+				product *= PRIMES[rank];
+			}
+		}
+		return product;
+	}
+
+}
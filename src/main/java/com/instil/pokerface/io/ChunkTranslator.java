@@ -0,0 +1,149 @@
+package com.instil.pokerface.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import com.instil.pokerface.evaluator.HandEvaluator;
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.metrics.PipelineStats;
+import com.instil.pokerface.metrics.PipelineStats.Stage;
+import com.instil.pokerface.model.PokerHand.PokerHandName;
+import com.instil.pokerface.utils.CardParser;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * This class offers static utility methods for translating a chunk of lines into the output of App
+ */
+public final class ChunkTranslator {
+	
+	/**
+	 * The translated lines of a chunk. If a line could not be translated the output holds every line before it
+	 * and the error is kept, so that it can be raised once the output has been written.
+	 */
+	@AllArgsConstructor(access = AccessLevel.PRIVATE)
+	public static class Result {
+		@Getter
+		private final TranslationBuffer output;
+		private final Exception error;
+		
+		/**
+		 * Writes the translated lines and raises the error of the chunk, if any
+		 * 
+		 * @param out						The channel the lines are written to
+		 * @throws IOException				Thrown if writing fails, or if reading the chunk failed
+		 * @throws IllegalCardException		Thrown if a card in the chunk is illegal
+		 * @throws IllegalHandException		Thrown if a hand in the chunk is illegal
+		 */
+		public void writeTo(WritableByteChannel out) throws IOException, IllegalCardException, IllegalHandException {
+			output.writeTo(out);
+			if(error instanceof IllegalCardException) {
+				throw (IllegalCardException) error;
+			} else if(error instanceof IllegalHandException) {
+				throw (IllegalHandException) error;
+			} else if(error instanceof IOException) {
+				throw (IOException) error;
+			}
+		}
+	}
+	
+	private ChunkTranslator() {
+	}
+	
+	/**
+	 * Translates every line of a chunk
+	 * 
+	 * @param chunk		A buffer of lines, read from index 0 up to its limit
+	 * @param output	The buffer the translated lines are appended to
+	 * @return			The translated lines, in the order of the chunk
+	 */
+	public static Result translate(ByteBuffer chunk, TranslationBuffer output) {
+		try {
+			MappedHandReader.forEachLine(chunk, (buffer, start, end) -> {
+				translateLine(buffer, start, end, CardParser.parsePackedHand(buffer, start, end), output);
+			});
+		} catch (IOException | IllegalCardException | IllegalHandException e) {
+			return new Result(output, e);
+		}
+		return new Result(output, null);
+	}
+	
+	/**
+	 * Translates every valid line of a chunk, lines that do not hold a valid hand are left out of the output and
+	 * recorded instead
+	 * 
+	 * @param chunk		A buffer of lines, read from index 0 up to its limit
+	 * @param position	The offset of the chunk in the file
+	 * @param output	The buffer the translated lines are appended to
+	 * @param skipped	The collector the invalid lines are recorded in
+	 * @return			The translated lines, in the order of the chunk
+	 */
+	public static Result translate(ByteBuffer chunk, long position, TranslationBuffer output, SkippedLines skipped) {
+		try {
+			MappedHandReader.forEachLine(chunk, (buffer, start, end) -> {
+				long hand = CardParser.tryParsePackedHand(buffer, start, end);
+				if(CardParser.isError(hand)) {
+					skipped.add(hand, buffer, start, end, position);
+				} else {
+					translateLine(buffer, start, end, hand, output);
+				}
+			});
+		} catch (IOException | IllegalCardException | IllegalHandException e) {
+			return new Result(output, e);
+		}
+		return new Result(output, null);
+	}
+	
+	/**
+	 * Translates every line of a chunk like the other translate methods, timing the parsing and evaluation of the
+	 * sampled lines on a batch of PipelineStats. Appending the lines to the output is not timed.
+	 * 
+	 * @param chunk		A buffer of lines, read from index 0 up to its limit
+	 * @param position	The offset of the chunk in the file
+	 * @param output	The buffer the translated lines are appended to
+	 * @param skipped	The collector invalid lines are recorded in, null to stop at the first one
+	 * @param batch		The batch the timings and the translated hands are recorded on
+	 * @return			The translated lines, in the order of the chunk
+	 */
+	public static Result translate(ByteBuffer chunk, long position, TranslationBuffer output, SkippedLines skipped, PipelineStats.Batch batch) {
+		try {
+			MappedHandReader.forEachLine(chunk, (buffer, start, end) -> {
+				boolean timed = batch.sampleLine();
+				long started = timed ? System.nanoTime() : 0;
+				long hand = skipped == null ? CardParser.parsePackedHand(buffer, start, end)
+											: CardParser.tryParsePackedHand(buffer, start, end);
+				long parsed = timed ? System.nanoTime() : 0;
+				if(CardParser.isError(hand)) {
+					skipped.add(hand, buffer, start, end, position);
+				} else {
+					PokerHandName name = HandEvaluator.getHandName(HandEvaluator.evaluate(hand));
+					if(timed) {
+						batch.recordLine(Stage.EVALUATE, System.nanoTime() - parsed);
+					}
+					batch.countHand(name);
+					output.appendLine(buffer, start, end);
+					output.appendTranslation(name);
+				}
+				if(timed) {
+					batch.recordLine(Stage.PARSE, parsed - started);
+				}
+			});
+		} catch (IOException | IllegalCardException | IllegalHandException e) {
+			return new Result(output, e);
+		}
+		return new Result(output, null);
+	}
+	
+	/**
+	 * Helper function: Appends a line and the name of its hand to the output
+	 */
+	private static void translateLine(ByteBuffer buffer, int start, int end, long hand, TranslationBuffer output) throws IOException {
+		output.appendLine(buffer, start, end);
+		output.appendTranslation(HandEvaluator.getHandName(HandEvaluator.evaluate(hand)));
+	}
+	
+}
@@ -0,0 +1,239 @@
+package com.instil.pokerface.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+
+/**
+ * Follows a growing file of hands like "tail -f", translating the lines appended to it since the last poll
+ * 
+ * Each poll reads the file from the offset after the last translated line up to its current size, so its cost is
+ * in proportion to the new lines rather than to the size of the file. Only complete lines are translated, a last
+ * line without its newline is left for a later poll to find complete. A file that has shrunk below the offset was
+ * truncated or replaced, and is followed again from its start. Lines that are not valid hands are skipped, as a
+ * live file can not be fixed and run again.
+ * 
+ * The offset is written to an offset file once the lines of a poll have been written out, so a follower started
+ * again on the same offset file resumes where the last one stopped. A follower stopped between the two writes
+ * translates the lines of its last poll again when resumed.
+ * 
+ * A file is followed by calling poll and awaitChange in turn. The follower is woken by a WatchService on the
+ * directory of the file where the file system supports one, and polls at least every poll interval either way.
+ */
+public class FileFollower implements Closeable {
+	
+	// The time between polls when no change to the file is seen
+	public static final long DEFAULT_POLL_MILLIS = 1000;
+	
+	// The size of the blocks new lines are read in, a line longer than a block makes its block grow to hold it
+	private static final int BLOCK_SIZE = 1024 * 1024;
+	
+	private final Path file;
+	private final Path offsetFile;
+	
+	// Wakes the follower when the directory of the file changes, null if the file system can not be watched
+	private final WatchService watcher;
+	
+	private final TranslationBuffer output = new TranslationBuffer();
+	private ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+	private long offset;
+	
+	/**
+	 * Creates a follower resuming from the offset in the offset file, or from the start of the file if there is none
+	 * 
+	 * @param file				The file of hands to follow, which does not need to exist yet
+	 * @param offsetFile		The file the offset is kept in
+	 * @throws IOException		Thrown if the offset file could not be read or does not hold an offset
+	 */
+	public FileFollower(Path file, Path offsetFile) throws IOException {
+		this.file = file;
+		this.offsetFile = offsetFile;
+		this.offset = readOffset(offsetFile);
+		this.watcher = watch(file);
+	}
+	
+	/**
+	 * Gets the offset of the first line not translated yet
+	 * 
+	 * @return		An offset in the file
+	 */
+	public long getOffset() {
+		return offset;
+	}
+	
+	/**
+	 * Translates the complete lines appended to the file since the last poll and saves the new offset
+	 * 
+	 * @param out				The channel the translated lines are written to
+	 * @param skipped			The collector the lines that are not valid hands are recorded in
+	 * @return					The number of bytes of the file translated, 0 if no complete line was appended
+	 * @throws IOException		Thrown if the file could not be read, or the lines or the offset could not be written
+	 */
+	public long poll(WritableByteChannel out, SkippedLines skipped) throws IOException {
+		long start = offset;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if(size < offset) {
+				start = offset = 0;
+			}
+			int lines;
+			while((lines = readLines(channel, size)) > 0) {
+				ByteBuffer chunk = ((ByteBuffer) block.duplicate().flip().limit(lines)).slice();
+				try {
+					ChunkTranslator.translate(chunk, offset, output, skipped).writeTo(out);
+				} catch (IllegalCardException | IllegalHandException e) {
+					throw new IllegalStateException("Invalid lines are skipped", e);
+				}
+				offset += lines;
+			}
+		} catch (NoSuchFileException e) {
+			return 0;
+		}
+		if(offset != start) {
+			writeOffset(offsetFile, offset);
+		}
+		return offset - start;
+	}
+	
+	/**
+	 * Waits for the file to change, or for the poll interval to pass, before the next poll
+	 * 
+	 * @param pollMillis				The longest time to wait
+	 * @throws InterruptedException		Thrown if the calling thread is interrupted while waiting
+	 */
+	public void awaitChange(long pollMillis) throws InterruptedException {
+		if(watcher == null) {
+			Thread.sleep(pollMillis);
+			return;
+		}
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pollMillis);
+		long remaining;
+		while((remaining = deadline - System.nanoTime()) > 0) {
+			WatchKey key = watcher.poll(remaining, TimeUnit.NANOSECONDS);
+			if(key == null) {
+				return;
+			}
+			// Other files of the directory change too, such as the offset file
+			boolean changed = false;
+			for(WatchEvent<?> event : key.pollEvents()) {
+				changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context());
+			}
+			key.reset();
+			if(changed) {
+				return;
+			}
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		if(watcher != null) {
+			watcher.close();
+		}
+	}
+	
+	/**
+	 * Helper function: Reads the file from the offset into the block, up to the end of the last complete line
+	 * 
+	 * @return		The length of the complete lines read, 0 if there are none
+	 */
+	private int readLines(FileChannel channel, long size) throws IOException {
+		block.clear();
+		int scanned = 0;
+		while(true) {
+			while(block.hasRemaining() && offset + block.position() < size) {
+				if(channel.read(block, offset + block.position()) < 0) {
+					break;
+				}
+			}
+			int end = lastNewline(block, scanned);
+			if(end > 0 || block.hasRemaining()) {
+				return end;
+			}
+			scanned = block.position();
+			block.flip();
+			block = ByteBuffer.allocate(block.capacity() * 2).put(block);
+		}
+	}
+	
+	/**
+	 * Helper function: Finds the index after the last newline read into a block, from index from on
+	 * 
+	 * @return		The index after the newline, 0 if there is none
+	 */
+	private static int lastNewline(ByteBuffer block, int from) {
+		for(int i = block.position() - 1; i >= from; i--) {
+			if(block.get(i) == '\n') {
+				return i + 1;
+			}
+		}
+		return 0;
+	}
+	
+	/**
+	 * Helper function: Watches the directory of the file for changes, as a file can not be watched on its own
+	 * 
+	 * @return		The watcher, null if the file system does not support watching
+	 */
+	private static WatchService watch(Path file) throws IOException {
+		Path directory = file.toAbsolutePath().getParent();
+		WatchService watcher = null;
+		try {
+			watcher = FileSystems.getDefault().newWatchService();
+			directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+			return watcher;
+		} catch (UnsupportedOperationException | IOException e) {
+			if(watcher != null) {
+				watcher.close();
+			}
+			return null;
+		}
+	}
+	
+	/**
+	 * Helper function: Reads the offset kept in an offset file, 0 if the file does not exist
+	 */
+	private static long readOffset(Path offsetFile) throws IOException {
+		if(!Files.exists(offsetFile)) {
+			return 0;
+		}
+		String text = new String(Files.readAllBytes(offsetFile), StandardCharsets.US_ASCII).trim();
+		try {
+			long offset = Long.parseLong(text);
+			if(offset >= 0) {
+				return offset;
+			}
+		} catch (NumberFormatException e) {
+			// Reported below
+		}
+		throw new IOException(String.format("%s does not hold an offset: %s", offsetFile, text));
+	}
+	
+	/**
+	 * Helper function: Writes the offset next to the offset file and moves it over the offset file, so a follower
+	 * 					stopped while writing leaves the previous offset intact
+	 */
+	private static void writeOffset(Path offsetFile, long offset) throws IOException {
+		Path temporary = offsetFile.resolveSibling(offsetFile.getFileName() + ".tmp");
+		Files.write(temporary, (offset + "\n").getBytes(StandardCharsets.US_ASCII));
+		Files.move(temporary, offsetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+}
@@ -0,0 +1,289 @@
+package com.instil.pokerface.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.instil.pokerface.evaluator.HandEvaluator;
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.io.MappedHandReader.Chunk;
+import com.instil.pokerface.model.PokerHand.PokerHandName;
+import com.instil.pokerface.utils.CardParser;
+
+import lombok.Getter;
+
+/**
+ * A class counting the hands of a text file or a hand log per name, without translating them
+ * 
+ * Each worker thread claims chunks (or blocks of a hand log) in file order and counts their hands by strength into
+ * its own array, so the workers share nothing but the index of the next chunk. The arrays are merged and folded into
+ * counts per name once every chunk has been read.
+ */
+public class HandAggregator {
+
+	private static final PokerHandName[] HAND_NAMES = PokerHandName.values();
+
+	/**
+	 * The number of hands of each name in a file, and how long it took to count them
+	 */
+	public static class Result {
+		private final long[] counts = new long[HAND_NAMES.length];
+		@Getter
+		private final long hands;
+		@Getter
+		private final long nanos;
+
+		private Result(long[] strengthCounts, long nanos) {
+			long hands = 0;
+			for(int strength = 0; strength < strengthCounts.length; strength++) {
+				counts[HandEvaluator.getHandName(strength).ordinal()] += strengthCounts[strength];
+				hands += strengthCounts[strength];
+			}
+			this.hands = hands;
+			this.nanos = nanos;
+		}
+
+		/**
+		 * Gets the number of hands with a given name
+		 * 
+		 * @param name		A named poker hand, NO_NAME for lines that do not hold a full hand
+		 * @return			The number of hands with that name
+		 */
+		public long getCount(PokerHandName name) {
+			return counts[name.ordinal()];
+		}
+
+		/**
+		 * Gets the rate the hands were read and counted at
+		 * 
+		 * @return			Hands per second, 0 if no time was measured
+		 */
+		public double getHandsPerSecond() {
+			return nanos == 0 ? 0 : hands * 1e9 / nanos;
+		}
+	}
+
+	private final int threads;
+
+	public HandAggregator(int threads) {
+		if(threads < 1) {
+			throw new IllegalArgumentException("Number of threads must be at least 1, not " + threads);
+		}
+		this.threads = threads;
+	}
+
+	/**
+	 * Counts the hands of a file per name
+	 * 
+	 * @param reader					The reader of the file
+	 * @return							The counts of the whole file
+	 * @throws IOException				Thrown if the file could not be read
+	 * @throws IllegalCardException		Thrown if a card is illegal, the first one in the file if several are
+	 * @throws IllegalHandException		Thrown if a hand is illegal, the first one in the file if several are
+	 * @throws InterruptedException		Thrown if the calling thread is interrupted while waiting for the workers
+	 */
+	public Result aggregate(MappedHandReader reader) throws IOException, IllegalCardException, IllegalHandException, InterruptedException {
+		long start = System.nanoTime();
+		List<Chunk> chunks = reader.getChunks();
+		return aggregate(start, chunks.size(), null, (index, counts, skipped) -> count(reader.map(chunks.get(index)), counts));
+	}
+	
+	/**
+	 * Counts the valid hands of a file per name, lines that do not hold a valid hand are recorded instead of
+	 * failing the count
+	 * 
+	 * @param reader					The reader of the file
+	 * @param skipped					The collector the invalid lines are recorded in
+	 * @return							The counts of the valid lines of the file
+	 * @throws IOException				Thrown if the file could not be read
+	 * @throws InterruptedException		Thrown if the calling thread is interrupted while waiting for the workers
+	 */
+	public Result aggregate(MappedHandReader reader, SkippedLines skipped) throws IOException, InterruptedException {
+		long start = System.nanoTime();
+		List<Chunk> chunks = reader.getChunks();
+		try {
+			return aggregate(start, chunks.size(), skipped, (index, counts, workerSkipped) -> {
+				Chunk chunk = chunks.get(index);
+				count(reader.map(chunk), chunk.getStart(), counts, workerSkipped);
+			});
+		} catch (IllegalCardException | IllegalHandException e) {
+			throw new IllegalStateException("Invalid lines are skipped, not thrown", e);
+		}
+	}
+	
+	/**
+	 * Counts the hands of a binary hand log per name, straight from its mapped blocks
+	 * 
+	 * @param log						The reader of the hand log
+	 * @return							The counts of the whole log
+	 * @throws IOException				Thrown if the log could not be read or a block is corrupt
+	 * @throws InterruptedException		Thrown if the calling thread is interrupted while waiting for the workers
+	 */
+	public Result aggregate(HandLogReader log) throws IOException, InterruptedException {
+		try {
+			return aggregate(System.nanoTime(), log.getBlockCount(), null, (index, counts, skipped) -> count(log.readBlock(index), counts));
+		} catch (IllegalCardException | IllegalHandException e) {
+			throw new IllegalStateException("Hand logs hold no cards to parse", e);
+		}
+	}
+	
+	/**
+	 * Counts the hands of a block of a hand log by strength
+	 * 
+	 * @param hands		A buffer of packed hands, read from index 0 up to its limit
+	 * @param counts	The counters, indexed by strength, 0 for hands that are not full hands
+	 */
+	public static void count(LongBuffer hands, long[] counts) {
+		for(int i = 0; i < hands.limit(); i++) {
+			counts[HandEvaluator.evaluate(hands.get(i))]++;
+		}
+	}
+	
+	/**
+	 * Counts the hands of a chunk by strength
+	 * 
+	 * @param chunk						A buffer of lines, read from index 0 up to its limit
+	 * @param counts					The counters, indexed by strength, 0 for lines that do not hold a full hand
+	 * @throws IOException				Never thrown, lines are not written anywhere
+	 * @throws IllegalCardException		Thrown if a card in the chunk is illegal
+	 * @throws IllegalHandException		Thrown if a hand in the chunk is illegal
+	 */
+	public static void count(ByteBuffer chunk, long[] counts) throws IOException, IllegalCardException, IllegalHandException {
+		MappedHandReader.forEachLine(chunk, (buffer, start, end) -> {
+			counts[HandEvaluator.evaluate(CardParser.parsePackedHand(buffer, start, end))]++;
+		});
+	}
+	
+	/**
+	 * Counts the valid hands of a chunk by strength, recording the lines that do not hold a valid hand
+	 * 
+	 * @param chunk						A buffer of lines, read from index 0 up to its limit
+	 * @param position					The offset of the chunk in the file
+	 * @param counts					The counters, indexed by strength, 0 for lines that do not hold a full hand
+	 * @param skipped					The collector the invalid lines are recorded in
+	 * @throws IOException				Never thrown, lines are not written anywhere
+	 */
+	public static void count(ByteBuffer chunk, long position, long[] counts, SkippedLines skipped) throws IOException {
+		try {
+			MappedHandReader.forEachLine(chunk, (buffer, start, end) -> {
+				long hand = CardParser.tryParsePackedHand(buffer, start, end);
+				if(CardParser.isError(hand)) {
+					skipped.add(hand, buffer, start, end, position);
+				} else {
+					counts[HandEvaluator.evaluate(hand)]++;
+				}
+			});
+		} catch (IllegalCardException | IllegalHandException e) {
+			throw new IllegalStateException("Invalid lines are skipped, not thrown", e);
+		}
+	}
+	
+	/**
+	 * Helper function: Counts every unit (chunk or block) of a file, on the calling thread or on a pool of workers.
+	 * 					Each worker skips lines into its own collector, which are all added to the given one
+	 */
+	private Result aggregate(long start, int units, SkippedLines skipped, UnitCounter counter) throws IOException, IllegalCardException, IllegalHandException, InterruptedException {
+		long[] counts = new long[HandEvaluator.CLASS_COUNT + 1];
+
+		if(threads == 1) {
+			for(int unit = 0; unit < units; unit++) {
+				counter.count(unit, counts, skipped);
+			}
+			return new Result(counts, System.nanoTime() - start);
+		}
+
+		AtomicInteger nextUnit = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Worker>> workers = new ArrayList<Future<Worker>>();
+			for(int i = 0; i < threads; i++) {
+				workers.add(pool.submit(() -> new Worker().run(counter, units, nextUnit)));
+			}
+
+			Worker failed = null;
+			for(Future<Worker> future : workers) {
+				Worker worker = await(future);
+				for(int strength = 0; strength < counts.length; strength++) {
+					counts[strength] += worker.counts[strength];
+				}
+				if(skipped != null) {
+					skipped.addAll(worker.skipped);
+				}
+				if(worker.error != null && (failed == null || worker.failedUnit < failed.failedUnit)) {
+					failed = worker;
+				}
+			}
+			if(failed != null) {
+				failed.raise();
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		return new Result(counts, System.nanoTime() - start);
+	}
+
+	/**
+	 * Counts the hands of one unit of a file into the counters of a worker
+	 */
+	@FunctionalInterface
+	private interface UnitCounter {
+		void count(int unit, long[] counts, SkippedLines skipped) throws IOException, IllegalCardException, IllegalHandException;
+	}
+
+	/**
+	 * The counters of one worker thread. A worker stops at the first illegal line, and since units are claimed
+	 * in file order the failed unit with the lowest index holds the first illegal line of the file.
+	 */
+	private static class Worker {
+		private final long[] counts = new long[HandEvaluator.CLASS_COUNT + 1];
+		private final SkippedLines skipped = new SkippedLines();
+		private Exception error;
+		private int failedUnit;
+
+		private Worker run(UnitCounter counter, int units, AtomicInteger nextUnit) throws IOException {
+			int unit;
+			while((unit = nextUnit.getAndIncrement()) < units) {
+				try {
+					counter.count(unit, counts, skipped);
+				} catch (IllegalCardException | IllegalHandException e) {
+					error = e;
+					failedUnit = unit;
+					// Let the other workers finish the units they hold, but claim no new ones
+					nextUnit.set(units);
+					break;
+				}
+			}
+			return this;
+		}
+
+		private void raise() throws IllegalCardException, IllegalHandException {
+			if(error instanceof IllegalCardException) {
+				throw (IllegalCardException) error;
+			}
+			throw (IllegalHandException) error;
+		}
+	}
+
+	/**
+	 * Helper function: Waits for a worker, passing on failures to read its chunks as IOExceptions
+	 */
+	private static Worker await(Future<Worker> future) throws IOException, InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException("Could not count hands", e.getCause());
+		}
+	}
+
+}
@@ -0,0 +1,173 @@
+package com.instil.pokerface.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32;
+
+import lombok.Getter;
+
+/**
+ * A class reading a binary hand log through memory mapped blocks
+ * 
+ * A hand log stores every hand as a packed hand (see PackedHand) in 8 bytes, so reading it needs no parsing at all.
+ * All values are little endian. The file starts with a 16 byte header
+ * 
+ * 	magic, version, hands per full block, 0
+ * 
+ * followed by blocks of an 8 byte block header (the number of hands in the block and the CRC32 of those hands) and
+ * the hands themselves. Every block is full except maybe the last one, so block n always starts at the same offset
+ * and the blocks can be read in any order, e.g. by several threads at once.
+ */
+public class HandLogReader implements Closeable {
+	
+	// "PKHL" in little endian
+	static final int MAGIC = 0x4C484B50;
+	static final int VERSION = 1;
+	static final int HEADER_SIZE = 16;
+	static final int BLOCK_HEADER_SIZE = 8;
+	static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+	
+	// The default number of hands in a block, 512 KB of hands
+	public static final int DEFAULT_BLOCK_HANDS = 64 * 1024;
+	
+	private final FileChannel channel;
+	private final long size;
+	
+	// The number of hands in a full block
+	@Getter
+	private final int blockHands;
+	
+	// The number of blocks in the log
+	@Getter
+	private final int blockCount;
+	
+	public HandLogReader(Path path) throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			this.size = channel.size();
+			ByteBuffer header = readHeader(channel);
+			if(header == null) {
+				throw new IOException(path + " is not a hand log");
+			}
+			if(header.getInt(4) != VERSION) {
+				throw new IOException(String.format("%s is a hand log of version %d, not %d", path, header.getInt(4), VERSION));
+			}
+			this.blockHands = header.getInt(8);
+			if(blockHands < 1 || blockSize(blockHands) < 0) {
+				throw new IOException(String.format("%s has an invalid block size of %d hands", path, blockHands));
+			}
+			this.blockCount = (int) ((size - HEADER_SIZE + blockSize(blockHands) - 1) / blockSize(blockHands));
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Checks whether a file is a hand log, by its magic number
+	 * 
+	 * @param path				The file to check
+	 * @return					True if the file starts like a hand log
+	 * @throws IOException		Thrown if the file could not be read
+	 */
+	public static boolean isHandLog(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return readHeader(channel) != null;
+		}
+	}
+	
+	/**
+	 * Maps a block of the log and checks it against its checksum
+	 * 
+	 * @param block				The index of the block, between 0 and the block count
+	 * @return					A read only buffer of the packed hands of the block
+	 * @throws IOException		Thrown if the block could not be mapped or is corrupt
+	 */
+	public LongBuffer readBlock(int block) throws IOException {
+		long offset = HEADER_SIZE + (long) block * blockSize(blockHands);
+		int length = (int) Math.min(blockSize(blockHands), size - offset);
+		if(block < 0 || block >= blockCount || length < BLOCK_HEADER_SIZE) {
+			throw new IOException(String.format("Block %d of hand log is truncated or does not exist", block));
+		}
+		
+		ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, offset, length).order(ORDER);
+		int hands = mapped.getInt(0);
+		if(hands < 1 || hands > blockHands || BLOCK_HEADER_SIZE + hands * Long.BYTES > length) {
+			throw new IOException(String.format("Block %d of hand log holds an invalid number of hands: %d", block, hands));
+		}
+		mapped.position(BLOCK_HEADER_SIZE).limit(BLOCK_HEADER_SIZE + hands * Long.BYTES);
+		ByteBuffer handBytes = mapped.slice().order(ORDER);
+		
+		CRC32 crc = new CRC32();
+		crc.update(handBytes.duplicate());
+		if((int) crc.getValue() != mapped.getInt(4)) {
+			throw new IOException(String.format("Block %d of hand log does not match its checksum", block));
+		}
+		return handBytes.asLongBuffer();
+	}
+	
+	/**
+	 * Counts the hands in the log
+	 * 
+	 * @return					The number of hands in all blocks
+	 * @throws IOException		Thrown if the last block could not be read
+	 */
+	public long getHandCount() throws IOException {
+		if(blockCount == 0) {
+			return 0;
+		}
+		return (long) (blockCount - 1) * blockHands + readBlock(blockCount - 1).remaining();
+	}
+	
+	/**
+	 * Maps the log block by block and hands every hand to a consumer, in the order they were written
+	 * 
+	 * @param consumer			The callback receiving each packed hand
+	 * @throws IOException		Thrown if a block could not be read
+	 */
+	public void forEachHand(LongConsumer consumer) throws IOException {
+		for(int block = 0; block < blockCount; block++) {
+			LongBuffer hands = readBlock(block);
+			for(int i = 0; i < hands.limit(); i++) {
+				consumer.accept(hands.get(i));
+			}
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+	
+	/**
+	 * Gets the size in bytes of a full block
+	 * 
+	 * @param blockHands	The number of hands in a full block
+	 * @return				The size of the block including its header
+	 */
+	static int blockSize(int blockHands) {
+		return BLOCK_HEADER_SIZE + blockHands * Long.BYTES;
+	}
+	
+	/**
+	 * Helper function: Reads the header of a file
+	 * 
+	 * @return				The header, null if the file is too short or its magic number is not that of a hand log
+	 */
+	private static ByteBuffer readHeader(FileChannel channel) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ORDER);
+		int read;
+		do {
+			read = channel.read(header, header.position());
+		} while(read > 0 && header.hasRemaining());
+		return !header.hasRemaining() && header.getInt(0) == MAGIC ? header : null;
+	}
+	
+}
@@ -0,0 +1,149 @@
+package com.instil.pokerface.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.io.MappedHandReader.Chunk;
+import com.instil.pokerface.utils.CardParser;
+
+import lombok.Getter;
+
+/**
+ * A class writing hands to a binary hand log (see HandLogReader for the format)
+ * 
+ * Hands are collected in a buffer of one block and written out whenever the block is full, the last block is
+ * written when the writer is closed.
+ */
+public class HandLogWriter implements Closeable {
+	
+	private final FileChannel channel;
+	private final ByteBuffer block;
+	private final int blockHands;
+	private int hands;
+	
+	// The number of hands written so far
+	@Getter
+	private long handCount;
+	
+	public HandLogWriter(Path path) throws IOException {
+		this(path, HandLogReader.DEFAULT_BLOCK_HANDS);
+	}
+	
+	public HandLogWriter(Path path, int blockHands) throws IOException {
+		if(blockHands < 1) {
+			throw new IllegalArgumentException("Blocks must hold at least one hand, not " + blockHands);
+		}
+		this.blockHands = blockHands;
+		this.block = ByteBuffer.allocateDirect(HandLogReader.blockSize(blockHands)).order(HandLogReader.ORDER);
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+										StandardOpenOption.WRITE);
+		
+		ByteBuffer header = ByteBuffer.allocate(HandLogReader.HEADER_SIZE).order(HandLogReader.ORDER);
+		header.putInt(HandLogReader.MAGIC).putInt(HandLogReader.VERSION).putInt(blockHands).putInt(0).flip();
+		write(header);
+		block.position(HandLogReader.BLOCK_HEADER_SIZE);
+	}
+	
+	/**
+	 * Converts a file of hands in the text format of App into a hand log
+	 * 
+	 * @param text						The reader of the text file
+	 * @param log						The writer of the hand log
+	 * @return							The number of hands converted
+	 * @throws IOException				Thrown if the text could not be read or the log written
+	 * @throws IllegalCardException		Thrown if a card is illegal, after all hands before it have been written
+	 * @throws IllegalHandException		Thrown if a hand is illegal, after all hands before it have been written
+	 */
+	public static long convert(MappedHandReader text, HandLogWriter log) throws IOException, IllegalCardException, IllegalHandException {
+		long before = log.getHandCount();
+		text.forEachLine((buffer, start, end) -> log.write(CardParser.parsePackedHand(buffer, start, end)));
+		return log.getHandCount() - before;
+	}
+	
+	/**
+	 * Converts the valid lines of a file of hands in the text format of App into a hand log, lines that do not hold
+	 * a valid hand are recorded instead of failing the conversion
+	 * 
+	 * @param text				The reader of the text file
+	 * @param log				The writer of the hand log
+	 * @param skipped			The collector the invalid lines are recorded in
+	 * @return					The number of hands converted
+	 * @throws IOException		Thrown if the text could not be read or the log written
+	 */
+	public static long convert(MappedHandReader text, HandLogWriter log, SkippedLines skipped) throws IOException {
+		long before = log.getHandCount();
+		try {
+			for(Chunk chunk : text.getChunks()) {
+				MappedHandReader.forEachLine(text.map(chunk), (buffer, start, end) -> {
+					long hand = CardParser.tryParsePackedHand(buffer, start, end);
+					if(CardParser.isError(hand)) {
+						skipped.add(hand, buffer, start, end, chunk.getStart());
+					} else {
+						log.write(hand);
+					}
+				});
+			}
+		} catch (IllegalCardException | IllegalHandException e) {
+			throw new IllegalStateException("Invalid lines are skipped, not thrown", e);
+		}
+		return log.getHandCount() - before;
+	}
+	
+	/**
+	 * Appends a hand to the log
+	 * 
+	 * @param hand				A packed hand (see PackedHand)
+	 * @throws IOException		Thrown if the block was full and could not be written
+	 */
+	public void write(long hand) throws IOException {
+		block.putLong(hand);
+		handCount++;
+		if(++hands == blockHands) {
+			writeBlock();
+		}
+	}
+	
+	/**
+	 * Writes the last block, if it holds any hands, and closes the file
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			if(hands > 0) {
+				writeBlock();
+			}
+		} finally {
+			channel.close();
+		}
+	}
+	
+	/**
+	 * Helper function: Fills in the header of the buffered block, writes it out and starts the next block
+	 */
+	private void writeBlock() throws IOException {
+		block.flip();
+		block.position(HandLogReader.BLOCK_HEADER_SIZE);
+		CRC32 crc = new CRC32();
+		crc.update(block);
+		block.putInt(0, hands).putInt(4, (int) crc.getValue());
+		block.position(0);
+		write(block);
+		
+		block.clear().position(HandLogReader.BLOCK_HEADER_SIZE);
+		hands = 0;
+	}
+	
+	private void write(ByteBuffer buffer) throws IOException {
+		while(buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+	
+}
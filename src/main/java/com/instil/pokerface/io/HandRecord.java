@@ -0,0 +1,84 @@
+package com.instil.pokerface.io;
+
+import com.instil.pokerface.evaluator.HandEvaluator;
+import com.instil.pokerface.model.PokerHand.PokerHandName;
+import com.instil.pokerface.utils.CardParser;
+import com.instil.pokerface.utils.CardParser.ParseError;
+
+import lombok.Getter;
+
+/**
+ * One line of a file of hands, parsed and evaluated, as handed out by HandStreams
+ * 
+ * Records are mutable so that a stream can fill the same record for every line and allocate nothing per hand. A
+ * record handed out that way is only valid until the next line is read, use copy to keep it. A line that is not a
+ * valid hand does not stop the stream, its record holds the error instead.
+ */
+@Getter
+public class HandRecord {
+	
+	// The offset of the line in the file or stream
+	private long position;
+	
+	// The packed hand (see PackedHand), or the error code of CardParser.tryParsePackedHand if the line is not valid
+	private long hand;
+	
+	// The strength of the hand as returned by HandEvaluator.evaluate, 0 if it is not a valid hand of five cards
+	private int strength;
+	
+	/**
+	 * Checks if the line held a valid hand
+	 * 
+	 * @return		True if getHand is a packed hand, false if it is an error code
+	 */
+	public boolean isValid() {
+		return !CardParser.isError(hand);
+	}
+	
+	/**
+	 * Gets why the line is not a valid hand
+	 * 
+	 * @return		The reason, null if the line is valid
+	 */
+	public ParseError getError() {
+		return isValid() ? null : CardParser.getError(hand);
+	}
+	
+	/**
+	 * Gets the name of the hand
+	 * 
+	 * @return		The name, NO_NAME if the line is not a valid hand of five cards
+	 */
+	public PokerHandName getHandName() {
+		return HandEvaluator.getHandName(strength);
+	}
+	
+	/**
+	 * Takes a snapshot of the record that can be kept after the stream has moved on
+	 * 
+	 * @return		A new record with the same values
+	 */
+	public HandRecord copy() {
+		HandRecord copy = new HandRecord();
+		copy.position = position;
+		copy.hand = hand;
+		copy.strength = strength;
+		return copy;
+	}
+	
+	/**
+	 * Fills the record with a parsed line and evaluates its hand
+	 */
+	void set(long position, long hand) {
+		this.position = position;
+		this.hand = hand;
+		this.strength = CardParser.isError(hand) ? 0 : HandEvaluator.evaluate(hand);
+	}
+	
+	@Override
+	public String toString() {
+		return isValid() ? String.format("%d: %s", position, getHandName().getName())
+						 : String.format("%d: %s", position, getError().getDescription());
+	}
+	
+}
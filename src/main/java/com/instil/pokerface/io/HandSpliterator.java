@@ -0,0 +1,360 @@
+package com.instil.pokerface.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.instil.pokerface.io.MappedHandReader.Chunk;
+import com.instil.pokerface.utils.CardParser;
+
+/**
+ * A Spliterator parsing and evaluating the lines of a file of hands, one HandRecord per line
+ * 
+ * Lines are read from newline aligned buffers: the mapped chunks of a file (see MappedHandReader), or blocks read
+ * from an input stream. Splitting hands a prefix of the buffers to the new spliterator, half of the remaining chunks
+ * of a file or the next block of a stream, so parallel streams divide the work by chunks and still see the lines in
+ * file order. A spliterator that has started on a buffer is not split any further.
+ * 
+ * A spliterator either hands out a new record per line, or fills one record of its own for every line, in which
+ * case the consumer must not keep it (see HandRecord.copy).
+ */
+public class HandSpliterator implements Spliterator<HandRecord> {
+	
+	// The length of a line of five cards, "AH KH QH JH TH\n", to estimate the number of lines from their bytes
+	private static final int BYTES_PER_LINE = 15;
+	
+	// The default size of a block read from a stream
+	public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+	
+	private final Source source;
+	
+	// The record filled for every line, null to hand out a new record per line
+	private final HandRecord reused;
+	
+	// The buffer being read, the offset of its index 0 in the file and the index of its next line
+	private ByteBuffer buffer;
+	private long bufferPosition;
+	private int index;
+	
+	private HandSpliterator(Source source, boolean reuseRecords) {
+		this.source = source;
+		this.reused = reuseRecords ? new HandRecord() : null;
+	}
+	
+	/**
+	 * Creates a spliterator over chunks of a mapped file
+	 * 
+	 * @param reader			The reader of the file, which must stay open while the spliterator is used
+	 * @param chunks			The chunks to read, as returned by reader.getChunks
+	 * @param reuseRecords		True to fill one record for every line, false for a new record per line
+	 * @return					HandSpliterator object
+	 */
+	public static HandSpliterator of(MappedHandReader reader, List<Chunk> chunks, boolean reuseRecords) {
+		return new HandSpliterator(new ChunkSource(reader, chunks, 0, chunks.size()), reuseRecords);
+	}
+	
+	/**
+	 * Creates a spliterator over a stream of lines
+	 * 
+	 * @param in				The stream, read up to its end
+	 * @param blockSize			The size of the blocks read from the stream, and handed out by splitting
+	 * @param reuseRecords		True to fill one record for every line, false for a new record per line
+	 * @return					HandSpliterator object
+	 */
+	public static HandSpliterator of(InputStream in, int blockSize, boolean reuseRecords) {
+		if(blockSize <= 0) {
+			throw new IllegalArgumentException("Block size must be positive, not " + blockSize);
+		}
+		return new HandSpliterator(new StreamSource(in, blockSize), reuseRecords);
+	}
+	
+	@Override
+	public boolean tryAdvance(Consumer<? super HandRecord> action) {
+		while(buffer == null || index >= buffer.limit()) {
+			if(!nextBuffer()) {
+				return false;
+			}
+		}
+		int start = index;
+		int end = lineEnd(buffer, start);
+		index = end + 1;
+		action.accept(parse(buffer, start, end));
+		return true;
+	}
+	
+	@Override
+	public void forEachRemaining(Consumer<? super HandRecord> action) {
+		do {
+			if(buffer == null) {
+				continue;
+			}
+			ByteBuffer lines = buffer;
+			int limit = lines.limit();
+			while(index < limit) {
+				int start = index;
+				int end = lineEnd(lines, start);
+				index = end + 1;
+				action.accept(parse(lines, start, end));
+			}
+		} while(nextBuffer());
+	}
+	
+	@Override
+	public Spliterator<HandRecord> trySplit() {
+		if(buffer != null && index < buffer.limit()) {
+			return null;
+		}
+		Source prefix = source.split();
+		return prefix == null ? null : new HandSpliterator(prefix, reused != null);
+	}
+	
+	@Override
+	public long estimateSize() {
+		long bytes = source.remainingBytes();
+		return bytes == Long.MAX_VALUE ? bytes : (bytes + (buffer == null ? 0 : buffer.limit() - index)) / BYTES_PER_LINE;
+	}
+	
+	@Override
+	public int characteristics() {
+		return ORDERED | NONNULL;
+	}
+	
+	/**
+	 * Helper function: Moves on to the next buffer of the source
+	 * 
+	 * @return		False if the source has no buffers left
+	 */
+	private boolean nextBuffer() {
+		try {
+			buffer = source.next();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		bufferPosition = source.position();
+		index = 0;
+		return buffer != null;
+	}
+	
+	/**
+	 * Helper function: Parses and evaluates a line into a record, the reused one or a new one
+	 */
+	private HandRecord parse(ByteBuffer lines, int start, int end) {
+		HandRecord record = reused != null ? reused : new HandRecord();
+		int trimmed = end > start && lines.get(end - 1) == '\r' ? end - 1 : end;
+		record.set(bufferPosition + start, CardParser.tryParsePackedHand(lines, start, trimmed));
+		return record;
+	}
+	
+	/**
+	 * Helper function: Finds the newline ending a line, or the limit of the buffer for a last line without one
+	 */
+	private static int lineEnd(ByteBuffer lines, int start) {
+		int limit = lines.limit();
+		int end = start;
+		while(end < limit && lines.get(end) != '\n') {
+			end++;
+		}
+		return end;
+	}
+	
+	/**
+	 * Newline aligned buffers of lines, in file order
+	 */
+	private interface Source {
+		
+		/**
+		 * @return		The next buffer, null if there are none left
+		 */
+		ByteBuffer next() throws IOException;
+		
+		/**
+		 * @return		The offset in the file of the buffer returned last
+		 */
+		long position();
+		
+		/**
+		 * @return		A source of a prefix of the remaining buffers, which are then no longer returned by this
+		 * 				source, or null if the remaining buffers can not be split
+		 */
+		Source split();
+		
+		/**
+		 * @return		The bytes in the remaining buffers, Long.MAX_VALUE if not known
+		 */
+		long remainingBytes();
+	}
+	
+	/**
+	 * The chunks of a mapped file from index from (inclusive) to index to (exclusive)
+	 */
+	private static class ChunkSource implements Source {
+		private final MappedHandReader reader;
+		private final List<Chunk> chunks;
+		private int from;
+		private final int to;
+		private long position;
+		
+		ChunkSource(MappedHandReader reader, List<Chunk> chunks, int from, int to) {
+			this.reader = reader;
+			this.chunks = chunks;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		public ByteBuffer next() throws IOException {
+			if(from >= to) {
+				return null;
+			}
+			Chunk chunk = chunks.get(from++);
+			position = chunk.getStart();
+			return reader.map(chunk);
+		}
+		
+		@Override
+		public long position() {
+			return position;
+		}
+		
+		@Override
+		public Source split() {
+			int middle = (from + to) >>> 1;
+			if(middle == from) {
+				return null;
+			}
+			Source prefix = new ChunkSource(reader, chunks, from, middle);
+			from = middle;
+			return prefix;
+		}
+		
+		@Override
+		public long remainingBytes() {
+			return from >= to ? 0 : chunks.get(to - 1).getEnd() - chunks.get(from).getStart();
+		}
+	}
+	
+	/**
+	 * The lines of a stream, read in blocks that end right after a newline. A block is handed out as soon as a read
+	 * brings in a newline, so lines arriving slowly through a pipe or socket are not held back until a whole block
+	 * has arrived. A line longer than a block makes its block grow to hold it.
+	 */
+	private static class StreamSource implements Source {
+		private final InputStream in;
+		private final int blockSize;
+		
+		// The start of a line read with the last block, carried over to the next one
+		private byte[] carry = new byte[0];
+		private boolean ended;
+		private long position;
+		private long nextPosition;
+		
+		StreamSource(InputStream in, int blockSize) {
+			this.in = in;
+			this.blockSize = blockSize;
+		}
+		
+		@Override
+		public ByteBuffer next() throws IOException {
+			if(ended && carry.length == 0) {
+				return null;
+			}
+			byte[] block = Arrays.copyOf(carry, Math.max(blockSize, carry.length * 2));
+			int length = carry.length;
+			int scanned = 0;
+			while(true) {
+				while(!ended && length < block.length) {
+					int read = in.read(block, length, block.length - length);
+					if(read < 0) {
+						ended = true;
+					} else if(lastNewline(block, length, length += read) > 0) {
+						// Hand out the complete lines rather than wait for a slow stream to fill the block
+						break;
+					}
+				}
+				int lineEnd = lastNewline(block, scanned, length);
+				if(lineEnd > 0 || ended) {
+					int end = lineEnd > 0 ? lineEnd : length;
+					carry = Arrays.copyOfRange(block, end, length);
+					position = nextPosition;
+					nextPosition += end;
+					return end == 0 ? null : ByteBuffer.wrap(block, 0, end).slice();
+				}
+				scanned = length;
+				block = Arrays.copyOf(block, block.length * 2);
+			}
+		}
+		
+		@Override
+		public long position() {
+			return position;
+		}
+		
+		@Override
+		public Source split() {
+			try {
+				ByteBuffer block = next();
+				return block == null ? null : new BlockSource(block, position);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		
+		@Override
+		public long remainingBytes() {
+			return Long.MAX_VALUE;
+		}
+		
+		/**
+		 * Helper function: Finds the index after the last newline in a range of a block, 0 if there is none
+		 */
+		private static int lastNewline(byte[] block, int from, int to) {
+			for(int i = to - 1; i >= from; i--) {
+				if(block[i] == '\n') {
+					return i + 1;
+				}
+			}
+			return 0;
+		}
+	}
+	
+	/**
+	 * A single block split off a stream
+	 */
+	private static class BlockSource implements Source {
+		private ByteBuffer block;
+		private final long position;
+		
+		BlockSource(ByteBuffer block, long position) {
+			this.block = block;
+			this.position = position;
+		}
+		
+		@Override
+		public ByteBuffer next() {
+			ByteBuffer next = block;
+			block = null;
+			return next;
+		}
+		
+		@Override
+		public long position() {
+			return position;
+		}
+		
+		@Override
+		public Source split() {
+			return null;
+		}
+		
+		@Override
+		public long remainingBytes() {
+			return block == null ? 0 : block.limit();
+		}
+	}
+	
+}
@@ -0,0 +1,108 @@
+package com.instil.pokerface.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This class offers static utility methods for reading files of hands as streams of parsed and evaluated hands
+ * 
+ * Hands are read lazily as the stream is consumed, and parallel streams split the work by chunks of the file (see
+ * HandSpliterator). Every line becomes a HandRecord, including the lines that are not valid hands, so the stream
+ * never stops part way. For example
+ * 
+ * 	try (Stream<HandRecord> hands = HandStreams.lines(path)) {
+ * 		Map<PokerHandName, Long> counts = hands.parallel().filter(HandRecord::isValid)
+ * 											   .collect(groupingBy(HandRecord::getHandName, counting()));
+ * 	}
+ * 
+ * Streams of a file hold it open until they are closed.
+ */
+public final class HandStreams {
+	
+	// Chunks per thread of the common pool, so that threads finishing early can pick up more work
+	private static final int CHUNKS_PER_THREAD = 8;
+	
+	// The smallest chunk a file is split into
+	private static final int MIN_CHUNK_SIZE = 64 * 1024;
+	
+	private HandStreams() {
+	}
+	
+	/**
+	 * Streams the hands of a file, with a new record per line
+	 * 
+	 * @param path				The file of hands
+	 * @return					The hands in file order, to be closed once done
+	 * @throws IOException		Thrown if the file could not be opened
+	 */
+	public static Stream<HandRecord> lines(Path path) throws IOException {
+		return lines(path, false);
+	}
+	
+	/**
+	 * Streams the hands of a file
+	 * 
+	 * @param path				The file of hands
+	 * @param reuseRecords		True to fill one record per thread for every line, which the stream operations must
+	 * 							not keep, false for a new record per line
+	 * @return					The hands in file order, to be closed once done
+	 * @throws IOException		Thrown if the file could not be opened
+	 */
+	public static Stream<HandRecord> lines(Path path, boolean reuseRecords) throws IOException {
+		long chunks = (long) ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD;
+		long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MappedHandReader.DEFAULT_CHUNK_SIZE, Files.size(path) / chunks));
+		return lines(path, reuseRecords, (int) chunkSize);
+	}
+	
+	/**
+	 * Streams the hands of a file, split into chunks of a given size
+	 */
+	static Stream<HandRecord> lines(Path path, boolean reuseRecords, int chunkSize) throws IOException {
+		MappedHandReader reader = new MappedHandReader(path, chunkSize);
+		try {
+			HandSpliterator hands = HandSpliterator.of(reader, reader.getChunks(), reuseRecords);
+			return StreamSupport.stream(hands, false).onClose(() -> close(reader));
+		} catch (IOException | RuntimeException e) {
+			reader.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Streams the hands read from a stream, with a new record per line. Parallel streams read the stream ahead in
+	 * blocks of HandSpliterator.DEFAULT_BLOCK_SIZE.
+	 * 
+	 * @param in		The stream of lines, read up to its end but not closed
+	 * @return			The hands in the order of the stream
+	 */
+	public static Stream<HandRecord> lines(InputStream in) {
+		return lines(in, false);
+	}
+	
+	/**
+	 * Streams the hands read from a stream
+	 * 
+	 * @param in				The stream of lines, read up to its end but not closed
+	 * @param reuseRecords		True to fill one record per thread for every line, which the stream operations must
+	 * 							not keep, false for a new record per line
+	 * @return					The hands in the order of the stream
+	 */
+	public static Stream<HandRecord> lines(InputStream in, boolean reuseRecords) {
+		return StreamSupport.stream(HandSpliterator.of(in, HandSpliterator.DEFAULT_BLOCK_SIZE, reuseRecords), false);
+	}
+	
+	private static void close(MappedHandReader reader) {
+		try {
+			reader.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+}
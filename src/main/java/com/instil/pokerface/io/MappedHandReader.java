@@ -0,0 +1,182 @@
+package com.instil.pokerface.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+
+import lombok.Data;
+
+/**
+ * A class reading a file of hands through memory mapped chunks
+ * 
+ * The file is split into chunks of roughly the same size, each ending right after a newline, so that no line
+ * is ever cut in two. Lines are handed out as byte ranges of the mapped buffers and are never decoded.
+ */
+public class MappedHandReader implements Closeable {
+	
+	// The default size of a chunk, each chunk is mapped on its own so this also bounds a single mapping
+	public static final int DEFAULT_CHUNK_SIZE = 64 * 1024 * 1024;
+	
+	private static final int SCAN_BLOCK_SIZE = 8 * 1024;
+	
+	/**
+	 * A callback receiving one line of a mapped chunk
+	 */
+	@FunctionalInterface
+	public interface LineHandler {
+		
+		/**
+		 * Handles a single line, without its line terminator
+		 * 
+		 * @param buffer					The mapped chunk holding the line
+		 * @param start						Absolute index of the first byte of the line
+		 * @param end						Absolute index after the last byte of the line
+		 * @throws IOException				Thrown if the line could not be written out
+		 * @throws IllegalCardException		Thrown if a card in the line is illegal
+		 * @throws IllegalHandException		Thrown if the hand in the line is illegal
+		 */
+		void handle(ByteBuffer buffer, int start, int end) throws IOException, IllegalCardException, IllegalHandException;
+	}
+	
+	/**
+	 * A newline aligned byte range of the file
+	 */
+	@Data
+	public static class Chunk {
+		private final long start;
+		private final long end;
+	}
+	
+	private final FileChannel channel;
+	private final int chunkSize;
+	
+	public MappedHandReader(Path path) throws IOException {
+		this(path, DEFAULT_CHUNK_SIZE);
+	}
+	
+	public MappedHandReader(Path path, int chunkSize) throws IOException {
+		if(chunkSize <= 0) {
+			throw new IllegalArgumentException("Chunk size must be positive, not " + chunkSize);
+		}
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		this.chunkSize = chunkSize;
+	}
+	
+	/**
+	 * Splits the file into newline aligned chunks
+	 * 
+	 * @return						The chunks, in file order, covering the whole file
+	 * @throws IOException			Thrown if the file could not be read
+	 */
+	public List<Chunk> getChunks() throws IOException {
+		List<Chunk> chunks = new ArrayList<Chunk>();
+		long size = channel.size();
+		long start = 0;
+		while(start < size) {
+			long end = start + chunkSize;
+			if(end >= size) {
+				end = size;
+			} else {
+				end = findLineEnd(end - 1, size);
+			}
+			if(end - start > Integer.MAX_VALUE) {
+				throw new IOException(String.format("Line starting before offset %d is too long to be mapped", end));
+			}
+			chunks.add(new Chunk(start, end));
+			start = end;
+		}
+		return chunks;
+	}
+	
+	/**
+	 * Maps a chunk of the file into memory
+	 * 
+	 * @param chunk					A chunk as returned by getChunks
+	 * @return						A read only buffer holding the chunk, indexed from 0
+	 * @throws IOException			Thrown if the file could not be mapped
+	 */
+	public MappedByteBuffer map(Chunk chunk) throws IOException {
+		return channel.map(FileChannel.MapMode.READ_ONLY, chunk.getStart(), chunk.getEnd() - chunk.getStart());
+	}
+	
+	/**
+	 * Maps the file chunk by chunk and hands every line to a handler, in file order
+	 * 
+	 * @param handler					The callback receiving each line
+	 * @throws IOException				Thrown if the file could not be read
+	 * @throws IllegalCardException		Passed on from the handler
+	 * @throws IllegalHandException		Passed on from the handler
+	 */
+	public void forEachLine(LineHandler handler) throws IOException, IllegalCardException, IllegalHandException {
+		for(Chunk chunk : getChunks()) {
+			forEachLine(map(chunk), handler);
+		}
+	}
+	
+	/**
+	 * Hands every line in a buffer to a handler. Lines end with "\n" or "\r\n", the last line needs no terminator.
+	 * 
+	 * @param buffer					A buffer of lines, read from index 0 up to its limit
+	 * @param handler					The callback receiving each line
+	 * @throws IOException				Passed on from the handler
+	 * @throws IllegalCardException		Passed on from the handler
+	 * @throws IllegalHandException		Passed on from the handler
+	 */
+	public static void forEachLine(ByteBuffer buffer, LineHandler handler) throws IOException, IllegalCardException, IllegalHandException {
+		int limit = buffer.limit();
+		int start = 0;
+		for(int i = 0; i < limit; i++) {
+			if(buffer.get(i) == '\n') {
+				handler.handle(buffer, start, trimCarriageReturn(buffer, start, i));
+				start = i + 1;
+			}
+		}
+		if(start < limit) {
+			handler.handle(buffer, start, trimCarriageReturn(buffer, start, limit));
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+	
+	/**
+	 * Helper function: Finds the end of the line a position is in
+	 * 
+	 * @param position		A position in the file
+	 * @param size			The size of the file
+	 * @return				The index after the first newline at or after the position, the size if there is none
+	 */
+	private long findLineEnd(long position, long size) throws IOException {
+		ByteBuffer block = ByteBuffer.allocate(SCAN_BLOCK_SIZE);
+		while(position < size) {
+			block.clear();
+			int read = channel.read(block, position);
+			if(read <= 0) {
+				break;
+			}
+			for(int i = 0; i < read; i++) {
+				if(block.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+			position += read;
+		}
+		return size;
+	}
+	
+	private static int trimCarriageReturn(ByteBuffer buffer, int start, int end) {
+		return end > start && buffer.get(end - 1) == '\r' ? end - 1 : end;
+	}
+	
+}
@@ -0,0 +1,182 @@
+package com.instil.pokerface.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.io.MappedHandReader.Chunk;
+import com.instil.pokerface.metrics.PipelineStats;
+import com.instil.pokerface.metrics.PipelineStats.Stage;
+
+/**
+ * A class translating the hands of a file chunk by chunk on a fixed pool of worker threads
+ * 
+ * Every chunk is translated into its own output buffer and the buffers are written out in file order, so the output
+ * is byte for byte the same as with a single thread. Only a few chunks per thread are in flight at a time and their
+ * output buffers are reused, which bounds the memory held by finished but unwritten chunks.
+ * 
+ * Given a PipelineStats, every chunk is timed as a batch: reading is mapping the chunk and loading its pages, which
+ * would otherwise be faulted in while parsing, and writing is writing its output to the channel.
+ */
+public class ParallelTranslator {
+	
+	// Chunks in flight per worker thread
+	private static final int CHUNKS_PER_THREAD = 2;
+	
+	private final int threads;
+	private final PipelineStats stats;
+	
+	public ParallelTranslator(int threads) {
+		this(threads, null);
+	}
+	
+	public ParallelTranslator(int threads, PipelineStats stats) {
+		if(threads < 1) {
+			throw new IllegalArgumentException("Number of threads must be at least 1, not " + threads);
+		}
+		this.threads = threads;
+		this.stats = stats;
+	}
+	
+	/**
+	 * Translates every line of a file and writes the results in the order of the file
+	 * 
+	 * @param reader					The reader of the file
+	 * @param out						The channel the translations are written to
+	 * @throws IOException				Thrown if the file could not be read or the output written
+	 * @throws IllegalCardException		Thrown if a card is illegal, after all lines before it have been written
+	 * @throws IllegalHandException		Thrown if a hand is illegal, after all lines before it have been written
+	 * @throws InterruptedException		Thrown if the calling thread is interrupted while waiting for a chunk
+	 */
+	public void translate(MappedHandReader reader, WritableByteChannel out) throws IOException, IllegalCardException, IllegalHandException, InterruptedException {
+		translate(reader, out, null);
+	}
+	
+	/**
+	 * Translates every line of a file and writes the results in the order of the file, lines that do not hold a
+	 * valid hand are either left out and recorded or fail the translation
+	 * 
+	 * @param reader					The reader of the file
+	 * @param out						The channel the translations are written to
+	 * @param skipped					The collector invalid lines are recorded in, null to fail on the first one
+	 * @throws IOException				Thrown if the file could not be read or the output written
+	 * @throws IllegalCardException		Thrown if a card is illegal and lines are not skipped
+	 * @throws IllegalHandException		Thrown if a hand is illegal and lines are not skipped
+	 * @throws InterruptedException		Thrown if the calling thread is interrupted while waiting for a chunk
+	 */
+	public void translate(MappedHandReader reader, WritableByteChannel out, SkippedLines skipped) throws IOException, IllegalCardException, IllegalHandException, InterruptedException {
+		if(threads == 1) {
+			TranslationBuffer output = new TranslationBuffer(TranslationBuffer.DEFAULT_CAPACITY, out);
+			for(Chunk chunk : reader.getChunks()) {
+				PipelineStats.Batch batch = startBatch(chunk);
+				write(translate(reader, chunk, output, skipped, batch), batch, out);
+			}
+			return;
+		}
+		
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			Deque<Future<ChunkTranslator.Result>> pending = new ArrayDeque<Future<ChunkTranslator.Result>>();
+			Deque<SkippedLines> pendingSkipped = new ArrayDeque<SkippedLines>();
+			Deque<PipelineStats.Batch> pendingBatches = new ArrayDeque<PipelineStats.Batch>();
+			Deque<TranslationBuffer> free = new ArrayDeque<TranslationBuffer>();
+			for(Chunk chunk : reader.getChunks()) {
+				if(pending.size() == threads * CHUNKS_PER_THREAD) {
+					free.add(write(pending.poll(), pendingSkipped.poll(), pendingBatches.poll(), out, skipped));
+				}
+				TranslationBuffer output = free.isEmpty() ? new TranslationBuffer() : free.poll();
+				SkippedLines chunkSkipped = skipped == null ? null : new SkippedLines();
+				PipelineStats.Batch batch = startBatch(chunk);
+				pending.add(pool.submit(() -> translate(reader, chunk, output, chunkSkipped, batch)));
+				if(chunkSkipped != null) {
+					pendingSkipped.add(chunkSkipped);
+				}
+				if(batch != null) {
+					pendingBatches.add(batch);
+				}
+			}
+			while(!pending.isEmpty()) {
+				write(pending.poll(), pendingSkipped.poll(), pendingBatches.poll(), out, skipped);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Helper function: Maps a chunk and translates it, skipping invalid lines if there is a collector for them and
+	 * 					timing it if there is a batch for it
+	 */
+	private static ChunkTranslator.Result translate(MappedHandReader reader, Chunk chunk, TranslationBuffer output, SkippedLines skipped, PipelineStats.Batch batch) throws IOException {
+		if(batch != null) {
+			long started = System.nanoTime();
+			ByteBuffer mapped = reader.map(chunk).load();
+			batch.record(Stage.READ, System.nanoTime() - started);
+			batch.addBytes(mapped.limit());
+			return ChunkTranslator.translate(mapped, chunk.getStart(), output, skipped, batch);
+		}
+		ByteBuffer mapped = reader.map(chunk);
+		if(skipped == null) {
+			return ChunkTranslator.translate(mapped, output);
+		}
+		return ChunkTranslator.translate(mapped, chunk.getStart(), output, skipped);
+	}
+	
+	/**
+	 * Helper function: Waits for a chunk, writes it out and adds the lines it skipped to those of the file
+	 * 
+	 * @return			The emptied output buffer of the chunk, ready to be reused
+	 */
+	private TranslationBuffer write(Future<ChunkTranslator.Result> future, SkippedLines chunkSkipped, PipelineStats.Batch batch, WritableByteChannel out, SkippedLines skipped) throws IOException, IllegalCardException, IllegalHandException, InterruptedException {
+		ChunkTranslator.Result result = awaitResult(future);
+		write(result, batch, out);
+		if(skipped != null) {
+			skipped.addAll(chunkSkipped);
+		}
+		return result.getOutput();
+	}
+	
+	/**
+	 * Helper function: Writes out a translated chunk, timing it and finishing its batch if there is one
+	 */
+	private void write(ChunkTranslator.Result result, PipelineStats.Batch batch, WritableByteChannel out) throws IOException, IllegalCardException, IllegalHandException {
+		if(batch == null) {
+			result.writeTo(out);
+			return;
+		}
+		long started = System.nanoTime();
+		try {
+			result.writeTo(out);
+		} finally {
+			batch.record(Stage.WRITE, System.nanoTime() - started);
+			stats.finishBatch(batch);
+		}
+	}
+	
+	private PipelineStats.Batch startBatch(Chunk chunk) {
+		return stats == null ? null : stats.startBatch(chunk.getStart());
+	}
+	
+	/**
+	 * Helper function: Waits for a chunk, passing on failures to map it as IOExceptions
+	 */
+	private static ChunkTranslator.Result awaitResult(Future<ChunkTranslator.Result> future) throws IOException, InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException("Could not translate chunk", e.getCause());
+		}
+	}
+	
+}
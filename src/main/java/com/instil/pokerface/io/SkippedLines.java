@@ -0,0 +1,137 @@
+package com.instil.pokerface.io;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import com.instil.pokerface.utils.CardParser;
+import com.instil.pokerface.utils.CardParser.ParseError;
+
+import lombok.Data;
+import lombok.Getter;
+
+/**
+ * A class collecting the lines of a file that were skipped because they do not hold a valid hand
+ * 
+ * Every skipped line is counted by its ParseError, but only the first SAMPLE_LIMIT lines of the file are kept, so a
+ * file full of bad lines costs no more than a file full of good ones. A collector belongs to one thread, collectors
+ * of several threads are merged once they are done.
+ */
+public class SkippedLines {
+	
+	// The number of skipped lines kept to be reported
+	public static final int SAMPLE_LIMIT = 10;
+	
+	private static final ParseError[] PARSE_ERRORS = ParseError.values();
+	
+	/**
+	 * A skipped line and why it was skipped
+	 */
+	@Data
+	public static class Sample {
+		// The offset of the line in the file
+		private final long position;
+		private final String line;
+		private final ParseError error;
+		// The index of the offending character in the line
+		private final int column;
+	}
+	
+	private final long[] counts = new long[PARSE_ERRORS.length];
+	private final List<Sample> samples = new ArrayList<Sample>();
+	
+	// The number of lines skipped
+	@Getter
+	private long count;
+	
+	/**
+	 * Records a skipped line
+	 * 
+	 * @param error			The error code tryParsePackedHand returned for the line
+	 * @param buffer		The buffer holding the line
+	 * @param start			Absolute index of the first byte of the line
+	 * @param end			Absolute index after the last byte of the line
+	 * @param position		The offset in the file of index 0 of the buffer
+	 */
+	public void add(long error, ByteBuffer buffer, int start, int end, long position) {
+		ParseError reason = CardParser.getError(error);
+		counts[reason.ordinal()]++;
+		count++;
+		if(samples.size() < SAMPLE_LIMIT) {
+			byte[] bytes = new byte[end - start];
+			for(int i = 0; i < bytes.length; i++) {
+				bytes[i] = buffer.get(start + i);
+			}
+			String line = new String(bytes, StandardCharsets.ISO_8859_1);
+			samples.add(new Sample(position + start, line, reason, CardParser.getErrorIndex(error)));
+		}
+	}
+	
+	/**
+	 * Adds the lines skipped by another collector, keeping the samples that come first in the file
+	 * 
+	 * @param other		The collector to add
+	 */
+	public void addAll(SkippedLines other) {
+		for(int i = 0; i < counts.length; i++) {
+			counts[i] += other.counts[i];
+		}
+		count += other.count;
+		samples.addAll(other.samples);
+		Collections.sort(samples, Comparator.comparingLong(Sample::getPosition));
+		while(samples.size() > SAMPLE_LIMIT) {
+			samples.remove(samples.size() - 1);
+		}
+	}
+	
+	/**
+	 * Gets the number of lines skipped for a reason
+	 * 
+	 * @param error		The reason
+	 * @return			The number of lines skipped for it
+	 */
+	public long getCount(ParseError error) {
+		return counts[error.ordinal()];
+	}
+	
+	/**
+	 * Gets the first skipped lines of the file
+	 * 
+	 * @return			Up to SAMPLE_LIMIT lines, in file order
+	 */
+	public List<Sample> getSamples() {
+		return Collections.unmodifiableList(samples);
+	}
+	
+	/**
+	 * Prints a summary of the skipped lines, nothing if no line was skipped
+	 * 
+	 * @param out		The stream to print to
+	 */
+	public void report(PrintStream out) {
+		if(count == 0) {
+			return;
+		}
+		StringBuilder summary = new StringBuilder(String.format("Skipped %d invalid lines (", count));
+		String separator = "";
+		for(ParseError error : PARSE_ERRORS) {
+			if(counts[error.ordinal()] > 0) {
+				summary.append(separator).append(counts[error.ordinal()]).append(' ').append(error.getDescription());
+				separator = ", ";
+			}
+		}
+		out.println(summary.append(')'));
+		for(Sample sample : samples) {
+			out.println(String.format("  at byte %d, column %d (%s): %s", sample.getPosition(), sample.getColumn() + 1,
+									  sample.getError().getDescription(), sample.getLine()));
+		}
+		if(count > samples.size()) {
+			out.println(String.format("  and %d more", count - samples.size()));
+		}
+	}
+	
+}
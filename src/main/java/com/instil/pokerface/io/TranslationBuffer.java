@@ -0,0 +1,208 @@
+package com.instil.pokerface.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.instil.pokerface.model.Card;
+import com.instil.pokerface.model.PackedCard;
+import com.instil.pokerface.model.PokerHand.PokerHandName;
+
+/**
+ * A reusable byte buffer collecting translated lines in the output format of App, "<line> => <name>"
+ * 
+ * Lines are copied through as raw bytes and the " => <name>" endings are encoded once up front, so appending never
+ * decodes or allocates. A buffer created with a sink writes itself to the sink in large blocks whenever it fills up,
+ * a buffer without a sink grows instead and is written out in one go with writeTo.
+ */
+public class TranslationBuffer {
+	
+	// The default capacity of a buffer, which is also the block size written to a sink
+	public static final int DEFAULT_CAPACITY = 1024 * 1024;
+	
+	// " => <name><line separator>" for each PokerHandName, indexed by ordinal
+	private static final byte[][] TRANSLATIONS = new byte[PokerHandName.values().length][];
+	
+	// Rank and suit character of each card index (see PackedCard)
+	private static final byte[] CARD_CHARACTERS = new byte[PackedCard.DECK_SIZE * 2];
+	
+	static {
+		for(int index = 0; index < PackedCard.DECK_SIZE; index++) {
+			Card card = PackedCard.toCard(index);
+			CARD_CHARACTERS[index * 2] = (byte) card.getRank().getRankCharacter().charValue();
+			CARD_CHARACTERS[index * 2 + 1] = (byte) card.getSuit().getSuitCharacter().charValue();
+		}
+		for(PokerHandName name : PokerHandName.values()) {
+			String translation = " => " + name.getName() + System.lineSeparator();
+			TRANSLATIONS[name.ordinal()] = translation.getBytes(StandardCharsets.UTF_8);
+		}
+	}
+	
+	private final WritableByteChannel sink;
+	private byte[] bytes;
+	private ByteBuffer view;
+	private int size;
+	
+	public TranslationBuffer() {
+		this(DEFAULT_CAPACITY, null);
+	}
+	
+	public TranslationBuffer(int capacity, WritableByteChannel sink) {
+		this.sink = sink;
+		this.bytes = new byte[capacity];
+		this.view = ByteBuffer.wrap(bytes);
+	}
+	
+	/**
+	 * Copies the bytes of a line into the buffer. The position of the source buffer is moved to the end of the line.
+	 * 
+	 * @param source			The buffer holding the line
+	 * @param start				Absolute index of the first byte of the line
+	 * @param end				Absolute index after the last byte of the line
+	 * @throws IOException		Thrown if the buffer was full and could not be written to its sink
+	 */
+	public void appendLine(ByteBuffer source, int start, int end) throws IOException {
+		int length = end - start;
+		ensureCapacity(length);
+		source.position(start);
+		source.get(bytes, size, length);
+		size += length;
+	}
+	
+	/**
+	 * Copies the bytes of a line into the buffer
+	 * 
+	 * @param source			The bytes holding the line
+	 * @param start				Index of the first byte of the line
+	 * @param end				Index after the last byte of the line
+	 * @throws IOException		Thrown if the buffer was full and could not be written to its sink
+	 */
+	public void appendLine(byte[] source, int start, int end) throws IOException {
+		int length = end - start;
+		ensureCapacity(length);
+		System.arraycopy(source, start, bytes, size, length);
+		size += length;
+	}
+	
+	/**
+	 * Copies the characters of a line into the buffer, one byte each. Meant for lines read as strings that parsed as a
+	 * hand, which only hold ASCII characters.
+	 * 
+	 * @param source			The line
+	 * @throws IOException		Thrown if the buffer was full and could not be written to its sink
+	 */
+	public void appendLine(CharSequence source) throws IOException {
+		int length = source.length();
+		ensureCapacity(length);
+		for(int i = 0; i < length; i++) {
+			bytes[size++] = (byte) source.charAt(i);
+		}
+	}
+	
+	/**
+	 * Appends the cards of a packed hand in the input format of App, e.g. "3H 5D JS", ordered by suit and then rank
+	 * 
+	 * @param hand				A packed hand (see PackedHand)
+	 * @throws IOException		Thrown if the buffer was full and could not be written to its sink
+	 */
+	public void appendHand(long hand) throws IOException {
+		ensureCapacity(Long.bitCount(hand) * 3);
+		for(long rest = hand; rest != 0; rest &= rest - 1) {
+			int index = Long.numberOfTrailingZeros(rest);
+			if(rest != hand) {
+				bytes[size++] = ' ';
+			}
+			bytes[size++] = CARD_CHARACTERS[index * 2];
+			bytes[size++] = CARD_CHARACTERS[index * 2 + 1];
+		}
+	}
+	
+	/**
+	 * Appends the " => <name>" ending of a translated line, including the line separator
+	 * 
+	 * @param name				The name the line translated to
+	 * @throws IOException		Thrown if the buffer was full and could not be written to its sink
+	 */
+	public void appendTranslation(PokerHandName name) throws IOException {
+		byte[] translation = TRANSLATIONS[name.ordinal()];
+		ensureCapacity(translation.length);
+		System.arraycopy(translation, 0, bytes, size, translation.length);
+		size += translation.length;
+	}
+	
+	/**
+	 * Counts the bytes held by the buffer
+	 * 
+	 * @return		The number of bytes not yet written out
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Writes everything held by the buffer to a channel and empties the buffer
+	 * 
+	 * @param channel			The channel the bytes are written to
+	 * @throws IOException		Thrown if the channel could not be written to
+	 */
+	public void writeTo(WritableByteChannel channel) throws IOException {
+		view.clear().limit(size);
+		while(view.hasRemaining()) {
+			channel.write(view);
+		}
+		size = 0;
+	}
+	
+	/**
+	 * Writes as much of the buffer as a channel takes in one write and keeps the rest, for non blocking channels
+	 * 
+	 * @param channel			The channel the bytes are written to
+	 * @return					The number of bytes still held by the buffer
+	 * @throws IOException		Thrown if the channel could not be written to
+	 */
+	public int drainTo(WritableByteChannel channel) throws IOException {
+		view.clear().limit(size);
+		int written = channel.write(view);
+		System.arraycopy(bytes, written, bytes, 0, size - written);
+		size -= written;
+		return size;
+	}
+	
+	/**
+	 * Writes everything held by the buffer to its sink, if it has one
+	 * 
+	 * @throws IOException		Thrown if the sink could not be written to
+	 */
+	public void flush() throws IOException {
+		if(sink != null) {
+			writeTo(sink);
+		}
+	}
+	
+	/**
+	 * Empties the buffer without writing anything
+	 */
+	public void clear() {
+		size = 0;
+	}
+	
+	/**
+	 * Helper function: Makes room for a number of bytes, by writing to the sink or by growing the buffer
+	 */
+	private void ensureCapacity(int length) throws IOException {
+		if(size + length <= bytes.length) {
+			return;
+		}
+		if(sink != null) {
+			writeTo(sink);
+			if(length <= bytes.length) {
+				return;
+			}
+		}
+		bytes = Arrays.copyOf(bytes, Math.max(size + length, bytes.length * 2));
+		view = ByteBuffer.wrap(bytes);
+	}
+	
+}
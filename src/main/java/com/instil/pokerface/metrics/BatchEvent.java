@@ -0,0 +1,53 @@
+package com.instil.pokerface.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A Flight Recorder event for one batch of hands, spanning from the start of reading the batch to the end of
+ * writing it out
+ * 
+ * The event is only loaded once PipelineStats has found Flight Recorder in the JVM, and costs next to nothing
+ * unless a recording with the event enabled is running.
+ */
+@Name("com.instil.pokerface.Batch")
+@Label("Hand Batch")
+@Category("PokerFace")
+@Description("A batch of hands read, parsed, evaluated and written out")
+@StackTrace(false)
+class BatchEvent extends Event {
+	
+	@Label("Position")
+	@Description("The offset of the batch in the file, or its first line for files read line by line")
+	long position;
+	
+	@Label("Bytes")
+	@DataAmount
+	long bytes;
+	
+	@Label("Hands")
+	long hands;
+	
+	@Label("Read Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long readTime;
+	
+	@Label("Parse Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long parseTime;
+	
+	@Label("Evaluate Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long evaluateTime;
+	
+	@Label("Write Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long writeTime;
+	
+}
@@ -0,0 +1,124 @@
+package com.instil.pokerface.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies in nanoseconds that any number of threads can record into at once
+ * 
+ * Latencies are counted in buckets of a power of two split into SUB_BUCKETS linear steps, so every latency is
+ * placed within 1/SUB_BUCKETS of its value whether it is 50 ns or 5 s. Each bucket is a LongAdder, so threads
+ * recording at the same time count into separate cells instead of contending for one. The maximum is only written
+ * when it grows, which after the first few latencies is close to never.
+ */
+public class LatencyHistogram {
+	
+	// Linear steps within each power of two
+	public static final int SUB_BUCKETS = 8;
+	
+	private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+	
+	// Latencies below SUB_BUCKETS get a bucket each, every power of two above that gets SUB_BUCKETS buckets
+	private static final int BUCKETS = (Long.SIZE - 1 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+	
+	private final LongAdder[] buckets = new LongAdder[BUCKETS];
+	private final AtomicLong max = new AtomicLong();
+	
+	public LatencyHistogram() {
+		for(int i = 0; i < BUCKETS; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+	
+	/**
+	 * Records a latency
+	 * 
+	 * @param nanos		The latency in nanoseconds, negative latencies count as 0
+	 */
+	public void record(long nanos) {
+		long value = Math.max(nanos, 0);
+		buckets[bucketOf(value)].increment();
+		long highest;
+		while(value > (highest = max.get()) && !max.compareAndSet(highest, value)) {
+			// Another thread raised the maximum in between, try again against its value
+		}
+	}
+	
+	/**
+	 * Gets the number of latencies recorded
+	 * 
+	 * @return			The number of calls to record
+	 */
+	public long getCount() {
+		long count = 0;
+		for(LongAdder bucket : buckets) {
+			count += bucket.sum();
+		}
+		return count;
+	}
+	
+	/**
+	 * Gets the highest latency recorded
+	 * 
+	 * @return			The exact highest latency in nanoseconds, 0 if none was recorded
+	 */
+	public long getMax() {
+		return max.get();
+	}
+	
+	/**
+	 * Gets the latency a given fraction of the recorded latencies are at or below
+	 * 
+	 * @param fraction		The fraction, e.g. 0.99 for the 99th percentile
+	 * @return				The highest latency of the bucket holding the percentile, at most getMax, 0 if none
+	 * 						was recorded
+	 */
+	public long getPercentile(double fraction) {
+		if(fraction < 0 || fraction > 1) {
+			throw new IllegalArgumentException("Percentile must be between 0 and 1, not " + fraction);
+		}
+		long[] counts = new long[BUCKETS];
+		long count = 0;
+		for(int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets[i].sum();
+			count += counts[i];
+		}
+		long rank = Math.max(1, (long) Math.ceil(fraction * count));
+		long seen = 0;
+		for(int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if(seen >= rank && counts[i] > 0) {
+				return Math.min(lowestValueOf(i + 1) - 1, getMax());
+			}
+		}
+		return 0;
+	}
+	
+	/**
+	 * Helper function: Finds the bucket of a latency, from its highest bit and the SUB_BUCKET_BITS bits below it
+	 */
+	static int bucketOf(long value) {
+		if(value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+	
+	/**
+	 * Helper function: Finds the lowest latency falling into a bucket, the inverse of bucketOf
+	 */
+	static long lowestValueOf(int bucket) {
+		if(bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		if(bucket >= BUCKETS) {
+			return Long.MAX_VALUE;
+		}
+		int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		long subBucket = bucket % SUB_BUCKETS;
+		return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+	}
+	
+}
@@ -0,0 +1,285 @@
+package com.instil.pokerface.metrics;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.instil.pokerface.model.PokerHand.PokerHandName;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A class collecting where the time of a translation goes, stage by stage
+ * 
+ * Hands are translated in batches, a chunk of a mapped file or a run of lines of a file read line by line. Each
+ * batch is timed by one thread on its own Batch and handed back once it has been written, when its totals are added
+ * to the striped counters of the whole run and a Flight Recorder event is committed for it. Latencies go straight
+ * into LatencyHistograms.
+ * 
+ * Stages done once per line are only timed on one line in LINE_SAMPLE_INTERVAL, as reading the clock takes about
+ * as long as parsing a line. The totals of those stages are scaled up from the sampled lines, while the hands and
+ * their names are counted on every line.
+ * 
+ * Nothing is collected unless a PipelineStats is passed in, the paths without one do not look at the clock.
+ */
+public class PipelineStats {
+	
+	/**
+	 * The stages every hand passes through
+	 */
+	@AllArgsConstructor
+	public enum Stage {
+		READ		("Read"),
+		PARSE		("Parse"),
+		EVALUATE	("Evaluate"),
+		WRITE		("Write");
+		
+		@Getter
+		private final String description;
+	}
+	
+	// One line in this many is timed
+	public static final int LINE_SAMPLE_INTERVAL = 16;
+	
+	private static final Stage[] STAGES = Stage.values();
+	private static final PokerHandName[] HAND_NAMES = PokerHandName.values();
+	
+	// Whether the JVM has Flight Recorder, which JDK 8 only has from update 262
+	private static final boolean FLIGHT_RECORDER = isFlightRecorderPresent();
+	
+	private final LatencyHistogram[] latencies = new LatencyHistogram[STAGES.length];
+	private final LongAdder[] stageNanos = new LongAdder[STAGES.length];
+	private final LongAdder[] names = new LongAdder[HAND_NAMES.length];
+	private final LongAdder hands = new LongAdder();
+	private final LongAdder bytes = new LongAdder();
+	private final LongAdder batches = new LongAdder();
+	private final long startNanos = System.nanoTime();
+	private volatile long endNanos;
+	
+	public PipelineStats() {
+		for(int i = 0; i < STAGES.length; i++) {
+			latencies[i] = new LatencyHistogram();
+			stageNanos[i] = new LongAdder();
+		}
+		for(int i = 0; i < HAND_NAMES.length; i++) {
+			names[i] = new LongAdder();
+		}
+	}
+	
+	/**
+	 * The timings of one batch, owned by the thread working on it until it is finished
+	 */
+	public static final class Batch {
+		private final PipelineStats stats;
+		private final long position;
+		private final long[] nanos = new long[STAGES.length];
+		private final long[] names = new long[HAND_NAMES.length];
+		private final BatchEvent event;
+		private long hands;
+		private long bytes;
+		private int lines;
+		
+		private Batch(PipelineStats stats, long position) {
+			this.stats = stats;
+			this.position = position;
+			this.event = FLIGHT_RECORDER ? new BatchEvent() : null;
+			if(event != null) {
+				event.begin();
+			}
+		}
+		
+		/**
+		 * Records the time one step of a stage took
+		 * 
+		 * @param stage		The stage
+		 * @param nanos		The time in nanoseconds
+		 */
+		public void record(Stage stage, long nanos) {
+			this.nanos[stage.ordinal()] += nanos;
+			stats.latencies[stage.ordinal()].record(nanos);
+		}
+		
+		/**
+		 * Records the time one step of a stage took on a sampled line, see sampleLine
+		 * 
+		 * @param stage		The stage
+		 * @param nanos		The time in nanoseconds
+		 */
+		public void recordLine(Stage stage, long nanos) {
+			this.nanos[stage.ordinal()] += nanos * LINE_SAMPLE_INTERVAL;
+			stats.latencies[stage.ordinal()].record(nanos);
+		}
+		
+		/**
+		 * Moves on to the next line and tells whether it is one of the lines to time
+		 * 
+		 * @return			True for one line in LINE_SAMPLE_INTERVAL, starting with the first
+		 */
+		public boolean sampleLine() {
+			return lines++ % LINE_SAMPLE_INTERVAL == 0;
+		}
+		
+		/**
+		 * Counts a translated hand
+		 * 
+		 * @param name		The name it was translated into
+		 */
+		public void countHand(PokerHandName name) {
+			names[name.ordinal()]++;
+			hands++;
+		}
+		
+		/**
+		 * Counts bytes read
+		 * 
+		 * @param count		The number of bytes
+		 */
+		public void addBytes(long count) {
+			bytes += count;
+		}
+	}
+	
+	/**
+	 * Starts timing a batch
+	 * 
+	 * @param position		The offset of the batch in the file, or the number of its first line
+	 * @return				The batch, to be passed to finishBatch once it has been written
+	 */
+	public Batch startBatch(long position) {
+		return new Batch(this, position);
+	}
+	
+	/**
+	 * Adds the timings of a written batch to the totals and commits its Flight Recorder event
+	 * 
+	 * @param batch			A batch returned by startBatch
+	 */
+	public void finishBatch(Batch batch) {
+		for(int i = 0; i < STAGES.length; i++) {
+			stageNanos[i].add(batch.nanos[i]);
+		}
+		for(int i = 0; i < HAND_NAMES.length; i++) {
+			if(batch.names[i] > 0) {
+				names[i].add(batch.names[i]);
+			}
+		}
+		hands.add(batch.hands);
+		bytes.add(batch.bytes);
+		batches.increment();
+		
+		BatchEvent event = batch.event;
+		if(event != null && event.shouldCommit()) {
+			event.position = batch.position;
+			event.bytes = batch.bytes;
+			event.hands = batch.hands;
+			event.readTime = batch.nanos[Stage.READ.ordinal()];
+			event.parseTime = batch.nanos[Stage.PARSE.ordinal()];
+			event.evaluateTime = batch.nanos[Stage.EVALUATE.ordinal()];
+			event.writeTime = batch.nanos[Stage.WRITE.ordinal()];
+			event.commit();
+		}
+	}
+	
+	/**
+	 * Stops the clock of the run, otherwise it runs until the stats are reported
+	 */
+	public void stop() {
+		endNanos = System.nanoTime();
+	}
+	
+	public LatencyHistogram getLatencies(Stage stage) {
+		return latencies[stage.ordinal()];
+	}
+	
+	/**
+	 * Gets the time spent in a stage by all threads together
+	 * 
+	 * @param stage		The stage
+	 * @return			The total in nanoseconds, over the finished batches
+	 */
+	public long getNanos(Stage stage) {
+		return stageNanos[stage.ordinal()].sum();
+	}
+	
+	/**
+	 * Gets the number of translated hands of a name
+	 * 
+	 * @param name		The name
+	 * @return			The number of hands, over the finished batches
+	 */
+	public long getCount(PokerHandName name) {
+		return names[name.ordinal()].sum();
+	}
+	
+	public long getHands() {
+		return hands.sum();
+	}
+	
+	public long getBytes() {
+		return bytes.sum();
+	}
+	
+	public long getBatches() {
+		return batches.sum();
+	}
+	
+	/**
+	 * Gets the wall clock time of the run
+	 * 
+	 * @return			Nanoseconds from creation until stop, or until now if it has not been stopped
+	 */
+	public long getElapsedNanos() {
+		long end = endNanos;
+		return (end == 0 ? System.nanoTime() : end) - startNanos;
+	}
+	
+	/**
+	 * Prints the throughput, the latencies of every stage and the hands of each name
+	 * 
+	 * @param out		The stream to print to
+	 */
+	public void report(PrintStream out) {
+		long elapsed = getElapsedNanos();
+		long hands = getHands();
+		double seconds = elapsed / 1e9;
+		out.println(String.format("Translated %d hands (%.1f MB) in %.3f s: %.0f hands/s, %.1f MB/s", hands,
+								  getBytes() / 1e6, seconds, hands / seconds, getBytes() / 1e6 / seconds));
+		out.println(String.format("  %-9s %12s %10s %10s %10s %10s", "Stage", "Timed", "Total", "p50", "p99", "Max"));
+		for(Stage stage : STAGES) {
+			LatencyHistogram histogram = getLatencies(stage);
+			out.println(String.format("  %-9s %12d %10s %10s %10s %10s", stage.getDescription(), histogram.getCount(),
+									  formatNanos(getNanos(stage)), formatNanos(histogram.getPercentile(0.5)),
+									  formatNanos(histogram.getPercentile(0.99)), formatNanos(histogram.getMax())));
+		}
+		for(PokerHandName name : HAND_NAMES) {
+			long count = getCount(name);
+			if(count > 0) {
+				out.println(String.format("  %-16s %12d %7.3f%%", name.getName() + ":", count, 100.0 * count / hands));
+			}
+		}
+	}
+	
+	/**
+	 * Helper function: Formats a time in the largest unit it has at least one of
+	 */
+	static String formatNanos(long nanos) {
+		if(nanos < 1_000) {
+			return nanos + " ns";
+		} else if(nanos < 1_000_000) {
+			return String.format("%.1f us", nanos / 1e3);
+		} else if(nanos < 1_000_000_000) {
+			return String.format("%.1f ms", nanos / 1e6);
+		}
+		return String.format("%.2f s", nanos / 1e9);
+	}
+	
+	private static boolean isFlightRecorderPresent() {
+		try {
+			Class.forName("jdk.jfr.Event", false, PipelineStats.class.getClassLoader());
+			return true;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+	
+}
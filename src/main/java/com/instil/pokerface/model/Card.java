@@ -4,16 +4,55 @@ import lombok.Data;
 
 /**
  * A class representing a playing card
+ * 
+ * There are only 52 different cards, so every card the library creates is one of the shared instances returned by
+ * Card.of. Comparing two of those with equals or compareTo is decided by their identity alone.
  */
 @Data
 public class Card implements Comparable<Card> {
+	
+	// The shared instances, indexed like packed cards (see PackedCard)
+	private static final Card[] CARDS = new Card[PackedCard.DECK_SIZE];
+	
+	static {
+		for(Suit suit : Suit.values()) {
+			for(Rank rank : Rank.values()) {
+				CARDS[PackedCard.indexOf(rank, suit)] = new Card(rank, suit);
+			}
+		}
+	}
+	
 	private final Rank rank;
 	private final Suit suit;
 	
+	/**
+	 * Gets the shared instance of a card
+	 * 
+	 * @param rank		The rank of the card
+	 * @param suit		The suit of the card
+	 * @return			The Card with that rank and suit
+	 */
+	public static Card of(Rank rank, Suit suit) {
+		return CARDS[PackedCard.indexOf(rank, suit)];
+	}
+	
+	/**
+	 * Gets the shared instance of a packed card
+	 * 
+	 * @param index		A card index, between 0 and 51 (see PackedCard)
+	 * @return			The Card for the index
+	 */
+	public static Card of(int index) {
+		return CARDS[index];
+	}
+	
 	@Override
 	public int compareTo(Card otherCard) {
+		if(this == otherCard) {
+			return 0;
+		}
 		// Cards with lower ranks should be earlier in the hand
-		int diff = this.getRank().getRankOrder() - otherCard.getRank().getRankOrder();
+		int diff = this.getRank().ordinal() - otherCard.getRank().ordinal();
 		if(diff == 0) {
 			// If ranks are the same then the suit dictates their ordering
 			return this.getSuit().getSuitCharacter() - otherCard.getSuit().getSuitCharacter(); 
@@ -1,11 +1,16 @@
 package com.instil.pokerface.model;
 
+import com.instil.pokerface.evaluator.HandEvaluator;
 import com.instil.pokerface.exception.IllegalHandException;
 
 /**
- * An interface for a hand of cards in a card game
+ * An interface for a hand of cards in a card game. Hands are ordered by their strength, so two different hands
+ * of equal strength compare as equal even though they are not equal.
+ * 
+ * Hands already held in arrays, as packed hands or card indices, are evaluated in one call by the static batch
+ * methods, without a Hand object per hand.
  */
-public interface Hand {
+public interface Hand extends Comparable<Hand> {
 	
 	/**
 	 * This method counts how many cards are currently in the hand
@@ -28,5 +33,70 @@ public interface Hand {
 	 * @throws 		IllegalHandException
 	 */
 	public String translateHand() throws IllegalHandException;
+	
+	/**
+	 * This method gives the strength of the hand, a stronger hand always has a higher strength
+	 * 
+	 * @return 		An integer representing the strength of the hand, 0 if the hand can not be named
+	 */
+	public int getStrength();
+	
+	/**
+	 * This method compares hands by their strength
+	 * 
+	 * @param otherHand		The hand to compare with
+	 * @return 				A negative integer, zero or a positive integer as this hand is weaker than, 
+	 * 						as strong as or stronger than the other hand
+	 */
+	@Override
+	public default int compareTo(Hand otherHand) {
+		return Integer.compare(getStrength(), otherHand.getStrength());
+	}
+	
+	/**
+	 * This method evaluates an array of packed five card poker hands (see PackedHand)
+	 * 
+	 * @param hands			The packed hands
+	 * @param strengths		Filled with the strength of each hand at the same index, 0 if it does not hold five
+	 * 						cards of the deck
+	 * @throws 				IllegalArgumentException if strengths is shorter than hands
+	 */
+	public static void evaluateAll(long[] hands, int[] strengths) {
+		HandEvaluator.evaluate(hands, strengths);
+	}
+	
+	/**
+	 * This method evaluates an array of five card poker hands given as card indices (see PackedCard)
+	 * 
+	 * @param cards			Five distinct card indices per hand, one hand after the other
+	 * @param strengths		Filled with the strength of each hand, strengths[i] for the cards from cards[5 * i]
+	 * @throws 				IllegalArgumentException if the cards are not five per hand or strengths is too short
+	 */
+	public static void evaluateAll(int[] cards, int[] strengths) {
+		HandEvaluator.evaluateIndices(cards, strengths);
+	}
+	
+	/**
+	 * This method names an array of packed five card poker hands (see PackedHand)
+	 * 
+	 * @param hands			The packed hands
+	 * @param categories	Filled with the ordinal of the PokerHandName of each hand at the same index
+	 * @throws 				IllegalArgumentException if categories is shorter than hands
+	 */
+	public static void categorizeAll(long[] hands, byte[] categories) {
+		HandEvaluator.categorize(hands, categories);
+	}
+	
+	/**
+	 * This method names an array of five card poker hands given as card indices (see PackedCard)
+	 * 
+	 * @param cards			Five distinct card indices per hand, one hand after the other
+	 * @param categories	Filled with the ordinal of the PokerHandName of each hand, categories[i] for the cards
+	 * 						from cards[5 * i]
+	 * @throws 				IllegalArgumentException if the cards are not five per hand or categories is too short
+	 */
+	public static void categorizeAll(int[] cards, byte[] categories) {
+		HandEvaluator.categorizeIndices(cards, categories);
+	}
 
 }
@@ -0,0 +1,109 @@
+package com.instil.pokerface.model;
+
+import java.util.List;
+
+import com.instil.pokerface.evaluator.HandEvaluator;
+import com.instil.pokerface.evaluator.SevenCardEvaluator;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.model.PokerHand.PokerHandName;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Setter;
+
+/**
+ * A class representing a player's cards at showdown in a game of Texas Hold'em, the hole cards together with
+ * the board. The hand is named after the best five cards among them.
+ */
+@Data
+public class HoldemHand implements Hand {
+	
+	// Two hole cards and five board cards
+	public static final int MAX_SIZE = SevenCardEvaluator.MAX_CARDS;
+	
+	// The cards held as a packed hand (see PackedHand), only changed through addCardToHand so its checks always apply
+	@Setter(AccessLevel.NONE)
+	private long cardMask = PackedHand.EMPTY;
+	
+	public HoldemHand() {
+	}
+	
+	public HoldemHand(List<Card> cards) throws IllegalHandException {
+		if(cards.size() > MAX_SIZE) {
+			String message = "Hand can only hold %d cards, not %d.";
+			throw new IllegalHandException(String.format(message, MAX_SIZE, cards.size()));
+		}
+		cardMask = PackedHand.of(cards);
+	}
+	
+	public HoldemHand(long cardMask) throws IllegalHandException {
+		if(PackedHand.size(cardMask) > MAX_SIZE || (cardMask & ~PackedHand.FULL_DECK) != 0) {
+			String message = "Hand can only hold %d cards, not %d.";
+			throw new IllegalHandException(String.format(message, MAX_SIZE, PackedHand.size(cardMask)));
+		}
+		this.cardMask = cardMask;
+	}
+	
+	@Override
+	public String translateHand() throws IllegalHandException {
+		return getHandName().getName();
+	}
+	
+	/**
+	 * Classifies the best five cards of the hand
+	 * 
+	 * @return		The name of the best five cards, NO_NAME if the hand holds fewer than five cards
+	 */
+	public PokerHandName getHandName() {
+		return HandEvaluator.getHandName(getStrength());
+	}
+	
+	@Override
+	public int getStrength() {
+		return SevenCardEvaluator.evaluate(cardMask);
+	}
+	
+	@Override
+	public int countCardsInHand() {
+		return PackedHand.size(cardMask);
+	}
+	
+	@Override
+	public int getMaxHandSize() {
+		return MAX_SIZE;
+	}
+	
+	/**
+	 * Returns all the cards currently in the hand
+	 * 
+	 * @return		An List with all the cards in the hand
+	 */
+	public List<Card> getCards() {
+		return PackedHand.toCards(cardMask);
+	}
+	
+	/**
+	 * Checks if the hand contains a given card
+	 * 
+	 * @param card	A Card object
+	 * @return		True if the Card object is in the hand, false otherwise
+	 */
+	public boolean containsCard(Card card) {
+		return PackedHand.contains(cardMask, PackedCard.indexOf(card));
+	}
+	
+	/**
+	 * Adds a card to the hand
+	 * 
+	 * @param card	The card that should be added to the hand
+	 * @throws 		IllegalHandException thrown if hand is full beforehand
+	 */
+	public void addCardToHand(Card card) throws IllegalHandException {
+		if(countCardsInHand() == MAX_SIZE) {
+			String message = "Hand already has the maximum number of allowed cards (%d)";
+			throw new IllegalHandException(String.format(message, MAX_SIZE));
+		}
+		cardMask = PackedHand.add(cardMask, PackedCard.indexOf(card));
+	}
+	
+}
@@ -0,0 +1,95 @@
+package com.instil.pokerface.model;
+
+import java.util.List;
+
+import com.instil.pokerface.evaluator.HandEvaluator;
+import com.instil.pokerface.evaluator.OmahaEvaluator;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.model.PokerHand.PokerHandName;
+
+import lombok.Data;
+
+/**
+ * A class representing a player's cards at showdown in a game of Omaha, four or five hole cards together with the
+ * board. The hand is named after the best five cards made of exactly two hole cards and three board cards.
+ */
+@Data
+public class OmahaHand implements Hand {
+	
+	// Five hole cards and five board cards
+	public static final int MAX_SIZE = OmahaEvaluator.MAX_HOLE_CARDS + OmahaEvaluator.MAX_BOARD_CARDS;
+	
+	// The hole cards as a packed hand (see PackedHand)
+	private final long holeCards;
+	
+	// The board as a packed hand
+	private final long board;
+	
+	public OmahaHand(List<Card> holeCards, List<Card> board) throws IllegalHandException {
+		this(PackedHand.of(holeCards), PackedHand.of(board));
+	}
+	
+	public OmahaHand(long holeCards, long board) throws IllegalHandException {
+		if(PackedHand.size(holeCards) > OmahaEvaluator.MAX_HOLE_CARDS || (holeCards & ~PackedHand.FULL_DECK) != 0) {
+			String message = "Hole cards can only be %d cards, not %d.";
+			throw new IllegalHandException(String.format(message, OmahaEvaluator.MAX_HOLE_CARDS, PackedHand.size(holeCards)));
+		}
+		if(PackedHand.size(board) > OmahaEvaluator.MAX_BOARD_CARDS || (board & ~PackedHand.FULL_DECK) != 0) {
+			String message = "Board can only hold %d cards, not %d.";
+			throw new IllegalHandException(String.format(message, OmahaEvaluator.MAX_BOARD_CARDS, PackedHand.size(board)));
+		}
+		if((holeCards & board) != 0) {
+			throw new IllegalHandException("Hole cards and board share a card.");
+		}
+		this.holeCards = holeCards;
+		this.board = board;
+	}
+	
+	@Override
+	public String translateHand() throws IllegalHandException {
+		return getHandName().getName();
+	}
+	
+	/**
+	 * Classifies the best five cards of the hand
+	 * 
+	 * @return		The name of the best five cards, NO_NAME if there are fewer than four hole cards or three board cards
+	 */
+	public PokerHandName getHandName() {
+		return HandEvaluator.getHandName(getStrength());
+	}
+	
+	@Override
+	public int getStrength() {
+		return OmahaEvaluator.evaluate(holeCards, board);
+	}
+	
+	@Override
+	public int countCardsInHand() {
+		return PackedHand.size(holeCards | board);
+	}
+	
+	@Override
+	public int getMaxHandSize() {
+		return MAX_SIZE;
+	}
+	
+	/**
+	 * Returns the hole cards of the hand
+	 * 
+	 * @return		A List with the hole cards
+	 */
+	public List<Card> getHoleCardList() {
+		return PackedHand.toCards(holeCards);
+	}
+	
+	/**
+	 * Returns the board cards of the hand
+	 * 
+	 * @return		A List with the board cards
+	 */
+	public List<Card> getBoardCardList() {
+		return PackedHand.toCards(board);
+	}
+	
+}
@@ -0,0 +1,85 @@
+package com.instil.pokerface.model;
+
+/**
+ * This class offers static utility methods for a compact primitive form of cards
+ * 
+ * A packed card is an index between 0 and 51, laid out as suit * 13 + rank where both are the ordinals of
+ * the Suit and Rank enum types. The same index is the bit position of the card in a packed hand (see PackedHand),
+ * which makes the 13 bits of each suit line up next to each other.
+ */
+public final class PackedCard {
+	
+	// Number of distinct cards in a deck
+	public static final int DECK_SIZE = 52;
+	
+	// Number of ranks in each suit
+	public static final int RANKS = 13;
+	
+	// Returned when a value does not describe a card
+	public static final int NO_CARD = -1;
+	
+	private PackedCard() {
+	}
+	
+	/**
+	 * Packs a rank and a suit into a card index
+	 * 
+	 * @param rank		The rank of the card
+	 * @param suit		The suit of the card
+	 * @return			The card index, between 0 and 51
+	 */
+	public static int indexOf(Rank rank, Suit suit) {
+		return suit.ordinal() * RANKS + rank.ordinal();
+	}
+	
+	/**
+	 * Packs a Card object into a card index
+	 * 
+	 * @param card		A Card object
+	 * @return			The card index, between 0 and 51
+	 */
+	public static int indexOf(Card card) {
+		return indexOf(card.getRank(), card.getSuit());
+	}
+	
+	/**
+	 * Unpacks a card index into a Card object
+	 * 
+	 * @param index		A card index, between 0 and 51
+	 * @return			The shared Card for the index, see Card.of
+	 */
+	public static Card toCard(int index) {
+		return Card.of(index);
+	}
+	
+	/**
+	 * Gets the rank ordinal (0 for TWO, 12 for A) of a card index
+	 * 
+	 * @param index		A card index, between 0 and 51
+	 * @return			The rank ordinal
+	 */
+	public static int rankOf(int index) {
+		return index % RANKS;
+	}
+	
+	/**
+	 * Gets the suit ordinal of a card index
+	 * 
+	 * @param index		A card index, between 0 and 51
+	 * @return			The suit ordinal
+	 */
+	public static int suitOf(int index) {
+		return index / RANKS;
+	}
+	
+	/**
+	 * Gets the single bit mask of a card index, as used by PackedHand
+	 * 
+	 * @param index		A card index, between 0 and 51
+	 * @return			A long with only the bit of the card set
+	 */
+	public static long maskOf(int index) {
+		return 1L << index;
+	}
+	
+}
@@ -0,0 +1,184 @@
+package com.instil.pokerface.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import com.instil.pokerface.exception.IllegalHandException;
+
+/**
+ * This class offers static utility methods for a compact primitive form of hands
+ * 
+ * A packed hand is a long where bit i is set when the card with index i (see PackedCard) is held. Bits 0 - 12 hold
+ * the first suit, bits 13 - 25 the second and so on, so a hand takes 8 bytes regardless of its size.
+ */
+public final class PackedHand {
+	
+	// A hand without any cards
+	public static final long EMPTY = 0L;
+	
+	// A hand holding the whole deck
+	public static final long FULL_DECK = (1L << PackedCard.DECK_SIZE) - 1;
+	
+	private static final int SUIT_MASK = (1 << PackedCard.RANKS) - 1;
+	
+	private static final int SUITS = PackedCard.DECK_SIZE / PackedCard.RANKS;
+	
+	private PackedHand() {
+	}
+	
+	/**
+	 * Packs a collection of cards into a hand
+	 * 
+	 * @param cards		The cards of the hand
+	 * @return			The packed hand
+	 */
+	public static long of(Collection<Card> cards) {
+		long hand = EMPTY;
+		for(Card card : cards) {
+			hand |= PackedCard.maskOf(PackedCard.indexOf(card));
+		}
+		return hand;
+	}
+	
+	/**
+	 * Packs the cards of a poker hand
+	 * 
+	 * @param hand		A PokerHand object
+	 * @return			The packed hand
+	 */
+	public static long of(PokerHand hand) {
+		return hand.getCardMask();
+	}
+	
+	/**
+	 * Adds a card to a packed hand
+	 * 
+	 * @param hand		A packed hand
+	 * @param index		The index of the card that should be added
+	 * @return			The packed hand with the card added
+	 */
+	public static long add(long hand, int index) {
+		return hand | PackedCard.maskOf(index);
+	}
+	
+	/**
+	 * Checks if a packed hand holds a given card
+	 * 
+	 * @param hand		A packed hand
+	 * @param index		A card index
+	 * @return			True if the card is in the hand, false otherwise
+	 */
+	public static boolean contains(long hand, int index) {
+		return (hand & PackedCard.maskOf(index)) != 0;
+	}
+	
+	/**
+	 * Counts the cards in a packed hand
+	 * 
+	 * @param hand		A packed hand
+	 * @return			The number of cards in the hand
+	 */
+	public static int size(long hand) {
+		return Long.bitCount(hand);
+	}
+	
+	/**
+	 * Gets the ranks held in one suit of a packed hand
+	 * 
+	 * @param hand		A packed hand
+	 * @param suit		A suit ordinal
+	 * @return			A 13 bit mask with bit r set when rank ordinal r is held in the suit
+	 */
+	public static int suitMask(long hand, int suit) {
+		return (int) (hand >>> (suit * PackedCard.RANKS)) & SUIT_MASK;
+	}
+	
+	/**
+	 * Maps a hand to the representative of its suit isomorphism class. The suits are reordered so that the ranks
+	 * held in them, read as 13 bit numbers, decrease from the first suit to the last. Hands that only differ by a
+	 * renaming of the suits, e.g. AH KH and AS KS, have the same representative and so the same strength.
+	 * 
+	 * @param hand		A packed hand
+	 * @return			The packed representative of the hand
+	 */
+	public static long canonical(long hand) {
+		int[] suits = new int[SUITS];
+		for(int suit = 0; suit < SUITS; suit++) {
+			suits[suit] = suitMask(hand, suit);
+		}
+		Arrays.sort(suits);
+		long canonical = EMPTY;
+		for(int suit = 0; suit < SUITS; suit++) {
+			canonical |= (long) suits[SUITS - 1 - suit] << (suit * PackedCard.RANKS);
+		}
+		return canonical;
+	}
+	
+	/**
+	 * Maps several hands dealt from the same deck, e.g. the hole cards of each player and the board, to the
+	 * representative of their suit isomorphism class. All hands have their suits renamed the same way, with suits
+	 * ordered by the ranks held in them in the first hand, then in the second hand and so on.
+	 * 
+	 * @param hands		Packed hands
+	 * @return			The packed representatives, in the order of the hands
+	 */
+	public static long[] canonical(long[] hands) {
+		int[] order = new int[SUITS];
+		for(int suit = 0; suit < SUITS; suit++) {
+			order[suit] = suit;
+			for(int i = suit; i > 0 && compareSuits(hands, order[i - 1], order[i]) < 0; i--) {
+				int swap = order[i];
+				order[i] = order[i - 1];
+				order[i - 1] = swap;
+			}
+		}
+		long[] canonical = new long[hands.length];
+		for(int hand = 0; hand < hands.length; hand++) {
+			for(int suit = 0; suit < SUITS; suit++) {
+				canonical[hand] |= (long) suitMask(hands[hand], order[suit]) << (suit * PackedCard.RANKS);
+			}
+		}
+		return canonical;
+	}
+	
+	/**
+	 * Unpacks a packed hand into Card objects, lowest index first
+	 * 
+	 * @param hand		A packed hand
+	 * @return			A list with all the cards in the hand
+	 */
+	public static List<Card> toCards(long hand) {
+		List<Card> cards = new ArrayList<Card>(Long.bitCount(hand));
+		for(long rest = hand; rest != 0; rest &= rest - 1) {
+			cards.add(PackedCard.toCard(Long.numberOfTrailingZeros(rest)));
+		}
+		return cards;
+	}
+	
+	/**
+	 * Helper function: Compares the ranks two suits hold across several hands, the first hand that differs decides
+	 */
+	private static int compareSuits(long[] hands, int first, int second) {
+		for(long hand : hands) {
+			int diff = suitMask(hand, first) - suitMask(hand, second);
+			if(diff != 0) {
+				return diff;
+			}
+		}
+		return 0;
+	}
+	
+	/**
+	 * Unpacks a packed hand into a PokerHand object
+	 * 
+	 * @param hand						A packed hand
+	 * @return							PokerHand object
+	 * @throws IllegalHandException		Thrown if the hand holds more cards than a PokerHand can
+	 */
+	public static PokerHand toPokerHand(long hand) throws IllegalHandException {
+		return new PokerHand(toCards(hand));
+	}
+	
+}
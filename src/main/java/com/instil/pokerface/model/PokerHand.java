@@ -5,10 +5,9 @@ package com.instil.pokerface.model;
  */
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.TreeSet;
-import java.util.stream.Collectors;
 
+import com.instil.pokerface.evaluator.HandEvaluator;
 import com.instil.pokerface.exception.IllegalHandException;
 
 import lombok.AccessLevel;
@@ -23,7 +22,7 @@ public class PokerHand implements Hand {
 	 * An Enum type representing all named poker hands 
 	 */
 	@Getter
-	protected enum PokerHandName {
+	public enum PokerHandName {
 		NO_NAME 		("No name"),
 		HIGH_CARD 		("High card"),
 		ONE_PAIR 		("One pair"),
@@ -39,14 +38,17 @@ public class PokerHand implements Hand {
 		private PokerHandName(String name) {this.name = name;}
 	}
 	
-	@Getter(AccessLevel.NONE)
-	@Setter(AccessLevel.NONE)
-	private final int MAX_SIZE = 5;
+	// The number of cards in a full poker hand
+	public static final int MAX_SIZE = 5;
 	
 	@Getter(AccessLevel.NONE)
 	@Setter(AccessLevel.NONE)
 	private TreeSet<Card> cardSet = new TreeSet<Card>();
 	
+	// The same cards as a packed hand (see PackedHand), kept in step with the card set
+	@Setter(AccessLevel.NONE)
+	private long cardMask = PackedHand.EMPTY;
+	
 	public PokerHand() {
 	}
 	
@@ -55,46 +57,28 @@ public class PokerHand implements Hand {
 			String message = "Hand can only hold %d cards, not %d.";
 			throw new IllegalHandException(String.format(message, MAX_SIZE, cards.size()));
 		}
-		cardSet.addAll(cards);
+		for(Card card : cards) {
+			add(card);
+		}
 	}
 	
 	@Override
 	public String translateHand() throws IllegalHandException {
-		if(cardSet.size() != MAX_SIZE) {
-			return PokerHandName.NO_NAME.getName();
-		}
-		
-		// #0 High Card: 50.18% chance of return if cards are sampled from a random distribution
-		if(isHighCard()) {return PokerHandName.HIGH_CARD.getName();};
-		
-		// #1 Single Pair: 42.26%
-		if(isOnePair()) {return PokerHandName.ONE_PAIR.getName();};
-		
-		// #2 Two pair: 4.80%
-		if(isTwoPair()) {return PokerHandName.TWO_PAIR.getName();};
-		
-		// #3 Three of a kind: 2.11%
-		if(isThreeOfAKind()) {return PokerHandName.THREE_OF_A_KIND.getName();};
-		
-		// #4 Full house: < 0%
-		if(isFullHouse()) {return PokerHandName.FULL_HOUSE.getName();};
-		
-		// #5 Four of a kind: < 0%
-		if(isFourOfAKind()) {return PokerHandName.FOUR_OF_A_KIND.getName();};
-		
-		// #6 Straight: < 0%
-		if(isStraight()) {return PokerHandName.STRAIGHT.getName();};
-		
-		// #7 Flush: < 0%
-		if(isFlush()) {return PokerHandName.FLUSH.getName();};
-		
-		// #8 Straight flush: < 0%
-		if(isStraightFlush()) {return PokerHandName.STRAIGHT_FLUSH.getName();};
-		
-		// #9 Royal flush: < 0%
-		if(isRoyalFlush()) {return PokerHandName.ROYAL_FLUSH.getName();};
-		
-		return PokerHandName.NO_NAME.getName();
+		return getHandName().getName();
+	}
+	
+	/**
+	 * Classifies the hand with the table driven evaluator
+	 * 
+	 * @return		The name of the hand, NO_NAME if the hand does not hold exactly five cards
+	 */
+	public PokerHandName getHandName() {
+		return HandEvaluator.getHandName(getStrength());
+	}
+	
+	@Override
+	public int getStrength() {
+		return HandEvaluator.evaluate(cardMask);
 	}
 	
 	@Override
@@ -137,18 +121,25 @@ public class PokerHand implements Hand {
 			String message = "Hand already has the maximum number of allowed cards (%d)";
 			throw new IllegalHandException(String.format(message, MAX_SIZE));
 		}
+		add(card);
+	}
+	
+	/**
+	 * Helper function: Adds a card to both the card set and the packed hand
+	 */
+	private void add(Card card) {
 		cardSet.add(card);
+		cardMask |= PackedCard.maskOf(PackedCard.indexOf(card));
 	}
 	
 	/**
 	 * Helper function: Checks if the current hand is a High Card
 	 * 					A High Card is a no pair hand that does not fall into any other category
 	 * 
-	 * @return 			True if hand is a Royal Flush, otherwise False
+	 * @return 			True if hand is a High Card, otherwise False
 	 */
 	protected boolean isHighCard() {
-		int uniqueRanks = cardSet.stream().collect(Collectors.groupingBy(Card::getRank)).size();
-		return uniqueRanks == 5 && !isSameSuit() && !isStraight();
+		return getHandName() == PokerHandName.HIGH_CARD;
 	}
 	
 	/**
@@ -158,8 +149,7 @@ public class PokerHand implements Hand {
 	 * @return 			True if hand is a One Pair, otherwise False
 	 */
 	protected boolean isOnePair() {
-		int uniqueRanks = cardSet.stream().collect(Collectors.groupingBy(Card::getRank)).size();
-		return uniqueRanks == 4 && !isSameSuit();
+		return getHandName() == PokerHandName.ONE_PAIR;
 	}
 	
 	/**
@@ -170,13 +160,7 @@ public class PokerHand implements Hand {
 	 * @return 			True if hand is a Two Pair, otherwise False
 	 */
 	protected boolean isTwoPair() {
-		Map<Rank, List<Card>> rankBuckets = cardSet.stream().collect(Collectors.groupingBy(Card::getRank));
-		if(rankBuckets.size() == 3 && !isSameSuit()) {
-			for(List<Card> cardList : rankBuckets.values()) {
-				if(cardList.size() == 2) {return true;}; // E.g. Bucket1: 1 card, Bucket2: 2 card, Bucket3: 2 card
-			}
-		}
-		return false;
+		return getHandName() == PokerHandName.TWO_PAIR;
 	}
 	
 	/**
@@ -187,13 +171,7 @@ public class PokerHand implements Hand {
 	 * @return 			True if hand is a Three Of A Kind, otherwise False
 	 */
 	protected boolean isThreeOfAKind() {
-		Map<Rank, List<Card>> rankBuckets = cardSet.stream().collect(Collectors.groupingBy(Card::getRank));
-		if(rankBuckets.size() == 3 && !isSameSuit()) {
-			for(List<Card> cardList : rankBuckets.values()) {
-				if(cardList.size() == 3) {return true;}; // E.g. Bucket1: 1 card, Bucket2: 3 card, Bucket3: 1 card
-			}
-		}
-		return false;
+		return getHandName() == PokerHandName.THREE_OF_A_KIND;
 	}
 	
 	/**
@@ -203,12 +181,7 @@ public class PokerHand implements Hand {
 	 * @return 			True if hand is a Full House, otherwise False
 	 */
 	protected boolean isFullHouse() {
-		Map<Rank, List<Card>> rankBuckets = cardSet.stream().collect(Collectors.groupingBy(Card::getRank));
-		if(rankBuckets.size() == 2 && !isSameSuit()) {
-			int randomBucketSize = rankBuckets.values().stream().findFirst().get().size();
-			return (randomBucketSize == 2 || randomBucketSize == 3); // E.g. Bucket1: 2, Bucket2: 3
-		}
-		return false;
+		return getHandName() == PokerHandName.FULL_HOUSE;
 	}
 	
 	/**
@@ -217,12 +190,7 @@ public class PokerHand implements Hand {
 	 * @return 			True if hand is a Four Of A Kind, otherwise False
 	 */
 	protected boolean isFourOfAKind() {
-		Map<Rank, List<Card>> rankBuckets = cardSet.stream().collect(Collectors.groupingBy(Card::getRank));
-		if(rankBuckets.size() == 2 && !isSameSuit()) {
-			int randomBucketSize = rankBuckets.values().stream().findFirst().get().size();
-			return randomBucketSize == 1 || randomBucketSize == 4; // E.g. Bucket1: 1, Bucket2: 4
-		}
-		return false;
+		return getHandName() == PokerHandName.FOUR_OF_A_KIND;
 	}
 	
 	/**
@@ -232,7 +200,7 @@ public class PokerHand implements Hand {
 	 * @return 			True if hand is a Straight, otherwise False
 	 */
 	protected boolean isStraight() {
-		return isSequental() && !isSameSuit();
+		return getHandName() == PokerHandName.STRAIGHT;
 	}
 	
 	/**
@@ -242,7 +210,7 @@ public class PokerHand implements Hand {
 	 * @return 			True if hand is a Flush, otherwise False
 	 */
 	protected boolean isFlush() {
-		return !isSequental() && isSameSuit();
+		return getHandName() == PokerHandName.FLUSH;
 	}
 	
 	/**
@@ -253,7 +221,7 @@ public class PokerHand implements Hand {
 	 * @return 			True if hand is a Straight Flush, otherwise False
 	 */
 	protected boolean isStraightFlush() {
-		return isSequental() && isSameSuit() && !isRoyalFlush();
+		return getHandName() == PokerHandName.STRAIGHT_FLUSH;
 	}
 	
 	/**
@@ -263,39 +231,7 @@ public class PokerHand implements Hand {
 	 * @return 			True if hand is a Royal Flush, otherwise False
 	 */
 	protected boolean isRoyalFlush() {
-		return cardSet.last().getRank() == Rank.A  && // Is the last card an Ace
-			   cardSet.first().getRank() == Rank.T && // Is the first card a Ten
-			   isSameSuit();
-	}
-	
-	/**
-	 * Helper function: Checks if the cards in a hand are of the same sort
-	 * 
-	 * @return True if all cards are of same suit, false otherwise
-	 */
-	private boolean isSameSuit() {
-		Suit suit = cardSet.first().getSuit();
-		return cardSet.stream().allMatch(c -> c.getSuit() == suit);
-	}
-	
-	/**
-	 * Helper function: Checks if the cards in a hand are in sequential order
-	 * 
-	 * @return			True if rank is in sequential order, false otherwise
-	 */
-	private boolean isSequental() {
-		Integer lowestCardRankOrder = cardSet.first().getRank().getRankOrder();
-		Integer highestCardRankOrder = cardSet.last().getRank().getRankOrder();
-		
-		// 'A' can either be the highest or the lowest card in a hand. If our current lowest card is 'Two'
-		// and our highest card is 'A', then we want to treat 'A' as the lowest card (for a possible Straight)
-		if(cardSet.first().getRank() == Rank.TWO && cardSet.last().getRank() == Rank.A) {
-			Card secondHighestCard = cardSet.floor(new Card(Rank.K, Suit.HEARTS));
-			highestCardRankOrder = secondHighestCard.getRank().getRankOrder();
-			lowestCardRankOrder = 0; // A
-		}
-		
-		return highestCardRankOrder - lowestCardRankOrder == 4; // Value of highest card should be 4 points higher than lowest
+		return getHandName() == PokerHandName.ROYAL_FLUSH;
 	}
 	
 }
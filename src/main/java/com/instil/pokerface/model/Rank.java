@@ -1,10 +1,5 @@
 package com.instil.pokerface.model;
 
-import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
 import com.instil.pokerface.exception.IllegalCardException;
 
 import lombok.AccessLevel;
@@ -39,9 +34,15 @@ public enum Rank {
 	// e.g. for comparators
 	private final Integer rankOrder;
 	
-	// A static map for character -> constant lookup
+	// A static array for character -> constant lookup, indexed by the character itself
 	@Getter(AccessLevel.NONE)
-	private static final Map<Character, Rank> VALUE_MAP = Stream.of(values()).collect(Collectors.toMap(Rank::getRankCharacter, Function.identity()));
+	private static final Rank[] BY_CHARACTER = new Rank[128];
+	
+	static {
+		for(Rank rank : values()) {
+			BY_CHARACTER[rank.getRankCharacter()] = rank;
+		}
+	}
 	
 	/**
 	 * Gets the Rank according to it's character
@@ -50,11 +51,12 @@ public enum Rank {
 	 * @return 		The Rank for a given character
 	 * @throws 		IllegalCardException thrown if the passed character does not exist
 	 */
-	public static Rank getRankByCharacter(Character c) throws IllegalCardException {
-		if(!VALUE_MAP.containsKey(c)) {
+	public static Rank getRankByCharacter(char c) throws IllegalCardException {
+		Rank rank = c < BY_CHARACTER.length ? BY_CHARACTER[c] : null;
+		if(rank == null) {
 			throw new IllegalCardException(String.format("%c is not a valid rank", c));
 		}
-		return VALUE_MAP.get(c);
+		return rank;
 	}
-
+	
 }
@@ -1,12 +1,8 @@
 package com.instil.pokerface.model;
 
-import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
 import com.instil.pokerface.exception.IllegalCardException;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -25,8 +21,15 @@ public enum Suit {
 	// A single character representing the suit
 	private final Character suitCharacter;
 	
-	// A static map for character -> constant lookup
-	private static final Map<Character, Suit> VALUE_MAP = Stream.of(values()).collect(Collectors.toMap(Suit::getSuitCharacter, Function.identity()));
+	// A static array for character -> constant lookup, indexed by the character itself
+	@Getter(AccessLevel.NONE)
+	private static final Suit[] BY_CHARACTER = new Suit[128];
+	
+	static {
+		for(Suit suit : values()) {
+			BY_CHARACTER[suit.getSuitCharacter()] = suit;
+		}
+	}
 	
 	/**
 	 * Gets the Suit according to it's character
@@ -35,11 +38,12 @@ public enum Suit {
 	 * @return 		The Suit for the given Character
 	 * @throws 		IllegalCardException thrown if the passed character does not exist
 	 */
-	public static Suit getSuitByCharacter(Character c) throws IllegalCardException {
-		if(!VALUE_MAP.containsKey(c)) {
+	public static Suit getSuitByCharacter(char c) throws IllegalCardException {
+		Suit suit = c < BY_CHARACTER.length ? BY_CHARACTER[c] : null;
+		if(suit == null) {
 			throw new IllegalCardException(String.format("%c is not a valid suit", c));
 		}
-		return VALUE_MAP.get(c);
+		return suit;
 	}
-
+	
 }
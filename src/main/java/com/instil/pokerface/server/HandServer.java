@@ -0,0 +1,326 @@
+package com.instil.pokerface.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Random;
+
+import com.instil.pokerface.evaluator.HandEvaluator;
+import com.instil.pokerface.io.TranslationBuffer;
+import com.instil.pokerface.utils.CardParser;
+
+/**
+ * A long running server translating hands sent over TCP, so clients pay neither JVM startup nor JIT warm up
+ * 
+ * The protocol is line based: every line a client sends is a hand in the input format of App, and the server
+ * answers every line with the same line App would print, "<line> => <name>", or with "ERROR <message>" if the hand
+ * is not valid. Answers come in the order of the lines, so a client may send any number of lines before reading.
+ * 
+ * All connections are served by one thread through a selector, as a hand takes well under a microsecond. Each
+ * connection has a fixed input buffer and an output buffer of translated lines. Once a client lets more than
+ * OUTPUT_LIMIT bytes of answers pile up, the server stops reading from it until the answers have been taken, which
+ * in turn fills the socket buffers and stalls the client.
+ */
+public class HandServer implements Runnable, Closeable {
+	
+	// The longest line a client may send, including its terminator
+	public static final int MAX_LINE_LENGTH = 64 * 1024;
+	
+	// Unsent answers of a connection beyond which no more lines are read from it
+	public static final int OUTPUT_LIMIT = 1024 * 1024;
+	
+	private static final byte[] ERROR_PREFIX = "ERROR ".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+	
+	// Lines translated before the server accepts connections, so the first clients get compiled code
+	private static final int WARM_UP_LINES = 200_000;
+	
+	private final Selector selector;
+	private final ServerSocketChannel server;
+	private final int outputLimit;
+	private volatile boolean running = true;
+	
+	/**
+	 * Opens the server socket, connections are accepted once run is called
+	 * 
+	 * @param address			The address to listen on, port 0 picks a free port
+	 * @throws IOException		Thrown if the address could not be bound
+	 */
+	public HandServer(InetSocketAddress address) throws IOException {
+		this(address, OUTPUT_LIMIT);
+	}
+	
+	/**
+	 * Opens the server socket with a limit on the unsent answers of a connection other than OUTPUT_LIMIT
+	 * 
+	 * @param address			The address to listen on, port 0 picks a free port
+	 * @param outputLimit		Unsent answers of a connection beyond which no more lines are read from it
+	 * @throws IOException		Thrown if the address could not be bound
+	 */
+	HandServer(InetSocketAddress address, int outputLimit) throws IOException {
+		this.outputLimit = outputLimit;
+		this.selector = Selector.open();
+		this.server = ServerSocketChannel.open();
+		try {
+			server.bind(address);
+			server.configureBlocking(false);
+			server.register(selector, SelectionKey.OP_ACCEPT);
+		} catch (IOException e) {
+			server.close();
+			selector.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Gets the address the server listens on
+	 * 
+	 * @return					The bound address, with the actual port
+	 * @throws IOException		Thrown if the server socket is closed
+	 */
+	public InetSocketAddress getAddress() throws IOException {
+		return (InetSocketAddress) server.getLocalAddress();
+	}
+	
+	/**
+	 * Serves connections until close is called, then closes every connection and the server socket
+	 */
+	@Override
+	public void run() {
+		try {
+			while(running) {
+				selector.select();
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while(keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					if(!key.isValid()) {
+						continue;
+					}
+					if(key.isAcceptable()) {
+						accept();
+					} else {
+						serve(key);
+					}
+				}
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		} finally {
+			for(SelectionKey key : selector.keys()) {
+				closeQuietly(key.channel());
+			}
+			closeQuietly(selector);
+		}
+	}
+	
+	/**
+	 * Stops the server, run returns once the current round of connections has been served
+	 */
+	@Override
+	public void close() {
+		running = false;
+		selector.wakeup();
+	}
+	
+	/**
+	 * Translates generated lines through the same code as client lines, so the parser and the evaluator are
+	 * compiled before the first client connects
+	 */
+	public static void warmUp() {
+		Random random = new Random(42);
+		TranslationBuffer output = new TranslationBuffer();
+		ByteBuffer line = ByteBuffer.allocate(14);
+		for(int i = 0; i < WARM_UP_LINES; i++) {
+			line.clear();
+			for(int card = 0; card < 5; card++) {
+				line.put((byte) "23456789TJQKA".charAt(random.nextInt(13))).put((byte) "HDSC".charAt(random.nextInt(4)));
+				if(card < 4) {
+					line.put((byte) ' ');
+				}
+			}
+			answer(line, 0, line.position(), output);
+			output.clear();
+		}
+	}
+	
+	/**
+	 * Answers one line of a client
+	 * 
+	 * @param buffer			The buffer holding the line
+	 * @param start				Absolute index of the first byte of the line
+	 * @param end				Absolute index after the last byte of the line, without its terminator
+	 * @param output			The buffer the answer is appended to
+	 */
+	static void answer(ByteBuffer buffer, int start, int end, TranslationBuffer output) {
+		long hand = CardParser.tryParsePackedHand(buffer, start, end);
+		if(CardParser.isError(hand)) {
+			appendError(output, CardParser.getErrorMessage(hand, decode(buffer, start, end)));
+			return;
+		}
+		try {
+			output.appendLine(buffer, start, end);
+			output.appendTranslation(HandEvaluator.getHandName(HandEvaluator.evaluate(hand)));
+		} catch (IOException e) {
+			// Not thrown, the output buffer has no sink
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * Helper function: Accepts a pending connection, if there is one
+	 */
+	private void accept() throws IOException {
+		SocketChannel channel = server.accept();
+		if(channel != null) {
+			channel.configureBlocking(false);
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+			channel.register(selector, SelectionKey.OP_READ, new Connection(channel, outputLimit));
+		}
+	}
+	
+	/**
+	 * Helper function: Reads, answers and writes whatever a connection is ready for, then updates what to wait for.
+	 * 					A connection that fails is closed without affecting the others
+	 */
+	private void serve(SelectionKey key) {
+		Connection connection = (Connection) key.attachment();
+		try {
+			if(key.isReadable()) {
+				connection.read();
+			}
+			connection.answerLines();
+			connection.write();
+			if(connection.isDone()) {
+				key.cancel();
+				connection.channel.close();
+			} else {
+				key.interestOps((connection.wantsRead() ? SelectionKey.OP_READ : 0)
+								| (connection.wantsWrite() ? SelectionKey.OP_WRITE : 0));
+			}
+		} catch (IOException e) {
+			key.cancel();
+			closeQuietly(connection.channel);
+		}
+	}
+	
+	/**
+	 * The buffers of one client connection
+	 */
+	private static class Connection {
+		private final SocketChannel channel;
+		private final ByteBuffer input = ByteBuffer.allocate(MAX_LINE_LENGTH);
+		private final TranslationBuffer output = new TranslationBuffer(64 * 1024, null);
+		private final int outputLimit;
+		// Set once the client has shut down its side, the remaining answers are still sent
+		private boolean closing;
+		// Set while the output limit leaves lines in the input buffer, which are answered once the output is written
+		private boolean unanswered;
+		
+		private Connection(SocketChannel channel, int outputLimit) {
+			this.channel = channel;
+			this.outputLimit = outputLimit;
+		}
+		
+		private void read() throws IOException {
+			if(channel.read(input) < 0) {
+				closing = true;
+			}
+		}
+		
+		/**
+		 * Answers the complete lines in the input buffer, as long as the output is below its limit. Once the client
+		 * has closed its side, a last line without a terminator is answered as well.
+		 */
+		private void answerLines() {
+			int limit = input.position();
+			int start = 0;
+			for(int i = 0; i < limit && output.size() < outputLimit; i++) {
+				if(input.get(i) == '\n') {
+					answer(input, start, trimCarriageReturn(start, i), output);
+					start = i + 1;
+				}
+			}
+			if(closing && start < limit && output.size() < outputLimit) {
+				answer(input, start, trimCarriageReturn(start, limit), output);
+				start = limit;
+			}
+			
+			if(start == 0 && limit == input.capacity()) {
+				// The buffer is full without a single line in it, the rest of the line can never be read
+				appendError(output, String.format("Lines can only be %d bytes long", MAX_LINE_LENGTH));
+				closing = true;
+				start = limit;
+			}
+			unanswered = start < limit && output.size() >= outputLimit;
+			input.limit(limit).position(start);
+			input.compact();
+		}
+		
+		private void write() throws IOException {
+			if(output.size() > 0) {
+				output.drainTo(channel);
+			}
+		}
+		
+		private boolean wantsRead() {
+			return !closing && output.size() < outputLimit && input.hasRemaining();
+		}
+		
+		/**
+		 * Waits to write while lines are left unanswered even if the output has been written in full, as nothing else
+		 * would bring the connection back to answer them once the client has stopped sending
+		 */
+		private boolean wantsWrite() {
+			return output.size() > 0 || unanswered;
+		}
+		
+		private boolean isDone() {
+			return closing && output.size() == 0 && input.position() == 0;
+		}
+		
+		private int trimCarriageReturn(int start, int end) {
+			return end > start && input.get(end - 1) == '\r' ? end - 1 : end;
+		}
+	}
+	
+	/**
+	 * Helper function: Appends an error answer to the output of a connection
+	 */
+	private static void appendError(TranslationBuffer output, String message) {
+		try {
+			byte[] bytes = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+			output.appendLine(ERROR_PREFIX, 0, ERROR_PREFIX.length);
+			output.appendLine(bytes, 0, bytes.length);
+			output.appendLine(LINE_SEPARATOR, 0, LINE_SEPARATOR.length);
+		} catch (IOException e) {
+			// Not thrown, the output buffer has no sink
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	private static String decode(ByteBuffer buffer, int start, int end) {
+		byte[] bytes = new byte[end - start];
+		for(int i = 0; i < bytes.length; i++) {
+			bytes[i] = buffer.get(start + i);
+		}
+		return new String(bytes, StandardCharsets.ISO_8859_1);
+	}
+	
+	private static void closeQuietly(Closeable closeable) {
+		try {
+			closeable.close();
+		} catch (IOException e) {
+			// Nothing left to do with a channel that cannot be closed
+		}
+	}
+	
+}
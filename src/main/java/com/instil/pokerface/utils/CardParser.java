@@ -1,47 +1,382 @@
 package com.instil.pokerface.utils;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import com.instil.pokerface.exception.IllegalCardException;
 import com.instil.pokerface.exception.IllegalHandException;
 import com.instil.pokerface.model.Card;
+import com.instil.pokerface.model.PackedCard;
+import com.instil.pokerface.model.PackedHand;
 import com.instil.pokerface.model.PokerHand;
 import com.instil.pokerface.model.Rank;
 import com.instil.pokerface.model.Suit;
 
+import lombok.Getter;
+
 /**
  * This class offers static utility methods for parsing cards and hands
  */
 public class CardParser {
 	
+	// Byte value -> rank ordinal and suit ordinal, -1 for characters that are not a rank or a suit
+	private static final byte[] RANK_LOOKUP = new byte[256];
+	private static final byte[] SUIT_LOOKUP = new byte[256];
+	
+	/**
+	 * The reasons tryParsePackedHand can give for a line that is not a valid hand
+	 */
+	@Getter
+	public enum ParseError {
+		INVALID_CARD 	("not a card"),
+		INVALID_RANK 	("invalid rank"),
+		INVALID_SUIT 	("invalid suit"),
+		TOO_MANY_CARDS 	("too many cards");
+		private final String description;
+		private ParseError(String description) {this.description = description;}
+	}
+	
+	private static final ParseError[] PARSE_ERRORS = ParseError.values();
+	
+	// An error code has the sign bit set, the index of the offending character above the ERROR_BITS and the
+	// ordinal of its ParseError below them
+	private static final int ERROR_BITS = 8;
+	private static final long ERROR_MASK = (1L << ERROR_BITS) - 1;
+	
+	static {
+		Arrays.fill(RANK_LOOKUP, (byte) -1);
+		Arrays.fill(SUIT_LOOKUP, (byte) -1);
+		for (Rank rank : Rank.values()) {
+			RANK_LOOKUP[rank.getRankCharacter()] = (byte) rank.ordinal();
+		}
+		for (Suit suit : Suit.values()) {
+			SUIT_LOOKUP[suit.getSuitCharacter()] = (byte) suit.ordinal();
+		}
+	}
+	
 	/**
 	 * Parses a string of cards and returns a poker hand
 	 * 
-	 * @param cardString				A string with the format RS RS RS ...,  where R is the rank and S is the suit, e.g. AD, 2S, 5D, 6H, TC
+	 * @param cardString				A string with the format RS RS RS ...,  where R is the rank and S is the suit, e.g. AD, 2S, 5D, 6H, TC.
+	 * 									Cards are separated by exactly one space, see tryParsePackedHand
 	 * @return							PokerHand object
 	 * @throws IllegalCardException		Thrown if a card is illegal
 	 * @throws IllegalHandException		Thrown if a hand is illegal
 	 */
 	public static PokerHand parseHand(String cardString) throws IllegalCardException, IllegalHandException {
-		String[] cards = cardString.split(" ");
-		List<Card> cardList = new ArrayList<Card>();
-		for (String card : cards) {
-			cardList.add(parseCard(card));
-		}
-		return new PokerHand(cardList);
+		return PackedHand.toPokerHand(parsePackedHand(cardString));
 	}
 	
 	/**
 	 * Parses a card string and returns a Card object
 	 * 
 	 * @param cardString 				A string with the format "RS", where R is the rank and S is the suit, e.g. QD.
-	 * @return 							Card object
+	 * @return 							The shared Card object, see Card.of
 	 * @throws IllegalCardException		Thrown if a card is illegal
 	 */
 	public static Card parseCard(String cardString) throws IllegalCardException {
-		char[] charArray = cardString.toCharArray();
-		return new Card(Rank.getRankByCharacter(charArray[0]), Suit.getSuitByCharacter(charArray[1]));
+		if (cardString.length() != 2) {
+			throw new IllegalCardException(String.format("'%s' is not a valid card", cardString));
+		}
+		return Card.of(Rank.getRankByCharacter(cardString.charAt(0)), Suit.getSuitByCharacter(cardString.charAt(1)));
 	}
-
+	
+	/**
+	 * Parses a line of cards straight into a packed hand (see PackedHand) without creating any objects
+	 * 
+	 * @param line						A line with the format RS RS RS ..., see parseHand
+	 * @return							The packed hand
+	 * @throws IllegalCardException		Thrown if a card is illegal
+	 * @throws IllegalHandException		Thrown if a hand is illegal
+	 */
+	public static long parsePackedHand(CharSequence line) throws IllegalCardException, IllegalHandException {
+		return parsePackedHand(line, 0, line.length());
+	}
+	
+	/**
+	 * Parses a range of characters straight into a packed hand without creating any objects
+	 * 
+	 * @param chars						The characters holding the hand
+	 * @param offset					Index of the first character of the hand
+	 * @param end						Index after the last character of the hand
+	 * @return							The packed hand
+	 * @throws IllegalCardException		Thrown if a card is illegal
+	 * @throws IllegalHandException		Thrown if a hand is illegal
+	 */
+	public static long parsePackedHand(CharSequence chars, int offset, int end) throws IllegalCardException, IllegalHandException {
+		long hand = tryParsePackedHand(chars, offset, end);
+		if (isError(hand)) {
+			raise(hand, chars.subSequence(offset, end));
+		}
+		return hand;
+	}
+	
+	/**
+	 * Parses a range of ASCII bytes straight into a packed hand without creating any objects
+	 * 
+	 * @param bytes						The bytes holding the hand
+	 * @param offset					Index of the first byte of the hand
+	 * @param end						Index after the last byte of the hand
+	 * @return							The packed hand
+	 * @throws IllegalCardException		Thrown if a card is illegal
+	 * @throws IllegalHandException		Thrown if a hand is illegal
+	 */
+	public static long parsePackedHand(byte[] bytes, int offset, int end) throws IllegalCardException, IllegalHandException {
+		long hand = tryParsePackedHand(bytes, offset, end);
+		if (isError(hand)) {
+			raise(hand, new String(bytes, offset, end - offset, StandardCharsets.ISO_8859_1));
+		}
+		return hand;
+	}
+	
+	/**
+	 * Parses a range of ASCII bytes in a buffer straight into a packed hand without creating any objects.
+	 * The position and limit of the buffer are left untouched.
+	 * 
+	 * @param buffer					The buffer holding the hand, heap or direct
+	 * @param offset					Absolute index of the first byte of the hand
+	 * @param end						Absolute index after the last byte of the hand
+	 * @return							The packed hand
+	 * @throws IllegalCardException		Thrown if a card is illegal
+	 * @throws IllegalHandException		Thrown if a hand is illegal
+	 */
+	public static long parsePackedHand(ByteBuffer buffer, int offset, int end) throws IllegalCardException, IllegalHandException {
+		long hand = tryParsePackedHand(buffer, offset, end);
+		if (isError(hand)) {
+			raise(hand, decode(buffer, offset, end));
+		}
+		return hand;
+	}
+	
+	/**
+	 * Parses a range of characters into a packed hand, returning an error code instead of throwing if it is not a
+	 * valid hand. Nothing is allocated either way, so invalid lines cost no more than valid ones.
+	 * 
+	 * A hand is one to five cards of two characters, separated by exactly one space. Every reader parses its lines
+	 * with this grammar, so an empty line, a tab, a leading space or a run of spaces between cards is an invalid card
+	 * in all of them. A carriage return at the end is dropped, so that files with Windows line endings can be parsed,
+	 * and so are trailing spaces, which the original line by line reader always accepted. A line of spaces only is
+	 * an empty hand, as it was for that reader.
+	 * 
+	 * @param chars		The characters holding the hand
+	 * @param offset	Index of the first character of the hand
+	 * @param end		Index after the last character of the hand
+	 * @return			The packed hand, or an error code if isError is true for it
+	 */
+	public static long tryParsePackedHand(CharSequence chars, int offset, int end) {
+		if (end > offset && chars.charAt(end - 1) == '\r') {
+			end--;
+		}
+		int line = end;
+		while (end > offset && chars.charAt(end - 1) == ' ') {
+			end--;
+		}
+		if (end == offset && line > offset) {
+			return PackedHand.EMPTY;
+		}
+		long hand = PackedHand.EMPTY;
+		int cards = 0;
+		int i = offset;
+		while (true) {
+			if (i + 1 >= end || (i + 2 < end && chars.charAt(i + 2) != ' ')) {
+				return error(ParseError.INVALID_CARD, i - offset);
+			}
+			long card = packCard(chars.charAt(i), chars.charAt(i + 1), i - offset);
+			if (isError(card)) {
+				return card;
+			}
+			if (++cards > PokerHand.MAX_SIZE) {
+				return error(ParseError.TOO_MANY_CARDS, i - offset);
+			}
+			hand |= card;
+			i += 3;
+			if (i > end) {
+				return hand;
+			}
+		}
+	}
+	
+	/**
+	 * Parses a range of ASCII bytes into a packed hand, returning an error code instead of throwing if it is not a
+	 * valid hand
+	 * 
+	 * @param bytes		The bytes holding the hand
+	 * @param offset	Index of the first byte of the hand
+	 * @param end		Index after the last byte of the hand
+	 * @return			The packed hand, or an error code if isError is true for it
+	 */
+	public static long tryParsePackedHand(byte[] bytes, int offset, int end) {
+		if (end > offset && bytes[end - 1] == '\r') {
+			end--;
+		}
+		int line = end;
+		while (end > offset && bytes[end - 1] == ' ') {
+			end--;
+		}
+		if (end == offset && line > offset) {
+			return PackedHand.EMPTY;
+		}
+		long hand = PackedHand.EMPTY;
+		int cards = 0;
+		int i = offset;
+		while (true) {
+			if (i + 1 >= end || (i + 2 < end && bytes[i + 2] != ' ')) {
+				return error(ParseError.INVALID_CARD, i - offset);
+			}
+			long card = packCard(bytes[i] & 0xFF, bytes[i + 1] & 0xFF, i - offset);
+			if (isError(card)) {
+				return card;
+			}
+			if (++cards > PokerHand.MAX_SIZE) {
+				return error(ParseError.TOO_MANY_CARDS, i - offset);
+			}
+			hand |= card;
+			i += 3;
+			if (i > end) {
+				return hand;
+			}
+		}
+	}
+	
+	/**
+	 * Parses a range of ASCII bytes in a buffer into a packed hand, returning an error code instead of throwing if
+	 * it is not a valid hand. The position and limit of the buffer are left untouched.
+	 * 
+	 * @param buffer	The buffer holding the hand, heap or direct
+	 * @param offset	Absolute index of the first byte of the hand
+	 * @param end		Absolute index after the last byte of the hand
+	 * @return			The packed hand, or an error code if isError is true for it
+	 */
+	public static long tryParsePackedHand(ByteBuffer buffer, int offset, int end) {
+		if (buffer.hasArray()) {
+			int base = buffer.arrayOffset();
+			return tryParsePackedHand(buffer.array(), base + offset, base + end);
+		}
+		if (end > offset && buffer.get(end - 1) == '\r') {
+			end--;
+		}
+		int line = end;
+		while (end > offset && buffer.get(end - 1) == ' ') {
+			end--;
+		}
+		if (end == offset && line > offset) {
+			return PackedHand.EMPTY;
+		}
+		long hand = PackedHand.EMPTY;
+		int cards = 0;
+		int i = offset;
+		while (true) {
+			if (i + 1 >= end || (i + 2 < end && buffer.get(i + 2) != ' ')) {
+				return error(ParseError.INVALID_CARD, i - offset);
+			}
+			long card = packCard(buffer.get(i) & 0xFF, buffer.get(i + 1) & 0xFF, i - offset);
+			if (isError(card)) {
+				return card;
+			}
+			if (++cards > PokerHand.MAX_SIZE) {
+				return error(ParseError.TOO_MANY_CARDS, i - offset);
+			}
+			hand |= card;
+			i += 3;
+			if (i > end) {
+				return hand;
+			}
+		}
+	}
+	
+	/**
+	 * Checks if a value returned by tryParsePackedHand is an error code. Packed hands only use the low 52 bits, so
+	 * every error code is negative.
+	 * 
+	 * @param result	A value returned by tryParsePackedHand
+	 * @return			True if the value is an error code rather than a packed hand
+	 */
+	public static boolean isError(long result) {
+		return result < 0;
+	}
+	
+	/**
+	 * Gets the reason of an error code
+	 * 
+	 * @param error		An error code returned by tryParsePackedHand
+	 * @return			Why the hand could not be parsed
+	 */
+	public static ParseError getError(long error) {
+		return PARSE_ERRORS[(int) (error & ERROR_MASK)];
+	}
+	
+	/**
+	 * Gets where in the line an error code points to
+	 * 
+	 * @param error		An error code returned by tryParsePackedHand
+	 * @return			The index of the offending character, relative to the start of the parsed range
+	 */
+	public static int getErrorIndex(long error) {
+		return (int) ((error & ~Long.MIN_VALUE) >>> ERROR_BITS);
+	}
+	
+	/**
+	 * Helper function: Packs a rank and a suit character into the mask of a card
+	 * 
+	 * @return			The mask of the card, or an error code pointing at the bad character
+	 */
+	private static long packCard(int rankCharacter, int suitCharacter, int index) {
+		int rank = rankCharacter < 256 ? RANK_LOOKUP[rankCharacter] : -1;
+		if (rank < 0) {
+			return error(ParseError.INVALID_RANK, index);
+		}
+		int suit = suitCharacter < 256 ? SUIT_LOOKUP[suitCharacter] : -1;
+		if (suit < 0) {
+			return error(ParseError.INVALID_SUIT, index + 1);
+		}
+		return PackedCard.maskOf(suit * PackedCard.RANKS + rank);
+	}
+	
+	/**
+	 * Helper function: Builds an error code from its reason and the index of the offending character
+	 */
+	private static long error(ParseError error, int index) {
+		return Long.MIN_VALUE | (long) index << ERROR_BITS | error.ordinal();
+	}
+	
+	/**
+	 * Describes an error code the way the throwing parse methods do in their exceptions
+	 * 
+	 * @param error		An error code returned by tryParsePackedHand
+	 * @param hand		The characters of the range that was parsed
+	 * @return			The message of the error
+	 */
+	public static String getErrorMessage(long error, CharSequence hand) {
+		int index = getErrorIndex(error);
+		switch (getError(error)) {
+		case INVALID_RANK:
+			return String.format("%c is not a valid rank", hand.charAt(index));
+		case INVALID_SUIT:
+			return String.format("%c is not a valid suit", hand.charAt(index));
+		case TOO_MANY_CARDS:
+			return String.format("Hand can only hold %d cards: '%s'", PokerHand.MAX_SIZE, hand);
+		default:
+			return String.format("'%s' is not a valid card", hand.subSequence(index, Math.min(index + 3, hand.length())));
+		}
+	}
+	
+	/**
+	 * Helper function: Throws the exception the parse methods have always thrown for an error code
+	 */
+	private static void raise(long error, CharSequence hand) throws IllegalCardException, IllegalHandException {
+		if (getError(error) == ParseError.TOO_MANY_CARDS) {
+			throw new IllegalHandException(getErrorMessage(error, hand));
+		}
+		throw new IllegalCardException(getErrorMessage(error, hand));
+	}
+	
+	private static String decode(ByteBuffer buffer, int offset, int end) {
+		byte[] bytes = new byte[end - offset];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = buffer.get(offset + i);
+		}
+		return new String(bytes, StandardCharsets.ISO_8859_1);
+	}
+	
 }
@@ -0,0 +1,113 @@
+package com.instil.pokerface.utils;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of results shared by any number of threads without locking
+ * 
+ * The cache is a direct mapped table: every key has a single slot picked by its hash, and storing a result simply
+ * replaces whatever the slot held. Entries are immutable and published through an AtomicReferenceArray, so a reader
+ * sees either a whole entry or none, and the memory held is fixed by the capacity no matter how many keys are
+ * looked up. A result lost to a colliding key only costs computing it again.
+ * 
+ * @param <K>	The type of the keys, which need value based equals and hashCode
+ * @param <V>	The type of the results, which should be immutable as they are handed to every caller
+ */
+public class ResultCache<K, V> {
+	
+	// The largest number of slots
+	public static final int MAX_CAPACITY = 1 << 30;
+	
+	private final AtomicReferenceArray<Entry<K, V>> slots;
+	private final int mask;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	
+	/**
+	 * Creates an empty cache
+	 * 
+	 * @param capacity		The number of results the cache can hold, rounded up to a power of two
+	 */
+	public ResultCache(int capacity) {
+		if(capacity < 1 || capacity > MAX_CAPACITY) {
+			throw new IllegalArgumentException(String.format("Capacity must be between 1 and %d, not %d", MAX_CAPACITY, capacity));
+		}
+		int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+		this.slots = new AtomicReferenceArray<Entry<K, V>>(size);
+		this.mask = size - 1;
+	}
+	
+	/**
+	 * Looks up the result of a key
+	 * 
+	 * @param key		The key
+	 * @return			The result stored for the key, null if there is none
+	 */
+	public V get(K key) {
+		Entry<K, V> entry = slots.get(slotOf(key));
+		if(entry != null && entry.key.equals(key)) {
+			hits.increment();
+			return entry.value;
+		}
+		misses.increment();
+		return null;
+	}
+	
+	/**
+	 * Stores the result of a key, replacing the result of any other key sharing its slot
+	 * 
+	 * @param key		The key
+	 * @param value		The result
+	 */
+	public void put(K key, V value) {
+		slots.set(slotOf(key), new Entry<K, V>(key, value));
+	}
+	
+	/**
+	 * Gets the number of results the cache can hold
+	 * 
+	 * @return			The number of slots
+	 */
+	public int getCapacity() {
+		return slots.length();
+	}
+	
+	/**
+	 * Gets the number of lookups that found a result
+	 * 
+	 * @return			The hits since the cache was created
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+	
+	/**
+	 * Gets the number of lookups that found no result
+	 * 
+	 * @return			The misses since the cache was created
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+	
+	/**
+	 * Helper function: Picks the slot of a key, spreading the bits of its hash so that hashes differing only in
+	 * 					their high bits land in different slots
+	 */
+	private int slotOf(K key) {
+		int hash = key.hashCode() * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+	
+	private static final class Entry<K, V> {
+		private final K key;
+		private final V value;
+		
+		private Entry(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+	
+}
@@ -0,0 +1,94 @@
+package com.instil.pokerface.equity;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.evaluator.SevenCardEvaluator;
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.model.PackedHand;
+import com.instil.pokerface.utils.CardParser;
+
+public class ExhaustiveEquityTest {
+	
+	@Test
+	void calculate_AcesAgainstKingsPreflop_ShouldEnumerateEveryBoard() throws Exception {
+		long[] players = { hand("AH AS"), hand("KD KC") };
+		EquityResult[] results = new ExhaustiveEquity(4).calculate(players, PackedHand.EMPTY);
+		Assertions.assertAll(() -> Assertions.assertEquals(1712304, results[0].getTrials()),
+							 () -> Assertions.assertEquals(0.82, results[0].getEquity(), 0.01),
+							 () -> Assertions.assertEquals(1.0, results[0].getEquity() + results[1].getEquity(), 1e-9),
+							 () -> Assertions.assertEquals(results[0].getTies(), results[1].getTies()));
+	}
+	
+	@Test
+	void calculate_ThreePlayersOnTheFlop_ShouldMatchNaiveEnumeration() throws Exception {
+		long[] players = { hand("AH KH"), hand("7C 7D"), hand("QS JS") };
+		long flop = hand("TH 7S 2H");
+		EquityResult[] results = new ExhaustiveEquity(3).calculate(players, flop);
+		
+		double[] expected = new double[players.length];
+		long dealt = flop | players[0] | players[1] | players[2];
+		for (int turn = 0; turn < 52; turn++) {
+			for (int river = turn + 1; river < 52; river++) {
+				long runout = (1L << turn) | (1L << river);
+				if ((runout & dealt) != 0) {
+					continue;
+				}
+				int best = 0;
+				int winners = 0;
+				int[] strengths = new int[players.length];
+				for (int player = 0; player < players.length; player++) {
+					strengths[player] = SevenCardEvaluator.evaluate(players[player] | flop | runout);
+					winners = strengths[player] > best ? 1 : strengths[player] == best ? winners + 1 : winners;
+					best = Math.max(best, strengths[player]);
+				}
+				for (int player = 0; player < players.length; player++) {
+					expected[player] += strengths[player] == best ? 1.0 / winners / 903 : 0;
+				}
+			}
+		}
+		for (int player = 0; player < players.length; player++) {
+			Assertions.assertEquals(903, results[player].getTrials());
+			Assertions.assertEquals(expected[player], results[player].getEquity(), 1e-9);
+		}
+	}
+	
+	@Test
+	void calculate_CompleteBoard_ShouldPlayOutOneBoard() throws Exception {
+		long[] players = { hand("AH AS"), hand("KD KC") };
+		EquityResult[] results = new ExhaustiveEquity(2).calculate(players, hand("KH 2C 5D 9S JC"));
+		Assertions.assertAll(() -> Assertions.assertEquals(1, results[1].getTrials()),
+							 () -> Assertions.assertEquals(1, results[1].getWins()),
+							 () -> Assertions.assertEquals(0.0, results[0].getEquity()));
+	}
+	
+	@Test
+	void calculate_PlayersShareACard_ShouldThrowIllegalHandException() {
+		Assertions.assertThrows(IllegalHandException.class, () -> {
+			new ExhaustiveEquity(1).calculate(new long[] { hand("AH AS"), hand("AS KC") }, PackedHand.EMPTY);
+		});
+	}
+	
+	@Test
+	void calculate_SuitIsomorphicDeal_ShouldBeAnsweredFromCache() throws Exception {
+		ExhaustiveEquity equity = new ExhaustiveEquity(2, 16);
+		long flop = hand("TH 7S 2H");
+		EquityResult[] first = equity.calculate(new long[] { hand("AH KH"), hand("7C 7D") }, flop);
+		// Hearts and spades swapped, clubs and diamonds swapped
+		EquityResult[] renamed = equity.calculate(new long[] { hand("AS KS"), hand("7D 7C") }, hand("TS 7H 2S"));
+		Assertions.assertAll(() -> Assertions.assertArrayEquals(first, renamed),
+							 () -> Assertions.assertEquals(1, equity.getCache().getHits()),
+							 () -> Assertions.assertArrayEquals(new ExhaustiveEquity(1).calculate(new long[] { hand("AH KH"), hand("7C 7D") }, flop), first));
+	}
+	
+	@Test
+	void unrank_LastCombinationOfTwoOfFive_ShouldReturnHighestPositions() {
+		Assertions.assertArrayEquals(new int[] { 3, 4 }, ExhaustiveEquity.unrank(9, 2));
+	}
+	
+	private static long hand(String cards) throws IllegalCardException, IllegalHandException {
+		return CardParser.parsePackedHand(cards);
+	}
+	
+}
@@ -0,0 +1,57 @@
+package com.instil.pokerface.equity;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.utils.CardParser;
+
+public class HandRangeTest {
+	
+	@Test
+	void parse_PairPlus_ShouldHoldEveryHigherPair() throws Exception {
+		HandRange range = HandRange.parse("QQ+");
+		Assertions.assertAll(() -> Assertions.assertEquals(18, range.getComboCount()),
+							 () -> Assertions.assertEquals(1, range.getWeight(hand("AH AS"))),
+							 () -> Assertions.assertEquals(1, range.getWeight(hand("QD QC"))),
+							 () -> Assertions.assertEquals(0, range.getWeight(hand("JD JC"))));
+	}
+	
+	@Test
+	void parse_KickersAndSpans_ShouldExpandToTheirStartingHands() throws Exception {
+		Assertions.assertAll(() -> Assertions.assertEquals(16, HandRange.parse("ATs+").getComboCount()),
+							 () -> Assertions.assertEquals(0, HandRange.parse("ATs+").getWeight(hand("AH TD"))),
+							 () -> Assertions.assertEquals(48, HandRange.parse("A2o-A5o").getComboCount()),
+							 () -> Assertions.assertEquals(48, HandRange.parse("A5o-A2o").getComboCount()),
+							 () -> Assertions.assertEquals(24, HandRange.parse("22-55").getComboCount()),
+							 () -> Assertions.assertEquals(16, HandRange.parse("AK").getComboCount()),
+							 () -> Assertions.assertEquals(1, HandRange.parse("AHKH").getComboCount()));
+	}
+	
+	@Test
+	void parse_Weights_ShouldApplyToTheirEntryAndReplaceEarlierOnes() throws Exception {
+		HandRange range = HandRange.parse("QQ+, 50% of AA, 25% AHKH");
+		Assertions.assertAll(() -> Assertions.assertEquals(19, range.getComboCount()),
+							 () -> Assertions.assertEquals(15.25, range.getWeightedComboCount(), 1e-9),
+							 () -> Assertions.assertEquals(0.5, range.getWeight(hand("AD AC"))),
+							 () -> Assertions.assertEquals(0.25, range.getWeight(hand("KH AH"))));
+	}
+	
+	@Test
+	void parse_InvalidEntries_ShouldThrow() {
+		Assertions.assertAll(() -> Assertions.assertThrows(IllegalHandException.class, () -> HandRange.parse("")),
+							 () -> Assertions.assertThrows(IllegalHandException.class, () -> HandRange.parse("QQ+, AAs")),
+							 () -> Assertions.assertThrows(IllegalHandException.class, () -> HandRange.parse("QQ-AK")),
+							 () -> Assertions.assertThrows(IllegalHandException.class, () -> HandRange.parse("150% AA")),
+							 () -> Assertions.assertThrows(IllegalHandException.class, () -> HandRange.parse("half% AA")),
+							 () -> Assertions.assertThrows(IllegalHandException.class, () -> HandRange.parse("0% AA")),
+							 () -> Assertions.assertThrows(IllegalHandException.class, () -> HandRange.parse("AHAH")),
+							 () -> Assertions.assertThrows(IllegalCardException.class, () -> HandRange.parse("AXKH")));
+	}
+	
+	private static long hand(String cards) throws IllegalCardException, IllegalHandException {
+		return CardParser.parsePackedHand(cards);
+	}
+	
+}
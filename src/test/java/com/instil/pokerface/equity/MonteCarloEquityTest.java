@@ -0,0 +1,78 @@
+package com.instil.pokerface.equity;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.model.PackedHand;
+import com.instil.pokerface.utils.CardParser;
+
+public class MonteCarloEquityTest {
+	
+	@Test
+	void calculate_PocketAcesAgainstOneRandomHand_ShouldBeAbout85Percent() throws Exception {
+		EquityResult result = new MonteCarloEquity(2, 2_000_000, 0.002).calculate(hand("AH AS"), PackedHand.EMPTY, 1, 42);
+		Assertions.assertAll(() -> Assertions.assertEquals(0.852, result.getEquity(), 0.006),
+							 () -> Assertions.assertTrue(result.getMargin() <= 0.002),
+							 () -> Assertions.assertTrue(result.getTrials() < 2_000_000));
+	}
+	
+	@Test
+	void calculate_RoyalFlushOnBoard_ShouldAlwaysSplit() throws Exception {
+		EquityResult result = new MonteCarloEquity(1, 10_000).calculate(hand("2C 3D"), hand("AH KH QH JH TH"), 3, 42);
+		Assertions.assertAll(() -> Assertions.assertEquals(0.25, result.getEquity(), 1e-9),
+							 () -> Assertions.assertEquals(result.getTrials(), result.getTies()));
+	}
+	
+	@Test
+	void calculate_FewerTrialsThanABatchOnThreeThreads_ShouldRunExactlyThoseTrialsAndReproduce() throws Exception {
+		MonteCarloEquity equity = new MonteCarloEquity(3, 1000);
+		EquityResult result = equity.calculate(hand("AH AS"), PackedHand.EMPTY, 1, 42);
+		EquityResult again = equity.calculate(hand("AH AS"), PackedHand.EMPTY, 1, 42);
+		Assertions.assertAll(() -> Assertions.assertEquals(1000, result.getTrials()),
+							 () -> Assertions.assertEquals(result.getWins(), again.getWins()),
+							 () -> Assertions.assertEquals(result.getTies(), again.getTies()));
+	}
+	
+	@Test
+	void calculate_BoardBeyondTheDeck_ShouldThrowIllegalHandException() {
+		Assertions.assertThrows(IllegalHandException.class, () -> {
+			new MonteCarloEquity(1, 1000, 0.01).calculate(hand("AH AS"), 1L << 60, 1, 42);
+		});
+	}
+	
+	@Test
+	void calculate_HoleCardsOnBoard_ShouldThrowIllegalHandException() {
+		Assertions.assertThrows(IllegalHandException.class, () -> {
+			new MonteCarloEquity(1, 1000, 0.01).calculate(hand("AH AS"), hand("AH 2C 3C"), 1, 42);
+		});
+	}
+	
+	@Test
+	void calculate_ThreeHoleCards_ShouldThrowIllegalHandException() {
+		IllegalHandException e = Assertions.assertThrows(IllegalHandException.class, () -> {
+			new MonteCarloEquity(1, 1000, 0.01).calculate(hand("AH AS AD"), PackedHand.EMPTY, 1, 42);
+		});
+		Assertions.assertEquals("A player must hold 2 hole cards, not 3.", e.getMessage());
+	}
+	
+	@Test
+	void monteCarloEquity_ZeroTargetMargin_ShouldThrowIllegalArgumentException() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			new MonteCarloEquity(1, 1000, 0);
+		});
+	}
+	
+	@Test
+	void calculate_TooManyOpponents_ShouldThrowIllegalArgumentException() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			new MonteCarloEquity(1, 1000, 0.01).calculate(hand("AH AS"), PackedHand.EMPTY, 23, 42);
+		});
+	}
+	
+	private static long hand(String cards) throws IllegalCardException, IllegalHandException {
+		return CardParser.parsePackedHand(cards);
+	}
+	
+}
@@ -0,0 +1,119 @@
+package com.instil.pokerface.equity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.model.PackedCard;
+import com.instil.pokerface.utils.CardParser;
+
+public class PreflopTableGeneratorTest {
+	
+	// The largest difference between a stored equity and the exact one
+	private static final double PRECISION = 0.5 / PreflopTable.SCALE + 1e-12;
+	
+	private Path directory;
+	private Path table;
+	private Path checkpoint;
+	
+	@BeforeEach
+	void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("preflop");
+		table = directory.resolve("preflop.bin");
+		checkpoint = directory.resolve("preflop.bin.checkpoint");
+	}
+	
+	@AfterEach
+	void deleteDirectory() throws IOException {
+		Files.deleteIfExists(table);
+		Files.deleteIfExists(checkpoint);
+		Files.delete(directory);
+	}
+	
+	@Test
+	void matchups_AllPairsOfCombos_ShouldCollapseIntoSuitIsomorphicRepresentatives() {
+		PreflopTableGenerator.Matchups matchups = new PreflopTableGenerator.Matchups();
+		Assertions.assertEquals(47008, matchups.size());
+	}
+	
+	@Test
+	void generate_RankSolver_ShouldFillEveryLookupFromItsMatchup() throws Exception {
+		new PreflopTableGenerator(2, checkpoint, 1000, PreflopTableGeneratorTest::rankEquity).generate(table, quiet());
+		PreflopTable preflop = new PreflopTable(table);
+		
+		long aces = hand("AH AD");
+		long kings = hand("KS KC");
+		long suited = hand("7D 2D");
+		double expectedVsRandom = 0;
+		for (int combo = 0; combo < PreflopTable.COMBOS; combo++) {
+			if ((PreflopTable.getCombo(combo) & suited) == 0) {
+				expectedVsRandom += rankEquity(suited, PreflopTable.getCombo(combo)) / 1225;
+			}
+		}
+		double expected = expectedVsRandom;
+		Assertions.assertAll(() -> Assertions.assertEquals(rankEquity(aces, kings), preflop.getEquity(aces, kings), PRECISION),
+							 () -> Assertions.assertEquals(rankEquity(kings, aces), preflop.getEquity(kings, aces), PRECISION),
+							 () -> Assertions.assertEquals(rankEquity(suited, aces), preflop.getEquity(suited, aces), PRECISION),
+							 () -> Assertions.assertEquals(rankEquity(aces, kings), preflop.getClassEquity(PreflopTable.classOf("AA"), PreflopTable.classOf("KK")), PRECISION),
+							 () -> Assertions.assertEquals(expected, preflop.getEquity(suited), PRECISION),
+							 () -> Assertions.assertEquals(expected, preflop.getClassEquity(PreflopTable.classOf("72s")), PRECISION),
+							 () -> Assertions.assertThrows(IllegalHandException.class, () -> preflop.getEquity(aces, hand("AH KH"))));
+	}
+	
+	@Test
+	void generate_StoppedPartWay_ShouldResumeFromCheckpoint() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		PreflopTableGenerator failing = new PreflopTableGenerator(1, checkpoint, 1000, (holeCards, opponent) -> {
+			if (calls.incrementAndGet() > 1000) {
+				throw new IllegalStateException("Stopped");
+			}
+			return rankEquity(holeCards, opponent);
+		});
+		Assertions.assertThrows(IllegalStateException.class, () -> failing.generate(table, quiet()));
+		Assertions.assertAll(() -> Assertions.assertEquals(1000, failing.getSolved()),
+							 () -> Assertions.assertTrue(Files.exists(checkpoint)),
+							 () -> Assertions.assertFalse(Files.exists(table)));
+		
+		PreflopTableGenerator resumed = new PreflopTableGenerator(1, checkpoint, 1000, PreflopTableGeneratorTest::rankEquity);
+		resumed.generate(table, quiet());
+		long aces = hand("AH AD");
+		long kings = hand("KS KC");
+		Assertions.assertAll(() -> Assertions.assertEquals(47008 - 1000, resumed.getSolved()),
+							 () -> Assertions.assertEquals(rankEquity(aces, kings), new PreflopTable(table).getEquity(aces, kings), PRECISION));
+	}
+	
+	/**
+	 * Helper function: A stand in for playing out a matchup, fast and just as blind to suits and consistent with
+	 * 					the players swapped
+	 */
+	private static double rankEquity(long holeCards, long opponent) {
+		return 0.5 + (rankSum(holeCards) - rankSum(opponent)) / 100.0;
+	}
+	
+	private static int rankSum(long holeCards) {
+		int sum = 0;
+		for (long rest = holeCards; rest != 0; rest &= rest - 1) {
+			sum += PackedCard.rankOf(Long.numberOfTrailingZeros(rest));
+		}
+		return sum;
+	}
+	
+	private static PrintStream quiet() {
+		return new PrintStream(new ByteArrayOutputStream());
+	}
+	
+	private static long hand(String cards) throws IllegalCardException, IllegalHandException {
+		return CardParser.parsePackedHand(cards);
+	}
+	
+}
@@ -0,0 +1,74 @@
+package com.instil.pokerface.equity;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.utils.CardParser;
+
+public class PreflopTableTest {
+	
+	@Test
+	void comboOf_EveryCombo_ShouldRoundTripThroughGetCombo() throws Exception {
+		long seen = 0;
+		for (int combo = 0; combo < PreflopTable.COMBOS; combo++) {
+			long holeCards = PreflopTable.getCombo(combo);
+			Assertions.assertEquals(combo, PreflopTable.comboOf(holeCards));
+			seen |= holeCards;
+		}
+		Assertions.assertEquals((1L << 52) - 1, seen);
+	}
+	
+	@Test
+	void classOf_HoleCards_ShouldFindTheirStartingHand() throws Exception {
+		Assertions.assertAll(() -> Assertions.assertEquals("AA", PreflopTable.getClassName(PreflopTable.classOf(hand("AH AS")))),
+							 () -> Assertions.assertEquals("AKs", PreflopTable.getClassName(PreflopTable.classOf(hand("KD AD")))),
+							 () -> Assertions.assertEquals("T9o", PreflopTable.getClassName(PreflopTable.classOf(hand("9C TH")))),
+							 () -> Assertions.assertEquals(PreflopTable.classOf("72o"), PreflopTable.classOf(hand("7S 2D"))));
+	}
+	
+	@Test
+	void getClassName_EveryClass_ShouldRoundTripThroughClassOfAndCoverEveryCombo() throws Exception {
+		int combos = 0;
+		for (int startingHand = 0; startingHand < PreflopTable.CLASSES; startingHand++) {
+			Assertions.assertEquals(startingHand, PreflopTable.classOf(PreflopTable.getClassName(startingHand)));
+			combos += PreflopTable.getComboCount(startingHand);
+		}
+		Assertions.assertEquals(PreflopTable.COMBOS, combos);
+	}
+	
+	@Test
+	void classOf_InvalidNames_ShouldThrow() {
+		Assertions.assertAll(() -> Assertions.assertThrows(IllegalHandException.class, () -> PreflopTable.classOf("AAs")),
+							 () -> Assertions.assertThrows(IllegalHandException.class, () -> PreflopTable.classOf("KAs")),
+							 () -> Assertions.assertThrows(IllegalHandException.class, () -> PreflopTable.classOf("AK")),
+							 () -> Assertions.assertThrows(IllegalHandException.class, () -> PreflopTable.classOf("AKx")),
+							 () -> Assertions.assertThrows(IllegalCardException.class, () -> PreflopTable.classOf("ZKs")));
+	}
+	
+	@Test
+	void comboOf_ThreeCards_ShouldThrowIllegalHandException() {
+		Assertions.assertThrows(IllegalHandException.class, () -> PreflopTable.comboOf(hand("AH AS AD")));
+	}
+	
+	@Test
+	void preflopTable_FileOfWrongSize_ShouldThrowIOException() throws IOException {
+		Path file = Files.createTempFile("preflop", ".bin");
+		try {
+			Files.write(file, new byte[PreflopTable.HEADER_SIZE]);
+			Assertions.assertThrows(IOException.class, () -> new PreflopTable(file));
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	private static long hand(String cards) throws IllegalCardException, IllegalHandException {
+		return CardParser.parsePackedHand(cards);
+	}
+	
+}
@@ -0,0 +1,108 @@
+package com.instil.pokerface.equity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.model.PackedHand;
+import com.instil.pokerface.utils.CardParser;
+
+public class RangeEquityTest {
+	
+	@Test
+	void calculate_SingleCombos_ShouldMatchExhaustiveEquity() throws Exception {
+		long flop = hand("TH 7S 2H");
+		EquityResult[] results = new RangeEquity(2).calculate(HandRange.parse("AHKH"), HandRange.parse("7C7D"), flop);
+		EquityResult[] expected = new ExhaustiveEquity(1).calculate(new long[] { hand("AH KH"), hand("7C 7D") }, flop);
+		Assertions.assertAll(() -> Assertions.assertEquals(expected[0].getEquity(), results[0].getEquity(), 1e-9),
+							 () -> Assertions.assertEquals(expected[1].getEquity(), results[1].getEquity(), 1e-9),
+							 () -> Assertions.assertEquals(expected[0].getTrials(), results[0].getTrials()),
+							 () -> Assertions.assertEquals(expected[0].getWins(), results[0].getWins()),
+							 () -> Assertions.assertEquals(expected[1].getWins(), results[1].getWins()),
+							 () -> Assertions.assertEquals(expected[0].getTies(), results[0].getTies()));
+	}
+	
+	@Test
+	void calculate_WeightedRangesOnTheFlop_ShouldAverageEveryPairThatCanBeDealt() throws Exception {
+		long flop = hand("TH 7S 2H");
+		HandRange range = HandRange.parse("QQ+, 50% AKs, TT");
+		HandRange opponent = HandRange.parse("77, 25% AHQH, JTs");
+		
+		double weight = 0;
+		double share = 0;
+		for (int combo = 0; combo < PreflopTable.COMBOS; combo++) {
+			for (int opponentCombo = 0; opponentCombo < PreflopTable.COMBOS; opponentCombo++) {
+				long holeCards = PreflopTable.getCombo(combo);
+				long opponentCards = PreflopTable.getCombo(opponentCombo);
+				double pairWeight = range.weightOf(combo) * opponent.weightOf(opponentCombo);
+				if (pairWeight == 0 || ((holeCards | opponentCards) & flop) != 0 || (holeCards & opponentCards) != 0) {
+					continue;
+				}
+				weight += pairWeight;
+				share += pairWeight * new ExhaustiveEquity(1).calculate(new long[] { holeCards, opponentCards }, flop)[0].getEquity();
+			}
+		}
+		double expected = share / weight;
+		EquityResult[] results = new RangeEquity(3).calculate(range, opponent, flop);
+		Assertions.assertAll(() -> Assertions.assertEquals(expected, results[0].getEquity(), 1e-9),
+							 () -> Assertions.assertEquals(1 - expected, results[1].getEquity(), 1e-9));
+	}
+	
+	@Test
+	void calculate_AcesAgainstKingsPreflop_ShouldPlayOutEveryBoard() throws Exception {
+		EquityResult[] results = new RangeEquity(2).calculate(HandRange.parse("AA"), HandRange.parse("KK"), PackedHand.EMPTY);
+		Assertions.assertAll(() -> Assertions.assertEquals(36L * 1712304, results[0].getTrials()),
+							 () -> Assertions.assertEquals(0.82, results[0].getEquity(), 0.01));
+	}
+	
+	@Test
+	void calculate_PreflopWithTable_ShouldLookUpEveryPair() throws Exception {
+		Path directory = Files.createTempDirectory("preflop");
+		Path table = directory.resolve("preflop.bin");
+		Path checkpoint = directory.resolve("preflop.bin.checkpoint");
+		try {
+			new PreflopTableGenerator(1, checkpoint, 60000, RangeEquityTest::higherCardWins).generate(table, new PrintStream(new ByteArrayOutputStream()));
+			RangeEquity equity = new RangeEquity(1, new PreflopTable(table));
+			
+			EquityResult[] results = equity.calculate(HandRange.parse("AA, 50% KK"), HandRange.parse("KK, QQ"), PackedHand.EMPTY);
+			// AA beats the 6 + 6 combos, a half weighted KK meets the 1 KK combo it does not block and 6 QQ combos
+			double expected = (6 * 12 + 6 * 0.5 * (1 * 0.5 + 6 * 1)) / (6 * 12 + 6 * 0.5 * 7);
+			Assertions.assertAll(() -> Assertions.assertEquals(expected, results[0].getEquity(), 1e-4),
+								 () -> Assertions.assertEquals(6 * 12 + 6 * 7, results[0].getTrials()));
+		} finally {
+			Files.deleteIfExists(table);
+			Files.deleteIfExists(checkpoint);
+			Files.delete(directory);
+		}
+	}
+	
+	@Test
+	void calculate_RangeBlockedByTheBoard_ShouldThrowIllegalHandException() {
+		Assertions.assertThrows(IllegalHandException.class, () -> {
+			new RangeEquity(1).calculate(HandRange.parse("AA"), HandRange.parse("KK"), hand("AH AS AD"));
+		});
+	}
+	
+	/**
+	 * Helper function: A stand in for playing out a matchup, blind to suits and consistent with the players swapped,
+	 * 					where the higher top card wins
+	 */
+	private static double higherCardWins(long holeCards, long opponent) {
+		return Math.signum(Long.compare(topRank(holeCards), topRank(opponent))) / 2 + 0.5;
+	}
+	
+	private static long topRank(long holeCards) {
+		return Long.highestOneBit((holeCards | holeCards >>> 13 | holeCards >>> 26 | holeCards >>> 39) & 0x1FFF);
+	}
+	
+	private static long hand(String cards) throws IllegalCardException, IllegalHandException {
+		return CardParser.parsePackedHand(cards);
+	}
+	
+}
@@ -0,0 +1,113 @@
+package com.instil.pokerface.evaluator;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.evaluator.EvaluatorTables.Table;
+
+public class EvaluatorTablesTest {
+
+	@Test
+	void generate_NewImage_ShouldBeValid() {
+		ByteBuffer image = TableGenerator.generate();
+		Assertions.assertAll(() -> Assertions.assertEquals(Table.IMAGE_SIZE, image.capacity()),
+							 () -> Assertions.assertTrue(EvaluatorTables.isValid(image)));
+	}
+
+	@Test
+	void isValid_ImageWithChangedTableByte_ShouldBeFalse() {
+		ByteBuffer image = TableGenerator.generate();
+		int offset = Table.RANK_TABLES.getOffset();
+		image.put(offset, (byte) (image.get(offset) + 1));
+		Assertions.assertFalse(EvaluatorTables.isValid(image));
+	}
+
+	@Test
+	void isValid_ImageOfOtherVersion_ShouldBeFalse() {
+		ByteBuffer image = TableGenerator.generate();
+		image.putInt(4, EvaluatorTables.VERSION + 1);
+		Assertions.assertFalse(EvaluatorTables.isValid(image));
+	}
+
+	@Test
+	void isValid_TruncatedImage_ShouldBeFalse() {
+		ByteBuffer image = TableGenerator.generate();
+		image.limit(Table.IMAGE_SIZE - 1);
+		Assertions.assertFalse(EvaluatorTables.isValid(image.slice()));
+	}
+
+	@Test
+	void load_GeneratedResource_ShouldBeMappedAndMatchGeneratedImage() {
+		ByteBuffer loaded = EvaluatorTables.load();
+		Assertions.assertAll(() -> Assertions.assertNotNull(EvaluatorTables.class.getResource(EvaluatorTables.RESOURCE)),
+							 () -> Assertions.assertTrue(loaded.isReadOnly()),
+							 () -> Assertions.assertEquals(TableGenerator.generate(), loaded));
+	}
+
+	@Test
+	void mapExtracted_CopyWithChangedTableByte_ShouldExtractAgain() throws IOException {
+		URL resource = EvaluatorTables.class.getResource(EvaluatorTables.RESOURCE);
+		Path directory = EvaluatorTables.privateDirectory(Files.createTempDirectory("tables").resolve("cache"));
+		try {
+			ByteBuffer extracted = EvaluatorTables.mapExtracted(resource, directory);
+			Path copy;
+			try (Stream<Path> files = Files.list(directory)) {
+				copy = files.findFirst().get();
+			}
+			try (FileChannel channel = FileChannel.open(copy, StandardOpenOption.WRITE)) {
+				channel.write(ByteBuffer.wrap(new byte[] {(byte) (extracted.get(Table.PRODUCT_VALUES.getOffset()) + 1)}),
+							  Table.PRODUCT_VALUES.getOffset());
+			}
+			ByteBuffer image = EvaluatorTables.mapExtracted(resource, directory);
+			Assertions.assertAll(() -> Assertions.assertTrue(EvaluatorTables.isValid(image)),
+								 () -> Assertions.assertEquals(TableGenerator.generate(), image));
+		} finally {
+			try (Stream<Path> files = Files.list(directory)) {
+				for (Path file : (Iterable<Path>) files::iterator) {
+					Files.delete(file);
+				}
+			}
+			Files.delete(directory);
+			Files.delete(directory.getParent());
+		}
+	}
+
+	@Test
+	void privateDirectory_DirectoryOthersCanWriteTo_ShouldThrowIOException() throws IOException {
+		Path parent = Files.createTempDirectory("tables");
+		Path created = parent.resolve("created");
+		Path shared = Files.createDirectory(parent.resolve("shared"));
+		try {
+			Files.setPosixFilePermissions(shared, PosixFilePermissions.fromString("rwxrwxrwx"));
+			Assertions.assertAll(() -> Assertions.assertEquals(created, EvaluatorTables.privateDirectory(created)),
+								 () -> Assertions.assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(created))),
+								 () -> Assertions.assertThrows(IOException.class, () -> EvaluatorTables.privateDirectory(shared)));
+		} finally {
+			Files.deleteIfExists(created);
+			Files.delete(shared);
+			Files.delete(parent);
+		}
+	}
+
+	@Test
+	void tables_Layout_ShouldBeAlignedAndNotOverlap() {
+		int end = EvaluatorTables.HEADER_SIZE;
+		for (Table table : Table.values()) {
+			Assertions.assertEquals(0, table.getOffset() % Long.BYTES, table.name());
+			Assertions.assertTrue(table.getOffset() >= end, table.name());
+			end = table.getOffset() + table.getSize();
+		}
+		Assertions.assertTrue(end <= Table.IMAGE_SIZE);
+	}
+
+}
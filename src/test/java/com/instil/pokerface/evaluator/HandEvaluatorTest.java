@@ -0,0 +1,193 @@
+package com.instil.pokerface.evaluator;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.model.Card;
+import com.instil.pokerface.model.PackedCard;
+import com.instil.pokerface.model.PokerHand.PokerHandName;
+import com.instil.pokerface.model.Rank;
+import com.instil.pokerface.model.Suit;
+import com.instil.pokerface.utils.CardParser;
+
+public class HandEvaluatorTest {
+
+	@Test
+	void evaluate_AllFiveCardHands_ShouldMatchKnownCategoryCounts() {
+		int[] deck = new int[52];
+		int index = 0;
+		for (Suit suit : Suit.values()) {
+			for (Rank rank : Rank.values()) {
+				deck[index++] = HandEvaluator.encode(new Card(rank, suit));
+			}
+		}
+
+		long[] counts = new long[PokerHandName.values().length];
+		BitSet strengths = new BitSet();
+		for (int a = 0; a < 48; a++) {
+			for (int b = a + 1; b < 49; b++) {
+				for (int c = b + 1; c < 50; c++) {
+					for (int d = c + 1; d < 51; d++) {
+						for (int e = d + 1; e < 52; e++) {
+							int strength = HandEvaluator.evaluate(deck[a], deck[b], deck[c], deck[d], deck[e]);
+							counts[HandEvaluator.getHandName(strength).ordinal()]++;
+							strengths.set(strength);
+						}
+					}
+				}
+			}
+		}
+
+		Assertions.assertAll(() -> Assertions.assertEquals(0, counts[PokerHandName.NO_NAME.ordinal()]),
+							 () -> Assertions.assertEquals(1302540, counts[PokerHandName.HIGH_CARD.ordinal()]),
+							 () -> Assertions.assertEquals(1098240, counts[PokerHandName.ONE_PAIR.ordinal()]),
+							 () -> Assertions.assertEquals(123552, counts[PokerHandName.TWO_PAIR.ordinal()]),
+							 () -> Assertions.assertEquals(54912, counts[PokerHandName.THREE_OF_A_KIND.ordinal()]),
+							 () -> Assertions.assertEquals(10200, counts[PokerHandName.STRAIGHT.ordinal()]),
+							 () -> Assertions.assertEquals(5108, counts[PokerHandName.FLUSH.ordinal()]),
+							 () -> Assertions.assertEquals(3744, counts[PokerHandName.FULL_HOUSE.ordinal()]),
+							 () -> Assertions.assertEquals(624, counts[PokerHandName.FOUR_OF_A_KIND.ordinal()]),
+							 () -> Assertions.assertEquals(36, counts[PokerHandName.STRAIGHT_FLUSH.ordinal()]),
+							 () -> Assertions.assertEquals(4, counts[PokerHandName.ROYAL_FLUSH.ordinal()]),
+							 () -> Assertions.assertEquals(HandEvaluator.CLASS_COUNT, strengths.cardinality()));
+	}
+
+	@Test
+	void evaluate_WheelAgainstSixHighStraight_WheelShouldBeWeaker() throws IllegalCardException {
+		int wheel = evaluate("AH", "2D", "3S", "4C", "5H");
+		int sixHigh = evaluate("2D", "3S", "4C", "5H", "6H");
+		Assertions.assertTrue(wheel < sixHigh);
+	}
+
+	@Test
+	void evaluate_PairOfAcesAgainstPairOfKings_AcesShouldBeStronger() throws IllegalCardException {
+		int aces = evaluate("AH", "AD", "2S", "3C", "4H");
+		int kings = evaluate("KH", "KD", "QS", "JC", "9H");
+		Assertions.assertTrue(aces > kings);
+	}
+
+	@Test
+	void evaluate_SamePairDifferentKicker_HigherKickerShouldBeStronger() throws IllegalCardException {
+		int queenKicker = evaluate("9H", "9D", "QS", "3C", "2H");
+		int jackKicker = evaluate("9S", "9C", "JS", "8C", "7H");
+		Assertions.assertTrue(queenKicker > jackKicker);
+	}
+
+	@Test
+	void evaluate_PackedHand_ShouldMatchEncodedCards() throws IllegalCardException {
+		String[] cards = {"9H", "9D", "QS", "3C", "2H"};
+		long hand = 0L;
+		for (String card : cards) {
+			hand |= PackedCard.maskOf(PackedCard.indexOf(CardParser.parseCard(card)));
+		}
+		Assertions.assertEquals(evaluate(cards), HandEvaluator.evaluate(hand));
+	}
+
+	@Test
+	void compare_PackedStraightAgainstTrips_StraightShouldBeStronger() throws IllegalCardException, IllegalHandException {
+		long straight = CardParser.parsePackedHand("2D 3S 4C 5H 6H");
+		long trips = CardParser.parsePackedHand("AD AS AC 5D 6D");
+		Assertions.assertAll(() -> Assertions.assertTrue(HandEvaluator.compare(straight, trips) > 0),
+							 () -> Assertions.assertEquals(0, HandEvaluator.compare(trips, trips)));
+	}
+
+	@Test
+	void evaluate_PackedHandWithFourCards_ShouldReturnZero() {
+		Assertions.assertEquals(0, HandEvaluator.evaluate(0xFL));
+	}
+
+	@Test
+	void evaluate_FiveBitsWithOneBeyondTheDeck_ShouldReturnZero() {
+		Assertions.assertEquals(0, HandEvaluator.evaluate(0xFL | 1L << 60));
+	}
+
+	@Test
+	void evaluate_BatchWithFiveBitsOneBeyondTheDeck_ShouldReturnZero() {
+		int[] strengths = new int[1];
+		HandEvaluator.evaluate(new long[] { 0xFL | 1L << 60 }, strengths);
+		Assertions.assertEquals(0, strengths[0]);
+	}
+
+	@Test
+	void getHandName_InvalidStrength_ShouldReturnNoName() {
+		Assertions.assertAll(() -> Assertions.assertEquals(PokerHandName.NO_NAME, HandEvaluator.getHandName(0)),
+							 () -> Assertions.assertEquals(PokerHandName.NO_NAME, HandEvaluator.getHandName(7463)));
+	}
+
+	@Test
+	void getHandName_StrongestStrength_ShouldReturnRoyalFlush() {
+		Assertions.assertEquals(PokerHandName.ROYAL_FLUSH, HandEvaluator.getHandName(HandEvaluator.CLASS_COUNT));
+	}
+
+	@Test
+	void evaluate_BatchOfAllPackedHands_ShouldMatchEvaluatingEachHand() {
+		long[] hands = new long[2598960 + 2];
+		int count = 0;
+		for (long hand = 0x1FL; hand < 1L << PackedCard.DECK_SIZE; ) {
+			hands[count++] = hand;
+			long lowest = hand & -hand;
+			long ripple = hand + lowest;
+			hand = ripple | (((hand ^ ripple) >>> 2) / lowest);
+		}
+		hands[count++] = 0xFL;
+		hands[count++] = 0x3FL;
+
+		int[] strengths = new int[hands.length];
+		byte[] categories = new byte[hands.length];
+		HandEvaluator.evaluate(hands, strengths);
+		HandEvaluator.categorize(hands, categories);
+		for (int i = 0; i < hands.length; i++) {
+			int expected = HandEvaluator.evaluate(hands[i]);
+			if (strengths[i] != expected || categories[i] != HandEvaluator.getHandName(expected).ordinal()) {
+				Assertions.fail("Hand " + Long.toHexString(hands[i]) + " evaluated to " + strengths[i] + " instead of " + expected);
+			}
+		}
+	}
+
+	@Test
+	void evaluateIndices_BatchOfHands_ShouldMatchEvaluatingEachHand() throws IllegalCardException, IllegalHandException {
+		String[] hands = {"AH KH QH JH TH", "2C 2D 2S 3H 3C", "7S 5D 4C 3H 2H", "9D 9C KS 4H 2D", "5S 4S 3S 2S AS"};
+		int[] indices = new int[5 * hands.length];
+		for (int i = 0; i < hands.length; i++) {
+			long hand = CardParser.parsePackedHand(hands[i]);
+			for (int card = 0; card < 5; card++) {
+				indices[5 * i + card] = Long.numberOfTrailingZeros(hand);
+				hand &= hand - 1;
+			}
+		}
+
+		int[] strengths = new int[hands.length];
+		byte[] categories = new byte[hands.length];
+		HandEvaluator.evaluateIndices(indices, strengths);
+		HandEvaluator.categorizeIndices(indices, categories);
+		Assertions.assertAll(() -> Assertions.assertEquals(HandEvaluator.CLASS_COUNT, strengths[0]),
+							 () -> Assertions.assertEquals(HandEvaluator.evaluate(CardParser.parsePackedHand(hands[1])), strengths[1]),
+							 () -> Assertions.assertEquals(1, strengths[2]),
+							 () -> Assertions.assertEquals(HandEvaluator.evaluate(CardParser.parsePackedHand(hands[3])), strengths[3]),
+							 () -> Assertions.assertEquals(PokerHandName.FULL_HOUSE.ordinal(), categories[1]),
+							 () -> Assertions.assertEquals(PokerHandName.ONE_PAIR.ordinal(), categories[3]),
+							 () -> Assertions.assertEquals(PokerHandName.STRAIGHT_FLUSH.ordinal(), categories[4]));
+	}
+
+	@Test
+	void evaluateIndices_IndicesNotFivePerHand_ShouldThrowIllegalArgumentException() {
+		Assertions.assertAll(() -> Assertions.assertThrows(IllegalArgumentException.class, () -> HandEvaluator.evaluateIndices(new int[7], new int[1])),
+							 () -> Assertions.assertThrows(IllegalArgumentException.class, () -> HandEvaluator.evaluate(new long[3], new int[2])));
+	}
+
+	/**
+	 * Helper function: Evaluates five cards given in the "RS" format
+	 */
+	private static int evaluate(String... cards) throws IllegalCardException {
+		int[] encoded = new int[cards.length];
+		for (int i = 0; i < cards.length; i++) {
+			encoded[i] = HandEvaluator.encode(CardParser.parseCard(cards[i]));
+		}
+		return HandEvaluator.evaluate(encoded[0], encoded[1], encoded[2], encoded[3], encoded[4]);
+	}
+
+}
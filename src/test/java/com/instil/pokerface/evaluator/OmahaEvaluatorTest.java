@@ -0,0 +1,114 @@
+package com.instil.pokerface.evaluator;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.model.PackedHand;
+import com.instil.pokerface.model.PokerHand.PokerHandName;
+import com.instil.pokerface.utils.CardParser;
+
+public class OmahaEvaluatorTest {
+	
+	private static final long DECK = PackedHand.FULL_DECK;
+	
+	@Test
+	void evaluate_RandomDeals_ShouldMatchBestOfTwoHoleAndThreeBoardCards() {
+		Random random = new Random(11);
+		for (int i = 0; i < 100000; i++) {
+			long holeCards = deal(random, 4 + (i & 1), DECK);
+			long board = deal(random, 3 + i % 3, DECK & ~holeCards);
+			Assertions.assertEquals(bruteForce(holeCards, board), OmahaEvaluator.evaluate(holeCards, board));
+		}
+	}
+	
+	@Test
+	void evaluate_FlushDraws_ShouldMatchBruteForce() {
+		// Two hearts in the hand and three on the board, so a heart flush is always possible
+		Random random = new Random(3);
+		long hearts = (1L << 13) - 1;
+		for (int i = 0; i < 20000; i++) {
+			long holeCards = deal(random, 2, hearts);
+			holeCards |= deal(random, 2 + (i & 1), DECK & ~holeCards);
+			long board = deal(random, 3, hearts & ~holeCards);
+			board |= deal(random, i % 3, DECK & ~holeCards & ~board);
+			Assertions.assertEquals(bruteForce(holeCards, board), OmahaEvaluator.evaluate(holeCards, board));
+		}
+	}
+	
+	@Test
+	void evaluate_FourHeartsOnBoardWithOneHeartInHand_ShouldNotBeFlush() throws IllegalCardException, IllegalHandException {
+		long holeCards = hand("AH KS 7C 2D");
+		long board = hand("QH JH 9H 3H 4S");
+		Assertions.assertEquals(PokerHandName.HIGH_CARD, HandEvaluator.getHandName(OmahaEvaluator.evaluate(holeCards, board)));
+	}
+	
+	@Test
+	void evaluate_TwoHeartsInHand_ShouldMakeFlush() throws IllegalCardException, IllegalHandException {
+		long holeCards = hand("AH 2H KS KC");
+		long board = hand("QH JH 9H KD 4S");
+		Assertions.assertEquals(PokerHandName.FLUSH, HandEvaluator.getHandName(OmahaEvaluator.evaluate(holeCards, board)));
+	}
+	
+	@Test
+	void evaluate_QuadsOnBoard_ShouldOnlyUseThreeOfThem() throws IllegalCardException, IllegalHandException {
+		long holeCards = hand("AH AD 2C 3C");
+		long board = hand("9H 9D 9S 9C KD");
+		Assertions.assertEquals(PokerHandName.FULL_HOUSE, HandEvaluator.getHandName(OmahaEvaluator.evaluate(holeCards, board)));
+	}
+	
+	@Test
+	void evaluate_InvalidDeals_ShouldReturnZero() throws IllegalCardException, IllegalHandException {
+		Assertions.assertAll(() -> Assertions.assertEquals(0, OmahaEvaluator.evaluate(hand("AH AD 2C"), hand("9H 9D 9S"))),
+							 () -> Assertions.assertEquals(0, OmahaEvaluator.evaluate(hand("AH AD 2C 3C"), hand("9H 9D"))),
+							 () -> Assertions.assertEquals(0, OmahaEvaluator.evaluate(hand("AH AD 2C 3C"), hand("AH 9D 9S"))));
+	}
+	
+	@Test
+	void compare_SameBoard_ShouldMatchHoldemStrengthScale() throws IllegalCardException, IllegalHandException {
+		long board = hand("TH 7S 2H");
+		Assertions.assertAll(() -> Assertions.assertTrue(OmahaEvaluator.compare(hand("AH KH 7C 7D"), hand("QS JS 9S 8D"), board) > 0),
+							 () -> Assertions.assertEquals(SevenCardEvaluator.evaluate(hand("7C 7D TH 7S 2H")), 
+									 					   OmahaEvaluator.evaluate(hand("AH KH 7C 7D"), board)));
+	}
+	
+	/**
+	 * Helper function: Deals random cards out of the cards in a mask
+	 */
+	private static long deal(Random random, int cards, long allowed) {
+		long hand = 0L;
+		while (Long.bitCount(hand) < cards) {
+			hand |= (1L << random.nextInt(52)) & allowed;
+		}
+		return hand;
+	}
+	
+	/**
+	 * Helper function: Evaluates every combination of two hole cards and three board cards with the five card evaluator
+	 */
+	private static int bruteForce(long holeCards, long board) {
+		int best = 0;
+		for (long pair = holeCards; pair != 0; pair &= pair - 1) {
+			for (long second = pair & (pair - 1); second != 0; second &= second - 1) {
+				long two = Long.lowestOneBit(pair) | Long.lowestOneBit(second);
+				for (long a = board; a != 0; a &= a - 1) {
+					for (long b = a & (a - 1); b != 0; b &= b - 1) {
+						for (long c = b & (b - 1); c != 0; c &= c - 1) {
+							long five = two | Long.lowestOneBit(a) | Long.lowestOneBit(b) | Long.lowestOneBit(c);
+							best = Math.max(best, HandEvaluator.evaluate(five));
+						}
+					}
+				}
+			}
+		}
+		return best;
+	}
+	
+	private static long hand(String cards) throws IllegalCardException, IllegalHandException {
+		return CardParser.parsePackedHand(cards);
+	}
+	
+}
@@ -0,0 +1,104 @@
+package com.instil.pokerface.evaluator;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.model.PokerHand.PokerHandName;
+import com.instil.pokerface.utils.CardParser;
+
+public class SevenCardEvaluatorTest {
+
+	@Test
+	void evaluate_RandomSixAndSevenCardHands_ShouldMatchBestFiveCardSubset() {
+		Random random = new Random(7);
+		for (int i = 0; i < 200000; i++) {
+			int size = 6 + (i & 1);
+			long hand = 0L;
+			while (Long.bitCount(hand) < size) {
+				hand |= 1L << random.nextInt(52);
+			}
+			Assertions.assertEquals(bestFiveCardSubset(hand), SevenCardEvaluator.evaluate(hand));
+		}
+	}
+
+	@Test
+	void evaluate_KeysAddedUpFromTwoParts_ShouldMatchEvaluate() {
+		Random random = new Random(7);
+		for (int i = 0; i < 100000; i++) {
+			int size = 5 + i % 3;
+			long hand = 0L;
+			while (Long.bitCount(hand) < size) {
+				hand |= 1L << random.nextInt(52);
+			}
+			long part = hand & random.nextLong();
+			long rest = hand & ~part;
+			int highKey = SevenCardEvaluator.highKey(part) + SevenCardEvaluator.highKey(rest);
+			int lowKey = SevenCardEvaluator.lowKey(part) + SevenCardEvaluator.lowKey(rest);
+			Assertions.assertEquals(SevenCardEvaluator.evaluate(hand), SevenCardEvaluator.evaluate(hand, highKey, lowKey));
+		}
+	}
+
+	@Test
+	void evaluate_FiveCards_ShouldMatchFiveCardEvaluator() {
+		Random random = new Random(5);
+		for (int i = 0; i < 100000; i++) {
+			long hand = 0L;
+			while (Long.bitCount(hand) < 5) {
+				hand |= 1L << random.nextInt(52);
+			}
+			Assertions.assertEquals(HandEvaluator.evaluate(hand), SevenCardEvaluator.evaluate(hand));
+		}
+	}
+
+	@Test
+	void evaluate_FlushWithPairedBoard_ShouldBeFlush() throws IllegalCardException, IllegalHandException {
+		long hand = CardParser.parsePackedHand("AH 9H") | CardParser.parsePackedHand("2H 5H KH KD KS");
+		Assertions.assertEquals(PokerHandName.FLUSH, HandEvaluator.getHandName(SevenCardEvaluator.evaluate(hand)));
+	}
+
+	@Test
+	void evaluate_SixCardStraightFlush_ShouldBeStraightFlush() throws IllegalCardException, IllegalHandException {
+		long hand = CardParser.parsePackedHand("9C TC JC QC KC") | CardParser.parsePackedHand("8C");
+		Assertions.assertEquals(PokerHandName.STRAIGHT_FLUSH, HandEvaluator.getHandName(SevenCardEvaluator.evaluate(hand)));
+	}
+
+	@Test
+	void evaluate_FourCardsOrEightCards_ShouldReturnZero() {
+		Assertions.assertAll(() -> Assertions.assertEquals(0, SevenCardEvaluator.evaluate(0xFL)),
+							 () -> Assertions.assertEquals(0, SevenCardEvaluator.evaluate(0xFFL)));
+	}
+
+	@Test
+	void evaluate_SixBitsWithOneBeyondTheDeck_ShouldReturnZero() {
+		Assertions.assertEquals(0, SevenCardEvaluator.evaluate(0x1FL | 1L << 60));
+	}
+
+	/**
+	 * Helper function: Evaluates every five card subset of a hand with the five card evaluator
+	 */
+	private static int bestFiveCardSubset(long hand) {
+		int[] cards = new int[Long.bitCount(hand)];
+		int n = 0;
+		for (long rest = hand; rest != 0; rest &= rest - 1) {
+			cards[n++] = Long.numberOfTrailingZeros(rest);
+		}
+		int best = 0;
+		for (int a = 0; a < n; a++) {
+			for (int b = a + 1; b < n; b++) {
+				for (int c = b + 1; c < n; c++) {
+					for (int d = c + 1; d < n; d++) {
+						for (int e = d + 1; e < n; e++) {
+							best = Math.max(best, HandEvaluator.evaluateIndices(cards[a], cards[b], cards[c], cards[d], cards[e]));
+						}
+					}
+				}
+			}
+		}
+		return best;
+	}
+
+}
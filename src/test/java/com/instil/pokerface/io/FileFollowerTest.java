@@ -0,0 +1,108 @@
+package com.instil.pokerface.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.utils.CardParser.ParseError;
+
+public class FileFollowerTest {
+	
+	private Path directory;
+	private Path file;
+	private Path offsetFile;
+	private ByteArrayOutputStream bytes;
+	private WritableByteChannel out;
+	
+	@BeforeEach
+	void createFiles() throws IOException {
+		directory = Files.createTempDirectory("follow");
+		file = directory.resolve("hands.txt");
+		offsetFile = directory.resolve("hands.txt.offset");
+		bytes = new ByteArrayOutputStream();
+		out = Channels.newChannel(bytes);
+	}
+	
+	@AfterEach
+	void deleteFiles() throws IOException {
+		Files.deleteIfExists(file);
+		Files.deleteIfExists(offsetFile);
+		Files.delete(directory);
+	}
+	
+	@Test
+	void poll_PartialLastLine_ShouldWaitForItsNewline() throws Exception {
+		try (FileFollower follower = new FileFollower(file, offsetFile)) {
+			Assertions.assertEquals(0, follower.poll(out, new SkippedLines()));
+			append("AH KH QH JH TH\r\n2C 3D");
+			Assertions.assertEquals(16, follower.poll(out, new SkippedLines()));
+			Assertions.assertEquals("AH KH QH JH TH => Royal flush\n", output());
+			
+			append(" 4S 5H 7C\n");
+			Assertions.assertEquals(15, follower.poll(out, new SkippedLines()));
+			Assertions.assertAll(() -> Assertions.assertEquals("AH KH QH JH TH => Royal flush\n2C 3D 4S 5H 7C => High card\n", output()),
+								 () -> Assertions.assertEquals(31, follower.getOffset()),
+								 () -> Assertions.assertEquals(0, follower.poll(out, new SkippedLines())));
+		}
+	}
+	
+	@Test
+	void poll_NewFollowerOnTheSameOffsetFile_ShouldResumeAfterTheLastLine() throws Exception {
+		append("AH KH QH JH TH\n");
+		try (FileFollower follower = new FileFollower(file, offsetFile)) {
+			follower.poll(out, new SkippedLines());
+		}
+		append("2H 2D 2S KC KD\n");
+		bytes.reset();
+		try (FileFollower follower = new FileFollower(file, offsetFile)) {
+			Assertions.assertEquals(15, follower.getOffset());
+			follower.poll(out, new SkippedLines());
+		}
+		Assertions.assertEquals("2H 2D 2S KC KD => Full house\n", output());
+	}
+	
+	@Test
+	void poll_TruncatedFile_ShouldStartOver() throws Exception {
+		try (FileFollower follower = new FileFollower(file, offsetFile)) {
+			append("AH KH QH JH TH\n2C 3D 4S 5H 7C\n");
+			follower.poll(out, new SkippedLines());
+			Files.write(file, "3H 3D 3S 3C 9D\n".getBytes(StandardCharsets.US_ASCII));
+			bytes.reset();
+			Assertions.assertEquals(15, follower.poll(out, new SkippedLines()));
+			Assertions.assertEquals("3H 3D 3S 3C 9D => Four of a kind\n", output());
+		}
+	}
+	
+	@Test
+	void poll_InvalidLine_ShouldSkipItAtItsOffsetInTheFile() throws Exception {
+		try (FileFollower follower = new FileFollower(file, offsetFile)) {
+			append("AH KH QH JH TH\n");
+			follower.poll(out, new SkippedLines());
+			append("AH KH QH JX TH\n2C 3D 4S 5H 7C\n");
+			SkippedLines skipped = new SkippedLines();
+			follower.poll(out, skipped);
+			Assertions.assertAll(() -> Assertions.assertEquals(1, skipped.getCount(ParseError.INVALID_SUIT)),
+								 () -> Assertions.assertEquals(15, skipped.getSamples().get(0).getPosition()),
+								 () -> Assertions.assertTrue(output().endsWith("2C 3D 4S 5H 7C => High card\n")));
+		}
+	}
+	
+	private void append(String lines) throws IOException {
+		Files.write(file, lines.getBytes(StandardCharsets.US_ASCII), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+	}
+	
+	private String output() {
+		return new String(bytes.toByteArray(), StandardCharsets.US_ASCII);
+	}
+	
+}
@@ -0,0 +1,154 @@
+package com.instil.pokerface.io;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.model.PokerHand.PokerHandName;
+import com.instil.pokerface.utils.CardParser;
+import com.instil.pokerface.utils.CardParser.ParseError;
+
+public class HandAggregatorTest {
+	
+	private Path file;
+	
+	@BeforeEach
+	void createFile() throws IOException {
+		file = Files.createTempFile("hands", ".txt");
+	}
+	
+	@AfterEach
+	void deleteFile() throws IOException {
+		Files.deleteIfExists(file);
+	}
+	
+	@Test
+	void aggregate_KnownHands_ShouldCountEachName() throws Exception {
+		Files.write(file, "3H JS 3C 7C 5D\nAH KH QH JH TH\r\n9H 9D 3S 9S 9C\n2H 2D 5S 5C 9C\nJH 2C JD 2H 4C\n"
+				.getBytes(StandardCharsets.US_ASCII));
+		HandAggregator.Result result = aggregate(1);
+		Assertions.assertAll(() -> Assertions.assertEquals(5, result.getHands()),
+							 () -> Assertions.assertEquals(1, result.getCount(PokerHandName.ONE_PAIR)),
+							 () -> Assertions.assertEquals(2, result.getCount(PokerHandName.TWO_PAIR)),
+							 () -> Assertions.assertEquals(1, result.getCount(PokerHandName.FOUR_OF_A_KIND)),
+							 () -> Assertions.assertEquals(1, result.getCount(PokerHandName.ROYAL_FLUSH)),
+							 () -> Assertions.assertEquals(0, result.getCount(PokerHandName.NO_NAME)));
+	}
+	
+	@Test
+	void aggregate_FourThreads_ShouldMatchCountsOfEachLine() throws Exception {
+		List<String> lines = randomHands(5000);
+		Files.write(file, lines);
+		long[] expected = new long[PokerHandName.values().length];
+		for (String line : lines) {
+			expected[CardParser.parseHand(line).getHandName().ordinal()]++;
+		}
+		
+		HandAggregator.Result result = aggregate(4);
+		Assertions.assertEquals(5000, result.getHands());
+		for (PokerHandName name : PokerHandName.values()) {
+			Assertions.assertEquals(expected[name.ordinal()], result.getCount(name), name.getName());
+		}
+	}
+	
+	@Test
+	void aggregate_HandLog_ShouldMatchCountsOfText() throws Exception {
+		Files.write(file, randomHands(5000));
+		Path log = Files.createTempFile("hands", ".log");
+		try {
+			try (MappedHandReader reader = new MappedHandReader(file); 
+				 HandLogWriter writer = new HandLogWriter(log, 300)) {
+				HandLogWriter.convert(reader, writer);
+			}
+			HandAggregator.Result text = aggregate(1);
+			try (HandLogReader reader = new HandLogReader(log)) {
+				HandAggregator.Result binary = new HandAggregator(3).aggregate(reader);
+				Assertions.assertEquals(text.getHands(), binary.getHands());
+				for (PokerHandName name : PokerHandName.values()) {
+					Assertions.assertEquals(text.getCount(name), binary.getCount(name), name.getName());
+				}
+			}
+		} finally {
+			Files.deleteIfExists(log);
+		}
+	}
+	
+	@Test
+	void aggregate_IllegalCardBeforeIllegalHand_ShouldThrowIllegalCardException() throws Exception {
+		List<String> lines = randomHands(2000);
+		lines.set(1500, "3H JS 3C 7C ZD");
+		lines.set(1700, "3H JS 3C 7C 5D 8D");
+		Files.write(file, lines);
+		// The illegal card comes first, so it should win over the illegal hand
+		Assertions.assertThrows(IllegalCardException.class, () -> aggregate(4));
+	}
+	
+	@Test
+	void aggregate_SkipInvalid_ShouldCountValidLinesAndRecordInvalidOnes() throws Exception {
+		List<String> lines = randomHands(2000);
+		lines.set(1500, "3H JS 3C 7C ZD");
+		lines.set(1700, "3H JS 3C 7C 5D 8D");
+		lines.set(1900, "3H JS 3C 7C 5X");
+		Files.write(file, lines);
+		SkippedLines skipped = new SkippedLines();
+		try (MappedHandReader reader = new MappedHandReader(file, 256)) {
+			HandAggregator.Result result = new HandAggregator(4).aggregate(reader, skipped);
+			Assertions.assertAll(() -> Assertions.assertEquals(1997, result.getHands()),
+								 () -> Assertions.assertEquals(3, skipped.getCount()),
+								 () -> Assertions.assertEquals(1, skipped.getCount(ParseError.INVALID_RANK)),
+								 () -> Assertions.assertEquals(1, skipped.getCount(ParseError.INVALID_SUIT)),
+								 () -> Assertions.assertEquals(1, skipped.getCount(ParseError.TOO_MANY_CARDS)));
+		}
+	}
+	
+	@Test
+	void handAggregator_ZeroThreads_ShouldThrowIllegalArgumentException() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			new HandAggregator(0);
+		});
+	}
+	
+	/**
+	 * Helper function: Aggregates the test file with small chunks
+	 */
+	private HandAggregator.Result aggregate(int threads) throws Exception {
+		try (MappedHandReader reader = new MappedHandReader(file, 256)) {
+			return new HandAggregator(threads).aggregate(reader);
+		}
+	}
+	
+	/**
+	 * Helper function: Deals random five card hands
+	 */
+	private static List<String> randomHands(int count) {
+		Random random = new Random(7);
+		String ranks = "23456789TJQKA";
+		String suits = "HDSC";
+		List<String> hands = new ArrayList<String>();
+		for (int i = 0; i < count; i++) {
+			StringBuilder hand = new StringBuilder();
+			long dealt = 0L;
+			for (int card = 0; card < 5; card++) {
+				int index;
+				do {
+					index = random.nextInt(52);
+				} while ((dealt & (1L << index)) != 0);
+				dealt |= 1L << index;
+				hand.append(card == 0 ? "" : " ").append(ranks.charAt(index % 13)).append(suits.charAt(index / 13));
+			}
+			hands.add(hand.toString());
+		}
+		return hands;
+	}
+	
+}
@@ -0,0 +1,100 @@
+package com.instil.pokerface.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class HandLogReaderTest {
+	
+	private Path file;
+	
+	@BeforeEach
+	void createFile() throws IOException {
+		file = Files.createTempFile("hands", ".log");
+	}
+	
+	@AfterEach
+	void deleteFile() throws IOException {
+		Files.deleteIfExists(file);
+	}
+	
+	@Test
+	void forEachHand_WrittenHands_ShouldReadThemBackInOrder() throws IOException {
+		long[] hands = write(25, 10);
+		List<Long> read = new ArrayList<Long>();
+		try (HandLogReader reader = new HandLogReader(file)) {
+			reader.forEachHand(read::add);
+			Assertions.assertAll(() -> Assertions.assertEquals(3, reader.getBlockCount()),
+								 () -> Assertions.assertEquals(25, reader.getHandCount()));
+		}
+		for (int i = 0; i < hands.length; i++) {
+			Assertions.assertEquals(hands[i], read.get(i).longValue());
+		}
+	}
+	
+	@Test
+	void readBlock_LastBlock_ShouldHoldTheRemainingHands() throws IOException {
+		long[] hands = write(25, 10);
+		try (HandLogReader reader = new HandLogReader(file)) {
+			LongBuffer last = reader.readBlock(2);
+			Assertions.assertAll(() -> Assertions.assertEquals(5, last.remaining()),
+								 () -> Assertions.assertEquals(hands[24], last.get(4)));
+		}
+	}
+	
+	@Test
+	void readBlock_ChangedHand_ShouldThrowIOException() throws IOException {
+		write(25, 10);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), HandLogReader.HEADER_SIZE + HandLogReader.blockSize(10) + 20);
+		}
+		try (HandLogReader reader = new HandLogReader(file)) {
+			reader.readBlock(0);
+			Assertions.assertThrows(IOException.class, () -> reader.readBlock(1));
+		}
+	}
+	
+	@Test
+	void handLogReader_TextFile_ShouldThrowIOException() throws IOException {
+		Files.write(file, "3H JS 3C 7C 5D\nAH KH QH JH TH\n".getBytes(StandardCharsets.US_ASCII));
+		Assertions.assertAll(() -> Assertions.assertFalse(HandLogReader.isHandLog(file)),
+							 () -> Assertions.assertThrows(IOException.class, () -> new HandLogReader(file)));
+	}
+	
+	@Test
+	void handLogReader_EmptyLog_ShouldHoldNoHands() throws IOException {
+		write(0, 10);
+		try (HandLogReader reader = new HandLogReader(file)) {
+			Assertions.assertAll(() -> Assertions.assertTrue(HandLogReader.isHandLog(file)),
+								 () -> Assertions.assertEquals(0, reader.getBlockCount()),
+								 () -> Assertions.assertEquals(0, reader.getHandCount()));
+		}
+	}
+	
+	/**
+	 * Helper function: Writes hands of five consecutive cards into the test file
+	 */
+	private long[] write(int count, int blockHands) throws IOException {
+		long[] hands = new long[count];
+		try (HandLogWriter writer = new HandLogWriter(file, blockHands)) {
+			for (int i = 0; i < count; i++) {
+				hands[i] = 0x1FL << i;
+				writer.write(hands[i]);
+			}
+		}
+		return hands;
+	}
+	
+}
@@ -0,0 +1,79 @@
+package com.instil.pokerface.io;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.utils.CardParser;
+
+public class HandLogWriterTest {
+	
+	private Path text;
+	private Path log;
+	
+	@BeforeEach
+	void createFiles() throws IOException {
+		text = Files.createTempFile("hands", ".txt");
+		log = Files.createTempFile("hands", ".log");
+	}
+	
+	@AfterEach
+	void deleteFiles() throws IOException {
+		Files.deleteIfExists(text);
+		Files.deleteIfExists(log);
+	}
+	
+	@Test
+	void convert_TextHands_ShouldWritePackedHands() throws Exception {
+		Files.write(text, "3H JS 3C 7C 5D\r\nAH KH QH JH TH\n2H 2D 5S 5C 9C".getBytes(StandardCharsets.US_ASCII));
+		try (MappedHandReader reader = new MappedHandReader(text);
+			 HandLogWriter writer = new HandLogWriter(log, 2)) {
+			Assertions.assertEquals(3, HandLogWriter.convert(reader, writer));
+		}
+		try (HandLogReader reader = new HandLogReader(log)) {
+			Assertions.assertAll(() -> Assertions.assertEquals(3, reader.getHandCount()),
+								 () -> Assertions.assertEquals(CardParser.parsePackedHand("2H 2D 5S 5C 9C"), reader.readBlock(1).get(0)));
+		}
+	}
+	
+	@Test
+	void convert_IllegalCard_ShouldKeepHandsBeforeItAndThrow() throws Exception {
+		Files.write(text, "3H JS 3C 7C 5D\nAH KH QH JH TH\n3H JS 3C 7C ZD\n".getBytes(StandardCharsets.US_ASCII));
+		try (MappedHandReader reader = new MappedHandReader(text);
+			 HandLogWriter writer = new HandLogWriter(log)) {
+			Assertions.assertThrows(IllegalCardException.class, () -> HandLogWriter.convert(reader, writer));
+		}
+		try (HandLogReader reader = new HandLogReader(log)) {
+			Assertions.assertEquals(2, reader.getHandCount());
+		}
+	}
+	
+	@Test
+	void handLogWriter_EmptyBlocks_ShouldThrowIllegalArgumentException() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			new HandLogWriter(log, 0);
+		});
+	}
+	
+	@Test
+	void convert_ManyHands_ShouldBeAboutHalfTheSizeOfText() throws Exception {
+		StringBuilder hands = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			hands.append("3H JS 3C 7C 5D\n");
+		}
+		Files.write(text, hands.toString().getBytes(StandardCharsets.US_ASCII));
+		try (MappedHandReader reader = new MappedHandReader(text);
+			 HandLogWriter writer = new HandLogWriter(log)) {
+			HandLogWriter.convert(reader, writer);
+		}
+		Assertions.assertTrue(Files.size(log) * 1.8 < Files.size(text), Files.size(log) + " bytes");
+	}
+	
+}
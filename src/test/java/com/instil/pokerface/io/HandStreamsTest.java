@@ -0,0 +1,161 @@
+package com.instil.pokerface.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.evaluator.HandEvaluator;
+import com.instil.pokerface.model.Rank;
+import com.instil.pokerface.model.Suit;
+import com.instil.pokerface.utils.CardParser;
+import com.instil.pokerface.utils.CardParser.ParseError;
+
+public class HandStreamsTest {
+	
+	private Path file;
+	private List<String> lines;
+	private byte[] bytes;
+	
+	@BeforeEach
+	void createFile() throws IOException {
+		lines = randomHands(5000);
+		lines.set(1234, "3H JS 3C 7X 5D");
+		bytes = (String.join("\r\n", lines) + "\r\n").getBytes(StandardCharsets.US_ASCII);
+		file = Files.createTempFile("hands", ".txt");
+		Files.write(file, bytes);
+	}
+	
+	@AfterEach
+	void deleteFile() throws IOException {
+		Files.deleteIfExists(file);
+	}
+	
+	@Test
+	void lines_File_ShouldEvaluateEveryLineInOrder() throws Exception {
+		try (Stream<HandRecord> hands = HandStreams.lines(file)) {
+			assertRecords(hands.collect(Collectors.toList()));
+		}
+	}
+	
+	@Test
+	void lines_ParallelFileOfSmallChunks_ShouldSplitAndKeepTheOrder() throws Exception {
+		try (MappedHandReader reader = new MappedHandReader(file, 4096)) {
+			HandSpliterator hands = HandSpliterator.of(reader, reader.getChunks(), false);
+			Assertions.assertNotNull(hands.trySplit());
+		}
+		try (Stream<HandRecord> hands = HandStreams.lines(file, false, 4096)) {
+			assertRecords(hands.parallel().collect(Collectors.toList()));
+		}
+	}
+	
+	@Test
+	void lines_InputStream_ShouldMatchTheFile() throws Exception {
+		assertRecords(HandStreams.lines(new ByteArrayInputStream(bytes)).collect(Collectors.toList()));
+		HandSpliterator blocks = HandSpliterator.of(new ByteArrayInputStream(bytes), 1000, false);
+		assertRecords(StreamSupport.stream(blocks, true).collect(Collectors.toList()));
+	}
+	
+	@Test
+	void lines_SlowInputStream_ShouldHandOutLinesBeforeTheStreamEnds() throws Exception {
+		PipedInputStream in = new PipedInputStream();
+		PipedOutputStream writer = new PipedOutputStream(in);
+		CountDownLatch firstRead = new CountDownLatch(1);
+		Thread producer = new Thread(() -> {
+			try {
+				writer.write("AH KH QH JH TH\n2C".getBytes(StandardCharsets.US_ASCII));
+				writer.flush();
+				firstRead.await(10, TimeUnit.SECONDS);
+				writer.write(" 3D 4S 5H 7C\n".getBytes(StandardCharsets.US_ASCII));
+				writer.close();
+			} catch (IOException | InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		producer.start();
+		Assertions.assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+			Iterator<HandRecord> hands = HandStreams.lines(in).iterator();
+			HandRecord first = hands.next();
+			firstRead.countDown();
+			HandRecord second = hands.next();
+			Assertions.assertAll(() -> Assertions.assertEquals(CardParser.parsePackedHand("AH KH QH JH TH"), first.getHand()),
+								 () -> Assertions.assertEquals(15, second.getPosition()),
+								 () -> Assertions.assertEquals(CardParser.parsePackedHand("2C 3D 4S 5H 7C"), second.getHand()),
+								 () -> Assertions.assertFalse(hands.hasNext()));
+		});
+		producer.join();
+	}
+	
+	@Test
+	void lines_ReusedRecords_ShouldFillOneRecordForEveryLine() throws Exception {
+		Set<HandRecord> records = Collections.newSetFromMap(new IdentityHashMap<HandRecord, Boolean>());
+		List<HandRecord> copies = new ArrayList<HandRecord>();
+		try (Stream<HandRecord> hands = HandStreams.lines(file, true)) {
+			hands.forEach(record -> {
+				records.add(record);
+				copies.add(record.copy());
+			});
+		}
+		Assertions.assertEquals(1, records.size());
+		assertRecords(copies);
+	}
+	
+	private void assertRecords(List<HandRecord> records) throws Exception {
+		Assertions.assertEquals(lines.size(), records.size());
+		long position = 0;
+		for (int i = 0; i < lines.size(); i++) {
+			HandRecord record = records.get(i);
+			Assertions.assertEquals(position, record.getPosition());
+			position += lines.get(i).length() + 2;
+			if (i == 1234) {
+				Assertions.assertFalse(record.isValid());
+				Assertions.assertEquals(ParseError.INVALID_SUIT, record.getError());
+			} else {
+				long hand = CardParser.parsePackedHand(lines.get(i));
+				Assertions.assertEquals(hand, record.getHand());
+				Assertions.assertEquals(HandEvaluator.evaluate(hand), record.getStrength());
+			}
+		}
+	}
+	
+	private static List<String> randomHands(int count) {
+		SplittableRandom random = new SplittableRandom(42);
+		List<String> hands = new ArrayList<String>();
+		for (int i = 0; i < count; i++) {
+			long dealt = 0;
+			StringBuilder hand = new StringBuilder();
+			while (Long.bitCount(dealt) < 5) {
+				int card = random.nextInt(52);
+				if ((dealt & (1L << card)) == 0) {
+					dealt |= 1L << card;
+					hand.append(hand.length() == 0 ? "" : " ").append(Rank.values()[card % 13].getRankCharacter())
+																.append(Suit.values()[card / 13].getSuitCharacter());
+				}
+			}
+			hands.add(hand.toString());
+		}
+		return hands;
+	}
+	
+}
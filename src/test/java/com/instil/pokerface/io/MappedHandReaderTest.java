@@ -0,0 +1,85 @@
+package com.instil.pokerface.io;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.io.MappedHandReader.Chunk;
+
+public class MappedHandReaderTest {
+	
+	private final List<String> lines = Arrays.asList("3H JS 3C 7C 5D", "JH 2C JD 2H 4C", "9H 9D 3S 9S 9C", "", "9C 3H 9S 9H 3S");
+	
+	private Path file;
+	
+	@BeforeEach
+	void createFile() throws IOException {
+		file = Files.createTempFile("hands", ".txt");
+	}
+	
+	@AfterEach
+	void deleteFile() throws IOException {
+		Files.deleteIfExists(file);
+	}
+	
+	@Test
+	void getChunks_SmallChunkSize_ChunksShouldEndAfterNewlines() throws IOException {
+		Files.write(file, String.join("\n", lines).getBytes(StandardCharsets.US_ASCII));
+		try (MappedHandReader reader = new MappedHandReader(file, 20)) {
+			List<Chunk> chunks = reader.getChunks();
+			byte[] bytes = Files.readAllBytes(file);
+			Assertions.assertEquals(0, chunks.get(0).getStart());
+			Assertions.assertEquals(bytes.length, chunks.get(chunks.size() - 1).getEnd());
+			for (int i = 0; i < chunks.size() - 1; i++) {
+				Assertions.assertEquals(chunks.get(i).getEnd(), chunks.get(i + 1).getStart());
+				Assertions.assertEquals('\n', bytes[(int) chunks.get(i).getEnd() - 1]);
+			}
+		}
+	}
+	
+	@Test
+	void forEachLine_SmallChunkSize_ShouldReturnEveryLineOnce() throws IOException, IllegalCardException, IllegalHandException {
+		Files.write(file, String.join("\n", lines).getBytes(StandardCharsets.US_ASCII));
+		Assertions.assertEquals(lines, readLines(7));
+	}
+	
+	@Test
+	void forEachLine_WindowsLineEndings_ShouldStripCarriageReturns() throws IOException, IllegalCardException, IllegalHandException {
+		Files.write(file, (String.join("\r\n", lines) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+		Assertions.assertEquals(lines, readLines(MappedHandReader.DEFAULT_CHUNK_SIZE));
+	}
+	
+	@Test
+	void forEachLine_EmptyFile_ShouldReturnNoLines() throws IOException, IllegalCardException, IllegalHandException {
+		Assertions.assertTrue(readLines(16).isEmpty());
+	}
+	
+	/**
+	 * Helper function: Reads all lines of the test file as strings
+	 */
+	private List<String> readLines(int chunkSize) throws IOException, IllegalCardException, IllegalHandException {
+		List<String> read = new ArrayList<String>();
+		try (MappedHandReader reader = new MappedHandReader(file, chunkSize)) {
+			reader.forEachLine((buffer, start, end) -> {
+				byte[] bytes = new byte[end - start];
+				for (int i = 0; i < bytes.length; i++) {
+					bytes[i] = buffer.get(start + i);
+				}
+				read.add(new String(bytes, StandardCharsets.US_ASCII));
+			});
+		}
+		return read;
+	}
+	
+}
@@ -0,0 +1,185 @@
+package com.instil.pokerface.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.metrics.PipelineStats;
+import com.instil.pokerface.metrics.PipelineStats.Stage;
+import com.instil.pokerface.model.PokerHand.PokerHandName;
+import com.instil.pokerface.utils.CardParser;
+
+public class ParallelTranslatorTest {
+	
+	private Path file;
+	
+	@BeforeEach
+	void createFile() throws IOException {
+		file = Files.createTempFile("hands", ".txt");
+	}
+	
+	@AfterEach
+	void deleteFile() throws IOException {
+		Files.deleteIfExists(file);
+	}
+	
+	@Test
+	void translate_FourThreads_ShouldMatchSingleThreadOutput() throws Exception {
+		Files.write(file, randomHands(5000));
+		Assertions.assertArrayEquals(translate(1), translate(4));
+	}
+	
+	@Test
+	void translate_SingleThread_ShouldTranslateEachLine() throws Exception {
+		Files.write(file, "3H JS 3C 7C 5D\nAH KH QH JH TH\n".getBytes(StandardCharsets.US_ASCII));
+		String expected = "3H JS 3C 7C 5D => One pair" + System.lineSeparator() + "AH KH QH JH TH => Royal flush" + System.lineSeparator();
+		Assertions.assertEquals(expected, new String(translate(1), StandardCharsets.UTF_8));
+	}
+	
+	@Test
+	void translate_IllegalCardInMiddle_ShouldWriteLinesBeforeItAndThrow() throws Exception {
+		List<String> lines = new ArrayList<String>();
+		Collections.addAll(lines, new String(randomHands(2000), StandardCharsets.US_ASCII).split("\n"));
+		lines.set(1500, "3H JS 3C 7C ZD");
+		Files.write(file, String.join("\n", lines).getBytes(StandardCharsets.US_ASCII));
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (MappedHandReader reader = new MappedHandReader(file, 256)) {
+			Assertions.assertThrows(IllegalCardException.class, () -> {
+				new ParallelTranslator(4).translate(reader, Channels.newChannel(out));
+			});
+		}
+		String[] written = new String(out.toByteArray(), StandardCharsets.UTF_8).split(System.lineSeparator());
+		Assertions.assertEquals(1500, written.length);
+	}
+	
+	@Test
+	void translate_SkipInvalid_ShouldLeaveOutInvalidLinesAndRecordThemInFileOrder() throws Exception {
+		List<String> lines = new ArrayList<String>();
+		Collections.addAll(lines, new String(randomHands(2000), StandardCharsets.US_ASCII).split("\n"));
+		lines.set(300, "3H JS 3C 7C ZD");
+		lines.set(1800, "3H JS 3C 7C 5D 8D");
+		Files.write(file, String.join("\n", lines).getBytes(StandardCharsets.US_ASCII));
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		SkippedLines skipped = new SkippedLines();
+		try (MappedHandReader reader = new MappedHandReader(file, 256)) {
+			new ParallelTranslator(4).translate(reader, Channels.newChannel(out), skipped);
+		}
+		String[] written = new String(out.toByteArray(), StandardCharsets.UTF_8).split(System.lineSeparator());
+		Assertions.assertAll(() -> Assertions.assertEquals(1998, written.length),
+							 () -> Assertions.assertEquals(2, skipped.getCount()),
+							 () -> Assertions.assertEquals(lines.get(300), skipped.getSamples().get(0).getLine()),
+							 () -> Assertions.assertEquals(300 * 15, skipped.getSamples().get(0).getPosition()),
+							 () -> Assertions.assertEquals(lines.get(1800), skipped.getSamples().get(1).getLine()));
+	}
+	
+	@Test
+	void translate_BlankLineAndDoubleSpace_ShouldSkipTheLinesParseHandRejects() throws Exception {
+		Files.write(file, "AH KH QH JH TH\n\n2C  3D 4S 5H 7C\n".getBytes(StandardCharsets.US_ASCII));
+		List<String> rejected = new ArrayList<String>();
+		for (String line : Files.readAllLines(file, StandardCharsets.US_ASCII)) {
+			try {
+				CardParser.parseHand(line);
+			} catch (IllegalCardException e) {
+				rejected.add(line);
+			}
+		}
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		SkippedLines skipped = new SkippedLines();
+		try (MappedHandReader reader = new MappedHandReader(file, 256)) {
+			new ParallelTranslator(1).translate(reader, Channels.newChannel(out), skipped);
+		}
+		List<String> skippedLines = new ArrayList<String>();
+		for (SkippedLines.Sample sample : skipped.getSamples()) {
+			skippedLines.add(sample.getLine());
+		}
+		Assertions.assertAll(() -> Assertions.assertEquals(Arrays.asList("", "2C  3D 4S 5H 7C"), rejected),
+							 () -> Assertions.assertEquals(rejected, skippedLines),
+							 () -> Assertions.assertEquals("AH KH QH JH TH => Royal flush" + System.lineSeparator(), new String(out.toByteArray(), StandardCharsets.UTF_8)));
+	}
+	
+	@Test
+	void translate_WithStats_ShouldMatchOutputWithoutStatsAndCountEveryChunkAndHand() throws Exception {
+		Files.write(file, randomHands(5000));
+		byte[] expected = translate(1);
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		PipelineStats stats = new PipelineStats();
+		int chunks;
+		try (MappedHandReader reader = new MappedHandReader(file, 256)) {
+			chunks = reader.getChunks().size();
+			new ParallelTranslator(4, stats).translate(reader, Channels.newChannel(out));
+		}
+		long named = 0;
+		for (PokerHandName name : PokerHandName.values()) {
+			named += stats.getCount(name);
+		}
+		long counted = named;
+		Assertions.assertAll(() -> Assertions.assertArrayEquals(expected, out.toByteArray()),
+							 () -> Assertions.assertEquals(5000, stats.getHands()),
+							 () -> Assertions.assertEquals(5000, counted),
+							 () -> Assertions.assertEquals(Files.size(file), stats.getBytes()),
+							 () -> Assertions.assertEquals(chunks, stats.getBatches()),
+							 () -> Assertions.assertEquals(chunks, stats.getLatencies(Stage.READ).getCount()),
+							 () -> Assertions.assertEquals(chunks, stats.getLatencies(Stage.WRITE).getCount()),
+							 () -> Assertions.assertTrue(stats.getLatencies(Stage.PARSE).getCount() >= 5000 / PipelineStats.LINE_SAMPLE_INTERVAL));
+	}
+	
+	@Test
+	void parallelTranslator_ZeroThreads_ShouldThrowIllegalArgumentException() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			new ParallelTranslator(0);
+		});
+	}
+	
+	/**
+	 * Helper function: Translates the test file with small chunks
+	 */
+	private byte[] translate(int threads) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (MappedHandReader reader = new MappedHandReader(file, 256)) {
+			new ParallelTranslator(threads).translate(reader, Channels.newChannel(out));
+		}
+		return out.toByteArray();
+	}
+	
+	/**
+	 * Helper function: Deals random five card hands, one per line
+	 */
+	private static byte[] randomHands(int count) {
+		Random random = new Random(42);
+		String ranks = "23456789TJQKA";
+		String suits = "HDSC";
+		StringBuilder hands = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			long dealt = 0L;
+			for (int card = 0; card < 5; card++) {
+				int index;
+				do {
+					index = random.nextInt(52);
+				} while ((dealt & (1L << index)) != 0);
+				dealt |= 1L << index;
+				hands.append(card == 0 ? "" : " ").append(ranks.charAt(index % 13)).append(suits.charAt(index / 13));
+			}
+			hands.append('\n');
+		}
+		return hands.toString().getBytes(StandardCharsets.US_ASCII);
+	}
+	
+}
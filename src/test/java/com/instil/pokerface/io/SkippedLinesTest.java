@@ -0,0 +1,61 @@
+package com.instil.pokerface.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.utils.CardParser;
+import com.instil.pokerface.utils.CardParser.ParseError;
+
+public class SkippedLinesTest {
+	
+	@Test
+	void addAll_SamplesOfSeveralCollectors_ShouldKeepFirstLinesOfFile() {
+		SkippedLines late = new SkippedLines();
+		SkippedLines early = new SkippedLines();
+		for (int i = 0; i < SkippedLines.SAMPLE_LIMIT; i++) {
+			add(late, "3H JS 3C 7C ZD", 1000 + i * 15);
+			add(early, "3H JS 3C 7C 5D 8D", i * 18);
+		}
+		SkippedLines all = new SkippedLines();
+		all.addAll(late);
+		all.addAll(early);
+		Assertions.assertAll(() -> Assertions.assertEquals(2 * SkippedLines.SAMPLE_LIMIT, all.getCount()),
+							 () -> Assertions.assertEquals(SkippedLines.SAMPLE_LIMIT, all.getCount(ParseError.INVALID_RANK)),
+							 () -> Assertions.assertEquals(SkippedLines.SAMPLE_LIMIT, all.getSamples().size()),
+							 () -> Assertions.assertEquals(0, all.getSamples().get(0).getPosition()),
+							 () -> Assertions.assertEquals(ParseError.TOO_MANY_CARDS, all.getSamples().get(SkippedLines.SAMPLE_LIMIT - 1).getError()));
+	}
+	
+	@Test
+	void report_SkippedLines_ShouldSummariseCountsAndSamples() {
+		SkippedLines skipped = new SkippedLines();
+		add(skipped, "3H JS 3C 7C ZD", 45);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		skipped.report(new PrintStream(out, true));
+		String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split(System.lineSeparator());
+		Assertions.assertAll(() -> Assertions.assertEquals("Skipped 1 invalid lines (1 invalid rank)", lines[0]),
+							 () -> Assertions.assertEquals("  at byte 45, column 13 (invalid rank): 3H JS 3C 7C ZD", lines[1]));
+	}
+	
+	@Test
+	void report_NoSkippedLines_ShouldPrintNothing() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new SkippedLines().report(new PrintStream(out, true));
+		Assertions.assertEquals(0, out.size());
+	}
+	
+	/**
+	 * Helper function: Parses a line and records it as skipped at a position of the file
+	 */
+	private static void add(SkippedLines skipped, String line, long position) {
+		ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII));
+		long error = CardParser.tryParsePackedHand(buffer, 0, buffer.limit());
+		skipped.add(error, buffer, 0, buffer.limit(), position);
+	}
+	
+}
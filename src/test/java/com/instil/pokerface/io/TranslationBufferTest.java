@@ -0,0 +1,74 @@
+package com.instil.pokerface.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.model.PokerHand.PokerHandName;
+import com.instil.pokerface.utils.CardParser;
+
+public class TranslationBufferTest {
+	
+	private final byte[] line = "3H JS 3C 7C 5D".getBytes(StandardCharsets.US_ASCII);
+	
+	@Test
+	void appendTranslation_OnePair_ShouldWriteLineAndName() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		TranslationBuffer buffer = new TranslationBuffer();
+		buffer.appendLine(ByteBuffer.wrap(line), 0, line.length);
+		buffer.appendTranslation(PokerHandName.ONE_PAIR);
+		buffer.writeTo(Channels.newChannel(out));
+		Assertions.assertEquals("3H JS 3C 7C 5D => One pair" + System.lineSeparator(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+	}
+	
+	@Test
+	void appendLine_String_ShouldWriteSameBytesAsBuffer() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		TranslationBuffer buffer = new TranslationBuffer(4, Channels.newChannel(out));
+		buffer.appendLine("3H JS 3C 7C 5D");
+		buffer.appendTranslation(PokerHandName.ONE_PAIR);
+		buffer.flush();
+		Assertions.assertEquals("3H JS 3C 7C 5D => One pair" + System.lineSeparator(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+	}
+	
+	@Test
+	void appendHand_PackedHand_ShouldWriteCardsBySuitAndRank() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		TranslationBuffer buffer = new TranslationBuffer(4, null);
+		buffer.appendHand(CardParser.parsePackedHand("3H JS 3C 7C 5D"));
+		buffer.writeTo(Channels.newChannel(out));
+		Assertions.assertEquals("3H 5D JS 3C 7C", new String(out.toByteArray(), StandardCharsets.US_ASCII));
+	}
+	
+	@Test
+	void appendLine_BufferWithoutSinkIsFull_ShouldGrow() throws IOException {
+		TranslationBuffer buffer = new TranslationBuffer(4, null);
+		buffer.appendLine(line, 0, line.length);
+		buffer.appendLine(line, 0, line.length);
+		Assertions.assertEquals(2 * line.length, buffer.size());
+	}
+	
+	@Test
+	void appendLine_BufferWithSinkIsFull_ShouldWriteToSink() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		TranslationBuffer buffer = new TranslationBuffer(20, Channels.newChannel(out));
+		buffer.appendLine(line, 0, line.length);
+		buffer.appendLine(line, 0, line.length);
+		Assertions.assertAll(() -> Assertions.assertEquals(line.length, out.size()),
+							 () -> Assertions.assertEquals(line.length, buffer.size()));
+	}
+	
+	@Test
+	void writeTo_AfterWriting_ShouldBeEmpty() throws IOException {
+		TranslationBuffer buffer = new TranslationBuffer();
+		buffer.appendTranslation(PokerHandName.FLUSH);
+		buffer.writeTo(Channels.newChannel(new ByteArrayOutputStream()));
+		Assertions.assertEquals(0, buffer.size());
+	}
+	
+}
@@ -0,0 +1,66 @@
+package com.instil.pokerface.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+	
+	@Test
+	void bucketOf_AnyLatency_ShouldFallBetweenLowestValuesOfItsBucketAndTheNext() {
+		long[] latencies = {0, 1, 7, 8, 15, 16, 17, 100, 1023, 1024, 123_456_789, Long.MAX_VALUE};
+		for (long latency : latencies) {
+			int bucket = LatencyHistogram.bucketOf(latency);
+			Assertions.assertTrue(LatencyHistogram.lowestValueOf(bucket) <= latency, "Latency " + latency);
+			Assertions.assertTrue(latency < LatencyHistogram.lowestValueOf(bucket + 1) || latency == Long.MAX_VALUE, "Latency " + latency);
+		}
+	}
+	
+	@Test
+	void getPercentile_UniformLatencies_ShouldBeWithinOneSubBucket() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int latency = 1; latency <= 10_000; latency++) {
+			histogram.record(latency);
+		}
+		Assertions.assertAll(() -> Assertions.assertEquals(10_000, histogram.getCount()),
+							 () -> Assertions.assertEquals(10_000, histogram.getMax()),
+							 () -> Assertions.assertEquals(5_000, histogram.getPercentile(0.5), 5_000 / LatencyHistogram.SUB_BUCKETS),
+							 () -> Assertions.assertEquals(9_900, histogram.getPercentile(0.99), 9_900 / LatencyHistogram.SUB_BUCKETS),
+							 () -> Assertions.assertEquals(10_000, histogram.getPercentile(1)));
+	}
+	
+	@Test
+	void getPercentile_NothingRecorded_ShouldBeZero() {
+		Assertions.assertEquals(0, new LatencyHistogram().getPercentile(0.5));
+	}
+	
+	@Test
+	void record_SeveralThreads_ShouldCountEveryLatency() throws Exception {
+		LatencyHistogram histogram = new LatencyHistogram();
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> done = new ArrayList<Future<?>>();
+			for (int thread = 0; thread < 4; thread++) {
+				long offset = thread;
+				done.add(pool.submit(() -> {
+					for (int i = 0; i < 100_000; i++) {
+						histogram.record(i % 1000 + offset);
+					}
+				}));
+			}
+			for (Future<?> future : done) {
+				future.get();
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		Assertions.assertAll(() -> Assertions.assertEquals(400_000, histogram.getCount()),
+							 () -> Assertions.assertEquals(1002, histogram.getMax()));
+	}
+	
+}
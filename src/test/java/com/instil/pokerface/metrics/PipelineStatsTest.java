@@ -0,0 +1,82 @@
+package com.instil.pokerface.metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.metrics.PipelineStats.Stage;
+import com.instil.pokerface.model.PokerHand.PokerHandName;
+
+public class PipelineStatsTest {
+	
+	@Test
+	void finishBatch_TwoBatches_ShouldAddUpTheirTotals() {
+		PipelineStats stats = new PipelineStats();
+		for (int position = 0; position < 2; position++) {
+			PipelineStats.Batch batch = stats.startBatch(position);
+			batch.record(Stage.READ, 1000);
+			batch.addBytes(15);
+			batch.countHand(PokerHandName.ONE_PAIR);
+			batch.countHand(PokerHandName.FLUSH);
+			stats.finishBatch(batch);
+		}
+		Assertions.assertAll(() -> Assertions.assertEquals(2, stats.getBatches()),
+							 () -> Assertions.assertEquals(4, stats.getHands()),
+							 () -> Assertions.assertEquals(30, stats.getBytes()),
+							 () -> Assertions.assertEquals(2000, stats.getNanos(Stage.READ)),
+							 () -> Assertions.assertEquals(2, stats.getLatencies(Stage.READ).getCount()),
+							 () -> Assertions.assertEquals(2, stats.getCount(PokerHandName.FLUSH)),
+							 () -> Assertions.assertEquals(0, stats.getCount(PokerHandName.HIGH_CARD)));
+	}
+	
+	@Test
+	void recordLine_SampledLines_ShouldScaleTotalsButNotLatencies() {
+		PipelineStats stats = new PipelineStats();
+		PipelineStats.Batch batch = stats.startBatch(0);
+		int sampled = 0;
+		for (int line = 0; line < 10 * PipelineStats.LINE_SAMPLE_INTERVAL; line++) {
+			if (batch.sampleLine()) {
+				batch.recordLine(Stage.PARSE, 100);
+				sampled++;
+			}
+		}
+		stats.finishBatch(batch);
+		Assertions.assertAll(() -> Assertions.assertEquals(10, stats.getLatencies(Stage.PARSE).getCount()),
+							 () -> Assertions.assertEquals(100, stats.getLatencies(Stage.PARSE).getMax()),
+							 () -> Assertions.assertEquals(10 * PipelineStats.LINE_SAMPLE_INTERVAL * 100, stats.getNanos(Stage.PARSE)));
+		Assertions.assertEquals(10, sampled);
+	}
+	
+	@Test
+	void report_OneBatch_ShouldPrintEveryStageAndOnlyNamesWithHands() {
+		PipelineStats stats = new PipelineStats();
+		PipelineStats.Batch batch = stats.startBatch(0);
+		batch.countHand(PokerHandName.ONE_PAIR);
+		batch.countHand(PokerHandName.ONE_PAIR);
+		batch.countHand(PokerHandName.HIGH_CARD);
+		batch.countHand(PokerHandName.ROYAL_FLUSH);
+		stats.finishBatch(batch);
+		stats.stop();
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		stats.report(new PrintStream(out, true));
+		String report = new String(out.toByteArray(), StandardCharsets.UTF_8);
+		Assertions.assertAll(() -> Assertions.assertTrue(report.startsWith("Translated 4 hands")),
+							 () -> Assertions.assertTrue(report.contains("  Evaluate ")),
+							 () -> Assertions.assertTrue(report.contains("One pair:")),
+							 () -> Assertions.assertTrue(report.contains("50.000%")),
+							 () -> Assertions.assertFalse(report.contains("Flush:")));
+	}
+	
+	@Test
+	void formatNanos_TimesOfEveryUnit_ShouldUseLargestWholeUnit() {
+		Assertions.assertAll(() -> Assertions.assertEquals("950 ns", PipelineStats.formatNanos(950)),
+							 () -> Assertions.assertEquals("1.5 us", PipelineStats.formatNanos(1_500)),
+							 () -> Assertions.assertEquals("20.0 ms", PipelineStats.formatNanos(20_000_000)),
+							 () -> Assertions.assertEquals("3.00 s", PipelineStats.formatNanos(3_000_000_000L)));
+	}
+	
+}
@@ -37,4 +37,16 @@ public class CardTest {
 		Assertions.assertEquals(-1, card5S.compareTo(card2S));
 	}
 	
+	@Test
+	void of_SameRankAndSuit_ShouldReturnSameInstance() {
+		Assertions.assertSame(Card.of(Rank.FIVE, Suit.SPADES), Card.of(Rank.FIVE, Suit.SPADES));
+	}
+	
+	@Test
+	void of_CardIndex_ShouldMatchRankAndSuit() {
+		Card card = Card.of(PackedCard.indexOf(Rank.Q, Suit.CLUBS));
+		Assertions.assertAll(() -> Assertions.assertSame(Card.of(Rank.Q, Suit.CLUBS), card),
+							 () -> Assertions.assertEquals(new Card(Rank.Q, Suit.CLUBS), card));
+	}
+	
 }
@@ -0,0 +1,70 @@
+package com.instil.pokerface.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.utils.CardParser;
+
+public class HoldemHandTest {
+	
+	@Test
+	void translateHand_HoleCardsMakeFullHouseWithBoard_ShouldReturnFullHouse() throws IllegalCardException, IllegalHandException {
+		HoldemHand hand = new HoldemHand(cards("9H 9D 9S KC KH 2D 4C"));
+		Assertions.assertEquals("Full house", hand.translateHand());
+	}
+	
+	@Test
+	void translateHand_FourCards_ShouldReturnNoName() throws IllegalCardException, IllegalHandException {
+		HoldemHand hand = new HoldemHand(cards("9H 9D 9S KC"));
+		Assertions.assertEquals("No name", hand.translateHand());
+	}
+	
+	@Test
+	void holdemHand_CreateHandWith8Cards_ShouldThrowIllegalHandException() throws IllegalCardException {
+		List<Card> cards = cards("9H 9D 9S KC KH 2D 4C 5C");
+		Assertions.assertThrows(IllegalHandException.class, () -> {
+			new HoldemHand(cards);
+		});
+	}
+	
+	@Test
+	void addCardToHand_Add1ToFullHand_ShouldThrowIllegalHandException() throws IllegalCardException, IllegalHandException {
+		HoldemHand hand = new HoldemHand(cards("9H 9D 9S KC KH 2D 4C"));
+		Assertions.assertThrows(IllegalHandException.class, () -> {
+			hand.addCardToHand(new Card(Rank.FIVE, Suit.CLUBS));
+		});
+	}
+	
+	@Test
+	void containsCard_AddedCard_ShouldReturnTrue() throws IllegalHandException {
+		HoldemHand hand = new HoldemHand();
+		hand.addCardToHand(new Card(Rank.FIVE, Suit.CLUBS));
+		Assertions.assertAll(() -> Assertions.assertTrue(hand.containsCard(new Card(Rank.FIVE, Suit.CLUBS))),
+							 () -> Assertions.assertEquals(1, hand.countCardsInHand()),
+							 () -> Assertions.assertEquals(7, hand.getMaxHandSize()));
+	}
+	
+	@Test
+	void compareTo_HoldemFlushAgainstFiveCardStraight_FlushShouldBeStronger() throws IllegalCardException, IllegalHandException {
+		HoldemHand flush = new HoldemHand(cards("AH 9H 2H 5H KH KD KS"));
+		PokerHand straight = new PokerHand(cards("9C TD JS QH KH"));
+		Assertions.assertTrue(flush.compareTo(straight) > 0);
+	}
+	
+	/**
+	 * Helper function: Parses cards given in the "RS RS ..." format
+	 */
+	private static List<Card> cards(String cardString) throws IllegalCardException {
+		List<Card> cards = new ArrayList<Card>();
+		for (String card : cardString.split(" ")) {
+			cards.add(CardParser.parseCard(card));
+		}
+		return cards;
+	}
+	
+}
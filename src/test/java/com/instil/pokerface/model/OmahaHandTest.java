@@ -0,0 +1,62 @@
+package com.instil.pokerface.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.exception.IllegalCardException;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.utils.CardParser;
+
+public class OmahaHandTest {
+	
+	@Test
+	void translateHand_TwoPairInHandWithTripsOnBoard_ShouldReturnFullHouse() throws IllegalCardException, IllegalHandException {
+		OmahaHand hand = new OmahaHand(cards("KH KD 5C 5S"), cards("9H 9D 9S 2C 7D"));
+		Assertions.assertEquals("Full house", hand.translateHand());
+	}
+	
+	@Test
+	void translateHand_FlopNotDealt_ShouldReturnNoName() throws IllegalCardException, IllegalHandException {
+		OmahaHand hand = new OmahaHand(cards("KH KD 5C 5S"), cards("9H 9D"));
+		Assertions.assertEquals("No name", hand.translateHand());
+	}
+	
+	@Test
+	void compareTo_OmahaAndHoldemHandsOfSameCards_ShouldBeEqual() throws IllegalCardException, IllegalHandException {
+		OmahaHand omaha = new OmahaHand(cards("AH KH 2C 3D"), cards("QH JH TH 8S 7S"));
+		HoldemHand holdem = new HoldemHand(cards("AH KH QH JH TH 8S 7S"));
+		Assertions.assertAll(() -> Assertions.assertEquals(0, omaha.compareTo(holdem)),
+							 () -> Assertions.assertEquals("Royal flush", omaha.translateHand()),
+							 () -> Assertions.assertEquals(9, omaha.countCardsInHand()));
+	}
+	
+	@Test
+	void omahaHand_SixHoleCards_ShouldThrowIllegalHandException() throws IllegalCardException {
+		List<Card> holeCards = cards("AH KH 2C 3D 4D 5D");
+		List<Card> board = cards("QH JH TH");
+		Assertions.assertThrows(IllegalHandException.class, () -> {
+			new OmahaHand(holeCards, board);
+		});
+	}
+	
+	@Test
+	void omahaHand_HoleCardOnBoard_ShouldThrowIllegalHandException() throws IllegalCardException {
+		List<Card> holeCards = cards("AH KH 2C 3D");
+		List<Card> board = cards("AH JH TH");
+		Assertions.assertThrows(IllegalHandException.class, () -> {
+			new OmahaHand(holeCards, board);
+		});
+	}
+	
+	private static List<Card> cards(String cardString) throws IllegalCardException {
+		List<Card> cards = new ArrayList<Card>();
+		for (String card : cardString.split(" ")) {
+			cards.add(CardParser.parseCard(card));
+		}
+		return cards;
+	}
+	
+}
@@ -0,0 +1,33 @@
+package com.instil.pokerface.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PackedCardTest {
+	
+	@Test
+	void indexOf_AllCards_ShouldBeDistinctAndWithinDeck() {
+		boolean[] seen = new boolean[PackedCard.DECK_SIZE];
+		for (Suit suit : Suit.values()) {
+			for (Rank rank : Rank.values()) {
+				int index = PackedCard.indexOf(new Card(rank, suit));
+				Assertions.assertFalse(seen[index]);
+				seen[index] = true;
+			}
+		}
+	}
+	
+	@Test
+	void toCard_IndexOfQueenOfHearts_ShouldReturnQueenOfHearts() {
+		Card queenOfHearts = new Card(Rank.Q, Suit.HEARTS);
+		Assertions.assertEquals(queenOfHearts, PackedCard.toCard(PackedCard.indexOf(queenOfHearts)));
+	}
+	
+	@Test
+	void rankOfAndSuitOf_IndexOfTenOfClubs_ShouldReturnOrdinals() {
+		int index = PackedCard.indexOf(Rank.T, Suit.CLUBS);
+		Assertions.assertAll(() -> Assertions.assertEquals(Rank.T.ordinal(), PackedCard.rankOf(index)),
+							 () -> Assertions.assertEquals(Suit.CLUBS.ordinal(), PackedCard.suitOf(index)));
+	}
+	
+}
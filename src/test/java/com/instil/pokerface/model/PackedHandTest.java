@@ -0,0 +1,73 @@
+package com.instil.pokerface.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.instil.pokerface.evaluator.HandEvaluator;
+import com.instil.pokerface.exception.IllegalHandException;
+import com.instil.pokerface.utils.CardParser;
+
+public class PackedHandTest {
+	
+	private final List<Card> cards = Arrays.asList(new Card(Rank.NINE, 	Suit.DIAMONDS),
+												   new Card(Rank.J, 	Suit.CLUBS),
+												   new Card(Rank.NINE, 	Suit.SPADES));
+	
+	@Test
+	void canonical_SuitRenamedHands_ShouldHaveSameRepresentative() throws Exception {
+		long hearts = CardParser.parsePackedHand("AH KH QH JH 2C");
+		long spades = CardParser.parsePackedHand("AS KS QS JS 2D");
+		Assertions.assertAll(() -> Assertions.assertEquals(PackedHand.canonical(hearts), PackedHand.canonical(spades)),
+							 () -> Assertions.assertEquals(PackedHand.size(hearts), PackedHand.size(PackedHand.canonical(hearts))),
+							 () -> Assertions.assertEquals(HandEvaluator.evaluate(hearts), HandEvaluator.evaluate(PackedHand.canonical(hearts))),
+							 () -> Assertions.assertNotEquals(PackedHand.canonical(hearts), PackedHand.canonical(CardParser.parsePackedHand("AS KS QS JS 3D"))));
+	}
+	
+	@Test
+	void canonical_SeveralHands_ShouldRenameSuitsOfAllHandsAlike() throws Exception {
+		long[] deal = { CardParser.parsePackedHand("AH KH"), CardParser.parsePackedHand("7C 7D"), CardParser.parsePackedHand("TH 7S 2H") };
+		long[] renamed = { CardParser.parsePackedHand("AS KS"), CardParser.parsePackedHand("7D 7C"), CardParser.parsePackedHand("TS 7H 2S") };
+		long[] different = { CardParser.parsePackedHand("AH KH"), CardParser.parsePackedHand("7C 7D"), CardParser.parsePackedHand("TS 7H 2S") };
+		Assertions.assertAll(() -> Assertions.assertArrayEquals(PackedHand.canonical(deal), PackedHand.canonical(renamed)),
+							 () -> Assertions.assertFalse(Arrays.equals(PackedHand.canonical(deal), PackedHand.canonical(different))),
+							 () -> Assertions.assertEquals(PackedHand.canonical(deal[0]), PackedHand.canonical(new long[] { deal[0] })[0]));
+	}
+	
+	@Test
+	void of_ThreeCards_ShouldHaveSizeThree() {
+		Assertions.assertEquals(3, PackedHand.size(PackedHand.of(cards)));
+	}
+	
+	@Test
+	void contains_NineOfSpades_ShouldReturnTrue() {
+		long hand = PackedHand.of(cards);
+		Assertions.assertTrue(PackedHand.contains(hand, PackedCard.indexOf(Rank.NINE, Suit.SPADES)));
+	}
+	
+	@Test
+	void toCards_PackedThreeCards_ShouldReturnSameThreeCards() {
+		List<Card> unpacked = PackedHand.toCards(PackedHand.of(cards));
+		Assertions.assertTrue(unpacked.containsAll(cards) && cards.containsAll(unpacked));
+	}
+	
+	@Test
+	void of_PokerHand_ShouldMatchPackedCards() throws IllegalHandException {
+		Assertions.assertEquals(PackedHand.of(cards), PackedHand.of(new PokerHand(cards)));
+	}
+	
+	@Test
+	void toPokerHand_PackedThreeCards_ShouldHoldSameThreeCards() throws IllegalHandException {
+		PokerHand hand = PackedHand.toPokerHand(PackedHand.of(cards));
+		Assertions.assertTrue(hand.getCards().containsAll(cards) && hand.countCardsInHand() == 3);
+	}
+	
+	@Test
+	void suitMask_NineOfDiamonds_ShouldSetNineBitInDiamonds() {
+		long hand = PackedHand.of(cards);
+		Assertions.assertEquals(1 << Rank.NINE.ordinal(), PackedHand.suitMask(hand, Suit.DIAMONDS.ordinal()));
+	}
+	
+}
@@ -169,6 +169,18 @@ public class PokerHandTest {
 		Assertions.assertTrue(hand.isStraight());
 	}
 	
+	@Test
+	void isStraight_AddAceTwoThreeFiveKing_ShouldReturnFalse() throws IllegalHandException {
+		List<Card> cardList = Arrays.asList(new Card(Rank.K, 		Suit.SPADES),
+										 	new Card(Rank.TWO, 		Suit.HEARTS),
+										 	new Card(Rank.A, 		Suit.HEARTS),
+										 	new Card(Rank.THREE, 	Suit.HEARTS),
+										 	new Card(Rank.FIVE, 	Suit.HEARTS));
+		PokerHand hand = new PokerHand(new ArrayList<Card>(cardList));
+		Assertions.assertAll(() -> Assertions.assertFalse(hand.isStraight()),
+							 () -> Assertions.assertEquals(PokerHandName.HIGH_CARD, hand.getHandName()));
+	}
+	
 	@Test
 	void isStraight_AddHighCard_ShouldReturnFalse() throws IllegalHandException {
 		PokerHand hand = new PokerHand(listOfTestCards(PokerHandName.HIGH_CARD));
@@ -211,6 +223,43 @@ public class PokerHandTest {
 		Assertions.assertFalse(hand.isRoyalFlush());
 	}
 	
+	@Test
+	void getStrength_FourCards_ShouldReturnZero() throws IllegalHandException {
+		PokerHand hand = new PokerHand(listOfTestCards(PokerHandName.FLUSH).subList(0, 4));
+		Assertions.assertEquals(0, hand.getStrength());
+	}
+	
+	@Test
+	void compareTo_FullHouseAgainstFlush_FullHouseShouldBeStronger() throws IllegalHandException {
+		PokerHand fullHouse = new PokerHand(listOfTestCards(PokerHandName.FULL_HOUSE));
+		PokerHand flush = new PokerHand(listOfTestCards(PokerHandName.FLUSH));
+		Assertions.assertAll(() -> Assertions.assertTrue(fullHouse.compareTo(flush) > 0),
+							 () -> Assertions.assertTrue(flush.compareTo(fullHouse) < 0));
+	}
+	
+	@Test
+	void compareTo_SameRanksDifferentSuits_ShouldBeEqual() throws IllegalHandException {
+		List<Card> otherSuits = Arrays.asList(new Card(Rank.K, 		Suit.HEARTS),
+											  new Card(Rank.Q, 		Suit.HEARTS),
+											  new Card(Rank.SEVEN, 	Suit.CLUBS),
+											  new Card(Rank.FOUR, 	Suit.CLUBS),
+											  new Card(Rank.THREE, 	Suit.DIAMONDS));
+		PokerHand hand = new PokerHand(listOfTestCards(PokerHandName.HIGH_CARD));
+		Assertions.assertEquals(0, hand.compareTo(new PokerHand(otherSuits)));
+	}
+	
+	@Test
+	void compareTo_SortEachNamedHand_ShouldOrderByName() throws IllegalHandException {
+		List<PokerHand> hands = new ArrayList<PokerHand>();
+		for (PokerHandName name : PokerHandName.values()) {
+			hands.add(0, new PokerHand(listOfTestCards(name)));
+		}
+		hands.sort(null);
+		for (int i = 0; i < hands.size(); i++) {
+			Assertions.assertEquals(PokerHandName.values()[i], hands.get(i).getHandName());
+		}
+	}
+	
 	@DisplayName("Parameterized test for 'translateHand' method")
     @ParameterizedTest
     @MethodSource("generateArgumentsStream")
@@ -7,7 +7,7 @@ import com.instil.pokerface.exception.IllegalCardException;
 import com.instil.pokerface.model.Rank;
 
 public class RankTest {
-
+	
 	@Test
 	void getRankChararacter_RankAChar_ShouldReturnCharA() {
 		Assertions.assertEquals(Character.valueOf('A'), Rank.A.getRankCharacter());
@@ -24,5 +24,12 @@ public class RankTest {
 			Rank.getRankByCharacter('Z');
 		});
 	}
-
+	
+	@Test
+	void getRankByCharacter_NonAsciiChar_ShouldThrowIllegalCardException() {
+		Assertions.assertThrows(IllegalCardException.class, () -> {
+			Rank.getRankByCharacter('\u0410');
+		});
+	}
+	
 }
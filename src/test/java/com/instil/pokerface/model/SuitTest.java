@@ -26,4 +26,11 @@ public class SuitTest {
 		});
 	}
 	
+	@Test
+	void getSuitFromChar_NonAsciiChar_ShouldThrowIllegalCardException() {
+		Assertions.assertThrows(IllegalCardException.class, () -> {
+			Suit.getSuitByCharacter('\u0397');
+		});
+	}
+	
 }
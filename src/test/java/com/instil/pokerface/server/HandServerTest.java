@@ -0,0 +1,155 @@
+package com.instil.pokerface.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class HandServerTest {
+	
+	private HandServer server;
+	private Thread thread;
+	
+	@BeforeEach
+	void startServer() throws IOException {
+		server = new HandServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+		thread = new Thread(server);
+		thread.start();
+	}
+	
+	@AfterEach
+	void stopServer() throws InterruptedException {
+		server.close();
+		thread.join(5000);
+	}
+	
+	@Test
+	void serve_OneHand_ShouldAnswerWithTranslation() throws IOException {
+		try (Socket socket = connect()) {
+			BufferedReader in = reader(socket);
+			send(socket, "3H JS 3C 7C 5D\n");
+			Assertions.assertEquals("3H JS 3C 7C 5D => One pair", in.readLine());
+			send(socket, "AH KH QH JH TH\r\n");
+			Assertions.assertEquals("AH KH QH JH TH => Royal flush", in.readLine());
+		}
+	}
+	
+	@Test
+	void serve_IllegalCard_ShouldAnswerWithErrorAndKeepServing() throws IOException {
+		try (Socket socket = connect()) {
+			BufferedReader in = reader(socket);
+			send(socket, "3H JS 3C 7C ZD\n9H 9D 3S 9S 9C\n");
+			Assertions.assertTrue(in.readLine().startsWith("ERROR "));
+			Assertions.assertEquals("9H 9D 3S 9S 9C => Four of a kind", in.readLine());
+		}
+	}
+	
+	@Test
+	void serve_LastLineWithoutTerminator_ShouldBeAnsweredOnShutdown() throws IOException {
+		try (Socket socket = connect()) {
+			BufferedReader in = reader(socket);
+			send(socket, "2H 2D 5S 5C 9C");
+			socket.shutdownOutput();
+			Assertions.assertAll(() -> Assertions.assertEquals("2H 2D 5S 5C 9C => Two pair", in.readLine()),
+								 () -> Assertions.assertNull(in.readLine()));
+		}
+	}
+	
+	@Test
+	void serve_PipelinedLinesBeyondOutputLimit_ShouldAnswerAllInOrder() throws Exception {
+		// Far more answers than the output limit, sent before any are read, so the server has to hold back
+		int lines = 3 * HandServer.OUTPUT_LIMIT / 20;
+		ExecutorService sender = Executors.newSingleThreadExecutor();
+		try (Socket socket = connect()) {
+			Future<?> sent = sender.submit(() -> {
+				StringBuilder batch = new StringBuilder();
+				for (int i = 0; i < lines; i++) {
+					batch.append(i % 2 == 0 ? "3H JS 3C 7C 5D\n" : "AH KH QH JH TH\n");
+				}
+				send(socket, batch.toString());
+				return null;
+			});
+			
+			BufferedReader in = reader(socket);
+			for (int i = 0; i < lines; i++) {
+				String expected = i % 2 == 0 ? "3H JS 3C 7C 5D => One pair" : "AH KH QH JH TH => Royal flush";
+				Assertions.assertEquals(expected, in.readLine(), "Line " + i);
+			}
+			sent.get();
+		} finally {
+			sender.shutdownNow();
+		}
+	}
+	
+	@Test
+	void serve_LinesBeyondOutputLimitThenShutdown_ShouldAnswerEveryLine() throws Exception {
+		// With a small limit every write drains all of the answers, while lines are still waiting in the input
+		int outputLimit = 4 * 1024;
+		int lines = 10 * outputLimit / 20;
+		StringBuilder batch = new StringBuilder();
+		for (int i = 0; i < lines; i++) {
+			batch.append("3H JS 3C 7C 5D\n");
+		}
+		HandServer limited = new HandServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), outputLimit);
+		Thread limitedThread = new Thread(limited);
+		limitedThread.start();
+		try (Socket socket = connect(limited)) {
+			send(socket, batch.toString());
+			socket.shutdownOutput();
+			
+			BufferedReader in = reader(socket);
+			int answered = 0;
+			while (in.readLine() != null) {
+				answered++;
+			}
+			Assertions.assertEquals(lines, answered);
+		} finally {
+			limited.close();
+			limitedThread.join(5000);
+		}
+	}
+	
+	@Test
+	void serve_TooLongLine_ShouldAnswerWithErrorAndClose() throws IOException {
+		try (Socket socket = connect()) {
+			BufferedReader in = reader(socket);
+			send(socket, new String(new char[HandServer.MAX_LINE_LENGTH]).replace('\0', 'A'));
+			Assertions.assertAll(() -> Assertions.assertTrue(in.readLine().startsWith("ERROR ")),
+								 () -> Assertions.assertNull(in.readLine()));
+		}
+	}
+	
+	private Socket connect() throws IOException {
+		return connect(server);
+	}
+	
+	private static Socket connect(HandServer server) throws IOException {
+		Socket socket = new Socket();
+		socket.connect(server.getAddress(), 5000);
+		socket.setSoTimeout(10000);
+		return socket;
+	}
+	
+	private static BufferedReader reader(Socket socket) throws IOException {
+		return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+	}
+	
+	private static void send(Socket socket, String text) throws IOException {
+		OutputStream out = socket.getOutputStream();
+		out.write(text.getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+	}
+	
+}
@@ -1,14 +1,20 @@
 package com.instil.pokerface.utils;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import com.instil.pokerface.exception.IllegalCardException;
 import com.instil.pokerface.exception.IllegalHandException;
 import com.instil.pokerface.model.Card;
+import com.instil.pokerface.model.PackedHand;
 import com.instil.pokerface.model.PokerHand;
+import com.instil.pokerface.model.PokerHand.PokerHandName;
 import com.instil.pokerface.model.Rank;
 import com.instil.pokerface.model.Suit;
+import com.instil.pokerface.utils.CardParser.ParseError;
 
 public class CardParserTest {
 	
@@ -34,5 +40,113 @@ public class CardParserTest {
 		Assertions.assertTrue(queenOfHearts.equals(parsedCard));
 	}
 	
-
+	@Test
+	void parsePackedHand_parseLegal5CardHandString_ShouldMatchParseHand() throws IllegalCardException, IllegalHandException {
+		Assertions.assertEquals(PackedHand.of(CardParser.parseHand("9D JC 9S 5H 7C")), CardParser.parsePackedHand("9D JC 9S 5H 7C"));
+	}
+	
+	@Test
+	void parsePackedHand_parseBytesAtOffset_ShouldOnlyParseRange() throws IllegalCardException, IllegalHandException {
+		byte[] bytes = "3H JS 3C 7C 5D\n9D JC 9S 5H 7C\r\n".getBytes(StandardCharsets.US_ASCII);
+		long expected = CardParser.parsePackedHand("9D JC 9S 5H 7C");
+		Assertions.assertEquals(expected, CardParser.parsePackedHand(bytes, 15, bytes.length - 1));
+	}
+	
+	@Test
+	void parsePackedHand_parseDirectByteBuffer_ShouldMatchCharSequence() throws IllegalCardException, IllegalHandException {
+		byte[] bytes = "3H JS 3C 7C 5D".getBytes(StandardCharsets.US_ASCII);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes);
+		Assertions.assertEquals(CardParser.parsePackedHand("3H JS 3C 7C 5D"), CardParser.parsePackedHand(buffer, 0, bytes.length));
+	}
+	
+	@Test
+	void parsePackedHand_parseIllegalRank_ShouldThrowIllegalCardException() {
+		Assertions.assertThrows(IllegalCardException.class, () -> {
+			CardParser.parsePackedHand("3H ZS 3C 7C 5D");
+		});
+	}
+	
+	@Test
+	void parsePackedHand_parseThreeCharacterCard_ShouldThrowIllegalCardException() {
+		Assertions.assertThrows(IllegalCardException.class, () -> {
+			CardParser.parsePackedHand("3H JSS 3C 7C 5D");
+		});
+	}
+	
+	@Test
+	void parsePackedHand_parse6CardHand_ShouldThrowIllegalHandException() {
+		Assertions.assertThrows(IllegalHandException.class, () -> {
+			CardParser.parsePackedHand("3H JS 3C 7C 5D 6D");
+		});
+	}
+	
+	@Test
+	void tryParsePackedHand_parseLegalHand_ShouldMatchParsePackedHand() throws IllegalCardException, IllegalHandException {
+		byte[] bytes = "9D JC 9S 5H 7C".getBytes(StandardCharsets.US_ASCII);
+		long hand = CardParser.tryParsePackedHand(bytes, 0, bytes.length);
+		Assertions.assertAll(() -> Assertions.assertFalse(CardParser.isError(hand)),
+							 () -> Assertions.assertEquals(CardParser.parsePackedHand("9D JC 9S 5H 7C"), hand));
+	}
+	
+	@Test
+	void tryParsePackedHand_parseIllegalRank_ShouldReturnErrorAtRank() {
+		long error = CardParser.tryParsePackedHand("3H ZS 3C 7C 5D", 0, 14);
+		Assertions.assertAll(() -> Assertions.assertTrue(CardParser.isError(error)),
+							 () -> Assertions.assertEquals(ParseError.INVALID_RANK, CardParser.getError(error)),
+							 () -> Assertions.assertEquals(3, CardParser.getErrorIndex(error)));
+	}
+	
+	@Test
+	void tryParsePackedHand_parseIllegalSuitInDirectBuffer_ShouldReturnErrorAtSuit() {
+		byte[] bytes = "xx 3H JS 3C 7C 5X".getBytes(StandardCharsets.US_ASCII);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes);
+		long error = CardParser.tryParsePackedHand(buffer, 3, bytes.length);
+		Assertions.assertAll(() -> Assertions.assertEquals(ParseError.INVALID_SUIT, CardParser.getError(error)),
+							 () -> Assertions.assertEquals(13, CardParser.getErrorIndex(error)),
+							 () -> Assertions.assertEquals("X is not a valid suit", CardParser.getErrorMessage(error, "3H JS 3C 7C 5X")));
+	}
+	
+	@Test
+	void tryParsePackedHand_parseThreeCharacterCardAnd6CardHand_ShouldReturnErrors() {
+		long token = CardParser.tryParsePackedHand("3H JSS 3C 7C 5D", 0, 15);
+		long tooMany = CardParser.tryParsePackedHand("3H JS 3C 7C 5D 6D", 0, 17);
+		Assertions.assertAll(() -> Assertions.assertEquals(ParseError.INVALID_CARD, CardParser.getError(token)),
+							 () -> Assertions.assertEquals("'JSS' is not a valid card", CardParser.getErrorMessage(token, "3H JSS 3C 7C 5D")),
+							 () -> Assertions.assertEquals(ParseError.TOO_MANY_CARDS, CardParser.getError(tooMany)),
+							 () -> Assertions.assertEquals(15, CardParser.getErrorIndex(tooMany)));
+	}
+	
+	@Test
+	void parseHand_parseLooselySpacedLines_ShouldBeRejectedLikeTryParsePackedHand() {
+		String[] lines = {"", "2C  3D 4S 5H 7C", "2C\t3D 4S 5H 7C", " 2C 3D 4S 5H 7C", "2C 3D 4S 5H 7"};
+		for (String line : lines) {
+			long error = CardParser.tryParsePackedHand(line, 0, line.length());
+			Assertions.assertAll(line, () -> Assertions.assertThrows(IllegalCardException.class, () -> CardParser.parseHand(line)),
+									   () -> Assertions.assertEquals(ParseError.INVALID_CARD, CardParser.getError(error)));
+		}
+	}
+	
+	@Test
+	void tryParsePackedHand_parseLineWithCarriageReturn_ShouldMatchLineWithout() throws IllegalCardException, IllegalHandException {
+		byte[] bytes = "9D JC 9S 5H 7C\r".getBytes(StandardCharsets.US_ASCII);
+		Assertions.assertEquals(CardParser.parsePackedHand("9D JC 9S 5H 7C"), CardParser.tryParsePackedHand(bytes, 0, bytes.length));
+	}
+	
+	@Test
+	void parseHand_parseLineWithTrailingSpaces_ShouldMatchLineWithout() throws IllegalCardException, IllegalHandException {
+		long hand = CardParser.parsePackedHand("3H JS 3C 7C 5D");
+		byte[] bytes = "3H JS 3C 7C 5D  \r".getBytes(StandardCharsets.US_ASCII);
+		Assertions.assertAll(() -> Assertions.assertEquals(hand, CardParser.parseHand("3H JS 3C 7C 5D ").getCardMask()),
+							 () -> Assertions.assertEquals(hand, CardParser.parsePackedHand("3H JS 3C 7C 5D   ")),
+							 () -> Assertions.assertEquals(hand, CardParser.tryParsePackedHand(bytes, 0, bytes.length)));
+	}
+	
+	@Test
+	void parseHand_parseLineOfSpacesOnly_ShouldReturnEmptyHand() throws IllegalCardException, IllegalHandException {
+		Assertions.assertAll(() -> Assertions.assertEquals(PokerHandName.NO_NAME, CardParser.parseHand("   ").getHandName()),
+							 () -> Assertions.assertEquals(PackedHand.EMPTY, CardParser.parsePackedHand(" ")));
+	}
+	
 }
@@ -0,0 +1,74 @@
+package com.instil.pokerface.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ResultCacheTest {
+	
+	@Test
+	void get_StoredKey_ShouldReturnResultAndCountHit() {
+		ResultCache<Long, String> cache = new ResultCache<Long, String>(8);
+		cache.put(42L, "Royal flush");
+		Assertions.assertAll(() -> Assertions.assertEquals("Royal flush", cache.get(42L)),
+							 () -> Assertions.assertNull(cache.get(43L)),
+							 () -> Assertions.assertEquals(1, cache.getHits()),
+							 () -> Assertions.assertEquals(1, cache.getMisses()));
+	}
+	
+	@Test
+	void put_MoreKeysThanCapacity_ShouldStayBounded() {
+		ResultCache<Long, Long> cache = new ResultCache<Long, Long>(100);
+		for (long key = 0; key < 10000; key++) {
+			cache.put(key, key * 2);
+		}
+		int found = 0;
+		for (long key = 0; key < 10000; key++) {
+			Long value = cache.get(key);
+			if (value != null) {
+				Assertions.assertEquals(key * 2, value.longValue());
+				found++;
+			}
+		}
+		Assertions.assertEquals(128, cache.getCapacity());
+		Assertions.assertTrue(found <= 128, "Found " + found);
+	}
+	
+	@Test
+	void get_ConcurrentPutsOfCollidingKeys_ShouldNeverReturnResultOfOtherKey() throws Exception {
+		ResultCache<Integer, Integer> cache = new ResultCache<Integer, Integer>(4);
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> workers = new ArrayList<Future<?>>();
+			for (int thread = 0; thread < 4; thread++) {
+				int offset = thread;
+				workers.add(pool.submit(() -> {
+					for (int i = 0; i < 100000; i++) {
+						int key = (i + offset) % 64;
+						Integer value = cache.get(key);
+						Assertions.assertTrue(value == null || value == -key);
+						cache.put(key, -key);
+					}
+				}));
+			}
+			for (Future<?> worker : workers) {
+				worker.get();
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+	
+	@Test
+	void resultCache_ZeroCapacity_ShouldThrowIllegalArgumentException() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			new ResultCache<Long, Long>(0);
+		});
+	}
+	
+}